@@ -2,8 +2,10 @@ package com.dev.Sweet_Shop_Management_System;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class SweetShopManagementSystemApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,7 @@
+package com.dev.Sweet_Shop_Management_System.alert;
+
+// Ordered by severity: an alert is raised when a sweet reaches a level it has not been alerted for yet.
+public enum AlertLevel {
+    LOW,
+    OUT
+}
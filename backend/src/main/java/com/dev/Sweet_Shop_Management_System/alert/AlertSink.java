@@ -0,0 +1,11 @@
+package com.dev.Sweet_Shop_Management_System.alert;
+
+import com.dev.Sweet_Shop_Management_System.dto.response.StockAlertMessage;
+
+// Receives alerts on the alert dispatcher thread; enabled by name through sweetshop.alerts.sinks.
+public interface AlertSink {
+
+    String name();
+
+    void send(StockAlertMessage alert) throws Exception;
+}
@@ -0,0 +1,21 @@
+package com.dev.Sweet_Shop_Management_System.alert;
+
+import com.dev.Sweet_Shop_Management_System.dto.response.StockAlertMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+public class LogAlertSink implements AlertSink {
+
+    @Override
+    public String name() {
+        return "log";
+    }
+
+    @Override
+    public void send(StockAlertMessage alert) {
+        log.warn("Stock alert {}: sweet {} ({}) at {} units, threshold {}", alert.getLevel(), alert.getSweetId(),
+                alert.getName(), alert.getQuantity(), alert.getThreshold());
+    }
+}
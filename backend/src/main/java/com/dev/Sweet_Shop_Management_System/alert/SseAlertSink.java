@@ -0,0 +1,28 @@
+package com.dev.Sweet_Shop_Management_System.alert;
+
+import com.dev.Sweet_Shop_Management_System.dto.response.StockAlertMessage;
+import com.dev.Sweet_Shop_Management_System.stream.LiveStreamBroadcaster;
+import com.dev.Sweet_Shop_Management_System.stream.StreamMessage;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+// Sends alerts to live stream subscribers as "alert" events next to the stock updates.
+@Component
+@RequiredArgsConstructor
+public class SseAlertSink implements AlertSink {
+
+    public static final String ALERT_EVENT = "alert";
+
+    private final LiveStreamBroadcaster liveStreamBroadcaster;
+
+    @Override
+    public String name() {
+        return "sse";
+    }
+
+    @Override
+    public void send(StockAlertMessage alert) {
+        liveStreamBroadcaster.broadcast(new StreamMessage(ALERT_EVENT, ALERT_EVENT + ":" + alert.getSweetId(),
+                String.valueOf(alert.getAlertId()), alert));
+    }
+}
@@ -0,0 +1,389 @@
+package com.dev.Sweet_Shop_Management_System.alert;
+
+import com.dev.Sweet_Shop_Management_System.dto.response.AlertStatsResponse;
+import com.dev.Sweet_Shop_Management_System.dto.response.LowStockItemResponse;
+import com.dev.Sweet_Shop_Management_System.dto.response.StockAlertMessage;
+import com.dev.Sweet_Shop_Management_System.dto.response.SweetResponse;
+import com.dev.Sweet_Shop_Management_System.dto.response.ThresholdResponse;
+import com.dev.Sweet_Shop_Management_System.entity.CategoryThreshold;
+import com.dev.Sweet_Shop_Management_System.entity.SweetThreshold;
+import com.dev.Sweet_Shop_Management_System.event.CatalogImportedEvent;
+import com.dev.Sweet_Shop_Management_System.event.SweetChangeType;
+import com.dev.Sweet_Shop_Management_System.event.SweetChangedEvent;
+import com.dev.Sweet_Shop_Management_System.repository.CategoryThresholdRepository;
+import com.dev.Sweet_Shop_Management_System.repository.SweetRepository;
+import com.dev.Sweet_Shop_Management_System.repository.SweetThresholdRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+// Raises an alert when a sweet's stock falls to its reorder threshold (its own, else its category's, else the
+// shop default) and again if it runs out, once per crossing until it is restocked above the threshold.
+// Sweets at or below threshold are kept in a set ordered by how far below they are, so listing them is a range
+// read; every other sweet costs the change listener a few map lookups and a comparison.
+// Listeners run on the committing threads, so two changes to one sweet can arrive out of commit order. The row
+// version of the last change applied to each sweet is kept, and an older change is ignored.
+@Slf4j
+@Component
+public class StockAlertEngine {
+
+    private static final int MAX_LOW_STOCK_LIMIT = 1000;
+    private static final long DELETED = Long.MAX_VALUE;
+
+    private static final Comparator<Entry> BY_SHORTFALL = Comparator
+            .comparingInt((Entry entry) -> entry.quantity - entry.threshold)
+            .thenComparingLong(entry -> entry.sweetId);
+
+    private final SweetRepository sweetRepository;
+    private final SweetThresholdRepository sweetThresholdRepository;
+    private final CategoryThresholdRepository categoryThresholdRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final List<AlertSink> sinks;
+    private final boolean enabled;
+    private final int defaultThreshold;
+
+    private final Map<Long, Integer> sweetThresholds = new ConcurrentHashMap<>();
+    private final Map<String, Integer> categoryThresholds = new ConcurrentHashMap<>();
+    private final Map<Long, Entry> below = new ConcurrentHashMap<>();
+    private final NavigableSet<Entry> index = new ConcurrentSkipListSet<>(BY_SHORTFALL);
+    private final Map<Long, Long> versions = new ConcurrentHashMap<>();
+    private final BlockingQueue<StockAlertMessage> outgoing;
+    private final AtomicLong alertIds = new AtomicLong();
+    private final LongAdder raised = new LongAdder();
+    private final LongAdder suppressed = new LongAdder();
+    private final LongAdder recovered = new LongAdder();
+    private final LongAdder stale = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder deliveryFailures = new LongAdder();
+    private final Thread dispatcher;
+    private volatile boolean running = true;
+
+    public StockAlertEngine(SweetRepository sweetRepository,
+                            SweetThresholdRepository sweetThresholdRepository,
+                            CategoryThresholdRepository categoryThresholdRepository,
+                            PlatformTransactionManager transactionManager,
+                            List<AlertSink> availableSinks,
+                            @Value("${sweetshop.alerts.enabled:true}") boolean enabled,
+                            @Value("${sweetshop.alerts.default-threshold:5}") int defaultThreshold,
+                            @Value("${sweetshop.alerts.sinks:log}") String sinkNames,
+                            @Value("${sweetshop.alerts.queue-capacity:10000}") int queueCapacity) {
+        this.sweetRepository = sweetRepository;
+        this.sweetThresholdRepository = sweetThresholdRepository;
+        this.categoryThresholdRepository = categoryThresholdRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.defaultThreshold = defaultThreshold;
+        List<String> names = Arrays.stream(sinkNames.split(","))
+                .map(name -> name.trim().toLowerCase(Locale.ROOT))
+                .filter(name -> !name.isEmpty())
+                .toList();
+        this.sinks = availableSinks.stream().filter(sink -> names.contains(sink.name())).toList();
+        this.outgoing = new ArrayBlockingQueue<>(queueCapacity);
+
+        // Sinks may be slow (a webhook), so they run here and never on the thread that changed the stock.
+        this.dispatcher = new Thread(this::dispatch, "stock-alerts");
+        this.dispatcher.setDaemon(true);
+        this.dispatcher.start();
+    }
+
+    // Sweets already low at startup go into the index without alerting; they were alerted for before.
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            loadThresholds();
+            try (Stream<SweetResponse> sweets = sweetRepository.streamAllResponses()) {
+                sweets.forEach(sweet -> {
+                    int threshold = threshold(sweet.getId(), sweet.getCategory());
+                    if (sweet.getQuantity() <= threshold) {
+                        below.computeIfAbsent(sweet.getId(), id -> {
+                            Entry entry = new Entry(sweet, threshold, null);
+                            entry.alerted = entry.level;
+                            index.add(entry);
+                            return entry;
+                        });
+                    }
+                });
+            }
+        });
+        log.info("Stock alerts loaded {} sweets at or below their reorder threshold", below.size());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSweetChanged(SweetChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        SweetResponse after = event.getAfter();
+        if (after == null) {
+            Long sweetId = event.getSweetId();
+            sweetThresholds.remove(sweetId);
+            // The version stays behind to turn away changes that commit before the delete but arrive after it.
+            versions.put(sweetId, DELETED);
+            forget(sweetId);
+            return;
+        }
+        if (event.getType() == SweetChangeType.CREATED) {
+            // A row created again under a deleted id starts its versions over.
+            versions.remove(after.getId(), DELETED);
+        }
+        apply(after);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCatalogImported(CatalogImportedEvent event) {
+        event.getChanges().forEach(this::onSweetChanged);
+    }
+
+    public List<LowStockItemResponse> lowStock(int limit) {
+        if (limit < 1 || limit > MAX_LOW_STOCK_LIMIT) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "limit must be between 1 and " + MAX_LOW_STOCK_LIMIT);
+        }
+        return index.stream()
+                .limit(limit)
+                .map(Entry::toResponse)
+                .toList();
+    }
+
+    public ThresholdResponse setSweetThreshold(Long sweetId, Integer threshold) {
+        SweetResponse sweet = sweetRepository.findResponseById(sweetId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Sweet not found"));
+        if (threshold == null) {
+            if (sweetThresholdRepository.existsById(sweetId)) {
+                sweetThresholdRepository.deleteById(sweetId);
+            }
+            sweetThresholds.remove(sweetId);
+        } else {
+            sweetThresholdRepository.save(new SweetThreshold(sweetId, threshold));
+            sweetThresholds.put(sweetId, threshold);
+        }
+        if (enabled) {
+            apply(sweet);
+        }
+        return ThresholdResponse.builder()
+                .sweetId(sweetId)
+                .category(sweet.getCategory())
+                .threshold(threshold)
+                .effectiveThreshold(threshold(sweetId, sweet.getCategory()))
+                .build();
+    }
+
+    public ThresholdResponse setCategoryThreshold(String category, Integer threshold) {
+        if (threshold == null) {
+            if (categoryThresholdRepository.existsById(category)) {
+                categoryThresholdRepository.deleteById(category);
+            }
+            categoryThresholds.remove(category);
+        } else {
+            categoryThresholdRepository.save(new CategoryThreshold(category, threshold));
+            categoryThresholds.put(category, threshold);
+        }
+        if (enabled) {
+            sweetRepository.findResponsesByCategory(category).forEach(this::apply);
+        }
+        return ThresholdResponse.builder()
+                .category(category)
+                .threshold(threshold)
+                .effectiveThreshold(threshold != null ? threshold : defaultThreshold)
+                .build();
+    }
+
+    public AlertStatsResponse stats() {
+        return AlertStatsResponse.builder()
+                .enabled(enabled)
+                .defaultThreshold(defaultThreshold)
+                .sinks(sinks.stream().map(AlertSink::name).toList())
+                .sweetThresholds(sweetThresholds.size())
+                .categoryThresholds(categoryThresholds.size())
+                .belowThreshold(below.size())
+                .raised(raised.sum())
+                .duplicatesSuppressed(suppressed.sum())
+                .recovered(recovered.sum())
+                .staleIgnored(stale.sum())
+                .dropped(dropped.sum())
+                .deliveryFailures(deliveryFailures.sum())
+                .build();
+    }
+
+    @PreDestroy
+    public void close() {
+        running = false;
+        dispatcher.interrupt();
+    }
+
+    private int threshold(Long sweetId, String category) {
+        Integer own = sweetThresholds.get(sweetId);
+        if (own != null) {
+            return own;
+        }
+        Integer categoryDefault = category == null ? null : categoryThresholds.get(category);
+        return categoryDefault != null ? categoryDefault : defaultThreshold;
+    }
+
+    private void loadThresholds() {
+        sweetThresholdRepository.deleteOrphaned();
+        sweetThresholdRepository.findAll()
+                .forEach(threshold -> sweetThresholds.put(threshold.getSweetId(), threshold.getThreshold()));
+        categoryThresholdRepository.findAll()
+                .forEach(threshold -> categoryThresholds.put(threshold.getCategory(), threshold.getThreshold()));
+    }
+
+    // Serialized per sweet by the version map. Changes with equal versions (sharded stock moves only the shards)
+    // cannot be ordered and are applied as they arrive.
+    private void apply(SweetResponse sweet) {
+        Long version = sweet.getVersion();
+        if (version == null) {
+            evaluateIfNeeded(sweet);
+            return;
+        }
+        versions.compute(sweet.getId(), (id, applied) -> {
+            if (applied != null && applied > version) {
+                stale.increment();
+                return applied;
+            }
+            evaluateIfNeeded(sweet);
+            return version;
+        });
+    }
+
+    // The hot path: above threshold and not tracked, so there is nothing to cross.
+    private void evaluateIfNeeded(SweetResponse sweet) {
+        if (sweet.getQuantity() > threshold(sweet.getId(), sweet.getCategory()) && !below.containsKey(sweet.getId())) {
+            return;
+        }
+        evaluate(sweet);
+    }
+
+    private void forget(Long sweetId) {
+        below.computeIfPresent(sweetId, (id, entry) -> {
+            index.remove(entry);
+            return null;
+        });
+    }
+
+    // Serialized per sweet by the map, so a crossing is seen, indexed and alerted exactly once.
+    private void evaluate(SweetResponse sweet) {
+        int threshold = threshold(sweet.getId(), sweet.getCategory());
+        below.compute(sweet.getId(), (id, current) -> {
+            if (current != null) {
+                index.remove(current);
+            }
+            if (sweet.getQuantity() > threshold) {
+                if (current != null) {
+                    recovered.increment();
+                }
+                return null;
+            }
+
+            Entry next = new Entry(sweet, threshold, current == null ? null : current.alerted);
+            if (next.alerted == null || next.level.compareTo(next.alerted) > 0) {
+                next.alerted = next.level;
+                raise(next);
+            } else {
+                suppressed.increment();
+            }
+            index.add(next);
+            return next;
+        });
+    }
+
+    private void raise(Entry entry) {
+        raised.increment();
+        StockAlertMessage alert = StockAlertMessage.builder()
+                .alertId(alertIds.incrementAndGet())
+                .sweetId(entry.sweetId)
+                .name(entry.name)
+                .category(entry.category)
+                .level(entry.level.name())
+                .quantity(entry.quantity)
+                .threshold(entry.threshold)
+                .raisedAt(Instant.now())
+                .build();
+        if (!outgoing.offer(alert)) {
+            dropped.increment();
+        }
+    }
+
+    private void dispatch() {
+        while (running) {
+            StockAlertMessage alert;
+            try {
+                alert = outgoing.poll(1, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (alert == null) {
+                continue;
+            }
+            for (AlertSink sink : sinks) {
+                try {
+                    sink.send(alert);
+                } catch (Exception ex) {
+                    deliveryFailures.increment();
+                    log.warn("Alert sink {} failed to deliver alert {}", sink.name(), alert.getAlertId(), ex);
+                }
+            }
+        }
+    }
+
+    private static final class Entry {
+        private final long sweetId;
+        private final String name;
+        private final String category;
+        private final int quantity;
+        private final int threshold;
+        private final AlertLevel level;
+        // Highest level alerted for since the sweet last went above its threshold.
+        private AlertLevel alerted;
+
+        private Entry(SweetResponse sweet, int threshold, AlertLevel alerted) {
+            this.sweetId = sweet.getId();
+            this.name = sweet.getName();
+            this.category = sweet.getCategory();
+            this.quantity = sweet.getQuantity();
+            this.threshold = threshold;
+            this.level = quantity <= 0 ? AlertLevel.OUT : AlertLevel.LOW;
+            this.alerted = alerted;
+        }
+
+        private LowStockItemResponse toResponse() {
+            return LowStockItemResponse.builder()
+                    .sweetId(sweetId)
+                    .name(name)
+                    .category(category)
+                    .quantity(quantity)
+                    .threshold(threshold)
+                    .level(level.name())
+                    .build();
+        }
+    }
+}
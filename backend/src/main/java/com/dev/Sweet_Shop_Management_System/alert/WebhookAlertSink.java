@@ -0,0 +1,49 @@
+package com.dev.Sweet_Shop_Management_System.alert;
+
+import com.dev.Sweet_Shop_Management_System.dto.response.StockAlertMessage;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+// Stand-in for an outbound webhook: renders the request body it would POST and keeps the latest ones in an
+// outbox, which admins can read instead of pointing the shop at a real endpoint.
+@Component
+public class WebhookAlertSink implements AlertSink {
+
+    private final ObjectMapper objectMapper;
+    private final int outboxSize;
+    private final Deque<String> outbox = new ArrayDeque<>();
+
+    public WebhookAlertSink(ObjectMapper objectMapper,
+                            @Value("${sweetshop.alerts.webhook.outbox-size:100}") int outboxSize) {
+        this.objectMapper = objectMapper;
+        this.outboxSize = outboxSize;
+    }
+
+    @Override
+    public String name() {
+        return "webhook";
+    }
+
+    @Override
+    public void send(StockAlertMessage alert) throws Exception {
+        String body = objectMapper.writeValueAsString(alert);
+        synchronized (outbox) {
+            outbox.addFirst(body);
+            while (outbox.size() > outboxSize) {
+                outbox.removeLast();
+            }
+        }
+    }
+
+    // Newest first.
+    public List<String> outbox() {
+        synchronized (outbox) {
+            return List.copyOf(outbox);
+        }
+    }
+}
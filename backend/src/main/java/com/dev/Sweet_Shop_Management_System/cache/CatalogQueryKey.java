@@ -0,0 +1,20 @@
+package com.dev.Sweet_Shop_Management_System.cache;
+
+import com.dev.Sweet_Shop_Management_System.service.SweetSearchCriteria;
+import lombok.Value;
+
+@Value
+public class CatalogQueryKey {
+    SweetSearchCriteria criteria;
+    String sort;
+    String cursor;
+    Integer limit;
+
+    public static CatalogQueryKey list(SweetSearchCriteria criteria) {
+        return new CatalogQueryKey(criteria, null, null, null);
+    }
+
+    public static CatalogQueryKey page(SweetSearchCriteria criteria, String sort, String cursor, int limit) {
+        return new CatalogQueryKey(criteria, sort, cursor, limit);
+    }
+}
@@ -0,0 +1,83 @@
+package com.dev.Sweet_Shop_Management_System.cache;
+
+import com.dev.Sweet_Shop_Management_System.repository.SweetRepository;
+import com.dev.Sweet_Shop_Management_System.repository.SweetStockShardRepository;
+import com.dev.Sweet_Shop_Management_System.repository.SweetTombstoneRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.TreeSet;
+
+@Component
+@RequiredArgsConstructor
+public class CatalogVersion {
+
+    private final SweetRepository sweetRepository;
+
+    private final SweetTombstoneRepository tombstoneRepository;
+
+    private final SweetStockShardRepository stockShardRepository;
+
+    private final TreeSet<Long> inFlight = new TreeSet<>();
+
+    private long allocated;
+
+    @PostConstruct
+    synchronized void seed() {
+        allocated = Math.max(Math.max(sweetRepository.findMaxChangeVersion(), tombstoneRepository.findMaxChangeVersion()),
+                stockShardRepository.findMaxChangeVersion());
+    }
+
+    // Versions follow the wall clock in microseconds so they are never reused after a restart.
+    public synchronized long allocate() {
+        long version = Math.max(allocated + 1, System.currentTimeMillis() * 1000);
+        allocated = version;
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            inFlight.add(version);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public int getOrder() {
+                    // After the cache has been invalidated for this transaction.
+                    return Ordered.LOWEST_PRECEDENCE;
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    release(version);
+                }
+            });
+        }
+        return version;
+    }
+
+    // Highest version below which every change has either committed or rolled back.
+    public synchronized long stable() {
+        return inFlight.isEmpty() ? allocated : inFlight.first() - 1;
+    }
+
+    public String etag() {
+        return "\"" + stable() + "\"";
+    }
+
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private synchronized void release(long version) {
+        inFlight.remove(version);
+    }
+}
@@ -0,0 +1,197 @@
+package com.dev.Sweet_Shop_Management_System.cache;
+
+import com.dev.Sweet_Shop_Management_System.dto.response.CacheStatsResponse;
+import com.dev.Sweet_Shop_Management_System.dto.response.SweetResponse;
+import com.dev.Sweet_Shop_Management_System.event.SweetChangedEvent;
+import com.dev.Sweet_Shop_Management_System.service.SweetSearchCriteria;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+@Component
+public class SweetCatalogCache {
+
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final LinkedHashMap<Object, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+
+    private long epoch;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long expirations;
+    private long invalidations;
+
+    public SweetCatalogCache(@Value("${sweetshop.cache.max-entries:1000}") int maxEntries,
+                             @Value("${sweetshop.cache.ttl:30s}") Duration ttl) {
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    public <T> T getSweet(Long id, Supplier<T> loader) {
+        return getOrLoad(id, null, loader);
+    }
+
+    public <T> T getQuery(CatalogQueryKey key, Supplier<T> loader) {
+        return getOrLoad(key, key.getCriteria(), loader);
+    }
+
+    // Serves what it can from the cache and loads all remaining ids with a single call.
+    public Map<Long, SweetResponse> getSweets(Collection<Long> ids, Function<Set<Long>, List<SweetResponse>> loader) {
+        Map<Long, SweetResponse> found = new LinkedHashMap<>();
+        Set<Long> missing = new LinkedHashSet<>();
+        long loadEpoch;
+        synchronized (this) {
+            for (Long id : ids) {
+                Object value = lookup(id);
+                if (value != null) {
+                    found.put(id, (SweetResponse) value);
+                } else {
+                    missing.add(id);
+                }
+            }
+            loadEpoch = epoch;
+        }
+
+        if (missing.isEmpty()) {
+            return found;
+        }
+
+        List<SweetResponse> loaded = loader.apply(missing);
+
+        synchronized (this) {
+            for (SweetResponse sweet : loaded) {
+                found.put(sweet.getId(), sweet);
+                if (epoch == loadEpoch) {
+                    entries.put(sweet.getId(), new Entry(sweet, null, System.nanoTime() + ttlNanos));
+                }
+            }
+            evictOverflow();
+        }
+        return found;
+    }
+
+    // Runs inside the writing transaction so the writer never reads its own stale entries.
+    @EventListener
+    public void onSweetChanged(SweetChangedEvent event) {
+        invalidate(event);
+    }
+
+    // Runs again once the transaction is over, dropping anything other readers loaded before the commit.
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION, fallbackExecution = true)
+    public void afterSweetChangeCompleted(SweetChangedEvent event) {
+        invalidate(event);
+    }
+
+    public synchronized void invalidate(SweetChangedEvent event) {
+        epoch++;
+        if (entries.remove(event.getSweetId()) != null) {
+            invalidations++;
+        }
+
+        Iterator<Entry> it = entries.values().iterator();
+        while (it.hasNext()) {
+            SweetSearchCriteria criteria = it.next().criteria;
+            if (criteria != null && (criteria.mayMatch(event.getBefore()) || criteria.mayMatch(event.getAfter()))) {
+                it.remove();
+                invalidations++;
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        epoch++;
+        invalidations += entries.size();
+        entries.clear();
+    }
+
+    public synchronized CacheStatsResponse stats() {
+        long lookups = hits + misses;
+        return CacheStatsResponse.builder()
+                .size(entries.size())
+                .maxEntries(maxEntries)
+                .hits(hits)
+                .misses(misses)
+                .evictions(evictions)
+                .expirations(expirations)
+                .invalidations(invalidations)
+                .hitRate(lookups == 0 ? 0.0 : (double) hits / lookups)
+                .build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T getOrLoad(Object key, SweetSearchCriteria criteria, Supplier<T> loader) {
+        long loadEpoch;
+        synchronized (this) {
+            Object cached = lookup(key);
+            if (cached != null) {
+                return (T) cached;
+            }
+            loadEpoch = epoch;
+        }
+
+        T value = loader.get();
+
+        if (value != null) {
+            synchronized (this) {
+                // A change landed while we were loading; the value may already be stale.
+                if (epoch == loadEpoch) {
+                    entries.put(key, new Entry(value, criteria, System.nanoTime() + ttlNanos));
+                    evictOverflow();
+                }
+            }
+        }
+        return value;
+    }
+
+    private Object lookup(Object key) {
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            if (entry.expiresAt - System.nanoTime() > 0) {
+                hits++;
+                return entry.value;
+            }
+            entries.remove(key);
+            expirations++;
+        }
+        misses++;
+        return null;
+    }
+
+    private void evictOverflow() {
+        Iterator<Map.Entry<Object, Entry>> it = entries.entrySet().iterator();
+        while (entries.size() > maxEntries && it.hasNext()) {
+            it.next();
+            it.remove();
+            evictions++;
+        }
+    }
+
+    private static final class Entry {
+        private final Object value;
+        private final SweetSearchCriteria criteria;
+        private final long expiresAt;
+
+        private Entry(Object value, SweetSearchCriteria criteria, long expiresAt) {
+            this.value = value;
+            this.criteria = criteria;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
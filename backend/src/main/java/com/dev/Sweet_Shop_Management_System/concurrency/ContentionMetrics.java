@@ -0,0 +1,101 @@
+package com.dev.Sweet_Shop_Management_System.concurrency;
+
+import com.dev.Sweet_Shop_Management_System.dto.response.ContentionStatsResponse;
+import com.dev.Sweet_Shop_Management_System.dto.response.SweetContentionResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+@Component
+public class ContentionMetrics {
+
+    private static final int HOT_SWEETS = 20;
+
+    private final int maxTrackedSweets;
+    private final Map<Long, SweetCounters> perSweet = new ConcurrentHashMap<>();
+
+    private final LongAdder operations = new LongAdder();
+    private final LongAdder conflicts = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder exhausted = new LongAdder();
+    private final LongAdder retryNanos = new LongAdder();
+
+    public ContentionMetrics(@Value("${sweetshop.contention.max-tracked-sweets:10000}") int maxTrackedSweets) {
+        this.maxTrackedSweets = maxTrackedSweets;
+    }
+
+    public void recordOperation(Long sweetId, int retried, long retryingNanos, boolean succeeded) {
+        operations.increment();
+        retries.add(retried);
+        retryNanos.add(retryingNanos);
+        if (!succeeded) {
+            exhausted.increment();
+        }
+
+        SweetCounters counters = countersFor(sweetId);
+        if (counters != null) {
+            counters.operations.increment();
+        }
+    }
+
+    public void recordConflict(Long sweetId) {
+        conflicts.increment();
+        SweetCounters counters = countersFor(sweetId);
+        if (counters != null) {
+            counters.conflicts.increment();
+        }
+    }
+
+    public ContentionStatsResponse stats() {
+        long total = operations.sum();
+        List<SweetContentionResponse> hot = perSweet.entrySet().stream()
+                .filter(entry -> entry.getValue().conflicts.sum() > 0)
+                .map(entry -> toResponse(entry.getKey(), entry.getValue()))
+                .sorted(Comparator.comparingLong(SweetContentionResponse::getConflicts).reversed())
+                .limit(HOT_SWEETS)
+                .toList();
+
+        return ContentionStatsResponse.builder()
+                .operations(total)
+                .conflicts(conflicts.sum())
+                .retries(retries.sum())
+                .exhausted(exhausted.sum())
+                .retryMillis(TimeUnit.NANOSECONDS.toMillis(retryNanos.sum()))
+                .conflictRate(total == 0 ? 0.0 : (double) conflicts.sum() / total)
+                .hotSweets(hot)
+                .build();
+    }
+
+    private SweetCounters countersFor(Long sweetId) {
+        if (sweetId == null) {
+            return null;
+        }
+        SweetCounters counters = perSweet.get(sweetId);
+        if (counters == null && perSweet.size() < maxTrackedSweets) {
+            counters = perSweet.computeIfAbsent(sweetId, id -> new SweetCounters());
+        }
+        return counters;
+    }
+
+    private static SweetContentionResponse toResponse(Long sweetId, SweetCounters counters) {
+        long ops = counters.operations.sum();
+        long sweetConflicts = counters.conflicts.sum();
+        return SweetContentionResponse.builder()
+                .sweetId(sweetId)
+                .operations(ops)
+                .conflicts(sweetConflicts)
+                .conflictRate(ops == 0 ? 0.0 : (double) sweetConflicts / ops)
+                .build();
+    }
+
+    private static final class SweetCounters {
+        private final LongAdder operations = new LongAdder();
+        private final LongAdder conflicts = new LongAdder();
+    }
+}
@@ -0,0 +1,87 @@
+package com.dev.Sweet_Shop_Management_System.concurrency;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+// Runs a mutation in its own transaction and replays it when it loses an optimistic or lock race.
+@Component
+public class OptimisticRetryExecutor {
+
+    private final TransactionTemplate transactionTemplate;
+    private final ContentionMetrics metrics;
+    private final int maxAttempts;
+    private final long baseBackoffNanos;
+    private final long maxBackoffNanos;
+
+    public OptimisticRetryExecutor(TransactionTemplate transactionTemplate,
+                                   ContentionMetrics metrics,
+                                   @Value("${sweetshop.contention.max-attempts:5}") int maxAttempts,
+                                   @Value("${sweetshop.contention.base-backoff:PT0.005S}") Duration baseBackoff,
+                                   @Value("${sweetshop.contention.max-backoff:PT0.1S}") Duration maxBackoff) {
+        this.transactionTemplate = transactionTemplate;
+        this.metrics = metrics;
+        this.maxAttempts = maxAttempts;
+        this.baseBackoffNanos = baseBackoff.toNanos();
+        this.maxBackoffNanos = maxBackoff.toNanos();
+    }
+
+    public <T> T execute(Long sweetId, Supplier<T> work) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            // A failed attempt marks the caller's transaction rollback-only, so there is nothing to retry here.
+            return work.get();
+        }
+
+        long firstConflictAt = 0;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                T result = transactionTemplate.execute(status -> work.get());
+                metrics.recordOperation(sweetId, attempt - 1, retryingSince(firstConflictAt), true);
+                return result;
+            } catch (OptimisticLockingFailureException | PessimisticLockingFailureException ex) {
+                metrics.recordConflict(sweetId);
+                if (firstConflictAt == 0) {
+                    firstConflictAt = System.nanoTime();
+                }
+                if (attempt >= maxAttempts) {
+                    metrics.recordOperation(sweetId, attempt - 1, retryingSince(firstConflictAt), false);
+                    throw new ResponseStatusException(HttpStatus.CONFLICT,
+                            "Sweet is being modified concurrently, please retry");
+                }
+                backOff(attempt);
+            }
+        }
+    }
+
+    public void run(Long sweetId, Runnable work) {
+        execute(sweetId, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    // Full jitter: a random wait up to an exponentially growing, capped ceiling.
+    private void backOff(int attempt) {
+        long ceiling = Math.min(maxBackoffNanos, baseBackoffNanos << Math.min(attempt - 1, 20));
+        long nanos = ThreadLocalRandom.current().nextLong(ceiling + 1);
+        try {
+            Thread.sleep(nanos / 1_000_000, (int) (nanos % 1_000_000));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Interrupted while retrying");
+        }
+    }
+
+    private static long retryingSince(long firstConflictAt) {
+        return firstConflictAt == 0 ? 0 : System.nanoTime() - firstConflictAt;
+    }
+}
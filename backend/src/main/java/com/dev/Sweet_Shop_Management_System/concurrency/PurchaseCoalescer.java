@@ -0,0 +1,239 @@
+package com.dev.Sweet_Shop_Management_System.concurrency;
+
+import com.dev.Sweet_Shop_Management_System.cache.CatalogVersion;
+import com.dev.Sweet_Shop_Management_System.dto.response.PurchaseCoalescingStatsResponse;
+import com.dev.Sweet_Shop_Management_System.dto.response.SweetResponse;
+import com.dev.Sweet_Shop_Management_System.entity.Sweet;
+import com.dev.Sweet_Shop_Management_System.event.SweetChangeType;
+import com.dev.Sweet_Shop_Management_System.event.SweetChangedEvent;
+import com.dev.Sweet_Shop_Management_System.ledger.StockLedger;
+import com.dev.Sweet_Shop_Management_System.repository.SweetRepository;
+import com.dev.Sweet_Shop_Management_System.sales.SalesRecorder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+// Group commit for purchases: callers racing on the same sweet share one row lock and one guarded update.
+// Off by default: every purchase waits out the window, which only pays off when a few sweets take most of the load.
+@Component
+public class PurchaseCoalescer {
+
+    private final SweetRepository sweetRepository;
+    private final CatalogVersion catalogVersion;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OptimisticRetryExecutor retryExecutor;
+    private final StockLedger stockLedger;
+    private final SalesRecorder salesRecorder;
+    private final boolean enabled;
+    private final long windowNanos;
+    private final int maxBatchSize;
+
+    private final Map<Long, Batch> openBatches = new HashMap<>();
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final AtomicLong largestBatch = new AtomicLong();
+
+    public PurchaseCoalescer(SweetRepository sweetRepository,
+                             CatalogVersion catalogVersion,
+                             ApplicationEventPublisher eventPublisher,
+                             OptimisticRetryExecutor retryExecutor,
+                             StockLedger stockLedger,
+                             SalesRecorder salesRecorder,
+                             @Value("${sweetshop.coalescing.enabled:false}") boolean enabled,
+                             @Value("${sweetshop.coalescing.window:PT0.001S}") Duration window,
+                             @Value("${sweetshop.coalescing.max-batch-size:256}") int maxBatchSize) {
+        this.sweetRepository = sweetRepository;
+        this.catalogVersion = catalogVersion;
+        this.eventPublisher = eventPublisher;
+        this.retryExecutor = retryExecutor;
+        this.stockLedger = stockLedger;
+        this.salesRecorder = salesRecorder;
+        this.enabled = enabled;
+        this.windowNanos = window.toNanos();
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    // A caller that already holds a transaction must see its own write, so it bypasses the batch.
+    public boolean accepts() {
+        return enabled && !TransactionSynchronizationManager.isActualTransactionActive();
+    }
+
+    public SweetResponse purchase(Long sweetId, int quantity) {
+        requests.increment();
+        Waiter waiter = new Waiter(quantity);
+        Batch batch;
+        boolean leader;
+        synchronized (openBatches) {
+            batch = openBatches.get(sweetId);
+            leader = batch == null;
+            if (leader) {
+                batch = new Batch(sweetId, Thread.currentThread());
+                openBatches.put(sweetId, batch);
+            }
+            batch.waiters.add(waiter);
+            if (batch.waiters.size() >= maxBatchSize) {
+                openBatches.remove(sweetId);
+                batch.sealed = true;
+            }
+        }
+
+        if (leader) {
+            awaitWindow(batch);
+            synchronized (openBatches) {
+                openBatches.remove(sweetId, batch);
+                batch.sealed = true;
+            }
+            flush(batch);
+        } else if (batch.sealed) {
+            LockSupport.unpark(batch.leader);
+        }
+
+        try {
+            return waiter.result.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    public PurchaseCoalescingStatsResponse stats() {
+        long requestCount = requests.sum();
+        long batchCount = batches.sum();
+        return PurchaseCoalescingStatsResponse.builder()
+                .enabled(enabled)
+                .requests(requestCount)
+                .batches(batchCount)
+                .largestBatch(largestBatch.get())
+                .averageBatchSize(batchCount == 0 ? 0 : (double) requestCount / batchCount)
+                .build();
+    }
+
+    private void awaitWindow(Batch batch) {
+        long deadline = System.nanoTime() + windowNanos;
+        long remaining;
+        while (!batch.sealed && (remaining = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(this, remaining);
+        }
+    }
+
+    private void flush(Batch batch) {
+        List<Waiter> waiters = batch.waiters;
+        batches.increment();
+        largestBatch.accumulateAndGet(waiters.size(), Math::max);
+
+        List<SweetResponse> outcomes;
+        try {
+            outcomes = retryExecutor.execute(batch.sweetId, () -> apply(batch.sweetId, waiters));
+        } catch (RuntimeException ex) {
+            waiters.forEach(waiter -> waiter.result.completeExceptionally(ex));
+            return;
+        }
+
+        // Callers are released only after commit, so each one reads its own purchase back.
+        for (int i = 0; i < waiters.size(); i++) {
+            SweetResponse outcome = outcomes.get(i);
+            if (outcome == null) {
+                waiters.get(i).result.completeExceptionally(
+                        new ResponseStatusException(HttpStatus.BAD_REQUEST, "Insufficient stock available"));
+            } else {
+                waiters.get(i).result.complete(outcome);
+            }
+        }
+    }
+
+    // Stock goes to waiters in arrival order; a later, smaller request may still fit after a larger one is refused.
+    private List<SweetResponse> apply(Long sweetId, List<Waiter> waiters) {
+        stockLedger.fence(sweetId);
+        Sweet sweet = sweetRepository.lockAllByIdIn(List.of(sweetId)).stream()
+                .findFirst()
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Sweet not found"));
+
+        int quantityBefore = sweet.getQuantity();
+        int available = quantityBefore - sweet.getReservedQuantity();
+        int[] granted = new int[waiters.size()];
+        int taken = 0;
+        for (int i = 0; i < waiters.size(); i++) {
+            int quantity = waiters.get(i).quantity;
+            if (quantity <= available - taken) {
+                taken += quantity;
+                granted[i] = taken;
+            }
+        }
+
+        List<SweetResponse> outcomes = new ArrayList<>(waiters.size());
+        if (taken == 0) {
+            waiters.forEach(waiter -> outcomes.add(null));
+            return outcomes;
+        }
+
+        long version = catalogVersion.allocate();
+        if (sweetRepository.decrementQuantity(sweetId, taken, version) == 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Insufficient stock available");
+        }
+        SweetResponse after = sweetRepository.findResponseById(sweetId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Sweet not found"));
+
+        // Each caller sees the stock level right after its own share was taken.
+        for (int i = 0; i < waiters.size(); i++) {
+            if (granted[i] == 0) {
+                outcomes.add(null);
+                continue;
+            }
+            SweetResponse outcome = withQuantity(after, quantityBefore - granted[i]);
+            salesRecorder.record(outcome, waiters.get(i).quantity);
+            outcomes.add(outcome);
+        }
+
+        eventPublisher.publishEvent(new SweetChangedEvent(SweetChangeType.PURCHASED,
+                withQuantity(after, quantityBefore), after, version));
+        return outcomes;
+    }
+
+    private static SweetResponse withQuantity(SweetResponse sweet, int quantity) {
+        return SweetResponse.builder()
+                .id(sweet.getId())
+                .name(sweet.getName())
+                .category(sweet.getCategory())
+                .price(sweet.getPrice())
+                .quantity(quantity)
+                .version(sweet.getVersion())
+                .build();
+    }
+
+    private static final class Batch {
+        private final Long sweetId;
+        private final Thread leader;
+        private final List<Waiter> waiters = new ArrayList<>();
+        private volatile boolean sealed;
+
+        private Batch(Long sweetId, Thread leader) {
+            this.sweetId = sweetId;
+            this.leader = leader;
+        }
+    }
+
+    private static final class Waiter {
+        private final int quantity;
+        private final CompletableFuture<SweetResponse> result = new CompletableFuture<>();
+
+        private Waiter(int quantity) {
+            this.quantity = quantity;
+        }
+    }
+}
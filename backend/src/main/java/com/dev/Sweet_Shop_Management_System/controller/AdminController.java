@@ -0,0 +1,173 @@
+package com.dev.Sweet_Shop_Management_System.controller;
+
+import com.dev.Sweet_Shop_Management_System.alert.StockAlertEngine;
+import com.dev.Sweet_Shop_Management_System.alert.WebhookAlertSink;
+import com.dev.Sweet_Shop_Management_System.cache.SweetCatalogCache;
+import com.dev.Sweet_Shop_Management_System.concurrency.ContentionMetrics;
+import com.dev.Sweet_Shop_Management_System.concurrency.PurchaseCoalescer;
+import com.dev.Sweet_Shop_Management_System.dto.request.ThresholdRequest;
+import com.dev.Sweet_Shop_Management_System.dto.response.AlertStatsResponse;
+import com.dev.Sweet_Shop_Management_System.dto.response.CacheStatsResponse;
+import com.dev.Sweet_Shop_Management_System.dto.response.ContentionStatsResponse;
+import com.dev.Sweet_Shop_Management_System.dto.response.IdempotencyStatsResponse;
+import com.dev.Sweet_Shop_Management_System.dto.response.InventoryStatsResponse;
+import com.dev.Sweet_Shop_Management_System.dto.response.JournalReplayResponse;
+import com.dev.Sweet_Shop_Management_System.dto.response.JournalStatsResponse;
+import com.dev.Sweet_Shop_Management_System.dto.response.LowStockItemResponse;
+import com.dev.Sweet_Shop_Management_System.dto.response.LedgerStatsResponse;
+import com.dev.Sweet_Shop_Management_System.dto.response.PurchaseCoalescingStatsResponse;
+import com.dev.Sweet_Shop_Management_System.dto.response.ReorderSuggestionsResponse;
+import com.dev.Sweet_Shop_Management_System.dto.response.SalesStatsResponse;
+import com.dev.Sweet_Shop_Management_System.dto.response.StreamStatsResponse;
+import com.dev.Sweet_Shop_Management_System.dto.response.ThresholdResponse;
+import com.dev.Sweet_Shop_Management_System.idempotency.IdempotencyStore;
+import com.dev.Sweet_Shop_Management_System.journal.InventoryJournal;
+import com.dev.Sweet_Shop_Management_System.ledger.StockLedger;
+import com.dev.Sweet_Shop_Management_System.reorder.ReorderAdvisor;
+import com.dev.Sweet_Shop_Management_System.sales.SalesRecorder;
+import com.dev.Sweet_Shop_Management_System.stats.InventoryStats;
+import com.dev.Sweet_Shop_Management_System.stream.LiveStreamBroadcaster;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminController {
+
+    private final SweetCatalogCache catalogCache;
+
+    private final LiveStreamBroadcaster liveStreamBroadcaster;
+
+    private final ContentionMetrics contentionMetrics;
+
+    private final PurchaseCoalescer purchaseCoalescer;
+
+    private final StockLedger stockLedger;
+
+    private final IdempotencyStore idempotencyStore;
+
+    private final InventoryJournal inventoryJournal;
+
+    private final SalesRecorder salesRecorder;
+
+    private final InventoryStats inventoryStats;
+
+    private final StockAlertEngine stockAlertEngine;
+
+    private final WebhookAlertSink webhookAlertSink;
+
+    private final ReorderAdvisor reorderAdvisor;
+
+    @GetMapping("/cache")
+    public ResponseEntity<CacheStatsResponse> getCacheStats() {
+        return ResponseEntity.ok(catalogCache.stats());
+    }
+
+    @DeleteMapping("/cache")
+    public ResponseEntity<String> clearCache() {
+        catalogCache.clear();
+        return ResponseEntity.ok("Cache cleared");
+    }
+
+    @GetMapping("/stream")
+    public ResponseEntity<StreamStatsResponse> getStreamStats() {
+        return ResponseEntity.ok(liveStreamBroadcaster.stats());
+    }
+
+    @GetMapping("/contention")
+    public ResponseEntity<ContentionStatsResponse> getContentionStats() {
+        return ResponseEntity.ok(contentionMetrics.stats());
+    }
+
+    @GetMapping("/coalescing")
+    public ResponseEntity<PurchaseCoalescingStatsResponse> getCoalescingStats() {
+        return ResponseEntity.ok(purchaseCoalescer.stats());
+    }
+
+    @GetMapping("/ledger")
+    public ResponseEntity<LedgerStatsResponse> getLedgerStats() {
+        return ResponseEntity.ok(stockLedger.stats());
+    }
+
+    @GetMapping("/idempotency")
+    public ResponseEntity<IdempotencyStatsResponse> getIdempotencyStats() {
+        return ResponseEntity.ok(idempotencyStore.stats());
+    }
+
+    @GetMapping("/journal")
+    public ResponseEntity<JournalStatsResponse> getJournalStats() {
+        return ResponseEntity.ok(inventoryJournal.stats());
+    }
+
+    // Stock per sweet rebuilt from the journal alone, as of the given instant (default now).
+    @GetMapping("/journal/replay")
+    public ResponseEntity<JournalReplayResponse> replayJournal(@RequestParam(required = false) Instant asOf) {
+        return ResponseEntity.ok(inventoryJournal.replay(asOf != null ? asOf : Instant.now()));
+    }
+
+    @GetMapping("/sales")
+    public ResponseEntity<SalesStatsResponse> getSalesStats() {
+        return ResponseEntity.ok(salesRecorder.stats());
+    }
+
+    @PostMapping("/sales/rebuild")
+    public ResponseEntity<String> rebuildSalesRollups() {
+        return ResponseEntity.ok("Rebuilt " + salesRecorder.rebuild() + " sales rollups");
+    }
+
+    // Stock value, SKU counts and low/zero stock counts, overall and per category.
+    @GetMapping("/stats")
+    public ResponseEntity<InventoryStatsResponse> getInventoryStats() {
+        return ResponseEntity.ok(inventoryStats.stats());
+    }
+
+    @PostMapping("/stats/reconcile")
+    public ResponseEntity<InventoryStatsResponse> reconcileInventoryStats() {
+        inventoryStats.reconcile();
+        return ResponseEntity.ok(inventoryStats.stats());
+    }
+
+    // Sweets at or below their reorder threshold, furthest below first.
+    @GetMapping("/low-stock")
+    public ResponseEntity<List<LowStockItemResponse>> getLowStock(
+            @RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(stockAlertEngine.lowStock(limit));
+    }
+
+    @PutMapping("/thresholds/categories/{category}")
+    public ResponseEntity<ThresholdResponse> setCategoryThreshold(
+            @PathVariable String category,
+            @Valid @RequestBody ThresholdRequest request) {
+        return ResponseEntity.ok(stockAlertEngine.setCategoryThreshold(category, request.getThreshold()));
+    }
+
+    @GetMapping("/alerts")
+    public ResponseEntity<AlertStatsResponse> getAlertStats() {
+        return ResponseEntity.ok(stockAlertEngine.stats());
+    }
+
+    // Request bodies the webhook sink would have posted, newest first.
+    @GetMapping("/alerts/webhook")
+    public ResponseEntity<List<String>> getWebhookOutbox() {
+        return ResponseEntity.ok(webhookAlertSink.outbox());
+    }
+
+    // Sweets that sell out within the horizon at their current sales velocity, soonest first.
+    @GetMapping("/reorder-suggestions")
+    public ResponseEntity<ReorderSuggestionsResponse> getReorderSuggestions(
+            @RequestParam(required = false) Integer horizonDays,
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(defaultValue = "false") boolean refresh) {
+        Duration horizon = horizonDays != null ? Duration.ofDays(horizonDays) : null;
+        return ResponseEntity.ok(reorderAdvisor.suggestions(horizon, limit, refresh));
+    }
+}
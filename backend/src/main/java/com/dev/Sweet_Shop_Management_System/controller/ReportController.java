@@ -0,0 +1,28 @@
+package com.dev.Sweet_Shop_Management_System.controller;
+
+import com.dev.Sweet_Shop_Management_System.dto.response.SalesReportResponse;
+import com.dev.Sweet_Shop_Management_System.sales.SalesReportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/reports")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class ReportController {
+
+    private final SalesReportService salesReportService;
+
+    @GetMapping("/sales")
+    public ResponseEntity<SalesReportResponse> getSales(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String groupBy) {
+        return ResponseEntity.ok(salesReportService.report(from, to, groupBy));
+    }
+}
@@ -0,0 +1,45 @@
+package com.dev.Sweet_Shop_Management_System.controller;
+
+import com.dev.Sweet_Shop_Management_System.dto.request.ReservationRequest;
+import com.dev.Sweet_Shop_Management_System.dto.response.ReservationResponse;
+import com.dev.Sweet_Shop_Management_System.dto.response.StockAvailabilityResponse;
+import com.dev.Sweet_Shop_Management_System.service.ReservationService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.security.Principal;
+
+@RestController
+@RequestMapping("/api/sweets")
+@RequiredArgsConstructor
+public class ReservationController {
+
+    private final ReservationService reservationService;
+
+    @PostMapping("/{id}/reservations")
+    public ResponseEntity<ReservationResponse> reserve(
+            @PathVariable Long id,
+            @Valid @RequestBody ReservationRequest request,
+            Principal principal) {
+        ReservationResponse response = reservationService.reserve(id, request, principal.getName());
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    @GetMapping("/{id}/availability")
+    public ResponseEntity<StockAvailabilityResponse> getAvailability(@PathVariable Long id) {
+        return ResponseEntity.ok(reservationService.getAvailability(id));
+    }
+
+    @PostMapping("/reservations/{reservationId}/confirm")
+    public ResponseEntity<ReservationResponse> confirm(@PathVariable Long reservationId, Principal principal) {
+        return ResponseEntity.ok(reservationService.confirm(reservationId, principal.getName()));
+    }
+
+    @PostMapping("/reservations/{reservationId}/release")
+    public ResponseEntity<ReservationResponse> release(@PathVariable Long reservationId, Principal principal) {
+        return ResponseEntity.ok(reservationService.release(reservationId, principal.getName()));
+    }
+}
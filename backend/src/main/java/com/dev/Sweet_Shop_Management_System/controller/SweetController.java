@@ -1,19 +1,51 @@
 package com.dev.Sweet_Shop_Management_System.controller;
 
+import com.dev.Sweet_Shop_Management_System.alert.StockAlertEngine;
+import com.dev.Sweet_Shop_Management_System.cache.CatalogVersion;
+import com.dev.Sweet_Shop_Management_System.dto.request.BatchPurchaseRequest;
 import com.dev.Sweet_Shop_Management_System.dto.request.PurchaseRequest;
 import com.dev.Sweet_Shop_Management_System.dto.request.RestockRequest;
+import com.dev.Sweet_Shop_Management_System.dto.request.StockShardRequest;
+import com.dev.Sweet_Shop_Management_System.dto.request.SweetBulkCreateRequest;
+import com.dev.Sweet_Shop_Management_System.dto.request.SweetBulkDeleteRequest;
+import com.dev.Sweet_Shop_Management_System.dto.request.SweetBulkUpdateRequest;
 import com.dev.Sweet_Shop_Management_System.dto.request.SweetCreateRequest;
 import com.dev.Sweet_Shop_Management_System.dto.request.SweetUpdateRequest;
+import com.dev.Sweet_Shop_Management_System.dto.request.ThresholdRequest;
+import com.dev.Sweet_Shop_Management_System.dto.response.BatchPurchaseResponse;
+import com.dev.Sweet_Shop_Management_System.dto.response.ImportSummaryResponse;
+import com.dev.Sweet_Shop_Management_System.dto.response.SweetBatchResponse;
+import com.dev.Sweet_Shop_Management_System.dto.response.SweetBulkResponse;
+import com.dev.Sweet_Shop_Management_System.dto.response.SweetChangesResponse;
+import com.dev.Sweet_Shop_Management_System.dto.response.SweetPageResponse;
 import com.dev.Sweet_Shop_Management_System.dto.response.SweetResponse;
+import com.dev.Sweet_Shop_Management_System.dto.response.ThresholdResponse;
+import com.dev.Sweet_Shop_Management_System.dto.response.TopSellersResponse;
+import com.dev.Sweet_Shop_Management_System.idempotency.IdempotencyStore;
+import com.dev.Sweet_Shop_Management_System.sales.TopSellers;
+import com.dev.Sweet_Shop_Management_System.service.CatalogTransferService;
+import com.dev.Sweet_Shop_Management_System.service.FileFormat;
+import com.dev.Sweet_Shop_Management_System.service.RestockImportService;
+import com.dev.Sweet_Shop_Management_System.service.SweetBulkService;
+import com.dev.Sweet_Shop_Management_System.service.SweetChangeFeedService;
 import com.dev.Sweet_Shop_Management_System.service.SweetService;
+import com.dev.Sweet_Shop_Management_System.stream.LiveStreamBroadcaster;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.Principal;
 import java.util.List;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/sweets")
@@ -22,15 +54,66 @@ public class SweetController {
 
     private final SweetService sweetService;
 
+    private final SweetChangeFeedService changeFeedService;
+
+    private final CatalogVersion catalogVersion;
+
+    private final LiveStreamBroadcaster liveStreamBroadcaster;
+
+    private final IdempotencyStore idempotencyStore;
+
+    private final RestockImportService restockImportService;
+
+    private final CatalogTransferService catalogTransferService;
+
+    private final SweetBulkService sweetBulkService;
+
+    private final StockAlertEngine stockAlertEngine;
+
+    private final TopSellers topSellers;
+
     @PostMapping
     public ResponseEntity<SweetResponse> addSweet(@Valid @RequestBody SweetCreateRequest request) {
         SweetResponse response = sweetService.addSweet(request);
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    @PostMapping("/bulk")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<SweetBulkResponse> addSweets(@Valid @RequestBody SweetBulkCreateRequest request) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(sweetBulkService.createAll(request.getSweets()));
+    }
+
     @GetMapping
-    public ResponseEntity<List<SweetResponse>> getAllSweets() {
-        return ResponseEntity.ok(sweetService.getAllSweets());
+    public ResponseEntity<List<SweetResponse>> getAllSweets(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return conditionalGet(ifNoneMatch, sweetService::getAllSweets);
+    }
+
+    @GetMapping(params = "limit")
+    public ResponseEntity<SweetPageResponse> getSweetsPage(
+            @RequestParam int limit,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String sort,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        return conditionalGet(ifNoneMatch, () -> sweetService.getSweetsPage(sort, cursor, limit));
+    }
+
+    @GetMapping(params = {"ids", "!limit"})
+    public ResponseEntity<SweetBatchResponse> getSweets(
+            @RequestParam List<Long> ids,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        return conditionalGet(ifNoneMatch, () -> sweetService.getSweets(ids));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<SweetResponse> getSweet(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        return conditionalGet(ifNoneMatch, () -> sweetService.getSweet(id));
     }
 
     @GetMapping("/search")
@@ -38,9 +121,43 @@ public class SweetController {
             @RequestParam(required = false) String name,
             @RequestParam(required = false) String category,
             @RequestParam(required = false) Double minPrice,
-            @RequestParam(required = false) Double maxPrice
+            @RequestParam(required = false) Double maxPrice,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
     ) {
-        return ResponseEntity.ok(sweetService.searchSweets(name, category, minPrice, maxPrice));
+        return conditionalGet(ifNoneMatch, () -> sweetService.searchSweets(name, category, minPrice, maxPrice));
+    }
+
+    @GetMapping(value = "/search", params = "limit")
+    public ResponseEntity<SweetPageResponse> searchSweetsPage(
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) Double minPrice,
+            @RequestParam(required = false) Double maxPrice,
+            @RequestParam int limit,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String sort,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        return conditionalGet(ifNoneMatch,
+                () -> sweetService.searchSweetsPage(name, category, minPrice, maxPrice, sort, cursor, limit));
+    }
+
+    @GetMapping("/changes")
+    public ResponseEntity<SweetChangesResponse> getChanges(@RequestParam(required = false) Long since) {
+        return ResponseEntity.ok(changeFeedService.getChangesSince(since));
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamStockChanges() {
+        return liveStreamBroadcaster.subscribe();
+    }
+
+    // Best sellers over a sliding window (1h, 1d or 1w), estimated from sketches rather than raw sales.
+    @GetMapping("/top")
+    public ResponseEntity<TopSellersResponse> getTopSellers(
+            @RequestParam(defaultValue = "1h") String window,
+            @RequestParam(defaultValue = "20") int n) {
+        return ResponseEntity.ok(topSellers.top(window, n));
     }
 
     @PutMapping("/{id}")
@@ -50,6 +167,18 @@ public class SweetController {
         return ResponseEntity.ok(sweetService.updateSweet(id, request));
     }
 
+    @PatchMapping("/bulk")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<SweetBulkResponse> updateSweets(@Valid @RequestBody SweetBulkUpdateRequest request) {
+        return ResponseEntity.ok(sweetBulkService.updateAll(request.getUpdates(), request.getPriceAdjustment()));
+    }
+
+    @DeleteMapping("/bulk")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<SweetBulkResponse> deleteSweets(@Valid @RequestBody SweetBulkDeleteRequest request) {
+        return ResponseEntity.ok(sweetBulkService.deleteAll(request.getIds()));
+    }
+
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<String> deleteSweet(@PathVariable Long id) {
@@ -60,18 +189,87 @@ public class SweetController {
     @PostMapping("/{id}/purchase")
     public ResponseEntity<SweetResponse> purchaseSweet(
             @PathVariable Long id,
-            @Valid @RequestBody PurchaseRequest request) {
-        SweetResponse response = sweetService.purchaseSweet(id, request);
-        return ResponseEntity.ok(response);
+            @Valid @RequestBody PurchaseRequest request,
+            @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey,
+            Principal principal) {
+        return idempotencyStore.execute(idempotencyKey, principal, "purchase:" + id, request, SweetResponse.class,
+                () -> ResponseEntity.ok(sweetService.purchaseSweet(id, request)));
+    }
+
+    @PostMapping("/purchase/batch")
+    public ResponseEntity<BatchPurchaseResponse> purchaseBatch(
+            @Valid @RequestBody BatchPurchaseRequest request,
+            @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey,
+            Principal principal) {
+        return idempotencyStore.execute(idempotencyKey, principal, "purchase-batch", request, BatchPurchaseResponse.class, () -> {
+            BatchPurchaseResponse response = sweetService.purchaseBatch(request);
+            return ResponseEntity.status(response.isCompleted() ? HttpStatus.OK : HttpStatus.BAD_REQUEST).body(response);
+        });
     }
 
     @PostMapping("/{id}/restock")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<SweetResponse> restockSweet(
             @PathVariable Long id,
-            @RequestBody RestockRequest request) {
-        SweetResponse response = sweetService.restockSweet(id, request.getQuantity());
-        return ResponseEntity.ok(response);
+            @RequestBody RestockRequest request,
+            @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey,
+            Principal principal) {
+        return idempotencyStore.execute(idempotencyKey, principal, "restock:" + id, request, SweetResponse.class,
+                () -> ResponseEntity.ok(sweetService.restockSweet(id, request.getQuantity())));
+    }
+
+    // The body is read as a stream, so the file is never held in memory.
+    @PostMapping(value = "/restock/import", consumes = {"text/csv", MediaType.APPLICATION_NDJSON_VALUE})
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ImportSummaryResponse> importRestocks(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body) throws IOException {
+        return ResponseEntity.ok(restockImportService.importRestocks(body, FileFormat.fromContentType(contentType)));
+    }
+
+    // Rows are written to the response as they are read, so the catalog is never held in memory.
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportCatalog(
+            @RequestParam(defaultValue = "ndjson") String format) {
+        FileFormat fileFormat = FileFormat.fromName(format);
+        return ResponseEntity.ok()
+                .contentType(fileFormat.mediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=sweets." + fileFormat.extension())
+                .body(out -> catalogTransferService.export(out, fileFormat));
+    }
+
+    @PostMapping(value = "/import", consumes = {"text/csv", MediaType.APPLICATION_NDJSON_VALUE})
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ImportSummaryResponse> importCatalog(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body) throws IOException {
+        return ResponseEntity.ok(catalogTransferService.importCatalog(body, FileFormat.fromContentType(contentType)));
+    }
+
+    @PutMapping("/{id}/shards")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<SweetResponse> reshardSweet(
+            @PathVariable Long id,
+            @Valid @RequestBody StockShardRequest request) {
+        return ResponseEntity.ok(sweetService.reshardSweet(id, request.getShards()));
+    }
+
+    @PutMapping("/{id}/threshold")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ThresholdResponse> setThreshold(
+            @PathVariable Long id,
+            @Valid @RequestBody ThresholdRequest request) {
+        return ResponseEntity.ok(stockAlertEngine.setSweetThreshold(id, request.getThreshold()));
+    }
+
+    private <T> ResponseEntity<T> conditionalGet(String ifNoneMatch, Supplier<T> body) {
+        // Read the version before the data so the ETag can only ever be older than what we send.
+        String etag = catalogVersion.etag();
+        if (CatalogVersion.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok().eTag(etag).body(body.get());
     }
 
 }
@@ -0,0 +1,17 @@
+package com.dev.Sweet_Shop_Management_System.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.*;
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchPurchaseRequest {
+    @NotEmpty(message = "At least one item is required")
+    @Size(max = 100, message = "A cart can contain at most 100 items")
+    private List<@Valid @NotNull PurchaseLineRequest> items;
+}
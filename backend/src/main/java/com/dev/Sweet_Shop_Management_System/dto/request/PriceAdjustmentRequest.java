@@ -0,0 +1,18 @@
+package com.dev.Sweet_Shop_Management_System.dto.request;
+
+import jakarta.validation.constraints.*;
+import lombok.*;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriceAdjustmentRequest {
+    @NotBlank(message = "Category is required")
+    private String category;
+
+    // -10 lowers every price in the category by 10%; results are rounded to two decimals.
+    @NotNull(message = "Percent is required")
+    @Min(value = -100, message = "Percent cannot be below -100")
+    private Double percent;
+}
@@ -0,0 +1,17 @@
+package com.dev.Sweet_Shop_Management_System.dto.request;
+
+import jakarta.validation.constraints.*;
+import lombok.*;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PurchaseLineRequest {
+    @NotNull(message = "Sweet id is required")
+    private Long id;
+
+    @NotNull(message = "Quantity is required")
+    @Min(value = 1, message = "Purchase quantity must be at least 1")
+    private Integer quantity;
+}
@@ -0,0 +1,17 @@
+package com.dev.Sweet_Shop_Management_System.dto.request;
+
+import jakarta.validation.constraints.*;
+import lombok.*;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReservationRequest {
+    @NotNull(message = "Quantity is required")
+    @Min(value = 1, message = "Reservation quantity must be at least 1")
+    private Integer quantity;
+
+    @Min(value = 1, message = "Hold time must be at least 1 second")
+    private Integer ttlSeconds;
+}
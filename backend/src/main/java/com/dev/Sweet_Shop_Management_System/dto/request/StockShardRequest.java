@@ -0,0 +1,18 @@
+package com.dev.Sweet_Shop_Management_System.dto.request;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockShardRequest {
+    @NotNull(message = "Shard count is required")
+    @Min(value = 1, message = "Shard count must be at least 1")
+    private Integer shards;
+}
@@ -0,0 +1,16 @@
+package com.dev.Sweet_Shop_Management_System.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.*;
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SweetBulkCreateRequest {
+    @NotEmpty(message = "At least one sweet is required")
+    private List<@Valid @NotNull SweetCreateRequest> sweets;
+}
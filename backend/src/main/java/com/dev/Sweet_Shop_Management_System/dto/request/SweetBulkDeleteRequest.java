@@ -0,0 +1,15 @@
+package com.dev.Sweet_Shop_Management_System.dto.request;
+
+import jakarta.validation.constraints.*;
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SweetBulkDeleteRequest {
+    @NotEmpty(message = "At least one id is required")
+    private List<@NotNull Long> ids;
+}
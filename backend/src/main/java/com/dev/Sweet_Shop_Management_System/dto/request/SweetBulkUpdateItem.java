@@ -0,0 +1,25 @@
+package com.dev.Sweet_Shop_Management_System.dto.request;
+
+import jakarta.validation.constraints.*;
+import lombok.*;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SweetBulkUpdateItem {
+    @NotNull(message = "Sweet id is required")
+    private Long id;
+
+    private String name;
+    private String category;
+
+    @Min(value = 0, message = "Price must be non-negative")
+    private Double price;
+
+    @Min(value = 0, message = "Quantity must be non-negative")
+    private Integer quantity;
+
+    // When present, the item only applies if the sweet is still at this version.
+    private Long version;
+}
@@ -0,0 +1,18 @@
+package com.dev.Sweet_Shop_Management_System.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.*;
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SweetBulkUpdateRequest {
+    private List<@Valid @NotNull SweetBulkUpdateItem> updates;
+
+    @Valid
+    private PriceAdjustmentRequest priceAdjustment;
+}
@@ -16,4 +16,7 @@ public class SweetUpdateRequest {
 
     @Min(value = 0, message = "Quantity must be non-negative")
     private Integer quantity;
+
+    // When present, the update only applies if the sweet is still at this version.
+    private Long version;
 }
\ No newline at end of file
@@ -0,0 +1,17 @@
+package com.dev.Sweet_Shop_Management_System.dto.request;
+
+import jakarta.validation.constraints.Min;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ThresholdRequest {
+    // Null removes the override, falling back to the category or shop default.
+    @Min(value = 0, message = "Threshold must be non-negative")
+    private Integer threshold;
+}
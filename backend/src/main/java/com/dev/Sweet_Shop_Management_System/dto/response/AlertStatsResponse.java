@@ -0,0 +1,24 @@
+package com.dev.Sweet_Shop_Management_System.dto.response;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AlertStatsResponse {
+    private boolean enabled;
+    private int defaultThreshold;
+    private List<String> sinks;
+    private int sweetThresholds;
+    private int categoryThresholds;
+    private int belowThreshold;
+    private long raised;
+    private long duplicatesSuppressed;
+    private long recovered;
+    private long staleIgnored;
+    private long dropped;
+    private long deliveryFailures;
+}
@@ -0,0 +1,16 @@
+package com.dev.Sweet_Shop_Management_System.dto.response;
+
+import lombok.*;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoryStatsResponse {
+    private String category;
+    private long skuCount;
+    private long units;
+    private double stockValue;
+    private long lowStockCount;
+    private long zeroStockCount;
+}
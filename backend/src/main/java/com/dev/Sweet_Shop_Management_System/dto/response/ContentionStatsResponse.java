@@ -0,0 +1,19 @@
+package com.dev.Sweet_Shop_Management_System.dto.response;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ContentionStatsResponse {
+    private long operations;
+    private long conflicts;
+    private long retries;
+    private long exhausted;
+    private long retryMillis;
+    private double conflictRate;
+    private List<SweetContentionResponse> hotSweets;
+}
@@ -0,0 +1,20 @@
+package com.dev.Sweet_Shop_Management_System.dto.response;
+
+import lombok.*;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdempotencyStatsResponse {
+    private boolean enabled;
+    private int size;
+    private int maxEntries;
+    private int inFlight;
+    private long executions;
+    private long replays;
+    private long duplicatesJoined;
+    private long fallbackLookups;
+    private long evictions;
+    private long pendingWrites;
+}
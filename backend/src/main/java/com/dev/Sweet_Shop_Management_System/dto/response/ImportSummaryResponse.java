@@ -0,0 +1,21 @@
+package com.dev.Sweet_Shop_Management_System.dto.response;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportSummaryResponse {
+    private long lines;
+    private long applied;
+    private long failed;
+    private long chunks;
+    private long batches;
+    private long elapsedMillis;
+    private double rowsPerSecond;
+    private List<ImportLineError> errors;
+    private boolean errorsTruncated;
+}
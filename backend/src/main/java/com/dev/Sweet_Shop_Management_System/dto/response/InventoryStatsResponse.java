@@ -0,0 +1,25 @@
+package com.dev.Sweet_Shop_Management_System.dto.response;
+
+import lombok.*;
+
+import java.time.Instant;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InventoryStatsResponse {
+    private long skuCount;
+    private long units;
+    private double stockValue;
+    private int lowStockThreshold;
+    private long lowStockCount;
+    private long zeroStockCount;
+    private List<CategoryStatsResponse> categories;
+    private Instant lastReconciledAt;
+    private String lastReconcileResult;
+    private long reconciles;
+    private long mismatchesCorrected;
+    private String lastMismatch;
+}
@@ -0,0 +1,17 @@
+package com.dev.Sweet_Shop_Management_System.dto.response;
+
+import lombok.*;
+
+import java.time.Instant;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JournalReplayResponse {
+    private Instant asOf;
+    private long recordsRead;
+    private long recordsApplied;
+    private Map<Long, Integer> quantities;
+}
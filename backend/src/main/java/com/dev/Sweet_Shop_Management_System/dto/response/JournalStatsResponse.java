@@ -0,0 +1,20 @@
+package com.dev.Sweet_Shop_Management_System.dto.response;
+
+import lombok.*;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JournalStatsResponse {
+    private boolean enabled;
+    private String durability;
+    private String directory;
+    private int segments;
+    private long nextSequence;
+    private int queued;
+    private long appended;
+    private long syncs;
+    private long dropped;
+    private long syncTimeouts;
+}
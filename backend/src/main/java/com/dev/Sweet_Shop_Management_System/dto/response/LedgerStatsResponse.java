@@ -0,0 +1,18 @@
+package com.dev.Sweet_Shop_Management_System.dto.response;
+
+import lombok.*;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LedgerStatsResponse {
+    private boolean enabled;
+    private String durability;
+    private int trackedSweets;
+    private long pendingSweets;
+    private long decided;
+    private long fallbacks;
+    private long flushCycles;
+    private long rowsFlushed;
+}
@@ -0,0 +1,16 @@
+package com.dev.Sweet_Shop_Management_System.dto.response;
+
+import lombok.*;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LowStockItemResponse {
+    private Long sweetId;
+    private String name;
+    private String category;
+    private int quantity;
+    private int threshold;
+    private String level;
+}
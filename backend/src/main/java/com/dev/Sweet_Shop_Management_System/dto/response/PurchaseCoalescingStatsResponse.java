@@ -0,0 +1,15 @@
+package com.dev.Sweet_Shop_Management_System.dto.response;
+
+import lombok.*;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PurchaseCoalescingStatsResponse {
+    private boolean enabled;
+    private long requests;
+    private long batches;
+    private long largestBatch;
+    private double averageBatchSize;
+}
@@ -0,0 +1,15 @@
+package com.dev.Sweet_Shop_Management_System.dto.response;
+
+import lombok.*;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PurchaseLineResult {
+    private Long sweetId;
+    private Integer requested;
+    private Integer available;
+    private PurchaseLineStatus status;
+    private SweetResponse sweet;
+}
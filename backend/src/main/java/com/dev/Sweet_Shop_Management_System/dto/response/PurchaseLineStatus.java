@@ -0,0 +1,8 @@
+package com.dev.Sweet_Shop_Management_System.dto.response;
+
+public enum PurchaseLineStatus {
+    PURCHASED,
+    INSUFFICIENT_STOCK,
+    NOT_FOUND,
+    NOT_APPLIED
+}
@@ -0,0 +1,17 @@
+package com.dev.Sweet_Shop_Management_System.dto.response;
+
+import lombok.*;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReorderSuggestionResponse {
+    private Long sweetId;
+    private String name;
+    private String category;
+    private int available;
+    private double unitsPerDay;
+    private double daysUntilStockout;
+    private int suggestedQuantity;
+}
@@ -0,0 +1,20 @@
+package com.dev.Sweet_Shop_Management_System.dto.response;
+
+import lombok.*;
+
+import java.time.Instant;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReorderSuggestionsResponse {
+    private Instant computedAt;
+    private long elapsedMillis;
+    private double horizonDays;
+    private double halfLifeDays;
+    private long scanned;
+    private long atRisk;
+    private List<ReorderSuggestionResponse> suggestions;
+}
@@ -0,0 +1,19 @@
+package com.dev.Sweet_Shop_Management_System.dto.response;
+
+import com.dev.Sweet_Shop_Management_System.entity.ReservationStatus;
+import lombok.*;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReservationResponse {
+    private Long id;
+    private Long sweetId;
+    private Integer quantity;
+    private ReservationStatus status;
+    private Instant expiresAt;
+    private SweetResponse sweet;
+}
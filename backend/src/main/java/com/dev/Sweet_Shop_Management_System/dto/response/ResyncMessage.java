@@ -0,0 +1,13 @@
+package com.dev.Sweet_Shop_Management_System.dto.response;
+
+import lombok.*;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResyncMessage {
+    private String reason;
+    private int changed;
+    private long version;
+}
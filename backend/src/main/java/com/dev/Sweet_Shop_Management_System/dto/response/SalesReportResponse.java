@@ -0,0 +1,19 @@
+package com.dev.Sweet_Shop_Management_System.dto.response;
+
+import lombok.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SalesReportResponse {
+    private LocalDate from;
+    private LocalDate to;
+    private String groupBy;
+    private long totalUnits;
+    private double totalRevenue;
+    private List<SalesReportRow> rows;
+}
@@ -0,0 +1,14 @@
+package com.dev.Sweet_Shop_Management_System.dto.response;
+
+import lombok.*;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SalesReportRow {
+    // Sweet id, category name or ISO date, depending on the grouping.
+    private String key;
+    private long units;
+    private double revenue;
+}
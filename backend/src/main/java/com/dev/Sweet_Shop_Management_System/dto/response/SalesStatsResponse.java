@@ -0,0 +1,18 @@
+package com.dev.Sweet_Shop_Management_System.dto.response;
+
+import lombok.*;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SalesStatsResponse {
+    private String zone;
+    private long recordedLines;
+    private long pendingLines;
+    private long parkedLines;
+    private long foldedLines;
+    private long rollupUpserts;
+    private long flushes;
+    private long failedFlushes;
+}
@@ -0,0 +1,20 @@
+package com.dev.Sweet_Shop_Management_System.dto.response;
+
+import lombok.*;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockAlertMessage {
+    private long alertId;
+    private Long sweetId;
+    private String name;
+    private String category;
+    private String level;
+    private int quantity;
+    private int threshold;
+    private Instant raisedAt;
+}
@@ -0,0 +1,14 @@
+package com.dev.Sweet_Shop_Management_System.dto.response;
+
+import lombok.*;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockAvailabilityResponse {
+    private Long sweetId;
+    private Integer quantity;
+    private Integer reserved;
+    private Integer available;
+}
@@ -0,0 +1,15 @@
+package com.dev.Sweet_Shop_Management_System.dto.response;
+
+import lombok.*;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockChangeMessage {
+    private Long sweetId;
+    private String type;
+    private Integer quantity;
+    private Double price;
+    private long version;
+}
@@ -0,0 +1,16 @@
+package com.dev.Sweet_Shop_Management_System.dto.response;
+
+import lombok.*;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StreamStatsResponse {
+    private int subscribers;
+    private long published;
+    private long pending;
+    private long dropped;
+    private long coalesced;
+    private long timedOut;
+}
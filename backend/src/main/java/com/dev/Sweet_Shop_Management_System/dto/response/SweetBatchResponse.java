@@ -0,0 +1,14 @@
+package com.dev.Sweet_Shop_Management_System.dto.response;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SweetBatchResponse {
+    private List<SweetResponse> sweets;
+    private List<Long> missingIds;
+}
@@ -0,0 +1,16 @@
+package com.dev.Sweet_Shop_Management_System.dto.response;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SweetChangesResponse {
+    private long version;
+    private boolean snapshot;
+    private List<SweetResponse> upserted;
+    private List<Long> deleted;
+}
@@ -0,0 +1,14 @@
+package com.dev.Sweet_Shop_Management_System.dto.response;
+
+import lombok.*;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SweetContentionResponse {
+    private Long sweetId;
+    private long operations;
+    private long conflicts;
+    private double conflictRate;
+}
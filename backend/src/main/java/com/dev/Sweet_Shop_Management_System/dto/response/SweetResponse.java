@@ -12,5 +12,6 @@ public class SweetResponse {
     private String category;
     private Double price;
     private Integer quantity;
+    private Long version;
 }
 
@@ -0,0 +1,14 @@
+package com.dev.Sweet_Shop_Management_System.dto.response;
+
+import lombok.*;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ThresholdResponse {
+    private Long sweetId;
+    private String category;
+    private Integer threshold;
+    private int effectiveThreshold;
+}
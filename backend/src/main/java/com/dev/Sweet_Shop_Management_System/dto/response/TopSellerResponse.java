@@ -0,0 +1,17 @@
+package com.dev.Sweet_Shop_Management_System.dto.response;
+
+import lombok.*;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TopSellerResponse {
+    private int rank;
+    private Long sweetId;
+    private String name;
+    // Estimated units sold in the window: never fewer than the true count, and at most maxError more.
+    private long units;
+    // Units guaranteed to have been sold in the window.
+    private long minUnits;
+}
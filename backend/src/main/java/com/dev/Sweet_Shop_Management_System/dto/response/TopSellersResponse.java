@@ -0,0 +1,20 @@
+package com.dev.Sweet_Shop_Management_System.dto.response;
+
+import lombok.*;
+
+import java.time.Instant;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TopSellersResponse {
+    private String window;
+    private Instant from;
+    private Instant to;
+    private long totalUnits;
+    // No sweet outside the list sold more than this, and no listed count is overstated by more.
+    private long maxError;
+    private List<TopSellerResponse> sellers;
+}
@@ -0,0 +1,20 @@
+package com.dev.Sweet_Shop_Management_System.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+// Default reorder threshold for every sweet in a category without its own.
+@Entity
+@Table(name = "category_thresholds")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CategoryThreshold {
+    @Id
+    private String category;
+
+    @Column(nullable = false)
+    private Integer threshold;
+}
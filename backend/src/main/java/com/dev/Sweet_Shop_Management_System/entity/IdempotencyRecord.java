@@ -0,0 +1,35 @@
+package com.dev.Sweet_Shop_Management_System.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "idempotency_records", indexes = {
+        @Index(name = "idx_idempotency_records_expires_at", columnList = "expires_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class IdempotencyRecord {
+    @Id
+    @Column(name = "record_key", length = 400)
+    private String key;
+
+    @Column(nullable = false)
+    private String fingerprint;
+
+    @Column(nullable = false)
+    private Integer status;
+
+    @Column(columnDefinition = "text")
+    private String body;
+
+    private String error;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+}
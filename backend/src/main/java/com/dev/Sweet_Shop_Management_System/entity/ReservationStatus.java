@@ -0,0 +1,8 @@
+package com.dev.Sweet_Shop_Management_System.entity;
+
+public enum ReservationStatus {
+    ACTIVE,
+    CONFIRMED,
+    RELEASED,
+    EXPIRED
+}
@@ -0,0 +1,53 @@
+package com.dev.Sweet_Shop_Management_System.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+// One row per completed purchase, written in the purchase's transaction; the sales rollups are folded from these
+// in the background and can be rebuilt from them.
+@Entity
+@Table(name = "sale_lines", indexes = {
+        @Index(name = "idx_sale_lines_sale_day", columnList = "sale_day"),
+        @Index(name = "idx_sale_lines_sweet_id", columnList = "sweet_id"),
+        @Index(name = "idx_sale_lines_status", columnList = "status, id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SaleLine {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "sweet_id", nullable = false)
+    private Long sweetId;
+
+    @Column(nullable = false)
+    private String category;
+
+    @Column(nullable = false)
+    private Integer quantity;
+
+    @Column(name = "unit_price", nullable = false)
+    private Double unitPrice;
+
+    @Column(nullable = false)
+    private Double revenue;
+
+    @Column(name = "sold_at", nullable = false)
+    private Instant soldAt;
+
+    // The business day in the configured sales zone, fixed when the sale is recorded.
+    @Column(name = "sale_day", nullable = false)
+    private LocalDate saleDay;
+
+    // Lines written before folding was tracked are already in the rollups, hence the FOLDED default.
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16, columnDefinition = "varchar(16) default 'FOLDED'")
+    private SaleLineStatus status;
+}
@@ -0,0 +1,7 @@
+package com.dev.Sweet_Shop_Management_System.entity;
+
+public enum SalesGroupType {
+    SWEET,
+    CATEGORY,
+    DAY
+}
@@ -0,0 +1,38 @@
+package com.dev.Sweet_Shop_Management_System.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+
+// Units and revenue per day for one sweet, one category, or the whole shop (group key "").
+@Entity
+@Table(name = "sales_rollups", indexes = {
+        @Index(name = "idx_sales_rollups_group_day", columnList = "group_type, sale_day")
+})
+@IdClass(SalesRollupId.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SalesRollup {
+    @Id
+    @Column(name = "sale_day")
+    private LocalDate saleDay;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "group_type", length = 16)
+    private SalesGroupType groupType;
+
+    @Id
+    @Column(name = "group_key")
+    private String groupKey;
+
+    @Column(nullable = false)
+    private Long units;
+
+    @Column(nullable = false)
+    private Double revenue;
+}
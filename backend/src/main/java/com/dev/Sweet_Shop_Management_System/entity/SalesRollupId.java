@@ -0,0 +1,15 @@
+package com.dev.Sweet_Shop_Management_System.entity;
+
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SalesRollupId implements Serializable {
+    private LocalDate saleDay;
+    private SalesGroupType groupType;
+    private String groupKey;
+}
@@ -2,20 +2,53 @@ package com.dev.Sweet_Shop_Management_System.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
 
 @Entity
-@Table(name = "sweets")
+@Table(name = "sweets", indexes = {
+        @Index(name = "idx_sweets_name_id", columnList = "name, id"),
+        @Index(name = "idx_sweets_price_id", columnList = "price, id"),
+        @Index(name = "idx_sweets_change_version", columnList = "change_version")
+})
+// Entity updates only write the columns they changed, so they never overwrite reserved_quantity maintained by bulk updates.
+@DynamicUpdate
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class Sweet {
+    public static final String SEQUENCE = "sweets_seq";
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    // Pooled sequence: each nextval reserves a block of ids, handed out without further round trips, which lets Hibernate batch inserts.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sweets_seq")
+    @SequenceGenerator(name = "sweets_seq", sequenceName = SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
     private String name;
     private String category;
     private Double price;
     private Integer quantity;
+
+    // Units held by active reservations; available to sell is quantity minus this.
+    @Column(name = "reserved_quantity", nullable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private Integer reservedQuantity = 0;
+
+    @Version
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private Long version;
+
+    @Column(name = "change_version")
+    private Long changeVersion;
+
+    // Above one, free stock lives in sweet_stock_shards and quantity only holds the unsharded remainder.
+    @Column(name = "stock_shards", nullable = false)
+    @ColumnDefault("1")
+    @Builder.Default
+    private Integer stockShards = 1;
 }
@@ -0,0 +1,31 @@
+package com.dev.Sweet_Shop_Management_System.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+@Entity
+@Table(name = "sweet_stock_shards",
+        uniqueConstraints = @UniqueConstraint(name = "uk_sweet_stock_shards_sweet_shard", columnNames = {"sweet_id", "shard"}),
+        indexes = @Index(name = "idx_sweet_stock_shards_change_version", columnList = "change_version"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SweetStockShard {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "sweet_id", nullable = false)
+    private Long sweetId;
+
+    @Column(nullable = false)
+    private Integer shard;
+
+    @Column(nullable = false)
+    private Integer quantity;
+
+    @Column(name = "change_version")
+    private Long changeVersion;
+}
@@ -0,0 +1,21 @@
+package com.dev.Sweet_Shop_Management_System.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+// Reorder threshold set for one sweet; overrides its category's default.
+@Entity
+@Table(name = "sweet_thresholds")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SweetThreshold {
+    @Id
+    @Column(name = "sweet_id")
+    private Long sweetId;
+
+    @Column(nullable = false)
+    private Integer threshold;
+}
@@ -0,0 +1,27 @@
+package com.dev.Sweet_Shop_Management_System.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "sweet_tombstones", indexes = {
+        @Index(name = "idx_sweet_tombstones_change_version", columnList = "change_version")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SweetTombstone {
+    @Id
+    @Column(name = "sweet_id")
+    private Long sweetId;
+
+    @Column(name = "change_version", nullable = false)
+    private Long changeVersion;
+
+    @Column(name = "deleted_at", nullable = false)
+    private Instant deletedAt;
+}
@@ -0,0 +1,15 @@
+package com.dev.Sweet_Shop_Management_System.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+// One import chunk with the full row before (null for created sweets) and after each change. Bulk imports skip
+// per-row SweetChangedEvents, so every listener that keeps derived state applies the chunk from here instead.
+@Getter
+@AllArgsConstructor
+public class CatalogImportedEvent {
+    private final long version;
+    private final List<SweetChangedEvent> changes;
+}
@@ -0,0 +1,9 @@
+package com.dev.Sweet_Shop_Management_System.event;
+
+public enum SweetChangeType {
+    CREATED,
+    UPDATED,
+    DELETED,
+    PURCHASED,
+    RESTOCKED
+}
@@ -0,0 +1,18 @@
+package com.dev.Sweet_Shop_Management_System.event;
+
+import com.dev.Sweet_Shop_Management_System.dto.response.SweetResponse;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class SweetChangedEvent {
+    private final SweetChangeType type;
+    private final SweetResponse before;
+    private final SweetResponse after;
+    private final long version;
+
+    public Long getSweetId() {
+        return after != null ? after.getId() : before.getId();
+    }
+}
@@ -0,0 +1,91 @@
+package com.dev.Sweet_Shop_Management_System.idempotency;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Remembers which keys were evicted while still live, so only those misses read the table.
+// Two Bloom filter generations rotate every TTL: a key added at time t stays in the current or previous one
+// until at least t + TTL, after which its stored record has expired anyway. False positives cost a table
+// read, never a wrong answer.
+final class EvictedKeyFilter {
+
+    private static final int HASHES = 7;
+    private static final int MIN_BITS = 1 << 16;
+
+    private final int bits;
+    private final long ttlMillis;
+
+    private volatile AtomicLongArray current;
+    private volatile AtomicLongArray previous;
+    private volatile long rotatedAt;
+
+    // Ten bits per expected key keeps false positives near 1% while the filter holds that many.
+    EvictedKeyFilter(int expectedKeys, long ttlMillis, long nowMillis) {
+        this.bits = (int) Math.min(Integer.MAX_VALUE - 63L, Math.max(MIN_BITS, expectedKeys * 10L));
+        this.ttlMillis = ttlMillis;
+        this.current = newGeneration();
+        this.previous = newGeneration();
+        this.rotatedAt = nowMillis;
+    }
+
+    void add(String key, long nowMillis) {
+        rotate(nowMillis);
+        AtomicLongArray words = current;
+        long h1 = key.hashCode();
+        long h2 = secondHash(key);
+        for (int i = 0; i < HASHES; i++) {
+            int bit = bit(h1, h2, i);
+            long mask = 1L << bit;
+            words.accumulateAndGet(bit >>> 6, mask, (word, set) -> word | set);
+        }
+    }
+
+    boolean mightContain(String key, long nowMillis) {
+        rotate(nowMillis);
+        long h1 = key.hashCode();
+        long h2 = secondHash(key);
+        return contains(current, h1, h2) || contains(previous, h1, h2);
+    }
+
+    private boolean contains(AtomicLongArray words, long h1, long h2) {
+        for (int i = 0; i < HASHES; i++) {
+            int bit = bit(h1, h2, i);
+            if ((words.get(bit >>> 6) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void rotate(long nowMillis) {
+        if (nowMillis - rotatedAt < ttlMillis) {
+            return;
+        }
+        synchronized (this) {
+            long elapsed = nowMillis - rotatedAt;
+            if (elapsed < ttlMillis) {
+                return;
+            }
+            // After two idle TTLs nothing in either generation can still be stored.
+            previous = elapsed < 2 * ttlMillis ? current : newGeneration();
+            current = newGeneration();
+            rotatedAt = nowMillis;
+        }
+    }
+
+    private AtomicLongArray newGeneration() {
+        return new AtomicLongArray((bits + 63) >>> 6);
+    }
+
+    private int bit(long h1, long h2, int i) {
+        return (int) Math.floorMod(h1 + i * h2, (long) bits);
+    }
+
+    // Independent of String.hashCode so double hashing spreads keys that collide on it.
+    private static long secondHash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            hash = (hash ^ key.charAt(i)) * 0x100000001b3L;
+        }
+        return hash | 1;
+    }
+}
@@ -0,0 +1,394 @@
+package com.dev.Sweet_Shop_Management_System.idempotency;
+
+import com.dev.Sweet_Shop_Management_System.dto.response.IdempotencyStatsResponse;
+import com.dev.Sweet_Shop_Management_System.entity.IdempotencyRecord;
+import com.dev.Sweet_Shop_Management_System.repository.IdempotencyRecordRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.Principal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+// Remembers the outcome of keyed requests so a retried purchase or restock is answered without running twice.
+// Lookups hit an in-memory map; the table is only read while a key could be there but not in memory,
+// i.e. after a restart or when the key was evicted for space while still live.
+@Slf4j
+@Component
+public class IdempotencyStore {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyRecordRepository recordRepository;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter canonicalWriter;
+    private final boolean enabled;
+    private final long ttlMillis;
+    private final int maxEntries;
+    private final int writeBatchSize;
+    private final int writeQueueCapacity;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    // Completed entries in completion order; with one TTL for every key this is also expiry order.
+    private final ConcurrentLinkedQueue<Entry> completed = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final ConcurrentLinkedQueue<Entry> pendingWrites = new ConcurrentLinkedQueue<>();
+    private final AtomicLong pendingWriteCount = new AtomicLong();
+    private final AtomicLong fallbackUntil = new AtomicLong();
+    private final EvictedKeyFilter evictedKeys;
+    private final LongAdder executions = new LongAdder();
+    private final LongAdder replays = new LongAdder();
+    private final LongAdder duplicatesJoined = new LongAdder();
+    private final LongAdder fallbackLookups = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public IdempotencyStore(IdempotencyRecordRepository recordRepository,
+                            ObjectMapper objectMapper,
+                            @Value("${sweetshop.idempotency.enabled:true}") boolean enabled,
+                            @Value("${sweetshop.idempotency.ttl:PT24H}") Duration ttl,
+                            @Value("${sweetshop.idempotency.max-entries:100000}") int maxEntries,
+                            @Value("${sweetshop.idempotency.write-batch-size:500}") int writeBatchSize,
+                            @Value("${sweetshop.idempotency.write-queue-capacity:10000}") int writeQueueCapacity) {
+        this.recordRepository = recordRepository;
+        this.objectMapper = objectMapper;
+        this.canonicalWriter = objectMapper.writer()
+                .with(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+                .without(SerializationFeature.INDENT_OUTPUT);
+        this.enabled = enabled;
+        this.ttlMillis = ttl.toMillis();
+        this.maxEntries = maxEntries;
+        this.writeBatchSize = writeBatchSize;
+        this.writeQueueCapacity = writeQueueCapacity;
+        this.evictedKeys = new EvictedKeyFilter(maxEntries, ttlMillis, System.currentTimeMillis());
+    }
+
+    // Keys stored before a restart are only in the table, so misses consult it until the newest of them expires.
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadFallbackWindow() {
+        Instant latest = recordRepository.findLatestExpiry();
+        if (latest != null) {
+            fallbackUntil.accumulateAndGet(latest.toEpochMilli(), Math::max);
+        }
+    }
+
+    public <T> ResponseEntity<T> execute(String idempotencyKey, Principal principal, String operation, Object request,
+                                         Class<T> type, Supplier<ResponseEntity<T>> action) {
+        if (!enabled || idempotencyKey == null) {
+            return action.get();
+        }
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    HEADER + " must be between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+
+        // Keys are per user, so two clients picking the same key never see each other's responses.
+        String key = (principal == null ? "" : principal.getName()) + ":" + idempotencyKey;
+        String fingerprint = fingerprint(operation, request);
+
+        while (true) {
+            Entry entry = new Entry(key, fingerprint);
+            Entry existing = entries.putIfAbsent(key, entry);
+            if (existing == null) {
+                Optional<ResponseEntity<T>> led = lead(entry, type, action);
+                if (led.isPresent()) {
+                    return led.get();
+                }
+                continue;
+            }
+
+            if (existing.isExpired(System.currentTimeMillis())) {
+                entries.remove(key, existing);
+                continue;
+            }
+            if (!existing.fingerprint.equals(fingerprint)) {
+                throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY,
+                        HEADER + " was already used for a different request");
+            }
+
+            if (!existing.result.isDone()) {
+                duplicatesJoined.increment();
+            }
+            Outcome outcome;
+            try {
+                outcome = existing.result.join();
+            } catch (CompletionException ex) {
+                // The first attempt ended without a result worth keeping, so this one runs it again.
+                continue;
+            }
+            replays.increment();
+            return replay(outcome, type);
+        }
+    }
+
+    // A digest of the canonical JSON body, so two different carts never share a fingerprint by accident.
+    String fingerprint(String operation, Object request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(canonicalWriter.writeValueAsBytes(request));
+            return operation + "#" + HexFormat.of().formatHex(digest);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not fingerprint idempotent request", ex);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    public IdempotencyStatsResponse stats() {
+        return IdempotencyStatsResponse.builder()
+                .enabled(enabled)
+                .size(size.get())
+                .maxEntries(maxEntries)
+                .inFlight(Math.max(0, entries.size() - size.get()))
+                .executions(executions.sum())
+                .replays(replays.sum())
+                .duplicatesJoined(duplicatesJoined.sum())
+                .fallbackLookups(fallbackLookups.sum())
+                .evictions(evictions.sum())
+                .pendingWrites(pendingWriteCount.get())
+                .build();
+    }
+
+    // Completed outcomes are written off the request path in batches, draining everything queued each run.
+    @Scheduled(fixedDelayString = "${sweetshop.idempotency.write-interval:PT0.1S}")
+    public void writePending() {
+        while (true) {
+            List<Entry> batch = new ArrayList<>();
+            Entry entry;
+            while (batch.size() < writeBatchSize && (entry = pendingWrites.poll()) != null) {
+                batch.add(entry);
+            }
+            if (batch.isEmpty()) {
+                break;
+            }
+            if (!store(batch)) {
+                pendingWrites.addAll(batch);
+                break;
+            }
+            pendingWriteCount.addAndGet(-batch.size());
+        }
+        // Entries held back from eviction while unwritten can go now.
+        evict();
+    }
+
+    @Scheduled(fixedDelayString = "${sweetshop.idempotency.prune-interval:PT1H}")
+    @Transactional
+    public void pruneExpired() {
+        int pruned = recordRepository.deleteExpiredBefore(Instant.now());
+        if (pruned > 0) {
+            log.info("Pruned {} expired idempotency records", pruned);
+        }
+    }
+
+    // Empty means the entry was replaced from the table and the caller should look the key up again.
+    private <T> Optional<ResponseEntity<T>> lead(Entry entry, Class<T> type, Supplier<ResponseEntity<T>> action) {
+        long now = System.currentTimeMillis();
+        if (now < fallbackUntil.get() || evictedKeys.mightContain(entry.key, now)) {
+            fallbackLookups.increment();
+            IdempotencyRecord record;
+            try {
+                record = recordRepository.findById(entry.key)
+                        .filter(found -> found.getExpiresAt().isAfter(Instant.now()))
+                        .orElse(null);
+            } catch (RuntimeException ex) {
+                abandon(entry, ex);
+                throw ex;
+            }
+            if (record != null) {
+                Entry restored = new Entry(entry.key, record.getFingerprint());
+                restored.expiresAt = record.getExpiresAt().toEpochMilli();
+                restored.stored = true;
+                restored.result.complete(new Outcome(record.getStatus(), null, record.getBody(), record.getError()));
+                entries.replace(entry.key, entry, restored);
+                track(restored);
+                entry.result.completeExceptionally(new IllegalStateException("Restored from storage"));
+                return Optional.empty();
+            }
+        }
+
+        executions.increment();
+        ResponseEntity<T> response;
+        try {
+            response = action.get();
+        } catch (ResponseStatusException ex) {
+            // Client errors are answers; conflicts and server errors are worth retrying, so they are not kept.
+            if (!ex.getStatusCode().is4xxClientError() || ex.getStatusCode().isSameCodeAs(HttpStatus.CONFLICT)) {
+                abandon(entry, ex);
+                throw ex;
+            }
+            complete(entry, new Outcome(ex.getStatusCode().value(), null, null, ex.getReason()));
+            throw ex;
+        } catch (RuntimeException ex) {
+            abandon(entry, ex);
+            throw ex;
+        }
+
+        complete(entry, new Outcome(response.getStatusCode().value(), response.getBody(), null, null));
+        return Optional.of(response);
+    }
+
+    private void complete(Entry entry, Outcome outcome) {
+        entry.expiresAt = System.currentTimeMillis() + ttlMillis;
+        entry.result.complete(outcome);
+        // When the writer falls behind, the request writes its own record instead of growing the queue.
+        if (pendingWriteCount.incrementAndGet() > writeQueueCapacity) {
+            pendingWriteCount.decrementAndGet();
+            if (!store(List.of(entry))) {
+                pendingWrites.add(entry);
+                pendingWriteCount.incrementAndGet();
+            }
+        } else {
+            pendingWrites.add(entry);
+        }
+        track(entry);
+    }
+
+    private boolean store(List<Entry> batch) {
+        List<IdempotencyRecord> records = new ArrayList<>(batch.size());
+        for (Entry written : batch) {
+            Outcome outcome = written.result.join();
+            records.add(IdempotencyRecord.builder()
+                    .key(written.key)
+                    .fingerprint(written.fingerprint)
+                    .status(outcome.status)
+                    .body(outcome.json(objectMapper))
+                    .error(outcome.error)
+                    .expiresAt(Instant.ofEpochMilli(written.expiresAt))
+                    .build());
+        }
+
+        try {
+            recordRepository.saveAll(records);
+        } catch (RuntimeException ex) {
+            log.warn("Could not store {} idempotency records, will retry", batch.size(), ex);
+            return false;
+        }
+        batch.forEach(written -> written.stored = true);
+        return true;
+    }
+
+    private void abandon(Entry entry, RuntimeException ex) {
+        entries.remove(entry.key, entry);
+        entry.result.completeExceptionally(ex);
+    }
+
+    private void track(Entry entry) {
+        completed.add(entry);
+        size.incrementAndGet();
+        evict();
+    }
+
+    // Drops expired entries from the head, then the oldest live ones while over capacity. A live entry whose
+    // record is not in the table yet stays, since a retry after evicting it would find neither and run again.
+    private void evict() {
+        long now = System.currentTimeMillis();
+        synchronized (completed) {
+            Entry head;
+            while ((head = completed.peek()) != null
+                    && (head.isExpired(now) || (size.get() > maxEntries && head.stored))) {
+                completed.poll();
+                size.decrementAndGet();
+                entries.remove(head.key, head);
+                if (!head.isExpired(now)) {
+                    evictions.increment();
+                    evictedKeys.add(head.key, now);
+                }
+            }
+        }
+    }
+
+    private <T> ResponseEntity<T> replay(Outcome outcome, Class<T> type) {
+        if (outcome.error != null) {
+            throw new ResponseStatusException(HttpStatusCode.valueOf(outcome.status), outcome.error);
+        }
+        return ResponseEntity.status(outcome.status)
+                .header(REPLAYED_HEADER, "true")
+                .body(outcome.body(objectMapper, type));
+    }
+
+    private static final class Entry {
+        private final String key;
+        private final String fingerprint;
+        private final CompletableFuture<Outcome> result = new CompletableFuture<>();
+        private volatile long expiresAt = Long.MAX_VALUE;
+        private volatile boolean stored;
+
+        private Entry(String key, String fingerprint) {
+            this.key = key;
+            this.fingerprint = fingerprint;
+        }
+
+        private boolean isExpired(long now) {
+            return expiresAt <= now;
+        }
+    }
+
+    // Holds the response object when produced here, or its JSON when restored from the table.
+    private static final class Outcome {
+        private final int status;
+        private final Object body;
+        private final String json;
+        private final String error;
+
+        private Outcome(int status, Object body, String json, String error) {
+            this.status = status;
+            this.body = body;
+            this.json = json;
+            this.error = error;
+        }
+
+        private String json(ObjectMapper objectMapper) {
+            if (json != null || body == null) {
+                return json;
+            }
+            try {
+                return objectMapper.writeValueAsString(body);
+            } catch (JsonProcessingException ex) {
+                throw new IllegalStateException("Could not serialize idempotent response", ex);
+            }
+        }
+
+        private <T> T body(ObjectMapper objectMapper, Class<T> type) {
+            if (body != null) {
+                return type.cast(body);
+            }
+            if (json == null) {
+                return null;
+            }
+            try {
+                return objectMapper.readValue(json, type);
+            } catch (JsonProcessingException ex) {
+                throw new IllegalStateException("Could not read stored idempotent response", ex);
+            }
+        }
+    }
+}
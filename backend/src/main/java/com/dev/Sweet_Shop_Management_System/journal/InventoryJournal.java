@@ -0,0 +1,374 @@
+package com.dev.Sweet_Shop_Management_System.journal;
+
+import com.dev.Sweet_Shop_Management_System.dto.response.JournalReplayResponse;
+import com.dev.Sweet_Shop_Management_System.dto.response.JournalStatsResponse;
+import com.dev.Sweet_Shop_Management_System.dto.response.SweetResponse;
+import com.dev.Sweet_Shop_Management_System.event.CatalogImportedEvent;
+import com.dev.Sweet_Shop_Management_System.event.SweetChangedEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+// Append-only record of every committed stock change, in memory-mapped segment files. Request threads only
+// enqueue; one writer thread appends and forces the mapping to disk for everything queued since the last force.
+@Slf4j
+@Component
+public class InventoryJournal {
+
+    public enum Durability { SYNC, ASYNC }
+
+    private static final int MAX_DRAIN = 4096;
+    private static final String LOCK_FILE = "journal.lock";
+
+    private final boolean enabled;
+    private final Path directory;
+    private final int segmentSize;
+    private final Durability durability;
+    private final long syncIntervalNanos;
+    private final Duration syncTimeout;
+    private final BlockingQueue<Pending> queue;
+
+    private final LongAdder appended = new LongAdder();
+    private final LongAdder syncs = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder syncTimeouts = new LongAdder();
+
+    // Owned by the writer thread once it has started.
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private FileChannel lockChannel;
+    private FileLock lock;
+    private volatile long nextSequence;
+    private volatile int segments;
+    private volatile boolean running;
+    private volatile Thread writer;
+
+    public InventoryJournal(@Value("${sweetshop.journal.enabled:true}") boolean enabled,
+                            @Value("${sweetshop.journal.directory:data/journal}") String directory,
+                            @Value("${sweetshop.journal.segment-size:64MB}") DataSize segmentSize,
+                            @Value("${sweetshop.journal.durability:async}") String durability,
+                            @Value("${sweetshop.journal.sync-interval:PT0.1S}") Duration syncInterval,
+                            @Value("${sweetshop.journal.sync-timeout:PT5S}") Duration syncTimeout,
+                            @Value("${sweetshop.journal.queue-capacity:65536}") int queueCapacity) {
+        this.enabled = enabled;
+        this.directory = Path.of(directory);
+        this.segmentSize = (int) Math.min(Integer.MAX_VALUE, Math.max(JournalRecord.SIZE, segmentSize.toBytes()));
+        this.durability = Durability.valueOf(durability.trim().toUpperCase(Locale.ROOT));
+        this.syncIntervalNanos = syncInterval.toNanos();
+        this.syncTimeout = syncTimeout;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    @PostConstruct
+    public void open() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        Files.createDirectories(directory);
+        // One writer per directory: a second instance pointed at it would interleave appends.
+        lockChannel = FileChannel.open(directory.resolve(LOCK_FILE), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        try {
+            lock = lockChannel.tryLock();
+        } catch (OverlappingFileLockException ex) {
+            lock = null;
+        }
+        if (lock == null) {
+            lockChannel.close();
+            log.warn("Inventory journal in {} is held by another instance; journaling is off here", directory.toAbsolutePath());
+            return;
+        }
+
+        List<Path> existing = JournalReader.segments(directory);
+        if (existing.isEmpty()) {
+            startSegment(1);
+        } else {
+            recover(existing.get(existing.size() - 1));
+        }
+        segments = Math.max(1, existing.size());
+
+        running = true;
+        Thread thread = new Thread(this::writeLoop, "inventory-journal");
+        thread.setDaemon(true);
+        writer = thread;
+        thread.start();
+        log.info("Inventory journal open in {} at sequence {} ({} durability)", directory.toAbsolutePath(),
+                nextSequence, durability);
+    }
+
+    // Runs once the change is committed, so only what the database kept is journaled.
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSweetChanged(SweetChangedEvent event) {
+        if (!running) {
+            return;
+        }
+        Pending pending = journal(event, durability == Durability.SYNC);
+        if (pending != null && pending.synced != null) {
+            await(pending.synced);
+        }
+    }
+
+    // One record per imported row; with sync durability the whole chunk shares a single force.
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCatalogImported(CatalogImportedEvent event) {
+        if (!running) {
+            return;
+        }
+        event.getChanges().forEach(change -> journal(change, false));
+        if (durability == Durability.SYNC) {
+            sync();
+        }
+    }
+
+    private Pending journal(SweetChangedEvent event, boolean sync) {
+        SweetResponse before = event.getBefore();
+        SweetResponse after = event.getAfter();
+        int previous = before == null || before.getQuantity() == null ? 0 : before.getQuantity();
+        int quantity = after == null || after.getQuantity() == null ? 0 : after.getQuantity();
+        SweetResponse row = after != null ? after : before;
+
+        // The sequence is assigned by the writer, in file order.
+        Pending pending = new Pending(new JournalRecord(0, System.currentTimeMillis(), event.getSweetId(),
+                event.getVersion(), row.getVersion() == null ? 0 : row.getVersion(), event.getType(),
+                quantity - previous, quantity),
+                sync ? new CompletableFuture<>() : null);
+        if (!enqueue(pending)) {
+            dropped.increment();
+            log.warn("Inventory journal queue is full; dropped {} change of sweet {}", event.getType(), event.getSweetId());
+            return null;
+        }
+        return pending;
+    }
+
+    // Returns once everything enqueued so far is on disk.
+    public void sync() {
+        if (!running) {
+            return;
+        }
+        Pending barrier = new Pending(null, new CompletableFuture<>());
+        if (enqueue(barrier)) {
+            await(barrier.synced);
+        }
+    }
+
+    public JournalReplayResponse replay(Instant asOf) {
+        if (!enabled) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Inventory journal is disabled");
+        }
+        sync();
+        try {
+            return JournalReader.replay(directory, asOf);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    public JournalStatsResponse stats() {
+        return JournalStatsResponse.builder()
+                .enabled(enabled)
+                .durability(durability.name())
+                .directory(directory.toAbsolutePath().toString())
+                .segments(segments)
+                .nextSequence(nextSequence)
+                .queued(queue.size())
+                .appended(appended.sum())
+                .syncs(syncs.sum())
+                .dropped(dropped.sum())
+                .syncTimeouts(syncTimeouts.sum())
+                .build();
+    }
+
+    @PreDestroy
+    public void close() {
+        running = false;
+        Thread thread = writer;
+        if (thread != null) {
+            try {
+                thread.join(TimeUnit.NANOSECONDS.toMillis(syncIntervalNanos) + syncTimeout.toMillis());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (lock != null) {
+            try {
+                lock.release();
+                lockChannel.close();
+            } catch (IOException ex) {
+                log.warn("Could not release inventory journal lock", ex);
+            }
+        }
+    }
+
+    private boolean enqueue(Pending pending) {
+        if (queue.offer(pending)) {
+            return true;
+        }
+        try {
+            return queue.offer(pending, syncTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    // The database change is already committed, so a slow disk is reported rather than failing the request.
+    private void await(CompletableFuture<Void> synced) {
+        try {
+            synced.get(syncTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException | ExecutionException ex) {
+            syncTimeouts.increment();
+            log.warn("Inventory journal did not reach disk within {}", syncTimeout);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void writeLoop() {
+        List<Pending> batch = new ArrayList<>();
+        List<CompletableFuture<Void>> waiting = new ArrayList<>();
+        long lastSync = System.nanoTime();
+        boolean dirty = false;
+
+        while (running || !queue.isEmpty()) {
+            try {
+                Pending first = queue.poll(syncIntervalNanos, TimeUnit.NANOSECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    queue.drainTo(batch, MAX_DRAIN);
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                running = false;
+            }
+
+            try {
+                for (Pending pending : batch) {
+                    if (pending.record != null) {
+                        append(pending.record);
+                        dirty = true;
+                    }
+                    if (pending.synced != null) {
+                        waiting.add(pending.synced);
+                    }
+                }
+                // Group commit: every waiter that queued while the previous force ran shares this one.
+                if ((dirty && System.nanoTime() - lastSync >= syncIntervalNanos) || !waiting.isEmpty()) {
+                    if (dirty) {
+                        buffer.force();
+                        syncs.increment();
+                        dirty = false;
+                    }
+                    lastSync = System.nanoTime();
+                    waiting.forEach(future -> future.complete(null));
+                    waiting.clear();
+                }
+            } catch (IOException | RuntimeException ex) {
+                log.error("Inventory journal write failed; {} changes were not journaled", batch.size(), ex);
+                dropped.add(batch.stream().filter(pending -> pending.record != null).count());
+                waiting.forEach(future -> future.completeExceptionally(ex));
+                waiting.clear();
+            }
+            batch.clear();
+        }
+
+        if (dirty) {
+            buffer.force();
+            syncs.increment();
+        }
+        closeSegment();
+    }
+
+    private void append(JournalRecord record) throws IOException {
+        if (buffer.remaining() < JournalRecord.SIZE) {
+            rollSegment();
+        }
+        record.writeTo(buffer, nextSequence);
+        nextSequence++;
+        appended.increment();
+    }
+
+    private void rollSegment() throws IOException {
+        buffer.force();
+        syncs.increment();
+        closeSegment();
+        startSegment(nextSequence);
+        segments++;
+    }
+
+    private void startSegment(long firstSequence) throws IOException {
+        channel = FileChannel.open(JournalReader.segmentPath(directory, firstSequence),
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        nextSequence = firstSequence;
+    }
+
+    // Finds the end of the last segment. Anything after the first record that fails its checksum was torn by a
+    // crash before it was forced, so it is zeroed and later appends start there.
+    private void recover(Path segment) throws IOException {
+        channel = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(channel.size(), segmentSize));
+        String name = segment.getFileName().toString();
+        nextSequence = Long.parseLong(name.substring(0, name.length() - JournalReader.SEGMENT_SUFFIX.length()));
+
+        JournalRecord record;
+        while ((record = JournalRecord.readFrom(buffer)) != null) {
+            nextSequence = record.getSequence() + 1;
+        }
+
+        int end = buffer.position();
+        if (buffer.remaining() >= Integer.BYTES && buffer.getInt(end) != 0) {
+            log.warn("Inventory journal segment {} has a torn tail at offset {}; truncating", name, end);
+            while (buffer.hasRemaining()) {
+                buffer.put((byte) 0);
+            }
+            buffer.force();
+            buffer.position(end);
+        }
+    }
+
+    private void closeSegment() {
+        try {
+            channel.close();
+        } catch (IOException ex) {
+            log.warn("Could not close inventory journal segment", ex);
+        }
+    }
+
+    private static final class Pending {
+        private final JournalRecord record;
+        private final CompletableFuture<Void> synced;
+
+        private Pending(JournalRecord record, CompletableFuture<Void> synced) {
+            this.record = record;
+            this.synced = synced;
+        }
+    }
+}
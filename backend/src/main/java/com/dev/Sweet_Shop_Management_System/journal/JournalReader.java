@@ -0,0 +1,135 @@
+package com.dev.Sweet_Shop_Management_System.journal;
+
+import com.dev.Sweet_Shop_Management_System.dto.response.JournalReplayResponse;
+import com.dev.Sweet_Shop_Management_System.event.SweetChangeType;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+// Reads journal segments without the application running, e.g.
+//   java -cp app.jar -Dloader.main=com.dev.Sweet_Shop_Management_System.journal.JournalReader \
+//        org.springframework.boot.loader.launch.PropertiesLauncher data/journal 2025-01-31T18:00:00Z
+public final class JournalReader {
+
+    static final String SEGMENT_SUFFIX = ".journal";
+
+    private JournalReader() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("usage: JournalReader <journal directory> [as-of instant, e.g. 2025-01-31T18:00:00Z]");
+            System.exit(2);
+        }
+        Instant asOf = args.length > 1 ? Instant.parse(args[1]) : Instant.now();
+        JournalReplayResponse replay = replay(Path.of(args[0]), asOf);
+
+        System.out.println("sweetId,quantity");
+        replay.getQuantities().forEach((id, quantity) -> System.out.println(id + "," + quantity));
+        System.err.printf("Replayed %d of %d records as of %s%n", replay.getRecordsApplied(), replay.getRecordsRead(), asOf);
+    }
+
+    // Rebuilds each sweet's stock as of the given instant. Records are enqueued after commit, so two changes to
+    // one sweet can reach the file out of order; file order never decides which is newer.
+    public static JournalReplayResponse replay(Path directory, Instant asOf) throws IOException {
+        long cutoff = asOf.toEpochMilli();
+        // A sweet created again under a deleted id starts its row versions over, so its CREATED records split its
+        // history into incarnations, ordered by change version.
+        Map<Long, NavigableSet<Long>> births = new HashMap<>();
+        forEach(directory, record -> {
+            if (record.getTimestamp() <= cutoff && record.getType() == SweetChangeType.CREATED) {
+                births.computeIfAbsent(record.getSweetId(), id -> new TreeSet<>()).add(record.getChangeVersion());
+            }
+        });
+
+        Map<Long, JournalRecord> latest = new HashMap<>();
+        long[] counts = new long[2];
+        forEach(directory, record -> {
+            counts[0]++;
+            if (record.getTimestamp() > cutoff) {
+                return;
+            }
+            counts[1]++;
+            NavigableSet<Long> sweetBirths = births.get(record.getSweetId());
+            latest.merge(record.getSweetId(), record, (current, candidate) -> later(current, candidate, sweetBirths));
+        });
+
+        Map<Long, Integer> quantities = new TreeMap<>();
+        latest.forEach((id, record) -> {
+            if (record.getType() != SweetChangeType.DELETED) {
+                quantities.put(id, record.getQuantity());
+            }
+        });
+        return JournalReplayResponse.builder()
+                .asOf(asOf)
+                .recordsRead(counts[0])
+                .recordsApplied(counts[1])
+                .quantities(quantities)
+                .build();
+    }
+
+    // Stops inside a segment at the first record that is torn or fails its checksum.
+    public static void forEach(Path directory, Consumer<JournalRecord> consumer) throws IOException {
+        for (Path segment : segments(directory)) {
+            try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                JournalRecord record;
+                while ((record = JournalRecord.readFrom(buffer)) != null) {
+                    consumer.accept(record);
+                }
+            }
+        }
+    }
+
+    static List<Path> segments(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            // Names are zero-padded first sequence numbers, so name order is log order.
+            return files.filter(file -> file.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    static Path segmentPath(Path directory, long firstSequence) {
+        return directory.resolve(String.format("%020d%s", firstSequence, SEGMENT_SUFFIX));
+    }
+
+    // Change versions are allocated before the row lock is taken, so within one incarnation they can disagree with
+    // commit order; the row version cannot.
+    private static JournalRecord later(JournalRecord current, JournalRecord candidate, NavigableSet<Long> births) {
+        long currentBirth = birth(current, births);
+        long candidateBirth = birth(candidate, births);
+        if (currentBirth != candidateBirth) {
+            return candidateBirth > currentBirth ? candidate : current;
+        }
+        // Within an incarnation a deletion is final whatever arrives after it.
+        if (current.getType() == SweetChangeType.DELETED || candidate.getType() == SweetChangeType.DELETED) {
+            return current.getType() == SweetChangeType.DELETED ? current : candidate;
+        }
+        if (candidate.getRowVersion() != current.getRowVersion()) {
+            return candidate.getRowVersion() > current.getRowVersion() ? candidate : current;
+        }
+        return candidate.getSequence() > current.getSequence() ? candidate : current;
+    }
+
+    private static long birth(JournalRecord record, NavigableSet<Long> births) {
+        Long birth = births == null ? null : births.floor(record.getChangeVersion());
+        return birth == null ? 0 : birth;
+    }
+}
@@ -0,0 +1,78 @@
+package com.dev.Sweet_Shop_Management_System.journal;
+
+import com.dev.Sweet_Shop_Management_System.event.SweetChangeType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32C;
+
+// One stock change on disk: [payload length][CRC32C of payload][payload]. A zero length marks the end of written data.
+@Getter
+@AllArgsConstructor
+public final class JournalRecord {
+
+    static final int PAYLOAD_SIZE = 8 + 8 + 8 + 8 + 8 + 1 + 4 + 4;
+    public static final int SIZE = 4 + 4 + PAYLOAD_SIZE;
+
+    // Types are stored by ordinal, so new SweetChangeType constants may only be appended.
+    private static final SweetChangeType[] TYPES = SweetChangeType.values();
+
+    private final long sequence;
+    private final long timestamp;
+    private final long sweetId;
+    private final long changeVersion;
+    // The row's optimistic-lock version; unlike the change version it increases in commit order for one sweet.
+    private final long rowVersion;
+    private final SweetChangeType type;
+    private final int delta;
+    // Stock after the change; deletions record zero.
+    private final int quantity;
+
+    void writeTo(ByteBuffer buffer, long sequence) {
+        int start = buffer.position();
+        buffer.putInt(PAYLOAD_SIZE);
+        buffer.putInt(0);
+        buffer.putLong(sequence)
+                .putLong(timestamp)
+                .putLong(sweetId)
+                .putLong(changeVersion)
+                .putLong(rowVersion)
+                .put((byte) type.ordinal())
+                .putInt(delta)
+                .putInt(quantity);
+        buffer.putInt(start + 4, checksum(buffer, start + 8));
+    }
+
+    // Returns null at the end of the data or at the first torn or corrupt record; the position is left unchanged then.
+    static JournalRecord readFrom(ByteBuffer buffer) {
+        int start = buffer.position();
+        if (buffer.remaining() < SIZE || buffer.getInt(start) != PAYLOAD_SIZE) {
+            return null;
+        }
+        if (buffer.getInt(start + 4) != checksum(buffer, start + 8)) {
+            return null;
+        }
+        int typeIndex = buffer.get(start + 48);
+        if (typeIndex < 0 || typeIndex >= TYPES.length) {
+            return null;
+        }
+        JournalRecord record = new JournalRecord(
+                buffer.getLong(start + 8),
+                buffer.getLong(start + 16),
+                buffer.getLong(start + 24),
+                buffer.getLong(start + 32),
+                buffer.getLong(start + 40),
+                TYPES[typeIndex],
+                buffer.getInt(start + 49),
+                buffer.getInt(start + 53));
+        buffer.position(start + SIZE);
+        return record;
+    }
+
+    private static int checksum(ByteBuffer buffer, int payloadStart) {
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(payloadStart, PAYLOAD_SIZE));
+        return (int) crc.getValue();
+    }
+}
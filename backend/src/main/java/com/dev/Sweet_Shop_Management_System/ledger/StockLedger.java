@@ -0,0 +1,479 @@
+package com.dev.Sweet_Shop_Management_System.ledger;
+
+import com.dev.Sweet_Shop_Management_System.cache.CatalogVersion;
+import com.dev.Sweet_Shop_Management_System.dto.response.LedgerStatsResponse;
+import com.dev.Sweet_Shop_Management_System.dto.response.SweetResponse;
+import com.dev.Sweet_Shop_Management_System.entity.Sweet;
+import com.dev.Sweet_Shop_Management_System.event.SweetChangeType;
+import com.dev.Sweet_Shop_Management_System.event.SweetChangedEvent;
+import com.dev.Sweet_Shop_Management_System.repository.SweetRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// Decides purchases and restocks in memory and writes the net stock deltas to Postgres in batched cycles.
+// Every other writer fences the sweets it touches first: pending deltas are written in that writer's transaction,
+// the ledger stands aside until it completes, and the next purchase reloads the entry from the committed row.
+@Slf4j
+@Component
+public class StockLedger {
+
+    public enum Durability { SYNC, ASYNC }
+
+    private static final String FLUSH_SQL =
+            "update sweets set quantity = quantity + ?, change_version = ?, version = version + 1 where id = ?";
+
+    private final SweetRepository sweetRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final CatalogVersion catalogVersion;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final Durability durability;
+    private final long flushIntervalNanos;
+    private final int flushBatchSize;
+    private final Duration syncTimeout;
+
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final LongAdder decided = new LongAdder();
+    private final LongAdder fallbacks = new LongAdder();
+    private final LongAdder cycles = new LongAdder();
+    private final LongAdder rowsFlushed = new LongAdder();
+    private volatile CompletableFuture<Void> currentCycle = new CompletableFuture<>();
+    private volatile boolean ready;
+    private volatile boolean running;
+    private volatile Thread flusher;
+
+    public StockLedger(SweetRepository sweetRepository,
+                       JdbcTemplate jdbcTemplate,
+                       CatalogVersion catalogVersion,
+                       ApplicationEventPublisher eventPublisher,
+                       PlatformTransactionManager transactionManager,
+                       @Value("${sweetshop.ledger.enabled:false}") boolean enabled,
+                       @Value("${sweetshop.ledger.durability:sync}") String durability,
+                       @Value("${sweetshop.ledger.flush-interval:PT0.05S}") Duration flushInterval,
+                       @Value("${sweetshop.ledger.flush-batch-size:500}") int flushBatchSize,
+                       @Value("${sweetshop.ledger.sync-timeout:PT5S}") Duration syncTimeout) {
+        this.sweetRepository = sweetRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.catalogVersion = catalogVersion;
+        this.eventPublisher = eventPublisher;
+        // The flush cycle writes every sweet's deltas, so it must not join a transaction that happens to be open.
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.enabled = enabled;
+        this.durability = Durability.valueOf(durability.trim().toUpperCase(Locale.ROOT));
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.flushBatchSize = flushBatchSize;
+        this.syncTimeout = syncTimeout;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        long began = System.nanoTime();
+        transactionTemplate.execute(status -> {
+            try (Stream<Sweet> rows = sweetRepository.streamDetached()) {
+                // Sweets fenced or loaded while we streamed already hold fresher state than our row.
+                rows.forEach(sweet -> entries.computeIfAbsent(sweet.getId(), id -> Entry.of(sweet)));
+            }
+            return null;
+        });
+        ready = true;
+        startFlusher();
+        log.info("Stock ledger loaded {} sweets in {} ms ({} durability)", entries.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - began), durability);
+    }
+
+    // Purchases inside a caller's transaction must be visible to it, so they stay on the database path.
+    public boolean accepts() {
+        return enabled && ready && !TransactionSynchronizationManager.isActualTransactionActive();
+    }
+
+    // Returns null when the ledger cannot decide right now; the caller then goes to the database.
+    public SweetResponse purchase(Long sweetId, int quantity) {
+        return apply(sweetId, -quantity);
+    }
+
+    public SweetResponse restock(Long sweetId, int quantity) {
+        return apply(sweetId, quantity);
+    }
+
+    // Called at the start of any database-side change to these sweets, inside its transaction.
+    public void fence(Collection<Long> sweetIds) {
+        if (!enabled) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Stock ledger fences must be taken inside a transaction");
+        }
+
+        List<Entry> fenced = new ArrayList<>();
+        Map<Long, Integer> deltas = new TreeMap<>();
+        flushLock.lock();
+        try {
+            for (Long id : new TreeSet<>(sweetIds)) {
+                Entry entry = entries.computeIfAbsent(id, key -> new Entry());
+                synchronized (entry) {
+                    entry.fences++;
+                    if (entry.pending != 0) {
+                        deltas.put(id, entry.pending);
+                        entry.pending = 0;
+                    }
+                }
+                fenced.add(entry);
+            }
+            if (!deltas.isEmpty()) {
+                // On the caller's connection: a second one per fence could exhaust the pool, and the deltas
+                // commit or roll back together with the fenced change.
+                try {
+                    writeDeltas(deltas);
+                } catch (RuntimeException ex) {
+                    restore(deltas);
+                    fenced.forEach(Entry::release);
+                    throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                            "Could not persist pending stock changes, please retry");
+                }
+            }
+        } finally {
+            flushLock.unlock();
+        }
+
+        // The caller's connection is still held here, so the reload waits for the next purchase instead.
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    // The deltas went down with the caller's transaction; the next cycle writes them again.
+                    restore(deltas);
+                }
+                fenced.forEach(Entry::release);
+            }
+        });
+    }
+
+    public void fence(Long sweetId) {
+        fence(List.of(sweetId));
+    }
+
+    // Writes every pending delta now; also used on shutdown and by tests that read the table directly.
+    public void flush() {
+        if (!enabled) {
+            return;
+        }
+        flushLock.lock();
+        try {
+            CompletableFuture<Void> cycle = currentCycle;
+            currentCycle = new CompletableFuture<>();
+
+            Map<Long, Integer> deltas = new TreeMap<>();
+            List<Entry> flushing = new ArrayList<>();
+            entries.forEach((id, entry) -> {
+                synchronized (entry) {
+                    if (entry.pending != 0) {
+                        deltas.put(id, entry.pending);
+                        entry.pending = 0;
+                        entry.flushing++;
+                        flushing.add(entry);
+                    }
+                }
+            });
+
+            try {
+                if (!deltas.isEmpty()) {
+                    transactionTemplate.executeWithoutResult(status -> writeDeltas(deltas));
+                }
+                cycles.increment();
+                cycle.complete(null);
+            } catch (RuntimeException ex) {
+                // Nothing was written, so the deltas go back and their waiters ride along with the next cycle.
+                restore(deltas);
+                currentCycle.whenComplete((ignored, failure) -> {
+                    if (failure == null) {
+                        cycle.complete(null);
+                    } else {
+                        cycle.completeExceptionally(failure);
+                    }
+                });
+                log.warn("Stock ledger flush of {} sweets failed, retrying next cycle", deltas.size(), ex);
+            } finally {
+                flushing.forEach(Entry::flushed);
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    public LedgerStatsResponse stats() {
+        long pending = entries.values().stream().filter(entry -> entry.pending != 0).count();
+        return LedgerStatsResponse.builder()
+                .enabled(enabled)
+                .durability(durability.name())
+                .trackedSweets(entries.size())
+                .pendingSweets(pending)
+                .decided(decided.sum())
+                .fallbacks(fallbacks.sum())
+                .flushCycles(cycles.sum())
+                .rowsFlushed(rowsFlushed.sum())
+                .build();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        Thread thread = flusher;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            try {
+                thread.join(TimeUnit.NANOSECONDS.toMillis(flushIntervalNanos) + 5000);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        flush();
+    }
+
+    private SweetResponse apply(Long sweetId, int delta) {
+        Entry entry = entries.computeIfAbsent(sweetId, key -> new Entry());
+        if (!refresh(sweetId, entry)) {
+            fallbacks.increment();
+            return null;
+        }
+
+        SweetResponse response;
+        synchronized (entry) {
+            if (entry.fences > 0 || entry.stale || entry.removed) {
+                fallbacks.increment();
+                return null;
+            }
+            if (entry.quantity - entry.reserved + delta < 0) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Insufficient stock available");
+            }
+            entry.quantity += delta;
+            entry.pending += delta;
+            response = entry.toResponse();
+        }
+        decided.increment();
+
+        if (durability == Durability.SYNC) {
+            awaitFlush();
+        }
+        return response;
+    }
+
+    // Only one thread reads the row; everyone else takes the database path until the entry is fresh again.
+    private boolean refresh(Long sweetId, Entry entry) {
+        long seen;
+        synchronized (entry) {
+            if (!entry.stale) {
+                return entry.fences == 0 && !entry.removed;
+            }
+            // A row read mid-flush would miss deltas that are neither pending nor committed.
+            if (entry.fences > 0 || entry.flushing > 0 || entry.loading || entry.removed) {
+                return false;
+            }
+            entry.loading = true;
+            seen = entry.releases;
+        }
+
+        Optional<Sweet> row = Optional.empty();
+        boolean read = false;
+        try {
+            row = sweetRepository.findById(sweetId);
+            read = true;
+        } finally {
+            synchronized (entry) {
+                entry.loading = false;
+                // A writer that finished while we were reading may be missing from our row; stay stale.
+                if (read && entry.fences == 0 && entry.releases == seen) {
+                    if (row.isPresent()) {
+                        entry.reload(row.get());
+                    } else {
+                        entry.removed = true;
+                    }
+                }
+            }
+        }
+        if (entry.removed) {
+            entries.remove(sweetId, entry);
+            return false;
+        }
+        return !entry.stale;
+    }
+
+    // Deltas come sorted by sweet id, so rows are locked in the same order as every other multi-row writer.
+    private void writeDeltas(Map<Long, Integer> deltas) {
+        long version = catalogVersion.allocate();
+        List<Object[]> args = deltas.entrySet().stream()
+                .map(delta -> new Object[]{delta.getValue(), version, delta.getKey()})
+                .toList();
+        jdbcTemplate.batchUpdate(FLUSH_SQL, args, flushBatchSize,
+                (statement, row) -> {
+                    statement.setInt(1, (Integer) row[0]);
+                    statement.setLong(2, (Long) row[1]);
+                    statement.setLong(3, (Long) row[2]);
+                });
+
+        Map<Long, SweetResponse> after = sweetRepository.findResponsesByIdIn(deltas.keySet()).stream()
+                .collect(Collectors.toMap(SweetResponse::getId, Function.identity()));
+        after.values().forEach(sweet -> {
+            int delta = deltas.get(sweet.getId());
+            SweetResponse before = SweetResponse.builder()
+                    .id(sweet.getId())
+                    .name(sweet.getName())
+                    .category(sweet.getCategory())
+                    .price(sweet.getPrice())
+                    .quantity(sweet.getQuantity() - delta)
+                    .build();
+            eventPublisher.publishEvent(new SweetChangedEvent(
+                    delta < 0 ? SweetChangeType.PURCHASED : SweetChangeType.RESTOCKED, before, sweet, version));
+
+            Entry entry = entries.get(sweet.getId());
+            if (entry != null) {
+                synchronized (entry) {
+                    entry.version = Math.max(entry.version, sweet.getVersion());
+                }
+            }
+        });
+        rowsFlushed.add(after.size());
+    }
+
+    private void restore(Map<Long, Integer> deltas) {
+        deltas.forEach((id, delta) -> {
+            Entry entry = entries.get(id);
+            if (entry != null) {
+                synchronized (entry) {
+                    entry.pending += delta;
+                }
+            }
+        });
+    }
+
+    private void awaitFlush() {
+        CompletableFuture<Void> cycle = currentCycle;
+        Thread thread = flusher;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+        try {
+            cycle.get(syncTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException | ExecutionException ex) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "Stock change accepted but not yet persisted, please check before retrying");
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Interrupted while persisting stock");
+        }
+    }
+
+    private void startFlusher() {
+        running = true;
+        Thread thread = new Thread(() -> {
+            while (running) {
+                // Sync callers wake us early; otherwise deltas pile up for one interval and go out together.
+                LockSupport.parkNanos(this, flushIntervalNanos);
+                try {
+                    flush();
+                } catch (RuntimeException ex) {
+                    log.warn("Stock ledger flush cycle failed", ex);
+                }
+            }
+        }, "stock-ledger-flush");
+        thread.setDaemon(true);
+        flusher = thread;
+        thread.start();
+    }
+
+    private static final class Entry {
+        private int quantity;
+        private int reserved;
+        private int pending;
+        private int fences;
+        private int flushing;
+        private long releases;
+        private long version;
+        private boolean stale = true;
+        private boolean loading;
+        private boolean removed;
+        private String name;
+        private String category;
+        private Double price;
+        private Long id;
+
+        private static Entry of(Sweet sweet) {
+            Entry entry = new Entry();
+            entry.reload(sweet);
+            return entry;
+        }
+
+        private synchronized void flushed() {
+            flushing--;
+            releases++;
+        }
+
+        private synchronized void release() {
+            fences--;
+            releases++;
+            stale = true;
+        }
+
+        private void reload(Sweet sweet) {
+            id = sweet.getId();
+            name = sweet.getName();
+            category = sweet.getCategory();
+            price = sweet.getPrice();
+            // Deltas restored after a rolled-back fence are not in the row yet.
+            quantity = sweet.getQuantity() + pending;
+            reserved = sweet.getReservedQuantity();
+            version = sweet.getVersion();
+            stale = false;
+        }
+
+        private SweetResponse toResponse() {
+            return SweetResponse.builder()
+                    .id(id)
+                    .name(name)
+                    .category(category)
+                    .price(price)
+                    .quantity(quantity)
+                    .version(version)
+                    .build();
+        }
+    }
+}
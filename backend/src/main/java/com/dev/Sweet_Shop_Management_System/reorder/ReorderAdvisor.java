@@ -0,0 +1,210 @@
+package com.dev.Sweet_Shop_Management_System.reorder;
+
+import com.dev.Sweet_Shop_Management_System.dto.response.ReorderSuggestionResponse;
+import com.dev.Sweet_Shop_Management_System.dto.response.ReorderSuggestionsResponse;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+// Scores every sweet by days until it runs out at its current sales velocity and suggests how much to order
+// to cover the horizon. The catalog is scanned as a fork-join over id ranges, each range one indexed query
+// and a bounded top list, so a recompute over a million sweets uses every core and little memory.
+@Slf4j
+@Component
+public class ReorderAdvisor {
+
+    private static final int MAX_LIMIT = 1000;
+    private static final double MILLIS_PER_DAY = Duration.ofDays(1).toMillis();
+
+    private static final Comparator<ReorderSuggestionResponse> MOST_URGENT = Comparator
+            .comparingDouble(ReorderSuggestionResponse::getDaysUntilStockout)
+            .thenComparing(ReorderSuggestionResponse::getSweetId);
+
+    // Available stock counts shard rows for sharded sweets and leaves out units held by reservations.
+    private static final String RANGE_SQL =
+            "select s.id, s.name, s.category, s.quantity - s.reserved_quantity + case when s.stock_shards > 1 "
+                    + "then coalesce((select sum(sh.quantity) from sweet_stock_shards sh where sh.sweet_id = s.id), 0) "
+                    + "else 0 end from sweets s where s.id >= ? and s.id < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SalesVelocity salesVelocity;
+    private final Duration defaultHorizon;
+    private final long rangeSize;
+    private final ForkJoinPool pool;
+
+    private volatile ReorderSuggestionsResponse latest;
+
+    public ReorderAdvisor(JdbcTemplate jdbcTemplate,
+                          SalesVelocity salesVelocity,
+                          @Value("${sweetshop.reorder.horizon:P14D}") Duration defaultHorizon,
+                          @Value("${sweetshop.reorder.range-size:20000}") long rangeSize,
+                          @Value("${sweetshop.reorder.parallelism:0}") int parallelism) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.salesVelocity = salesVelocity;
+        this.defaultHorizon = defaultHorizon;
+        this.rangeSize = rangeSize;
+        // Each range holds a connection while it reads, so the default stays well inside the connection pool.
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism
+                : Math.min(Runtime.getRuntime().availableProcessors(), 8));
+    }
+
+    // The last scheduled result serves the default horizon; another horizon, or refresh, scores the catalog now.
+    public ReorderSuggestionsResponse suggestions(Duration horizon, int limit, boolean refresh) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be between 1 and " + MAX_LIMIT);
+        }
+        if (horizon != null && (horizon.isNegative() || horizon.isZero())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "horizon must be positive");
+        }
+
+        ReorderSuggestionsResponse result;
+        if (horizon != null && !horizon.equals(defaultHorizon)) {
+            result = compute(Instant.now(), horizon, MAX_LIMIT, pool);
+        } else {
+            if (latest == null || refresh) {
+                recompute();
+            }
+            result = latest;
+        }
+        return ReorderSuggestionsResponse.builder()
+                .computedAt(result.getComputedAt())
+                .elapsedMillis(result.getElapsedMillis())
+                .horizonDays(result.getHorizonDays())
+                .halfLifeDays(result.getHalfLifeDays())
+                .scanned(result.getScanned())
+                .atRisk(result.getAtRisk())
+                .suggestions(result.getSuggestions().subList(0, Math.min(limit, result.getSuggestions().size())))
+                .build();
+    }
+
+    @Scheduled(initialDelayString = "${sweetshop.reorder.recompute-interval:PT15M}",
+            fixedDelayString = "${sweetshop.reorder.recompute-interval:PT15M}")
+    public void recompute() {
+        ReorderSuggestionsResponse result = compute(Instant.now(), defaultHorizon, MAX_LIMIT, pool);
+        latest = result;
+        log.info("Scored {} sweets for reorder in {} ms, {} at risk within {}", result.getScanned(),
+                result.getElapsedMillis(), result.getAtRisk(), defaultHorizon);
+    }
+
+    @PreDestroy
+    public void close() {
+        pool.shutdownNow();
+    }
+
+    ReorderSuggestionsResponse compute(Instant now, Duration horizon, int limit, ForkJoinPool forkJoinPool) {
+        long began = System.nanoTime();
+        double horizonDays = horizon.toMillis() / MILLIS_PER_DAY;
+
+        Long[] bounds = jdbcTemplate.queryForObject("select min(id), max(id) from sweets",
+                (rs, rowNum) -> new Long[]{(Long) rs.getObject(1), (Long) rs.getObject(2)});
+        Scored scored = bounds == null || bounds[0] == null
+                ? new Scored(limit)
+                : forkJoinPool.invoke(new RangeTask(bounds[0], bounds[1] + 1, now, horizonDays, limit));
+
+        List<ReorderSuggestionResponse> suggestions = new ArrayList<>(scored.top);
+        suggestions.sort(MOST_URGENT);
+        return ReorderSuggestionsResponse.builder()
+                .computedAt(now)
+                .elapsedMillis((System.nanoTime() - began) / 1_000_000)
+                .horizonDays(horizonDays)
+                .halfLifeDays(salesVelocity.halfLife().toMillis() / MILLIS_PER_DAY)
+                .scanned(scored.scanned)
+                .atRisk(scored.atRisk)
+                .suggestions(suggestions)
+                .build();
+    }
+
+    // Splits [from, to) until a range is small enough to read in one query.
+    private final class RangeTask extends RecursiveTask<Scored> {
+        private final long from;
+        private final long to;
+        private final Instant now;
+        private final double horizonDays;
+        private final int limit;
+
+        private RangeTask(long from, long to, Instant now, double horizonDays, int limit) {
+            this.from = from;
+            this.to = to;
+            this.now = now;
+            this.horizonDays = horizonDays;
+            this.limit = limit;
+        }
+
+        @Override
+        protected Scored compute() {
+            if (to - from > rangeSize) {
+                long middle = from + (to - from) / 2;
+                RangeTask left = new RangeTask(from, middle, now, horizonDays, limit);
+                left.fork();
+                Scored right = new RangeTask(middle, to, now, horizonDays, limit).compute();
+                return left.join().merge(right);
+            }
+
+            Scored scored = new Scored(limit);
+            jdbcTemplate.query(RANGE_SQL, rs -> {
+                scored.scanned++;
+                long sweetId = rs.getLong(1);
+                double perDay = salesVelocity.perDay(sweetId, now);
+                if (perDay <= 0) {
+                    return;
+                }
+                int available = Math.max(0, rs.getInt(4));
+                double daysLeft = available / perDay;
+                if (daysLeft >= horizonDays) {
+                    return;
+                }
+                scored.atRisk++;
+                scored.offer(ReorderSuggestionResponse.builder()
+                        .sweetId(sweetId)
+                        .name(rs.getString(2))
+                        .category(rs.getString(3))
+                        .available(available)
+                        .unitsPerDay(perDay)
+                        .daysUntilStockout(daysLeft)
+                        .suggestedQuantity((int) Math.ceil(perDay * horizonDays) - available)
+                        .build());
+            }, from, to);
+            return scored;
+        }
+    }
+
+    // The most urgent suggestions seen so far, with the least urgent at the head so it can be displaced.
+    private static final class Scored {
+        private final int limit;
+        private final PriorityQueue<ReorderSuggestionResponse> top = new PriorityQueue<>(MOST_URGENT.reversed());
+        private long scanned;
+        private long atRisk;
+
+        private Scored(int limit) {
+            this.limit = limit;
+        }
+
+        private void offer(ReorderSuggestionResponse suggestion) {
+            top.add(suggestion);
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+
+        private Scored merge(Scored other) {
+            scanned += other.scanned;
+            atRisk += other.atRisk;
+            other.top.forEach(this::offer);
+            return this;
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.dev.Sweet_Shop_Management_System.reorder;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Purchase rate per sweet as an exponentially weighted moving average over time: each sale adds its units to a
+// sum that decays with the configured half-life, so recording a sale and reading a rate are both O(1).
+// The rate is the decayed sum over the decayed length of time observed, which keeps young sweets from
+// looking slow just because they have little history.
+@Slf4j
+@Component
+public class SalesVelocity {
+
+    private static final double MILLIS_PER_DAY = Duration.ofDays(1).toMillis();
+
+    private static final String SEED_ROLLUPS_SQL =
+            "select group_key, sale_day, units from sales_rollups "
+                    + "where group_type = 'SWEET' and sale_day >= ? and sale_day < ?";
+
+    private static final String SEED_TODAY_SQL =
+            "select sweet_id, sold_at, quantity from sale_lines where sale_day = ? and sold_at < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ZoneId zone;
+    private final double tauMillis;
+    private final long minWindowMillis;
+    private final Duration halfLife;
+    // Sales recorded live happen after this, so seeding only replays what came before it.
+    private final Instant startedAt = Instant.now();
+
+    private final Map<Long, Rate> rates = new ConcurrentHashMap<>();
+
+    public SalesVelocity(JdbcTemplate jdbcTemplate,
+                         @Value("${sweetshop.sales.zone:UTC}") String zone,
+                         @Value("${sweetshop.reorder.half-life:P7D}") Duration halfLife,
+                         @Value("${sweetshop.reorder.min-window:P1D}") Duration minWindow) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.zone = ZoneId.of(zone);
+        this.halfLife = halfLife;
+        this.tauMillis = halfLife.toMillis() / Math.log(2);
+        this.minWindowMillis = minWindow.toMillis();
+    }
+
+    // Replays about five half-lives of history: earlier days from the rollups (as if sold at noon), today from
+    // the raw lines, since today's rollups may still grow.
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        LocalDate today = LocalDate.ofInstant(startedAt, zone);
+        LocalDate from = LocalDate.ofInstant(startedAt.minus(halfLife.multipliedBy(5)), zone);
+        jdbcTemplate.query(SEED_ROLLUPS_SQL, rs -> {
+            Instant noon = rs.getObject(2, LocalDate.class).atTime(LocalTime.NOON).atZone(zone).toInstant();
+            record(Long.parseLong(rs.getString(1)), rs.getLong(3), noon);
+        }, from, today);
+        jdbcTemplate.query(SEED_TODAY_SQL, rs -> {
+            record(rs.getLong(1), rs.getLong(3), rs.getTimestamp(2).toInstant());
+        }, today, Timestamp.from(startedAt));
+        log.info("Sales velocity seeded for {} sweets", rates.size());
+    }
+
+    public void record(long sweetId, long units, Instant at) {
+        long millis = at.toEpochMilli();
+        Rate rate = rates.computeIfAbsent(sweetId, id -> new Rate(millis));
+        synchronized (rate) {
+            if (millis >= rate.lastMillis) {
+                rate.decayed = rate.decayed * decay(millis - rate.lastMillis) + units;
+                rate.lastMillis = millis;
+            } else {
+                // A sale older than the latest one decays by its own age instead of moving the clock back.
+                rate.decayed += units * decay(rate.lastMillis - millis);
+            }
+            rate.firstMillis = Math.min(rate.firstMillis, millis);
+        }
+    }
+
+    // Units per day as of the given instant; zero for sweets that have never sold.
+    public double perDay(long sweetId, Instant now) {
+        Rate rate = rates.get(sweetId);
+        if (rate == null) {
+            return 0;
+        }
+        long millis = now.toEpochMilli();
+        double decayed;
+        long age;
+        synchronized (rate) {
+            decayed = rate.decayed * decay(Math.max(0, millis - rate.lastMillis));
+            age = Math.max(minWindowMillis, millis - rate.firstMillis);
+        }
+        double window = tauMillis * (1 - Math.exp(-age / tauMillis));
+        return decayed / window * MILLIS_PER_DAY;
+    }
+
+    public int tracked() {
+        return rates.size();
+    }
+
+    public Duration halfLife() {
+        return halfLife;
+    }
+
+    private double decay(long elapsedMillis) {
+        return Math.exp(-elapsedMillis / tauMillis);
+    }
+
+    private static final class Rate {
+        private double decayed;
+        private long lastMillis;
+        private long firstMillis;
+
+        private Rate(long millis) {
+            this.lastMillis = millis;
+            this.firstMillis = millis;
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.dev.Sweet_Shop_Management_System.repository;
+
+import com.dev.Sweet_Shop_Management_System.entity.CategoryThreshold;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface CategoryThresholdRepository extends JpaRepository<CategoryThreshold, String> {
+}
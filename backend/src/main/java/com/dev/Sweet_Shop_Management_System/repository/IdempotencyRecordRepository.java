@@ -0,0 +1,19 @@
+package com.dev.Sweet_Shop_Management_System.repository;
+
+import com.dev.Sweet_Shop_Management_System.entity.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    @Query("select max(r.expiresAt) from IdempotencyRecord r")
+    Instant findLatestExpiry();
+
+    @Modifying
+    @Query("delete from IdempotencyRecord r where r.expiresAt < :cutoff")
+    int deleteExpiredBefore(@Param("cutoff") Instant cutoff);
+}
@@ -0,0 +1,32 @@
+package com.dev.Sweet_Shop_Management_System.repository;
+
+import com.dev.Sweet_Shop_Management_System.entity.Reservation;
+import com.dev.Sweet_Shop_Management_System.entity.ReservationStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface ReservationRepository extends JpaRepository<Reservation, Long> {
+
+    // Conditional status changes: exactly one of confirm, release and expire can win for a reservation.
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("update Reservation r set r.status = :to " +
+            "where r.id = :id and r.status = com.dev.Sweet_Shop_Management_System.entity.ReservationStatus.ACTIVE and r.expiresAt > :now")
+    int closeBeforeExpiry(@Param("id") Long id, @Param("to") ReservationStatus to, @Param("now") Instant now);
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("update Reservation r set r.status = :to where r.id = :id and r.status = com.dev.Sweet_Shop_Management_System.entity.ReservationStatus.ACTIVE")
+    int closeActive(@Param("id") Long id, @Param("to") ReservationStatus to);
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("update Reservation r set r.status = com.dev.Sweet_Shop_Management_System.entity.ReservationStatus.EXPIRED " +
+            "where r.id = :id and r.status = com.dev.Sweet_Shop_Management_System.entity.ReservationStatus.ACTIVE and r.expiresAt <= :now")
+    int expire(@Param("id") Long id, @Param("now") Instant now);
+
+    @Query("select r from Reservation r where r.status = :status")
+    List<Reservation> findAllByStatus(@Param("status") ReservationStatus status);
+}
@@ -0,0 +1,15 @@
+package com.dev.Sweet_Shop_Management_System.repository;
+
+import com.dev.Sweet_Shop_Management_System.dto.response.SweetResponse;
+import com.dev.Sweet_Shop_Management_System.entity.Sweet;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public interface SweetProjectionRepository {
+
+    List<SweetResponse> findResponses(Specification<Sweet> spec);
+
+    List<SweetResponse> findResponses(Specification<Sweet> spec, Sort sort, int limit);
+}
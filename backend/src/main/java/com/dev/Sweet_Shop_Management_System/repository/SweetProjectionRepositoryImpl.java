@@ -0,0 +1,76 @@
+package com.dev.Sweet_Shop_Management_System.repository;
+
+import com.dev.Sweet_Shop_Management_System.dto.response.SweetResponse;
+import com.dev.Sweet_Shop_Management_System.entity.Sweet;
+import com.dev.Sweet_Shop_Management_System.entity.SweetStockShard;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+// Selects the response columns directly, so no managed entities or dirty-checking snapshots are created.
+@Transactional(readOnly = true)
+public class SweetProjectionRepositoryImpl implements SweetProjectionRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<SweetResponse> findResponses(Specification<Sweet> spec) {
+        return createQuery(spec, Sort.unsorted()).getResultList();
+    }
+
+    @Override
+    public List<SweetResponse> findResponses(Specification<Sweet> spec, Sort sort, int limit) {
+        return createQuery(spec, sort)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    private TypedQuery<SweetResponse> createQuery(Specification<Sweet> spec, Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<SweetResponse> query = cb.createQuery(SweetResponse.class);
+        Root<Sweet> root = query.from(Sweet.class);
+
+        // Same rule as SweetRepository.QUANTITY: sharded sweets add up their shards.
+        Subquery<Integer> shardStock = query.subquery(Integer.class);
+        Root<SweetStockShard> shard = shardStock.from(SweetStockShard.class);
+        shardStock.select(cb.sum(shard.<Integer>get("quantity")))
+                .where(cb.equal(shard.get("sweetId"), root.get("id")));
+        Expression<Integer> quantity = cb.<Integer>selectCase()
+                .when(cb.gt(root.<Integer>get("stockShards"), 1),
+                        cb.sum(root.<Integer>get("quantity"), cb.coalesce(shardStock, 0)).as(Integer.class))
+                .otherwise(root.<Integer>get("quantity"));
+
+        query.select(cb.construct(SweetResponse.class,
+                root.get("id"),
+                root.get("name"),
+                root.get("category"),
+                root.get("price"),
+                quantity,
+                root.get("version")));
+
+        if (spec != null) {
+            Predicate predicate = spec.toPredicate(root, query, cb);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+        }
+        if (sort.isSorted()) {
+            query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        }
+
+        return entityManager.createQuery(query);
+    }
+}
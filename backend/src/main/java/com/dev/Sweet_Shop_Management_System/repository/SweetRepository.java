@@ -1,12 +1,126 @@
 package com.dev.Sweet_Shop_Management_System.repository;
 
+import com.dev.Sweet_Shop_Management_System.dto.response.StockAvailabilityResponse;
+import com.dev.Sweet_Shop_Management_System.dto.response.SweetResponse;
 import com.dev.Sweet_Shop_Management_System.entity.Sweet;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 
-public interface SweetRepository extends JpaRepository<Sweet,Long> {
+public interface SweetRepository extends JpaRepository<Sweet,Long>, JpaSpecificationExecutor<Sweet>,
+        SweetProjectionRepository {
+
+    // Sharded sweets report the main row's remainder plus every shard.
+    String QUANTITY = "case when s.stockShards > 1 then cast(s.quantity + coalesce((select sum(sh.quantity) " +
+            "from SweetStockShard sh where sh.sweetId = s.id), 0) as Integer) else s.quantity end";
+
     List<Sweet> findAll(Specification<Sweet> spec);
+
+    @Transactional(readOnly = true)
+    @Query("select new com.dev.Sweet_Shop_Management_System.dto.response.SweetResponse(" +
+            "s.id, s.name, s.category, s.price, " + QUANTITY + ", s.version) from Sweet s")
+    List<SweetResponse> findAllResponses();
+
+    @Transactional(readOnly = true)
+    @Query("select new com.dev.Sweet_Shop_Management_System.dto.response.SweetResponse(" +
+            "s.id, s.name, s.category, s.price, " + QUANTITY + ", s.version) from Sweet s where s.id = :id")
+    Optional<SweetResponse> findResponseById(@Param("id") Long id);
+
+    @Transactional(readOnly = true)
+    @Query("select new com.dev.Sweet_Shop_Management_System.dto.response.SweetResponse(" +
+            "s.id, s.name, s.category, s.price, " + QUANTITY + ", s.version) from Sweet s where s.id in :ids")
+    List<SweetResponse> findResponsesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Transactional(readOnly = true)
+    @Query("select new com.dev.Sweet_Shop_Management_System.dto.response.SweetResponse(" +
+            "s.id, s.name, s.category, s.price, " + QUANTITY + ", s.version) from Sweet s where s.category = :category")
+    List<SweetResponse> findResponsesByCategory(@Param("category") String category);
+
+    // Rows are locked in id order so concurrent carts touching the same sweets cannot deadlock.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from Sweet s where s.id in :ids order by s.id")
+    List<Sweet> lockAllByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Units held by reservations are not for sale.
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("update Sweet s set s.quantity = s.quantity - :amount, s.changeVersion = :version, " +
+            "s.version = s.version + 1 where s.id = :id and s.quantity - s.reservedQuantity >= :amount")
+    int decrementQuantity(@Param("id") Long id, @Param("amount") int amount, @Param("version") long version);
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("update Sweet s set s.quantity = s.quantity + :amount, s.changeVersion = :version, " +
+            "s.version = s.version + 1 where s.id = :id")
+    int incrementQuantity(@Param("id") Long id, @Param("amount") int amount, @Param("version") long version);
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("update Sweet s set s.reservedQuantity = s.reservedQuantity + :amount, s.version = s.version + 1 " +
+            "where s.id = :id and s.quantity - s.reservedQuantity >= :amount")
+    int reserveQuantity(@Param("id") Long id, @Param("amount") int amount);
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("update Sweet s set s.reservedQuantity = s.reservedQuantity - :amount, s.version = s.version + 1 " +
+            "where s.id = :id")
+    int releaseReservedQuantity(@Param("id") Long id, @Param("amount") int amount);
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("update Sweet s set s.quantity = s.quantity - :amount, s.reservedQuantity = s.reservedQuantity - :amount, " +
+            "s.changeVersion = :version, s.version = s.version + 1 where s.id = :id")
+    int consumeReservedQuantity(@Param("id") Long id, @Param("amount") int amount, @Param("version") long version);
+
+    // Units taken out of a shard for a hold are parked on the main row, where reservations are counted.
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("update Sweet s set s.quantity = s.quantity + :amount, s.reservedQuantity = s.reservedQuantity + :amount, " +
+            "s.version = s.version + 1 where s.id = :id")
+    int moveIntoReserve(@Param("id") Long id, @Param("amount") int amount);
+
+    @Transactional(readOnly = true)
+    @Query("select new com.dev.Sweet_Shop_Management_System.dto.response.StockAvailabilityResponse(" +
+            "s.id, " + QUANTITY + ", s.reservedQuantity, " + QUANTITY + " - s.reservedQuantity) from Sweet s where s.id = :id")
+    Optional<StockAvailabilityResponse> findAvailability(@Param("id") Long id);
+
+    @Transactional(readOnly = true)
+    @Query("select new com.dev.Sweet_Shop_Management_System.dto.response.SweetResponse(" +
+            "s.id, s.name, s.category, s.price, " + QUANTITY + ", s.version) from Sweet s " +
+            "where (s.changeVersion > :since and s.changeVersion <= :upTo) or exists (select 1 from SweetStockShard sh " +
+            "where sh.sweetId = s.id and sh.changeVersion > :since and sh.changeVersion <= :upTo) order by s.id")
+    List<SweetResponse> findChangedResponses(@Param("since") long since, @Param("upTo") long upTo,
+                                             Pageable pageable);
+
+    @Query("select coalesce(max(s.changeVersion), 0) from Sweet s")
+    long findMaxChangeVersion();
+
+    @Query("select s.id, s.stockShards from Sweet s where s.stockShards > 1")
+    List<Object[]> findShardCounts();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select s.id, s.name, s.category from Sweet s")
+    Stream<Object[]> streamSearchFields();
+
+    // Constructed rather than managed, so streaming the whole table does not fill the persistence context.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select new com.dev.Sweet_Shop_Management_System.entity.Sweet(s.id, s.name, s.category, s.price, " +
+            "s.quantity, s.reservedQuantity, s.version, s.changeVersion, s.stockShards) from Sweet s")
+    Stream<Sweet> streamDetached();
+
+    // Projected in id order with a fetch size, so a full export reads from a cursor instead of loading every row.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select new com.dev.Sweet_Shop_Management_System.dto.response.SweetResponse(" +
+            "s.id, s.name, s.category, s.price, " + QUANTITY + ", s.version) from Sweet s order by s.id")
+    Stream<SweetResponse> streamAllResponses();
 }
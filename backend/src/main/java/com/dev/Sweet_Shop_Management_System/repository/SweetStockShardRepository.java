@@ -0,0 +1,39 @@
+package com.dev.Sweet_Shop_Management_System.repository;
+
+import com.dev.Sweet_Shop_Management_System.entity.SweetStockShard;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface SweetStockShardRepository extends JpaRepository<SweetStockShard, Long> {
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("update SweetStockShard sh set sh.quantity = sh.quantity - :amount, sh.changeVersion = :version " +
+            "where sh.sweetId = :sweetId and sh.shard = :shard and sh.quantity >= :amount")
+    int decrementShard(@Param("sweetId") Long sweetId, @Param("shard") int shard,
+                       @Param("amount") int amount, @Param("version") long version);
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("update SweetStockShard sh set sh.quantity = sh.quantity + :amount, sh.changeVersion = :version " +
+            "where sh.sweetId = :sweetId and sh.shard = :shard")
+    int incrementShard(@Param("sweetId") Long sweetId, @Param("shard") int shard,
+                       @Param("amount") int amount, @Param("version") long version);
+
+    // Callers lock the sweets row first and the shards after it, in the same order everywhere.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select sh from SweetStockShard sh where sh.sweetId in :sweetIds order by sh.sweetId, sh.shard")
+    List<SweetStockShard> lockAllBySweetIdIn(@Param("sweetIds") Collection<Long> sweetIds);
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("delete from SweetStockShard sh where sh.sweetId = :sweetId")
+    int deleteAllBySweetId(@Param("sweetId") Long sweetId);
+
+    @Query("select coalesce(max(sh.changeVersion), 0) from SweetStockShard sh")
+    long findMaxChangeVersion();
+}
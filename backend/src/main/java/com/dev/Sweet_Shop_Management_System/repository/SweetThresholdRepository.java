@@ -0,0 +1,13 @@
+package com.dev.Sweet_Shop_Management_System.repository;
+
+import com.dev.Sweet_Shop_Management_System.entity.SweetThreshold;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+public interface SweetThresholdRepository extends JpaRepository<SweetThreshold, Long> {
+
+    @Modifying
+    @Query("delete from SweetThreshold t where not exists (select 1 from Sweet s where s.id = t.sweetId)")
+    int deleteOrphaned();
+}
@@ -0,0 +1,29 @@
+package com.dev.Sweet_Shop_Management_System.repository;
+
+import com.dev.Sweet_Shop_Management_System.entity.SweetTombstone;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface SweetTombstoneRepository extends JpaRepository<SweetTombstone, Long> {
+
+    @Query("select t.sweetId from SweetTombstone t where t.changeVersion > :since and t.changeVersion <= :upTo")
+    List<Long> findDeletedIdsBetween(@Param("since") long since, @Param("upTo") long upTo);
+
+    @Query("select coalesce(max(t.changeVersion), 0) from SweetTombstone t")
+    long findMaxChangeVersion();
+
+    @Query("select coalesce(min(t.changeVersion), 0) from SweetTombstone t")
+    long findMinChangeVersion();
+
+    @Query("select coalesce(max(t.changeVersion), 0) from SweetTombstone t where t.deletedAt < :cutoff")
+    long findMaxChangeVersionDeletedBefore(@Param("cutoff") Instant cutoff);
+
+    @Modifying
+    @Query("delete from SweetTombstone t where t.deletedAt < :cutoff")
+    int deleteDeletedBefore(@Param("cutoff") Instant cutoff);
+}
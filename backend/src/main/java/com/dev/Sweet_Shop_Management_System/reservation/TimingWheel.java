@@ -0,0 +1,180 @@
+package com.dev.Sweet_Shop_Management_System.reservation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Hierarchical timing wheel: scheduling and cancelling are O(1); each tick only touches the timers due in it.
+public class TimingWheel<T> {
+
+    private final long tickMillis;
+    private final int wheelSize;
+    private final long[] levelUnits;
+    private final Bucket<T>[][] levels;
+
+    private long currentTick;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    public TimingWheel(long tickMillis, int wheelSize, int levelCount, long startMillis) {
+        if (tickMillis < 1 || wheelSize < 2 || levelCount < 1) {
+            throw new IllegalArgumentException("Invalid timing wheel configuration");
+        }
+        this.tickMillis = tickMillis;
+        this.wheelSize = wheelSize;
+        this.levelUnits = new long[levelCount];
+        this.levels = new Bucket[levelCount][wheelSize];
+
+        long unit = 1;
+        for (int level = 0; level < levelCount; level++) {
+            levelUnits[level] = unit;
+            for (int slot = 0; slot < wheelSize; slot++) {
+                levels[level][slot] = new Bucket<>();
+            }
+            unit = Math.multiplyExact(unit, wheelSize);
+        }
+        this.currentTick = startMillis / tickMillis;
+    }
+
+    public synchronized Timer<T> schedule(T payload, long deadlineMillis) {
+        // Round up so a timer never fires before its deadline.
+        long deadlineTick = Math.max(ceilDiv(deadlineMillis, tickMillis), currentTick + 1);
+        Timer<T> timer = new Timer<>(payload, deadlineTick);
+        place(timer);
+        size++;
+        return timer;
+    }
+
+    public synchronized boolean cancel(Timer<T> timer) {
+        if (timer.bucket == null) {
+            return false;
+        }
+        timer.bucket.remove(timer);
+        size--;
+        return true;
+    }
+
+    // Moves the wheel forward to now and returns the payloads of every timer that fell due, tick by tick.
+    public synchronized List<T> advanceTo(long nowMillis) {
+        List<T> expired = new ArrayList<>();
+        long targetTick = nowMillis / tickMillis;
+
+        while (currentTick < targetTick) {
+            currentTick++;
+
+            for (int level = levels.length - 1; level > 0; level--) {
+                if (currentTick % levelUnits[level] == 0) {
+                    Bucket<T> bucket = levels[level][slot(currentTick, level)];
+                    for (Timer<T> timer = bucket.drain(); timer != null; ) {
+                        Timer<T> next = timer.next;
+                        timer.next = null;
+                        place(timer);
+                        timer = next;
+                    }
+                }
+            }
+
+            Bucket<T> due = levels[0][slot(currentTick, 0)];
+            for (Timer<T> timer = due.drain(); timer != null; ) {
+                Timer<T> next = timer.next;
+                timer.next = null;
+                if (timer.deadlineTick <= currentTick) {
+                    expired.add(timer.payload);
+                    size--;
+                } else {
+                    place(timer);
+                }
+                timer = next;
+            }
+        }
+        return expired;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    private void place(Timer<T> timer) {
+        long delta = timer.deadlineTick - currentTick;
+        if (delta <= 0) {
+            // Came due while cascading; fire on this tick.
+            levels[0][slot(currentTick, 0)].add(timer);
+            return;
+        }
+
+        for (int level = 0; level < levels.length; level++) {
+            if (delta < levelUnits[level] * wheelSize) {
+                levels[level][slot(timer.deadlineTick, level)].add(timer);
+                return;
+            }
+        }
+
+        // Beyond the outermost wheel: park in its furthest slot and re-place on cascade.
+        int top = levels.length - 1;
+        long parkedTick = currentTick + levelUnits[top] * wheelSize - 1;
+        levels[top][slot(parkedTick, top)].add(timer);
+    }
+
+    private int slot(long tick, int level) {
+        return (int) ((tick / levelUnits[level]) % wheelSize);
+    }
+
+    private static long ceilDiv(long value, long divisor) {
+        return -Math.floorDiv(-value, divisor);
+    }
+
+    public static final class Timer<T> {
+        private final T payload;
+        private final long deadlineTick;
+        private Bucket<T> bucket;
+        private Timer<T> prev;
+        private Timer<T> next;
+
+        private Timer(T payload, long deadlineTick) {
+            this.payload = payload;
+            this.deadlineTick = deadlineTick;
+        }
+
+        public T getPayload() {
+            return payload;
+        }
+    }
+
+    private static final class Bucket<T> {
+        private Timer<T> head;
+
+        private void add(Timer<T> timer) {
+            timer.bucket = this;
+            timer.prev = null;
+            timer.next = head;
+            if (head != null) {
+                head.prev = timer;
+            }
+            head = timer;
+        }
+
+        private void remove(Timer<T> timer) {
+            if (timer.prev != null) {
+                timer.prev.next = timer.next;
+            } else {
+                head = timer.next;
+            }
+            if (timer.next != null) {
+                timer.next.prev = timer.prev;
+            }
+            timer.bucket = null;
+            timer.prev = null;
+            timer.next = null;
+        }
+
+        // Detaches the whole chain; callers walk it through next.
+        private Timer<T> drain() {
+            Timer<T> chain = head;
+            head = null;
+            for (Timer<T> timer = chain; timer != null; timer = timer.next) {
+                timer.bucket = null;
+                timer.prev = null;
+            }
+            return chain;
+        }
+    }
+}
@@ -0,0 +1,374 @@
+package com.dev.Sweet_Shop_Management_System.sales;
+
+import com.dev.Sweet_Shop_Management_System.dto.response.SalesStatsResponse;
+import com.dev.Sweet_Shop_Management_System.dto.response.SweetResponse;
+import com.dev.Sweet_Shop_Management_System.entity.SaleLineStatus;
+import com.dev.Sweet_Shop_Management_System.entity.SalesGroupType;
+import com.dev.Sweet_Shop_Management_System.reorder.SalesVelocity;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Records a sale line for every completed purchase and folds them into per-day rollups per sweet, per category
+// and for the whole shop. The line is inserted in the purchase's own transaction, so a committed sale is never
+// only in memory. The lines table is the queue: a background flush folds PENDING lines into the rollups and marks
+// them FOLDED in one transaction, so the rollups always equal what rebuild() derives from the lines.
+@Slf4j
+@Component
+public class SalesRecorder {
+
+    private static final String INSERT_LINE_SQL =
+            "insert into sale_lines (sweet_id, category, quantity, unit_price, revenue, sold_at, sale_day, status) "
+                    + "values (?, ?, ?, ?, ?, ?, ?, 'PENDING')";
+
+    // Skip locked lets another instance fold the next lines instead of waiting on these.
+    private static final String SELECT_PENDING_SQL =
+            "select id, sweet_id, category, quantity, revenue, sale_day from sale_lines "
+                    + "where status = 'PENDING' order by id limit ? for update skip locked";
+
+    private static final String SELECT_PENDING_LINE_SQL =
+            "select id, sweet_id, category, quantity, revenue, sale_day from sale_lines "
+                    + "where id = ? and status = 'PENDING' for update";
+
+    private static final String SELECT_PENDING_IDS_SQL =
+            "select id from sale_lines where status = 'PENDING' order by id limit ?";
+
+    private static final String MARK_FOLDED_SQL = "update sale_lines set status = 'FOLDED' where id = any(?)";
+
+    private static final String PARK_SQL = "update sale_lines set status = 'PARKED' where id = ? and status = 'PENDING'";
+
+    private static final String UNFOLDED_COUNTS_SQL =
+            "select status, count(*) from sale_lines where status <> 'FOLDED' group by status";
+
+    private static final String UPSERT_ROLLUP_SQL =
+            "insert into sales_rollups (sale_day, group_type, group_key, units, revenue) values (?, ?, ?, ?, ?) "
+                    + "on conflict (sale_day, group_type, group_key) do update set "
+                    + "units = sales_rollups.units + excluded.units, revenue = sales_rollups.revenue + excluded.revenue";
+
+    // Rebuild marks every pending line first and then derives from FOLDED lines only, so a line that commits
+    // in between stays PENDING and is folded later instead of being counted twice.
+    private static final String FOLD_ALL_SQL = "update sale_lines set status = 'FOLDED' where status = 'PENDING'";
+
+    private static final String REBUILD_SWEET_SQL =
+            "insert into sales_rollups (sale_day, group_type, group_key, units, revenue) "
+                    + "select sale_day, 'SWEET', cast(sweet_id as varchar), sum(quantity), sum(revenue) "
+                    + "from sale_lines where status = 'FOLDED' group by sale_day, sweet_id";
+
+    private static final String REBUILD_CATEGORY_SQL =
+            "insert into sales_rollups (sale_day, group_type, group_key, units, revenue) "
+                    + "select sale_day, 'CATEGORY', category, sum(quantity), sum(revenue) "
+                    + "from sale_lines where status = 'FOLDED' group by sale_day, category";
+
+    private static final String REBUILD_DAY_SQL =
+            "insert into sales_rollups (sale_day, group_type, group_key, units, revenue) "
+                    + "select sale_day, 'DAY', '', sum(quantity), sum(revenue) from sale_lines "
+                    + "where status = 'FOLDED' group by sale_day";
+
+    private static final RowMapper<Line> LINE_MAPPER = (rs, row) -> new Line(
+            rs.getLong("id"),
+            rs.getLong("sweet_id"),
+            rs.getString("category"),
+            rs.getInt("quantity"),
+            rs.getDouble("revenue"),
+            rs.getObject("sale_day", LocalDate.class));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final SalesVelocity salesVelocity;
+    private final TopSellers topSellers;
+    private final ZoneId zone;
+    private final int flushBatchSize;
+    private final int maxFoldAttempts;
+
+    private final Object flushLock = new Object();
+    private final LongAdder recorded = new LongAdder();
+    private final LongAdder folded = new LongAdder();
+    private final LongAdder rollupUpserts = new LongAdder();
+    private final LongAdder flushes = new LongAdder();
+    private final LongAdder failedFlushes = new LongAdder();
+    // Guarded by flushLock.
+    private int consecutiveFailures;
+
+    public SalesRecorder(JdbcTemplate jdbcTemplate,
+                         PlatformTransactionManager transactionManager,
+                         SalesVelocity salesVelocity,
+                         TopSellers topSellers,
+                         @Value("${sweetshop.sales.zone:UTC}") String zone,
+                         @Value("${sweetshop.sales.flush-batch-size:1000}") int flushBatchSize,
+                         @Value("${sweetshop.sales.max-fold-attempts:3}") int maxFoldAttempts) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.salesVelocity = salesVelocity;
+        this.topSellers = topSellers;
+        this.zone = ZoneId.of(zone);
+        this.flushBatchSize = flushBatchSize;
+        this.maxFoldAttempts = maxFoldAttempts;
+    }
+
+    public ZoneId zone() {
+        return zone;
+    }
+
+    // Called inside the purchase's transaction with the sweet as it stood after the purchase. Outside one (a
+    // ledger purchase, which commits in a later flush) the line is written on its own.
+    public void record(SweetResponse sweet, int quantity) {
+        Instant soldAt = Instant.now();
+        Sale sale = new Sale(sweet.getId(), sweet.getName(), Objects.requireNonNullElse(sweet.getCategory(), ""),
+                quantity, sweet.getPrice(), soldAt, LocalDate.ofInstant(soldAt, zone));
+        jdbcTemplate.update(INSERT_LINE_SQL, sale.sweetId, sale.category, sale.quantity, sale.unitPrice,
+                sale.revenue(), Timestamp.from(sale.soldAt), sale.day);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            recorded(sale);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                recorded(sale);
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${sweetshop.sales.flush-interval:PT1S}")
+    public void flush() {
+        synchronized (flushLock) {
+            while (true) {
+                int count;
+                try {
+                    count = transactionTemplate.execute(status ->
+                            fold(jdbcTemplate.query(SELECT_PENDING_SQL, LINE_MAPPER, flushBatchSize)));
+                } catch (RuntimeException ex) {
+                    failedFlushes.increment();
+                    if (++consecutiveFailures < maxFoldAttempts) {
+                        log.warn("Could not fold sale lines (attempt {} of {}), will retry",
+                                consecutiveFailures, maxFoldAttempts, ex);
+                        return;
+                    }
+                    log.warn("Folding sale lines failed {} times in a row, folding them one at a time",
+                            consecutiveFailures, ex);
+                    consecutiveFailures = 0;
+                    if (!isolate()) {
+                        return;
+                    }
+                    continue;
+                }
+                consecutiveFailures = 0;
+                if (count < flushBatchSize) {
+                    return;
+                }
+            }
+        }
+    }
+
+    // Drops every rollup and derives them again from the raw sale lines.
+    public int rebuild() {
+        synchronized (flushLock) {
+            Integer rows = transactionTemplate.execute(status -> {
+                jdbcTemplate.update("delete from sales_rollups");
+                jdbcTemplate.update(FOLD_ALL_SQL);
+                return jdbcTemplate.update(REBUILD_SWEET_SQL)
+                        + jdbcTemplate.update(REBUILD_CATEGORY_SQL)
+                        + jdbcTemplate.update(REBUILD_DAY_SQL);
+            });
+            log.info("Rebuilt {} sales rollups from sale lines", rows);
+            return rows;
+        }
+    }
+
+    public SalesStatsResponse stats() {
+        Map<String, Long> unfolded = new HashMap<>();
+        jdbcTemplate.query(UNFOLDED_COUNTS_SQL, rs -> {
+            unfolded.put(rs.getString(1), rs.getLong(2));
+        });
+        return SalesStatsResponse.builder()
+                .zone(zone.getId())
+                .recordedLines(recorded.sum())
+                .pendingLines(unfolded.getOrDefault(SaleLineStatus.PENDING.name(), 0L))
+                .parkedLines(unfolded.getOrDefault(SaleLineStatus.PARKED.name(), 0L))
+                .foldedLines(folded.sum())
+                .rollupUpserts(rollupUpserts.sum())
+                .flushes(flushes.sum())
+                .failedFlushes(failedFlushes.sum())
+                .build();
+    }
+
+    @PreDestroy
+    public void close() {
+        try {
+            flush();
+        } catch (RuntimeException ex) {
+            // The lines are in the table; the next start folds them.
+            log.warn("Could not fold pending sale lines on shutdown", ex);
+        }
+    }
+
+    private void recorded(Sale sale) {
+        salesVelocity.record(sale.sweetId, sale.quantity, sale.soldAt);
+        topSellers.record(sale.sweetId, sale.name, sale.quantity, sale.soldAt);
+        recorded.increment();
+    }
+
+    // Folds the oldest pending lines one at a time so a line that cannot be folded does not hold back the rest.
+    // A line that still fails on its own is parked: logged, left out of the rollups and kept for inspection.
+    private boolean isolate() {
+        List<Long> ids;
+        try {
+            ids = jdbcTemplate.queryForList(SELECT_PENDING_IDS_SQL, Long.class, flushBatchSize);
+        } catch (RuntimeException ex) {
+            log.warn("Could not read pending sale lines", ex);
+            return false;
+        }
+        for (Long id : ids) {
+            RuntimeException failure = null;
+            for (int attempt = 0; attempt < maxFoldAttempts; attempt++) {
+                try {
+                    transactionTemplate.execute(status ->
+                            fold(jdbcTemplate.query(SELECT_PENDING_LINE_SQL, LINE_MAPPER, id)));
+                    failure = null;
+                    break;
+                } catch (RuntimeException ex) {
+                    failedFlushes.increment();
+                    failure = ex;
+                }
+            }
+            if (failure == null) {
+                continue;
+            }
+            try {
+                jdbcTemplate.update(PARK_SQL, id);
+            } catch (RuntimeException ex) {
+                log.warn("Could not park sale line {}", id, ex);
+                return false;
+            }
+            log.error("Parked sale line {} after {} failed attempts to fold it", id, maxFoldAttempts, failure);
+        }
+        return true;
+    }
+
+    private int fold(List<Line> lines) {
+        if (lines.isEmpty()) {
+            return 0;
+        }
+        // Sorted keys keep concurrent writers (other instances) locking rollup rows in the same order.
+        Map<RollupKey, Totals> rollups = new TreeMap<>();
+        Long[] ids = new Long[lines.size()];
+        for (int i = 0; i < lines.size(); i++) {
+            Line line = lines.get(i);
+            ids[i] = line.id;
+            add(rollups, new RollupKey(line.day, SalesGroupType.SWEET, String.valueOf(line.sweetId)), line);
+            add(rollups, new RollupKey(line.day, SalesGroupType.CATEGORY, line.category), line);
+            add(rollups, new RollupKey(line.day, SalesGroupType.DAY, ""), line);
+        }
+
+        jdbcTemplate.batchUpdate(UPSERT_ROLLUP_SQL, List.copyOf(rollups.entrySet()), flushBatchSize,
+                (statement, rollup) -> {
+                    statement.setObject(1, rollup.getKey().day);
+                    statement.setString(2, rollup.getKey().type.name());
+                    statement.setString(3, rollup.getKey().key);
+                    statement.setLong(4, rollup.getValue().units);
+                    statement.setDouble(5, rollup.getValue().revenue);
+                });
+        jdbcTemplate.update(MARK_FOLDED_SQL, statement ->
+                statement.setArray(1, statement.getConnection().createArrayOf("bigint", ids)));
+
+        folded.add(lines.size());
+        rollupUpserts.add(rollups.size());
+        flushes.increment();
+        return lines.size();
+    }
+
+    private static void add(Map<RollupKey, Totals> rollups, RollupKey key, Line line) {
+        Totals totals = rollups.computeIfAbsent(key, ignored -> new Totals());
+        totals.units += line.quantity;
+        totals.revenue += line.revenue;
+    }
+
+    private static final class Sale {
+        private final long sweetId;
+        private final String name;
+        private final String category;
+        private final int quantity;
+        private final double unitPrice;
+        private final Instant soldAt;
+        private final LocalDate day;
+
+        private Sale(long sweetId, String name, String category, int quantity, double unitPrice, Instant soldAt,
+                     LocalDate day) {
+            this.sweetId = sweetId;
+            this.name = name;
+            this.category = category;
+            this.quantity = quantity;
+            this.unitPrice = unitPrice;
+            this.soldAt = soldAt;
+            this.day = day;
+        }
+
+        private double revenue() {
+            return unitPrice * quantity;
+        }
+    }
+
+    private static final class Line {
+        private final long id;
+        private final long sweetId;
+        private final String category;
+        private final int quantity;
+        private final double revenue;
+        private final LocalDate day;
+
+        private Line(long id, long sweetId, String category, int quantity, double revenue, LocalDate day) {
+            this.id = id;
+            this.sweetId = sweetId;
+            this.category = category;
+            this.quantity = quantity;
+            this.revenue = revenue;
+            this.day = day;
+        }
+    }
+
+    private static final class RollupKey implements Comparable<RollupKey> {
+        private final LocalDate day;
+        private final SalesGroupType type;
+        private final String key;
+
+        private RollupKey(LocalDate day, SalesGroupType type, String key) {
+            this.day = day;
+            this.type = type;
+            this.key = key;
+        }
+
+        @Override
+        public int compareTo(RollupKey other) {
+            int byDay = day.compareTo(other.day);
+            if (byDay != 0) {
+                return byDay;
+            }
+            int byType = type.compareTo(other.type);
+            return byType != 0 ? byType : key.compareTo(other.key);
+        }
+    }
+
+    private static final class Totals {
+        private long units;
+        private double revenue;
+    }
+}
@@ -0,0 +1,90 @@
+package com.dev.Sweet_Shop_Management_System.sales;
+
+import com.dev.Sweet_Shop_Management_System.dto.response.SalesReportResponse;
+import com.dev.Sweet_Shop_Management_System.dto.response.SalesReportRow;
+import com.dev.Sweet_Shop_Management_System.entity.SalesGroupType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Locale;
+
+// Answers sales reports from the rollups only: one index range per grouping over the requested days.
+@Service
+public class SalesReportService {
+
+    private static final String GROUPED_SQL =
+            "select group_key, sum(units), sum(revenue) from sales_rollups "
+                    + "where group_type = ? and sale_day between ? and ? "
+                    + "group by group_key order by sum(revenue) desc, group_key";
+
+    private static final String DAILY_SQL =
+            "select cast(sale_day as varchar), units, revenue from sales_rollups "
+                    + "where group_type = 'DAY' and sale_day between ? and ? order by sale_day";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SalesRecorder salesRecorder;
+    private final int defaultDays;
+    private final int maxDays;
+
+    public SalesReportService(JdbcTemplate jdbcTemplate,
+                              SalesRecorder salesRecorder,
+                              @Value("${sweetshop.sales.default-report-days:30}") int defaultDays,
+                              @Value("${sweetshop.sales.max-report-days:366}") int maxDays) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.salesRecorder = salesRecorder;
+        this.defaultDays = defaultDays;
+        this.maxDays = maxDays;
+    }
+
+    public SalesReportResponse report(LocalDate from, LocalDate to, String groupBy) {
+        SalesGroupType type = parseGroupBy(groupBy);
+        LocalDate end = to != null ? to : LocalDate.now(salesRecorder.zone());
+        LocalDate start = from != null ? from : end.minusDays(defaultDays - 1L);
+        if (start.isAfter(end)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "from must not be after to");
+        }
+        if (ChronoUnit.DAYS.between(start, end) >= maxDays) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Reports cover at most " + maxDays + " days");
+        }
+
+        List<SalesReportRow> rows = type == SalesGroupType.DAY
+                ? jdbcTemplate.query(DAILY_SQL, (rs, rowNum) -> row(rs.getString(1), rs.getLong(2), rs.getDouble(3)),
+                        start, end)
+                : jdbcTemplate.query(GROUPED_SQL, (rs, rowNum) -> row(rs.getString(1), rs.getLong(2), rs.getDouble(3)),
+                        type.name(), start, end);
+
+        return SalesReportResponse.builder()
+                .from(start)
+                .to(end)
+                .groupBy(type.name().toLowerCase(Locale.ROOT))
+                .totalUnits(rows.stream().mapToLong(SalesReportRow::getUnits).sum())
+                .totalRevenue(rows.stream().mapToDouble(SalesReportRow::getRevenue).sum())
+                .rows(rows)
+                .build();
+    }
+
+    private static SalesGroupType parseGroupBy(String groupBy) {
+        if (groupBy == null || groupBy.isBlank()) {
+            return SalesGroupType.DAY;
+        }
+        try {
+            return SalesGroupType.valueOf(groupBy.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "groupBy must be sweet, category or day");
+        }
+    }
+
+    private static SalesReportRow row(String key, long units, double revenue) {
+        return SalesReportRow.builder()
+                .key(key)
+                .units(units)
+                .revenue(revenue)
+                .build();
+    }
+}
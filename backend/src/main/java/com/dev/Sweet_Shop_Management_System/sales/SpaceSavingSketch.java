@@ -0,0 +1,98 @@
+package com.dev.Sweet_Shop_Management_System.sales;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+
+// Space-Saving heavy hitters (Metwally et al.) with weighted updates, holding at most `capacity` counters.
+// Over a stream of N units: every counter overestimates its sweet by at most its error, which is at most the
+// smallest counter, which is at most N / capacity; a sweet without a counter sold at most that smallest count.
+// Not thread-safe; TopSellerWindow guards each sketch.
+public class SpaceSavingSketch {
+
+    private static final Comparator<Counter> BY_COUNT = Comparator
+            .comparingLong((Counter counter) -> counter.count)
+            .thenComparingLong(counter -> counter.key);
+
+    private final int capacity;
+    private final Map<Long, Counter> counters = new HashMap<>();
+    private final TreeSet<Counter> byCount = new TreeSet<>(BY_COUNT);
+    private long total;
+
+    public SpaceSavingSketch(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public void add(long key, String label, long units) {
+        total += units;
+        Counter counter = counters.get(key);
+        if (counter != null) {
+            byCount.remove(counter);
+            counter.count += units;
+            counter.label = label;
+            byCount.add(counter);
+            return;
+        }
+        if (counters.size() < capacity) {
+            counter = new Counter(key, label, units, 0);
+        } else {
+            // The new sweet takes over the smallest counter and inherits its count as possible overestimate.
+            Counter smallest = byCount.pollFirst();
+            counters.remove(smallest.key);
+            counter = new Counter(key, label, smallest.count + units, smallest.count);
+        }
+        counters.put(key, counter);
+        byCount.add(counter);
+    }
+
+    public long total() {
+        return total;
+    }
+
+    // Upper bound on the units of any sweet without a counter.
+    public long floor() {
+        return counters.size() < capacity ? 0 : byCount.first().count;
+    }
+
+    public void forEach(Consumer<Counter> action) {
+        counters.values().forEach(action);
+    }
+
+    public void clear() {
+        counters.clear();
+        byCount.clear();
+        total = 0;
+    }
+
+    public static final class Counter {
+        private final long key;
+        private String label;
+        private long count;
+        private final long error;
+
+        private Counter(long key, String label, long count, long error) {
+            this.key = key;
+            this.label = label;
+            this.count = count;
+            this.error = error;
+        }
+
+        public long key() {
+            return key;
+        }
+
+        public String label() {
+            return label;
+        }
+
+        public long count() {
+            return count;
+        }
+
+        public long error() {
+            return error;
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.dev.Sweet_Shop_Management_System.sales;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// A sliding window of heavy hitters made of `buckets` rotating Space-Saving sketches, each `width` long.
+// The window is the current bucket plus the buckets - 1 before it, so it spans the window length to within one
+// bucket width. Closed buckets are merged and pruned to `capacity` once per rotation; a query merges that with
+// the current bucket, so it costs O(capacity) whatever the traffic. With N units in the window, every reported
+// count is an upper bound that overestimates by at most its error, and error and maxError are at most 2N/capacity.
+public class TopSellerWindow {
+
+    private static final Comparator<Estimate> BY_UNITS = Comparator
+            .comparingLong((Estimate estimate) -> estimate.count).reversed()
+            .thenComparingLong(estimate -> estimate.key);
+
+    private final long widthMillis;
+    private final int capacity;
+    private final SpaceSavingSketch[] sketches;
+    private final long[] epochs;
+
+    private long closedEpoch = Long.MIN_VALUE;
+    private Estimates closed = new Estimates();
+
+    public TopSellerWindow(Duration width, int buckets, int capacity) {
+        this.widthMillis = width.toMillis();
+        this.capacity = capacity;
+        this.sketches = new SpaceSavingSketch[buckets];
+        this.epochs = new long[buckets];
+        for (int i = 0; i < buckets; i++) {
+            sketches[i] = new SpaceSavingSketch(capacity);
+            epochs[i] = Long.MIN_VALUE;
+        }
+    }
+
+    public Duration span() {
+        return Duration.ofMillis(widthMillis * sketches.length);
+    }
+
+    public synchronized void record(long sweetId, String name, long units, long atMillis) {
+        long epoch = Math.floorDiv(atMillis, widthMillis);
+        int slot = slot(epoch);
+        if (epochs[slot] != epoch) {
+            if (epochs[slot] > epoch) {
+                // Older than anything the window still covers.
+                return;
+            }
+            sketches[slot].clear();
+            epochs[slot] = epoch;
+        }
+        sketches[slot].add(sweetId, name, units);
+        if (epoch < closedEpoch) {
+            // A late sale for a closed bucket; merge again on the next query.
+            closedEpoch = Long.MIN_VALUE;
+        }
+    }
+
+    public synchronized Result top(int n, long nowMillis) {
+        long epoch = Math.floorDiv(nowMillis, widthMillis);
+        if (closedEpoch != epoch) {
+            closed = mergeClosed(epoch);
+            closedEpoch = epoch;
+        }
+        int slot = slot(epoch);
+        Estimates window = epochs[slot] == epoch ? closed.plus(Estimates.of(sketches[slot])) : closed;
+
+        List<Estimate> ranked = new ArrayList<>(window.items.values());
+        ranked.sort(BY_UNITS);
+        long from = (epoch - sketches.length + 1) * widthMillis;
+        return new Result(from, nowMillis, window.total, window.floor,
+                ranked.subList(0, Math.min(n, ranked.size())));
+    }
+
+    private Estimates mergeClosed(long epoch) {
+        Estimates merged = new Estimates();
+        for (int i = 0; i < sketches.length; i++) {
+            if (epochs[i] < epoch && epochs[i] > epoch - sketches.length) {
+                merged = merged.plus(Estimates.of(sketches[i]));
+            }
+        }
+        merged.prune(capacity);
+        return merged;
+    }
+
+    private int slot(long epoch) {
+        return (int) Math.floorMod(epoch, (long) sketches.length);
+    }
+
+    public static final class Result {
+        private final long fromMillis;
+        private final long toMillis;
+        private final long totalUnits;
+        private final long maxError;
+        private final List<Estimate> top;
+
+        private Result(long fromMillis, long toMillis, long totalUnits, long maxError, List<Estimate> top) {
+            this.fromMillis = fromMillis;
+            this.toMillis = toMillis;
+            this.totalUnits = totalUnits;
+            this.maxError = maxError;
+            this.top = top;
+        }
+
+        public long fromMillis() {
+            return fromMillis;
+        }
+
+        public long toMillis() {
+            return toMillis;
+        }
+
+        public long totalUnits() {
+            return totalUnits;
+        }
+
+        // Upper bound on the units of any sweet not in the list, and on any listed sweet's overestimate.
+        public long maxError() {
+            return maxError;
+        }
+
+        public List<Estimate> top() {
+            return top;
+        }
+    }
+
+    public static final class Estimate {
+        private final long key;
+        private final String label;
+        private final long count;
+        private final long error;
+
+        private Estimate(long key, String label, long count, long error) {
+            this.key = key;
+            this.label = label;
+            this.count = count;
+            this.error = error;
+        }
+
+        public long sweetId() {
+            return key;
+        }
+
+        public String name() {
+            return label;
+        }
+
+        // Never below the true units sold in the window.
+        public long units() {
+            return count;
+        }
+
+        // Never above the true units sold in the window.
+        public long minUnits() {
+            return count - error;
+        }
+    }
+
+    // A mergeable summary: a sweet missing from `items` sold at most `floor`, so merging charges it that much.
+    private static final class Estimates {
+        private final Map<Long, Estimate> items = new HashMap<>();
+        private long floor;
+        private long total;
+
+        private static Estimates of(SpaceSavingSketch sketch) {
+            Estimates estimates = new Estimates();
+            sketch.forEach(counter -> estimates.items.put(counter.key(),
+                    new Estimate(counter.key(), counter.label(), counter.count(), counter.error())));
+            estimates.floor = sketch.floor();
+            estimates.total = sketch.total();
+            return estimates;
+        }
+
+        private Estimates plus(Estimates other) {
+            Estimates merged = new Estimates();
+            merged.floor = floor + other.floor;
+            merged.total = total + other.total;
+            Set<Long> keys = new HashSet<>(items.keySet());
+            keys.addAll(other.items.keySet());
+            for (Long key : keys) {
+                Estimate mine = items.get(key);
+                Estimate theirs = other.items.get(key);
+                merged.items.put(key, new Estimate(key,
+                        theirs != null ? theirs.label : mine.label,
+                        (mine != null ? mine.count : floor) + (theirs != null ? theirs.count : other.floor),
+                        (mine != null ? mine.error : floor) + (theirs != null ? theirs.error : other.floor)));
+            }
+            return merged;
+        }
+
+        // Keeps the largest `capacity` counts; what is dropped sold at most the largest dropped count.
+        private void prune(int capacity) {
+            if (items.size() <= capacity) {
+                return;
+            }
+            List<Estimate> ranked = new ArrayList<>(items.values());
+            ranked.sort(BY_UNITS);
+            floor = Math.max(floor, ranked.get(capacity).count);
+            for (Estimate dropped : ranked.subList(capacity, ranked.size())) {
+                items.remove(dropped.key);
+            }
+        }
+    }
+}
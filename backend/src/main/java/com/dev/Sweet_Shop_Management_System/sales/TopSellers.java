@@ -0,0 +1,69 @@
+package com.dev.Sweet_Shop_Management_System.sales;
+
+import com.dev.Sweet_Shop_Management_System.dto.response.TopSellerResponse;
+import com.dev.Sweet_Shop_Management_System.dto.response.TopSellersResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Live best sellers over the last hour, day and week, fed by every recorded sale. Each window is a ring of
+// Space-Saving sketches, so memory and query time depend on the sketch capacity, not on how much was sold.
+@Component
+public class TopSellers {
+
+    private final Map<String, TopSellerWindow> windows = new LinkedHashMap<>();
+    private final int maxN;
+
+    public TopSellers(@Value("${sweetshop.top-sellers.capacity:256}") int capacity,
+                      @Value("${sweetshop.top-sellers.max-n:100}") int maxN) {
+        this.maxN = Math.min(maxN, capacity);
+        windows.put("1h", new TopSellerWindow(Duration.ofMinutes(1), 60, capacity));
+        windows.put("1d", new TopSellerWindow(Duration.ofMinutes(15), 96, capacity));
+        windows.put("1w", new TopSellerWindow(Duration.ofHours(1), 168, capacity));
+    }
+
+    public void record(long sweetId, String name, int units, Instant at) {
+        long millis = at.toEpochMilli();
+        for (TopSellerWindow window : windows.values()) {
+            window.record(sweetId, name, units, millis);
+        }
+    }
+
+    public TopSellersResponse top(String window, int n) {
+        TopSellerWindow sellers = windows.get(window);
+        if (sellers == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "window must be one of " + windows.keySet());
+        }
+        if (n < 1 || n > maxN) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "n must be between 1 and " + maxN);
+        }
+
+        TopSellerWindow.Result result = sellers.top(n, System.currentTimeMillis());
+        List<TopSellerResponse> ranked = new ArrayList<>(result.top().size());
+        for (TopSellerWindow.Estimate estimate : result.top()) {
+            ranked.add(TopSellerResponse.builder()
+                    .rank(ranked.size() + 1)
+                    .sweetId(estimate.sweetId())
+                    .name(estimate.name())
+                    .units(estimate.units())
+                    .minUnits(estimate.minUnits())
+                    .build());
+        }
+        return TopSellersResponse.builder()
+                .window(window)
+                .from(Instant.ofEpochMilli(result.fromMillis()))
+                .to(Instant.ofEpochMilli(result.toMillis()))
+                .totalUnits(result.totalUnits())
+                .maxError(result.maxError())
+                .sellers(ranked)
+                .build();
+    }
+}
@@ -0,0 +1,70 @@
+package com.dev.Sweet_Shop_Management_System.search;
+
+import java.util.Arrays;
+
+class PostingList {
+
+    private int[] ids = new int[4];
+    private int size;
+
+    void add(int id) {
+        // Ids are mostly handed out in increasing order, so appending is the common case.
+        if (size == 0 || ids[size - 1] < id) {
+            ensureCapacity();
+            ids[size++] = id;
+            return;
+        }
+        int pos = Arrays.binarySearch(ids, 0, size, id);
+        if (pos >= 0) {
+            return;
+        }
+        int insertAt = -pos - 1;
+        ensureCapacity();
+        System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+        ids[insertAt] = id;
+        size++;
+    }
+
+    void remove(int id) {
+        int pos = Arrays.binarySearch(ids, 0, size, id);
+        if (pos < 0) {
+            return;
+        }
+        System.arraycopy(ids, pos + 1, ids, pos, size - pos - 1);
+        size--;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int[] toArray() {
+        return Arrays.copyOf(ids, size);
+    }
+
+    // Keeps only the entries of sorted that are also in this list; callers start from the shortest list.
+    int retainInto(int[] sorted, int length) {
+        int kept = 0;
+        int from = 0;
+        for (int i = 0; i < length && from < size; i++) {
+            int pos = Arrays.binarySearch(ids, from, size, sorted[i]);
+            if (pos >= 0) {
+                sorted[kept++] = sorted[i];
+                from = pos + 1;
+            } else {
+                from = -pos - 1;
+            }
+        }
+        return kept;
+    }
+
+    private void ensureCapacity() {
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+        }
+    }
+}
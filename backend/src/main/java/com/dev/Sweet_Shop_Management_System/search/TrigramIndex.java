@@ -0,0 +1,349 @@
+package com.dev.Sweet_Shop_Management_System.search;
+
+import com.dev.Sweet_Shop_Management_System.dto.response.SweetResponse;
+import com.dev.Sweet_Shop_Management_System.event.CatalogImportedEvent;
+import com.dev.Sweet_Shop_Management_System.event.SweetChangedEvent;
+import com.dev.Sweet_Shop_Management_System.repository.SweetRepository;
+import com.dev.Sweet_Shop_Management_System.service.SweetSearchCriteria;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+@Slf4j
+@Component
+public class TrigramIndex {
+
+    private final SweetRepository sweetRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxCandidates;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, PostingList> namePostings = new HashMap<>();
+    private final Map<Long, PostingList> categoryPostings = new HashMap<>();
+    private final Map<Integer, Doc> docs = new HashMap<>();
+    // Rows we cannot answer for exactly in Java; they are always handed to the database to decide.
+    private final Set<Long> alwaysCandidates = new HashSet<>();
+    private volatile boolean ready;
+
+    public TrigramIndex(SweetRepository sweetRepository,
+                        TransactionTemplate transactionTemplate,
+                        @Value("${sweetshop.search.max-candidates:5000}") int maxCandidates) {
+        this.sweetRepository = sweetRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.maxCandidates = maxCandidates;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long began = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            ready = false;
+            namePostings.clear();
+            categoryPostings.clear();
+            docs.clear();
+            alwaysCandidates.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        transactionTemplate.execute(status -> {
+            try (Stream<Object[]> rows = sweetRepository.streamSearchFields()) {
+                rows.forEach(row -> {
+                    lock.writeLock().lock();
+                    try {
+                        index((Long) row[0], Set.of(nullToEmpty(row[1])), Set.of(nullToEmpty(row[2])), true);
+                    } finally {
+                        lock.writeLock().unlock();
+                    }
+                });
+            }
+            return null;
+        });
+
+        ready = true;
+        log.info("Trigram index built for {} sweets in {} ms", size(), (System.nanoTime() - began) / 1_000_000);
+    }
+
+    // Returns the ids that may match, or null when the index cannot narrow the search.
+    public long[] candidates(SweetSearchCriteria criteria) {
+        String name = criteria.getName();
+        String category = criteria.getCategory();
+        if (!ready || (name == null && category == null)) {
+            return null;
+        }
+        if ((name != null && !isIndexable(name)) || (category != null && !isIndexable(category))) {
+            return null;
+        }
+
+        lock.readLock().lock();
+        try {
+            int[] matches = null;
+            if (name != null) {
+                matches = lookup(namePostings, name, true);
+            }
+            if (category != null) {
+                int[] categoryMatches = lookup(categoryPostings, category, false);
+                matches = matches == null ? categoryMatches : intersect(matches, categoryMatches);
+            }
+
+            if (matches.length + alwaysCandidates.size() > maxCandidates) {
+                return null;
+            }
+
+            long[] result = new long[matches.length + alwaysCandidates.size()];
+            int i = 0;
+            for (int id : matches) {
+                result[i++] = id;
+            }
+            for (Long id : alwaysCandidates) {
+                result[i++] = id;
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docs.size() + alwaysCandidates.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // While the transaction is open, index the old and new text together so readers see a superset.
+    @EventListener
+    public void onSweetChanged(SweetChangedEvent event) {
+        if (event.getAfter() == null) {
+            return;
+        }
+        Set<String> names = new LinkedHashSet<>();
+        Set<String> categories = new LinkedHashSet<>();
+        collect(event.getBefore(), names, categories);
+        collect(event.getAfter(), names, categories);
+        apply(event.getSweetId(), names, categories);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void afterSweetChangeCommitted(SweetChangedEvent event) {
+        settle(event.getSweetId(), event.getAfter());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_ROLLBACK)
+    public void afterSweetChangeRolledBack(SweetChangedEvent event) {
+        settle(event.getSweetId(), event.getBefore());
+    }
+
+    // An import chunk goes through the same steps, row by row.
+    @EventListener
+    public void onCatalogImported(CatalogImportedEvent event) {
+        event.getChanges().forEach(this::onSweetChanged);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void afterCatalogImportCommitted(CatalogImportedEvent event) {
+        event.getChanges().forEach(this::afterSweetChangeCommitted);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_ROLLBACK)
+    public void afterCatalogImportRolledBack(CatalogImportedEvent event) {
+        event.getChanges().forEach(this::afterSweetChangeRolledBack);
+    }
+
+    private void settle(Long id, SweetResponse state) {
+        if (state == null) {
+            apply(id, Set.of(), Set.of());
+            return;
+        }
+        apply(id, Set.of(nullToEmpty(state.getName())), Set.of(nullToEmpty(state.getCategory())));
+    }
+
+    private void apply(Long id, Set<String> names, Set<String> categories) {
+        lock.writeLock().lock();
+        try {
+            unindex(id);
+            if (!names.isEmpty()) {
+                index(id, names, categories, false);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void index(Long id, Set<String> names, Set<String> categories, boolean onlyIfAbsent) {
+        boolean exact = id <= Integer.MAX_VALUE && names.stream().allMatch(TrigramIndex::isAscii)
+                && categories.stream().allMatch(TrigramIndex::isAscii);
+        if (!exact) {
+            alwaysCandidates.add(id);
+            return;
+        }
+
+        int key = id.intValue();
+        if (onlyIfAbsent && docs.containsKey(key)) {
+            // A live change already indexed a newer version of this row during the rebuild.
+            return;
+        }
+
+        Doc doc = new Doc(lowerAll(names), lowerAll(categories));
+        docs.put(key, doc);
+        for (long trigram : trigrams(doc.names)) {
+            namePostings.computeIfAbsent(trigram, t -> new PostingList()).add(key);
+        }
+        for (long trigram : trigrams(doc.categories)) {
+            categoryPostings.computeIfAbsent(trigram, t -> new PostingList()).add(key);
+        }
+    }
+
+    private void unindex(Long id) {
+        alwaysCandidates.remove(id);
+        if (id > Integer.MAX_VALUE) {
+            return;
+        }
+        int key = id.intValue();
+        Doc doc = docs.remove(key);
+        if (doc == null) {
+            return;
+        }
+        removePostings(namePostings, trigrams(doc.names), key);
+        removePostings(categoryPostings, trigrams(doc.categories), key);
+    }
+
+    private int[] lookup(Map<Long, PostingList> postings, String pattern, boolean nameField) {
+        String needle = pattern.toLowerCase(Locale.ROOT);
+        Set<Long> wanted = trigrams(new String[]{needle});
+
+        PostingList[] lists = new PostingList[wanted.size()];
+        int n = 0;
+        for (long trigram : wanted) {
+            PostingList list = postings.get(trigram);
+            if (list == null) {
+                return new int[0];
+            }
+            lists[n++] = list;
+        }
+        Arrays.sort(lists, (a, b) -> Integer.compare(a.size(), b.size()));
+
+        int[] matches = lists[0].toArray();
+        int length = matches.length;
+        for (int i = 1; i < lists.length && length > 0; i++) {
+            length = lists[i].retainInto(matches, length);
+        }
+
+        // Trigrams only prove the pieces are present; confirm the actual substring.
+        int kept = 0;
+        for (int i = 0; i < length; i++) {
+            int id = matches[i];
+            Doc doc = docs.get(id);
+            if (doc != null && doc.contains(nameField ? doc.names : doc.categories, needle)) {
+                matches[kept++] = id;
+            }
+        }
+        return Arrays.copyOf(matches, kept);
+    }
+
+    private static int[] intersect(int[] a, int[] b) {
+        int[] result = new int[Math.min(a.length, b.length)];
+        int i = 0;
+        int j = 0;
+        int n = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                result[n++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, n);
+    }
+
+    private static void removePostings(Map<Long, PostingList> postings, Set<Long> trigrams, int key) {
+        for (long trigram : trigrams) {
+            PostingList list = postings.get(trigram);
+            if (list != null) {
+                list.remove(key);
+                if (list.isEmpty()) {
+                    postings.remove(trigram);
+                }
+            }
+        }
+    }
+
+    private static Set<Long> trigrams(String[] values) {
+        Set<Long> result = new HashSet<>();
+        for (String value : values) {
+            for (int i = 0; i + 3 <= value.length(); i++) {
+                result.add(((long) value.charAt(i) << 32) | ((long) value.charAt(i + 1) << 16) | value.charAt(i + 2));
+            }
+        }
+        return result;
+    }
+
+    // Shorter patterns have no trigram to look up, and wildcards or non-ASCII text need the database's rules.
+    private static boolean isIndexable(String pattern) {
+        return pattern.length() >= 3 && SweetSearchCriteria.isPlainPattern(pattern);
+    }
+
+    private static boolean isAscii(String value) {
+        return value.chars().allMatch(c -> c <= 0x7F);
+    }
+
+    private static String[] lowerAll(Set<String> values) {
+        return values.stream().map(v -> v.toLowerCase(Locale.ROOT)).toArray(String[]::new);
+    }
+
+    private static void collect(SweetResponse sweet, Set<String> names, Set<String> categories) {
+        if (sweet != null) {
+            names.add(nullToEmpty(sweet.getName()));
+            categories.add(nullToEmpty(sweet.getCategory()));
+        }
+    }
+
+    private static String nullToEmpty(Object value) {
+        return value == null ? "" : value.toString();
+    }
+
+    private static final class Doc {
+        private final String[] names;
+        private final String[] categories;
+
+        private Doc(String[] names, String[] categories) {
+            this.names = names;
+            this.categories = categories;
+        }
+
+        private boolean contains(String[] values, String needle) {
+            for (String value : values) {
+                if (value.contains(needle)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,418 @@
+package com.dev.Sweet_Shop_Management_System.service;
+
+import com.dev.Sweet_Shop_Management_System.cache.CatalogVersion;
+import com.dev.Sweet_Shop_Management_System.cache.SweetCatalogCache;
+import com.dev.Sweet_Shop_Management_System.dto.response.ImportSummaryResponse;
+import com.dev.Sweet_Shop_Management_System.dto.response.SweetResponse;
+import com.dev.Sweet_Shop_Management_System.event.CatalogImportedEvent;
+import com.dev.Sweet_Shop_Management_System.event.SweetChangeType;
+import com.dev.Sweet_Shop_Management_System.event.SweetChangedEvent;
+import com.dev.Sweet_Shop_Management_System.ledger.StockLedger;
+import com.dev.Sweet_Shop_Management_System.repository.SweetRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// Whole-catalog export and import. Both sides stream: export reads a cursor, import holds one chunk of lines.
+@Slf4j
+@Service
+public class CatalogTransferService {
+
+    private static final String CSV_HEADER = "id,name,category,price,quantity";
+
+    // Explicit ids only ever address existing rows: inserting one could collide with an id block the sequence has
+    // already handed out, or bring back a deleted sweet. Rows are only overwritten when that cannot break stock
+    // bookkeeping: unsharded, and not below reservations.
+    private static final String UPDATE_SQL =
+            "update sweets set name = ?, category = ?, price = ?, quantity = ?, change_version = ?, version = version + 1 " +
+            "where id = ? and stock_shards = 1 and reserved_quantity <= ?";
+
+    // Taken in id order under the fence, so listeners are handed exactly the rows the update replaced.
+    private static final String PREVIOUS_SQL =
+            "select id, name, category, price, quantity, version from sweets where id = any(?) order by id for update";
+
+    private static final String INSERT_SQL =
+            "insert into sweets (id, name, category, price, quantity, reserved_quantity, version, change_version, stock_shards) " +
+            "values (?, ?, ?, ?, ?, 0, 0, ?, 1)";
+
+    private final SweetRepository sweetRepository;
+    private final SweetIdSequence idSequence;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTemplate;
+    private final CatalogVersion catalogVersion;
+    private final SweetCatalogCache catalogCache;
+    private final StockLedger stockLedger;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+    private final int chunkSize;
+    private final int maxErrors;
+
+    public CatalogTransferService(SweetRepository sweetRepository,
+                                  SweetIdSequence idSequence,
+                                  JdbcTemplate jdbcTemplate,
+                                  PlatformTransactionManager transactionManager,
+                                  CatalogVersion catalogVersion,
+                                  SweetCatalogCache catalogCache,
+                                  StockLedger stockLedger,
+                                  ApplicationEventPublisher eventPublisher,
+                                  ObjectMapper objectMapper,
+                                  @Value("${sweetshop.imports.batch-size:500}") int batchSize,
+                                  @Value("${sweetshop.imports.chunk-size:5000}") int chunkSize,
+                                  @Value("${sweetshop.imports.max-errors:1000}") int maxErrors) {
+        this.sweetRepository = sweetRepository;
+        this.idSequence = idSequence;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTemplate.setReadOnly(true);
+        this.catalogVersion = catalogVersion;
+        this.catalogCache = catalogCache;
+        this.stockLedger = stockLedger;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+        this.chunkSize = chunkSize;
+        this.maxErrors = maxErrors;
+    }
+
+    // Runs on the response thread; rows go to the client as they come off the cursor.
+    public long export(OutputStream out, FileFormat format) {
+        long began = System.nanoTime();
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        Long exported = readOnlyTemplate.execute(status -> {
+            long count = 0;
+            try (Stream<SweetResponse> rows = sweetRepository.streamAllResponses()) {
+                if (format == FileFormat.CSV) {
+                    writer.write(CSV_HEADER);
+                    writer.write('\n');
+                }
+                for (SweetResponse sweet : (Iterable<SweetResponse>) rows::iterator) {
+                    writer.write(format == FileFormat.CSV ? toCsv(sweet) : objectMapper.writeValueAsString(sweet));
+                    writer.write('\n');
+                    count++;
+                }
+                writer.flush();
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+            return count;
+        });
+        log.info("Exported {} sweets as {} in {} ms", exported, format, (System.nanoTime() - began) / 1_000_000);
+        return exported;
+    }
+
+    public ImportSummaryResponse importCatalog(InputStream body, FileFormat format) throws IOException {
+        ImportSummary summary = new ImportSummary(maxErrors);
+        List<CatalogLine> chunk = new ArrayList<>(chunkSize);
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            String text;
+            long number = 0;
+            boolean firstLine = true;
+            while ((text = reader.readLine()) != null) {
+                number++;
+                if (text.isBlank()) {
+                    continue;
+                }
+                boolean header = firstLine && format == FileFormat.CSV && text.strip().toLowerCase(Locale.ROOT).startsWith("id,");
+                firstLine = false;
+                if (header) {
+                    continue;
+                }
+                summary.lines++;
+
+                try {
+                    chunk.add(format == FileFormat.CSV ? parseCsv(text, number) : parseNdjson(text, number));
+                } catch (IllegalArgumentException ex) {
+                    summary.fail(number, ex.getMessage());
+                    continue;
+                }
+                if (chunk.size() >= chunkSize) {
+                    applyChunk(chunk, summary);
+                    chunk.clear();
+                }
+            }
+        }
+        if (!chunk.isEmpty()) {
+            applyChunk(chunk, summary);
+        }
+
+        ImportSummaryResponse response = summary.toResponse();
+        log.info("Imported {} sweets ({} failed) in {} ms, {} rows/s",
+                response.getApplied(), response.getFailed(), response.getElapsedMillis(),
+                Math.round(response.getRowsPerSecond()));
+        return response;
+    }
+
+    private void applyChunk(List<CatalogLine> chunk, ImportSummary summary) {
+        ChunkResult result;
+        try {
+            result = transactionTemplate.execute(status -> writeChunk(chunk));
+        } catch (RuntimeException ex) {
+            log.warn("Catalog import chunk of {} lines rolled back", chunk.size(), ex);
+            chunk.forEach(line -> summary.fail(line.number, "Chunk rolled back: " + ex.getMessage()));
+            return;
+        }
+        // After the chunk's CatalogImportedEvent listeners, so nothing cached from here on predates the index update.
+        catalogCache.clear();
+
+        summary.chunks++;
+        summary.batches += result.batches;
+        summary.applied += chunk.size() - result.missing.size() - result.skipped.size();
+        result.missing.forEach(line -> summary.fail(line.number,
+                "Sweet " + line.id + " does not exist; leave the id empty to create it"));
+        result.skipped.forEach(line -> summary.fail(line.number,
+                "Sweet " + line.id + " is sharded or has more units reserved than the imported quantity"));
+    }
+
+    private ChunkResult writeChunk(List<CatalogLine> chunk) {
+        long version = catalogVersion.allocate();
+        // Existing rows are written in ascending id order, the same order every other multi-row writer locks them in.
+        List<CatalogLine> keyed = chunk.stream()
+                .filter(line -> line.id != null)
+                .sorted(Comparator.comparingLong(line -> line.id))
+                .toList();
+        List<CatalogLine> fresh = chunk.stream().filter(line -> line.id == null).toList();
+
+        int batches = 0;
+        List<CatalogLine> missing = new ArrayList<>();
+        List<CatalogLine> skipped = new ArrayList<>();
+        Map<Long, SweetResponse> previous = new HashMap<>();
+        List<Long> written = new ArrayList<>(chunk.size());
+        if (!keyed.isEmpty()) {
+            stockLedger.fence(keyed.stream().map(line -> line.id).collect(Collectors.toCollection(TreeSet::new)));
+            Long[] ids = keyed.stream().map(line -> line.id).distinct().toArray(Long[]::new);
+            jdbcTemplate.query(PREVIOUS_SQL,
+                    statement -> statement.setArray(1, statement.getConnection().createArrayOf("bigint", ids)),
+                    row -> {
+                        previous.put(row.getLong(1), SweetResponse.builder()
+                                .id(row.getLong(1))
+                                .name(row.getString(2))
+                                .category(row.getString(3))
+                                .price(row.getObject(4, Double.class))
+                                .quantity(row.getInt(5))
+                                .version(row.getLong(6))
+                                .build());
+                    });
+            List<CatalogLine> existing = new ArrayList<>(keyed.size());
+            keyed.forEach(line -> (previous.containsKey(line.id) ? existing : missing).add(line));
+            int[][] counts = jdbcTemplate.batchUpdate(UPDATE_SQL, existing, batchSize, (statement, line) -> {
+                statement.setString(1, line.name);
+                statement.setString(2, line.category);
+                statement.setDouble(3, line.price);
+                statement.setInt(4, line.quantity);
+                statement.setLong(5, version);
+                statement.setLong(6, line.id);
+                statement.setInt(7, line.quantity);
+            });
+            int index = 0;
+            for (int[] batch : counts) {
+                for (int count : batch) {
+                    CatalogLine line = existing.get(index++);
+                    if (count == 0 || (count < 0 && count != Statement.SUCCESS_NO_INFO)) {
+                        skipped.add(line);
+                    } else {
+                        written.add(line.id);
+                    }
+                }
+            }
+            batches += counts.length;
+        }
+        if (!fresh.isEmpty()) {
+            List<Long> freshIds = idSequence.allocate(fresh.size());
+            written.addAll(freshIds);
+            Iterator<Long> ids = freshIds.iterator();
+            batches += jdbcTemplate.batchUpdate(INSERT_SQL, fresh, batchSize, (statement, line) -> {
+                statement.setLong(1, ids.next());
+                statement.setString(2, line.name);
+                statement.setString(3, line.category);
+                statement.setDouble(4, line.price);
+                statement.setInt(5, line.quantity);
+                statement.setLong(6, version);
+            }).length;
+        }
+        publishImported(version, written, previous);
+        return new ChunkResult(batches, missing, skipped);
+    }
+
+    // Bulk writes skip per-row SweetChangedEvents; the index, stats, alerts, journal and stream apply the chunk
+    // from this event instead, after it commits.
+    private void publishImported(long version, List<Long> written, Map<Long, SweetResponse> previous) {
+        if (written.isEmpty()) {
+            return;
+        }
+        List<SweetChangedEvent> changes = sweetRepository.findResponsesByIdIn(written).stream()
+                .map(after -> {
+                    SweetResponse before = previous.get(after.getId());
+                    return new SweetChangedEvent(before == null ? SweetChangeType.CREATED : SweetChangeType.UPDATED,
+                            before, after, version);
+                })
+                .toList();
+        eventPublisher.publishEvent(new CatalogImportedEvent(version, changes));
+    }
+
+    private static CatalogLine parseCsv(String text, long number) {
+        List<String> columns = splitCsv(text);
+        if (columns.size() != 5) {
+            throw new IllegalArgumentException("Expected id,name,category,price,quantity");
+        }
+        String id = columns.get(0).strip();
+        Long sweetId;
+        double price;
+        long quantity;
+        try {
+            sweetId = id.isEmpty() ? null : Long.parseLong(id);
+            price = Double.parseDouble(columns.get(3).strip());
+            quantity = Long.parseLong(columns.get(4).strip());
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Invalid number: " + ex.getMessage());
+        }
+        return catalogLine(number, sweetId, columns.get(1), columns.get(2), price, quantity);
+    }
+
+    private CatalogLine parseNdjson(String text, long number) {
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(text);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalArgumentException("Malformed JSON");
+        }
+        JsonNode id = node.get("id");
+        JsonNode price = node.get("price");
+        JsonNode quantity = node.get("quantity");
+        if ((id != null && !id.isNull() && !id.canConvertToLong())
+                || price == null || !price.isNumber() || quantity == null || !quantity.canConvertToLong()) {
+            throw new IllegalArgumentException("Expected {\"id\", \"name\", \"category\", \"price\", \"quantity\"}");
+        }
+        return catalogLine(number, id == null || id.isNull() ? null : id.asLong(),
+                node.path("name").asText(null), node.path("category").asText(null), price.asDouble(), quantity.asLong());
+    }
+
+    private static CatalogLine catalogLine(long number, Long id, String name, String category, double price, long quantity) {
+        if (id != null && id <= 0) {
+            throw new IllegalArgumentException("Id must be positive");
+        }
+        if (name == null || name.isBlank()) {
+            throw new IllegalArgumentException("Name cannot be blank");
+        }
+        if (category == null || category.isBlank()) {
+            throw new IllegalArgumentException("Category cannot be blank");
+        }
+        if (price < 0 || Double.isNaN(price)) {
+            throw new IllegalArgumentException("Price cannot be negative");
+        }
+        if (quantity < 0 || quantity > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Quantity cannot be negative");
+        }
+        return new CatalogLine(number, id, name, category, price, (int) quantity);
+    }
+
+    private static String toCsv(SweetResponse sweet) {
+        return sweet.getId() + "," + csvField(sweet.getName()) + "," + csvField(sweet.getCategory()) + ","
+                + (sweet.getPrice() == null ? "" : sweet.getPrice()) + ","
+                + (sweet.getQuantity() == null ? "" : sweet.getQuantity());
+    }
+
+    private static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    // One record per line: quoted fields may contain commas and doubled quotes, but not line breaks.
+    private static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static final class CatalogLine {
+        private final long number;
+        private final Long id;
+        private final String name;
+        private final String category;
+        private final double price;
+        private final int quantity;
+
+        private CatalogLine(long number, Long id, String name, String category, double price, int quantity) {
+            this.number = number;
+            this.id = id;
+            this.name = name;
+            this.category = category;
+            this.price = price;
+            this.quantity = quantity;
+        }
+    }
+
+    private static final class ChunkResult {
+        private final int batches;
+        private final List<CatalogLine> missing;
+        private final List<CatalogLine> skipped;
+
+        private ChunkResult(int batches, List<CatalogLine> missing, List<CatalogLine> skipped) {
+            this.batches = batches;
+            this.missing = missing;
+            this.skipped = skipped;
+        }
+    }
+}
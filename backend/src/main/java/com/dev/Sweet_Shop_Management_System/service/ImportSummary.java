@@ -0,0 +1,50 @@
+package com.dev.Sweet_Shop_Management_System.service;
+
+import com.dev.Sweet_Shop_Management_System.dto.response.ImportLineError;
+import com.dev.Sweet_Shop_Management_System.dto.response.ImportSummaryResponse;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+// Running totals for one import; keeps at most maxErrors line errors so memory does not grow with the file.
+class ImportSummary {
+
+    private final int maxErrors;
+    private final long began = System.nanoTime();
+    private final List<ImportLineError> errors = new ArrayList<>();
+
+    long lines;
+    long applied;
+    long failed;
+    long chunks;
+    long batches;
+
+    ImportSummary(int maxErrors) {
+        this.maxErrors = maxErrors;
+    }
+
+    void fail(long line, String message) {
+        failed++;
+        if (errors.size() < maxErrors) {
+            errors.add(ImportLineError.builder().line(line).message(message).build());
+        }
+    }
+
+    ImportSummaryResponse toResponse() {
+        errors.sort(Comparator.comparingLong(ImportLineError::getLine));
+        long elapsedNanos = System.nanoTime() - began;
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        return ImportSummaryResponse.builder()
+                .lines(lines)
+                .applied(applied)
+                .failed(failed)
+                .chunks(chunks)
+                .batches(batches)
+                .elapsedMillis(elapsedNanos / 1_000_000)
+                .rowsPerSecond(seconds == 0 ? 0 : applied / seconds)
+                .errors(errors)
+                .errorsTruncated(failed > errors.size())
+                .build();
+    }
+}
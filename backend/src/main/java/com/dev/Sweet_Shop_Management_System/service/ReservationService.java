@@ -0,0 +1,262 @@
+package com.dev.Sweet_Shop_Management_System.service;
+
+import com.dev.Sweet_Shop_Management_System.cache.CatalogVersion;
+import com.dev.Sweet_Shop_Management_System.dto.request.ReservationRequest;
+import com.dev.Sweet_Shop_Management_System.dto.response.ReservationResponse;
+import com.dev.Sweet_Shop_Management_System.dto.response.StockAvailabilityResponse;
+import com.dev.Sweet_Shop_Management_System.dto.response.SweetResponse;
+import com.dev.Sweet_Shop_Management_System.entity.Reservation;
+import com.dev.Sweet_Shop_Management_System.entity.ReservationStatus;
+import com.dev.Sweet_Shop_Management_System.event.SweetChangeType;
+import com.dev.Sweet_Shop_Management_System.event.SweetChangedEvent;
+import com.dev.Sweet_Shop_Management_System.ledger.StockLedger;
+import com.dev.Sweet_Shop_Management_System.repository.ReservationRepository;
+import com.dev.Sweet_Shop_Management_System.repository.SweetRepository;
+import com.dev.Sweet_Shop_Management_System.reservation.TimingWheel;
+import com.dev.Sweet_Shop_Management_System.sales.SalesRecorder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Slf4j
+@Service
+public class ReservationService {
+
+    private final SweetRepository sweetRepository;
+    private final ReservationRepository reservationRepository;
+    private final CatalogVersion catalogVersion;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final StockLedger stockLedger;
+    private final StockShardService stockShards;
+    private final SalesRecorder salesRecorder;
+    private final Duration defaultTtl;
+    private final Duration maxTtl;
+
+    private final TimingWheel<Long> expiryWheel;
+    private final Map<Long, TimingWheel.Timer<Long>> timers = new ConcurrentHashMap<>();
+
+    public ReservationService(SweetRepository sweetRepository,
+                              ReservationRepository reservationRepository,
+                              CatalogVersion catalogVersion,
+                              ApplicationEventPublisher eventPublisher,
+                              TransactionTemplate transactionTemplate,
+                              StockLedger stockLedger,
+                              StockShardService stockShards,
+                              SalesRecorder salesRecorder,
+                              @Value("${sweetshop.reservations.default-ttl:10m}") Duration defaultTtl,
+                              @Value("${sweetshop.reservations.max-ttl:1h}") Duration maxTtl,
+                              @Value("${sweetshop.reservations.tick:PT0.1S}") Duration tick,
+                              @Value("${sweetshop.reservations.wheel-size:64}") int wheelSize,
+                              @Value("${sweetshop.reservations.wheel-levels:4}") int wheelLevels) {
+        this.sweetRepository = sweetRepository;
+        this.reservationRepository = reservationRepository;
+        this.catalogVersion = catalogVersion;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.stockLedger = stockLedger;
+        this.stockShards = stockShards;
+        this.salesRecorder = salesRecorder;
+        this.defaultTtl = defaultTtl;
+        this.maxTtl = maxTtl;
+        this.expiryWheel = new TimingWheel<>(tick.toMillis(), wheelSize, wheelLevels, System.currentTimeMillis());
+    }
+
+    // Timers live in memory, so holds that were active before a restart are put back on the wheel.
+    @EventListener(ApplicationReadyEvent.class)
+    public void scheduleActiveReservations() {
+        List<Reservation> active = reservationRepository.findAllByStatus(ReservationStatus.ACTIVE);
+        active.forEach(this::scheduleExpiry);
+        if (!active.isEmpty()) {
+            log.info("Scheduled expiry for {} active reservations", active.size());
+        }
+    }
+
+    @Transactional
+    public ReservationResponse reserve(Long sweetId, ReservationRequest request, String username) {
+        Duration ttl = request.getTtlSeconds() == null ? defaultTtl : Duration.ofSeconds(request.getTtlSeconds());
+        if (ttl.compareTo(maxTtl) > 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Hold time cannot exceed " + maxTtl.toSeconds() + " seconds");
+        }
+
+        int quantity = request.getQuantity();
+        stockLedger.fence(sweetId);
+        if (sweetRepository.reserveQuantity(sweetId, quantity) == 0
+                && !(stockShards.isSharded(sweetId) && stockShards.reserve(sweetId, quantity, catalogVersion.allocate()))) {
+            if (!sweetRepository.existsById(sweetId)) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Sweet not found");
+            }
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Insufficient stock available");
+        }
+
+        Instant now = Instant.now();
+        Reservation reservation = reservationRepository.save(Reservation.builder()
+                .sweetId(sweetId)
+                .username(username)
+                .quantity(quantity)
+                .status(ReservationStatus.ACTIVE)
+                .createdAt(now)
+                .expiresAt(now.plus(ttl))
+                .build());
+
+        scheduleExpiryAfterCommit(reservation);
+        return toResponse(reservation, null);
+    }
+
+    public StockAvailabilityResponse getAvailability(Long sweetId) {
+        return sweetRepository.findAvailability(sweetId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Sweet not found"));
+    }
+
+    @Transactional
+    public ReservationResponse confirm(Long reservationId, String username) {
+        Reservation reservation = findOwned(reservationId, username);
+
+        if (reservationRepository.closeBeforeExpiry(reservationId, ReservationStatus.CONFIRMED, Instant.now()) == 0) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Reservation is no longer active");
+        }
+
+        stockLedger.fence(reservation.getSweetId());
+        long version = catalogVersion.allocate();
+        int quantity = reservation.getQuantity();
+        if (sweetRepository.consumeReservedQuantity(reservation.getSweetId(), quantity, version) == 0) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Sweet not found");
+        }
+
+        SweetResponse after = sweetRepository.findResponseById(reservation.getSweetId())
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Sweet not found"));
+        SweetResponse before = SweetResponse.builder()
+                .id(after.getId())
+                .name(after.getName())
+                .category(after.getCategory())
+                .price(after.getPrice())
+                .quantity(after.getQuantity() + quantity)
+                .build();
+        eventPublisher.publishEvent(new SweetChangedEvent(SweetChangeType.PURCHASED, before, after, version));
+        salesRecorder.record(after, quantity);
+
+        cancelExpiryAfterCommit(reservationId);
+        reservation.setStatus(ReservationStatus.CONFIRMED);
+        return toResponse(reservation, after);
+    }
+
+    @Transactional
+    public ReservationResponse release(Long reservationId, String username) {
+        Reservation reservation = findOwned(reservationId, username);
+
+        if (reservationRepository.closeActive(reservationId, ReservationStatus.RELEASED) == 0) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Reservation is no longer active");
+        }
+        stockLedger.fence(reservation.getSweetId());
+        sweetRepository.releaseReservedQuantity(reservation.getSweetId(), reservation.getQuantity());
+
+        cancelExpiryAfterCommit(reservationId);
+        reservation.setStatus(ReservationStatus.RELEASED);
+        return toResponse(reservation, null);
+    }
+
+    // Returns true when this call released the hold; false if it was already confirmed, released or not yet due.
+    public boolean expire(Long reservationId) {
+        Boolean expired = transactionTemplate.execute(status -> {
+            Reservation reservation = reservationRepository.findById(reservationId).orElse(null);
+            if (reservation == null || reservationRepository.expire(reservationId, Instant.now()) == 0) {
+                return false;
+            }
+            stockLedger.fence(reservation.getSweetId());
+            sweetRepository.releaseReservedQuantity(reservation.getSweetId(), reservation.getQuantity());
+            return true;
+        });
+        return Boolean.TRUE.equals(expired);
+    }
+
+    @Scheduled(fixedDelayString = "${sweetshop.reservations.tick:PT0.1S}")
+    public void expireDueReservations() {
+        for (Long reservationId : expiryWheel.advanceTo(System.currentTimeMillis())) {
+            timers.remove(reservationId);
+            try {
+                expire(reservationId);
+            } catch (RuntimeException ex) {
+                log.warn("Failed to expire reservation {}, retrying shortly", reservationId, ex);
+                timers.put(reservationId, expiryWheel.schedule(reservationId, System.currentTimeMillis() + 1000));
+            }
+        }
+    }
+
+    public int pendingExpiries() {
+        return expiryWheel.size();
+    }
+
+    private Reservation findOwned(Long reservationId, String username) {
+        return reservationRepository.findById(reservationId)
+                .filter(reservation -> reservation.getUsername().equals(username))
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Reservation not found"));
+    }
+
+    private void scheduleExpiry(Reservation reservation) {
+        // One millisecond late so the database check never sees a hold that is not quite due yet.
+        timers.put(reservation.getId(),
+                expiryWheel.schedule(reservation.getId(), reservation.getExpiresAt().toEpochMilli() + 1));
+    }
+
+    // Until the commit the expiry task could not see the row; holds lost to a crash in between are rescheduled on startup.
+    private void scheduleExpiryAfterCommit(Reservation reservation) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            scheduleExpiry(reservation);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                scheduleExpiry(reservation);
+            }
+        });
+    }
+
+    private void cancelExpiryAfterCommit(Long reservationId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            cancelExpiry(reservationId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                cancelExpiry(reservationId);
+            }
+        });
+    }
+
+    private void cancelExpiry(Long reservationId) {
+        TimingWheel.Timer<Long> timer = timers.remove(reservationId);
+        if (timer != null) {
+            expiryWheel.cancel(timer);
+        }
+    }
+
+    private ReservationResponse toResponse(Reservation reservation, SweetResponse sweet) {
+        return ReservationResponse.builder()
+                .id(reservation.getId())
+                .sweetId(reservation.getSweetId())
+                .quantity(reservation.getQuantity())
+                .status(reservation.getStatus())
+                .expiresAt(reservation.getExpiresAt())
+                .sweet(sweet)
+                .build();
+    }
+}
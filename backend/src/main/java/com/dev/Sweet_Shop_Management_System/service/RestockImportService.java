@@ -0,0 +1,254 @@
+package com.dev.Sweet_Shop_Management_System.service;
+
+import com.dev.Sweet_Shop_Management_System.cache.CatalogVersion;
+import com.dev.Sweet_Shop_Management_System.dto.response.ImportSummaryResponse;
+import com.dev.Sweet_Shop_Management_System.dto.response.SweetResponse;
+import com.dev.Sweet_Shop_Management_System.event.SweetChangeType;
+import com.dev.Sweet_Shop_Management_System.event.SweetChangedEvent;
+import com.dev.Sweet_Shop_Management_System.ledger.StockLedger;
+import com.dev.Sweet_Shop_Management_System.repository.SweetRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+// Applies restock files line by line: only one chunk of parsed lines and a capped error list are held at a time.
+@Slf4j
+@Service
+public class RestockImportService {
+
+    private static final String RESTOCK_SQL =
+            "update sweets set quantity = quantity + ?, change_version = ?, version = version + 1 where id = ?";
+
+    private final SweetRepository sweetRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CatalogVersion catalogVersion;
+    private final ApplicationEventPublisher eventPublisher;
+    private final StockLedger stockLedger;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+    private final int chunkSize;
+    private final int maxErrors;
+    private final int maxAttempts;
+
+    public RestockImportService(SweetRepository sweetRepository,
+                                JdbcTemplate jdbcTemplate,
+                                TransactionTemplate transactionTemplate,
+                                CatalogVersion catalogVersion,
+                                ApplicationEventPublisher eventPublisher,
+                                StockLedger stockLedger,
+                                ObjectMapper objectMapper,
+                                @Value("${sweetshop.imports.batch-size:500}") int batchSize,
+                                @Value("${sweetshop.imports.chunk-size:5000}") int chunkSize,
+                                @Value("${sweetshop.imports.max-errors:1000}") int maxErrors,
+                                @Value("${sweetshop.imports.max-attempts:3}") int maxAttempts) {
+        this.sweetRepository = sweetRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.catalogVersion = catalogVersion;
+        this.eventPublisher = eventPublisher;
+        this.stockLedger = stockLedger;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+        this.chunkSize = chunkSize;
+        this.maxErrors = maxErrors;
+        this.maxAttempts = maxAttempts;
+    }
+
+    public ImportSummaryResponse importRestocks(InputStream body, FileFormat format) throws IOException {
+        ImportSummary summary = new ImportSummary(maxErrors);
+        List<RestockLine> chunk = new ArrayList<>(chunkSize);
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            String text;
+            long number = 0;
+            boolean firstLine = true;
+            while ((text = reader.readLine()) != null) {
+                number++;
+                if (text.isBlank()) {
+                    continue;
+                }
+                // A CSV header is recognised by its first column not being an id.
+                boolean header = firstLine && format == FileFormat.CSV && !Character.isDigit(text.strip().charAt(0));
+                firstLine = false;
+                if (header) {
+                    continue;
+                }
+                summary.lines++;
+
+                try {
+                    chunk.add(format == FileFormat.CSV ? parseCsv(text, number) : parseNdjson(text, number));
+                } catch (IllegalArgumentException ex) {
+                    summary.fail(number, ex.getMessage());
+                    continue;
+                }
+                if (chunk.size() >= chunkSize) {
+                    applyChunk(chunk, summary);
+                    chunk.clear();
+                }
+            }
+        }
+        if (!chunk.isEmpty()) {
+            applyChunk(chunk, summary);
+        }
+
+        ImportSummaryResponse response = summary.toResponse();
+        log.info("Imported {} restock lines ({} failed) in {} ms, {} rows/s",
+                response.getApplied(), response.getFailed(), response.getElapsedMillis(),
+                Math.round(response.getRowsPerSecond()));
+        return response;
+    }
+
+    // Rows are updated in ascending id order, the same order every other multi-row writer locks sweets in.
+    private void applyChunk(List<RestockLine> chunk, ImportSummary summary) {
+        chunk.sort(Comparator.comparingLong(line -> line.sweetId));
+        ChunkResult result = null;
+        for (int attempt = 1; result == null; attempt++) {
+            try {
+                result = transactionTemplate.execute(status -> writeChunk(chunk));
+            } catch (PessimisticLockingFailureException ex) {
+                // A writer that does not lock in id order can still pick this chunk as its deadlock victim; the
+                // rollback undid everything, so the chunk is simply replayed.
+                if (attempt >= maxAttempts) {
+                    rolledBack(chunk, summary, ex);
+                    return;
+                }
+                log.info("Restock import chunk of {} lines lost a lock race, retrying (attempt {})", chunk.size(), attempt);
+            } catch (RuntimeException ex) {
+                rolledBack(chunk, summary, ex);
+                return;
+            }
+        }
+
+        summary.chunks++;
+        summary.batches += result.batches;
+        summary.applied += chunk.size() - result.missing.size();
+        result.missing.forEach(line -> summary.fail(line.number, "Sweet " + line.sweetId + " not found"));
+    }
+
+    private void rolledBack(List<RestockLine> chunk, ImportSummary summary, RuntimeException ex) {
+        log.warn("Restock import chunk of {} lines rolled back", chunk.size(), ex);
+        chunk.forEach(line -> summary.fail(line.number, "Chunk rolled back: " + ex.getMessage()));
+    }
+
+    private ChunkResult writeChunk(List<RestockLine> chunk) {
+        stockLedger.fence(chunk.stream().map(line -> line.sweetId).collect(Collectors.toCollection(TreeSet::new)));
+        long version = catalogVersion.allocate();
+
+        int[][] counts = jdbcTemplate.batchUpdate(RESTOCK_SQL, chunk, batchSize, (statement, line) -> {
+            statement.setInt(1, line.quantity);
+            statement.setLong(2, version);
+            statement.setLong(3, line.sweetId);
+        });
+
+        Map<Long, Integer> restocked = new HashMap<>();
+        List<RestockLine> missing = new ArrayList<>();
+        int index = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                RestockLine line = chunk.get(index++);
+                if (count == 0) {
+                    missing.add(line);
+                } else if (count > 0 || count == Statement.SUCCESS_NO_INFO) {
+                    restocked.merge(line.sweetId, line.quantity, Integer::sum);
+                }
+            }
+        }
+
+        // One event per sweet, so caches and live streams see the chunk as a single change.
+        if (!restocked.isEmpty()) {
+            for (SweetResponse after : sweetRepository.findResponsesByIdIn(restocked.keySet())) {
+                SweetResponse before = SweetResponse.builder()
+                        .id(after.getId())
+                        .name(after.getName())
+                        .category(after.getCategory())
+                        .price(after.getPrice())
+                        .quantity(after.getQuantity() - restocked.get(after.getId()))
+                        .build();
+                eventPublisher.publishEvent(new SweetChangedEvent(SweetChangeType.RESTOCKED, before, after, version));
+            }
+        }
+        return new ChunkResult(counts.length, missing);
+    }
+
+    private static RestockLine parseCsv(String text, long number) {
+        String[] columns = text.split(",");
+        if (columns.length < 2) {
+            throw new IllegalArgumentException("Expected sweetId,quantity");
+        }
+        return restockLine(number, parseNumber(columns[0].strip(), "sweetId"), parseNumber(columns[1].strip(), "quantity"));
+    }
+
+    private RestockLine parseNdjson(String text, long number) {
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(text);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalArgumentException("Malformed JSON");
+        }
+        JsonNode id = node.has("sweetId") ? node.get("sweetId") : node.get("id");
+        JsonNode quantity = node.get("quantity");
+        if (id == null || !id.canConvertToLong() || quantity == null || !quantity.canConvertToLong()) {
+            throw new IllegalArgumentException("Expected {\"id\": <number>, \"quantity\": <number>}");
+        }
+        return restockLine(number, id.asLong(), quantity.asLong());
+    }
+
+    private static long parseNumber(String value, String column) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Invalid " + column + " '" + value + "'");
+        }
+    }
+
+    private static RestockLine restockLine(long number, long sweetId, long quantity) {
+        if (quantity <= 0 || quantity > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Restock quantity must be greater than 0");
+        }
+        return new RestockLine(number, sweetId, (int) quantity);
+    }
+
+    private static final class RestockLine {
+        private final long number;
+        private final long sweetId;
+        private final int quantity;
+
+        private RestockLine(long number, long sweetId, int quantity) {
+            this.number = number;
+            this.sweetId = sweetId;
+            this.quantity = quantity;
+        }
+    }
+
+    private static final class ChunkResult {
+        private final int batches;
+        private final List<RestockLine> missing;
+
+        private ChunkResult(int batches, List<RestockLine> missing) {
+            this.batches = batches;
+            this.missing = missing;
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package com.dev.Sweet_Shop_Management_System.service;
+
+import com.dev.Sweet_Shop_Management_System.entity.Sweet;
+import com.dev.Sweet_Shop_Management_System.entity.SweetStockShard;
+import com.dev.Sweet_Shop_Management_System.repository.SweetRepository;
+import com.dev.Sweet_Shop_Management_System.repository.SweetStockShardRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+// Splits a hot sweet's free stock over several rows so concurrent purchases update different rows.
+// The main sweets row keeps reserved units (and any unsharded remainder); every method here runs in the caller's transaction.
+@Slf4j
+@Service
+public class StockShardService {
+
+    private final SweetRepository sweetRepository;
+    private final SweetStockShardRepository shardRepository;
+    private final int maxShards;
+
+    // Routing only: the rows themselves stay authoritative, so a stale entry costs a slower path, not wrong stock.
+    private final Map<Long, Integer> shardCounts = new ConcurrentHashMap<>();
+
+    public StockShardService(SweetRepository sweetRepository,
+                             SweetStockShardRepository shardRepository,
+                             @Value("${sweetshop.sharding.max-shards:64}") int maxShards) {
+        this.sweetRepository = sweetRepository;
+        this.shardRepository = shardRepository;
+        this.maxShards = maxShards;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadShardCounts() {
+        for (Object[] row : sweetRepository.findShardCounts()) {
+            shardCounts.put((Long) row[0], (Integer) row[1]);
+        }
+        if (!shardCounts.isEmpty()) {
+            log.info("Loaded stock shard counts for {} sweets", shardCounts.size());
+        }
+    }
+
+    public boolean isSharded(Long sweetId) {
+        return shardCounts.containsKey(sweetId);
+    }
+
+    // The caller holds the lock on the sweets row.
+    public void reshard(Sweet sweet, int shards, long version) {
+        if (shards < 1 || shards > maxShards) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Shard count must be between 1 and " + maxShards);
+        }
+
+        List<SweetStockShard> current = shardRepository.lockAllBySweetIdIn(List.of(sweet.getId()));
+        int free = sweet.getQuantity() - sweet.getReservedQuantity() + total(current);
+        int target = shards > 1 ? shards : 0;
+
+        // Rows are reused in place and only trimmed or appended, so the (sweet_id, shard) key never collides.
+        int[] amounts = spread(free, Math.max(target, 1), 0);
+        for (SweetStockShard shard : current) {
+            if (shard.getShard() < target) {
+                shard.setQuantity(amounts[shard.getShard()]);
+                shard.setChangeVersion(version);
+            } else {
+                shardRepository.delete(shard);
+            }
+        }
+        for (int index = current.size(); index < target; index++) {
+            shardRepository.save(SweetStockShard.builder()
+                    .sweetId(sweet.getId())
+                    .shard(index)
+                    .quantity(amounts[index])
+                    .changeVersion(version)
+                    .build());
+        }
+
+        sweet.setQuantity(sweet.getReservedQuantity() + (target == 0 ? free : 0));
+        sweet.setStockShards(shards);
+        route(sweet.getId(), shards);
+    }
+
+    // Sets the sweet's total stock; the caller has checked it is not below the reserved units.
+    public void redistribute(Sweet sweet, int quantity, long version) {
+        sweetRepository.lockAllByIdIn(List.of(sweet.getId()));
+        List<SweetStockShard> shards = shardRepository.lockAllBySweetIdIn(List.of(sweet.getId()));
+        if (shards.isEmpty()) {
+            sweet.setQuantity(quantity);
+            return;
+        }
+        int[] amounts = spread(quantity - sweet.getReservedQuantity(), shards.size(), 0);
+        for (int i = 0; i < shards.size(); i++) {
+            shards.get(i).setQuantity(amounts[i]);
+            shards.get(i).setChangeVersion(version);
+        }
+        sweet.setQuantity(sweet.getReservedQuantity());
+    }
+
+    // One shard with enough stock is the common case; otherwise everything the sweet has is pooled under lock.
+    public boolean take(Long sweetId, int quantity, long version) {
+        return takeFromOneShard(sweetId, quantity, version) || takeSpread(sweetId, quantity, version, false);
+    }
+
+    // Reserved units move onto the main row, so it is locked first to keep the main-then-shards lock order.
+    public boolean reserve(Long sweetId, int quantity, long version) {
+        if (sweetRepository.lockAllByIdIn(List.of(sweetId)).isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Sweet not found");
+        }
+        if (takeFromOneShard(sweetId, quantity, version)) {
+            sweetRepository.moveIntoReserve(sweetId, quantity);
+            return true;
+        }
+        return takeSpread(sweetId, quantity, version, true);
+    }
+
+    // Spreads a restock over the shards, starting at a random one so remainders do not pile onto shard 0.
+    public void add(Long sweetId, int quantity, long version) {
+        int shards = shardCounts.getOrDefault(sweetId, 1);
+        int[] amounts = spread(quantity, shards, ThreadLocalRandom.current().nextInt(shards));
+        int unplaced = 0;
+        for (int shard = 0; shard < shards; shard++) {
+            if (amounts[shard] > 0 && shardRepository.incrementShard(sweetId, shard, amounts[shard], version) == 0) {
+                unplaced += amounts[shard];
+            }
+        }
+        // Fewer shards than routing assumed: the rest goes to the main row, which must exist.
+        if (unplaced > 0 && sweetRepository.incrementQuantity(sweetId, unplaced, version) == 0) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Sweet not found");
+        }
+    }
+
+    public Map<Long, List<SweetStockShard>> lockGrouped(Collection<Long> sweetIds) {
+        if (sweetIds.isEmpty()) {
+            return Map.of();
+        }
+        return shardRepository.lockAllBySweetIdIn(sweetIds).stream()
+                .collect(Collectors.groupingBy(SweetStockShard::getSweetId));
+    }
+
+    // Takes up to quantity from locked shards in shard order and returns how much was taken.
+    public int takeFrom(List<SweetStockShard> shards, int quantity, long version) {
+        int taken = 0;
+        for (SweetStockShard shard : shards) {
+            int part = Math.min(shard.getQuantity(), quantity - taken);
+            if (part > 0) {
+                shard.setQuantity(shard.getQuantity() - part);
+                shard.setChangeVersion(version);
+                taken += part;
+            }
+        }
+        return taken;
+    }
+
+    public void delete(Long sweetId) {
+        shardRepository.deleteAllBySweetId(sweetId);
+        route(sweetId, 1);
+    }
+
+    public static int total(List<SweetStockShard> shards) {
+        int total = 0;
+        for (SweetStockShard shard : shards) {
+            total += shard.getQuantity();
+        }
+        return total;
+    }
+
+    private boolean takeFromOneShard(Long sweetId, int quantity, long version) {
+        int shards = shardCounts.getOrDefault(sweetId, 1);
+        int start = ThreadLocalRandom.current().nextInt(shards);
+        for (int i = 0; i < shards; i++) {
+            if (shardRepository.decrementShard(sweetId, (start + i) % shards, quantity, version) == 1) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean takeSpread(Long sweetId, int quantity, long version, boolean intoReserve) {
+        Sweet sweet = sweetRepository.lockAllByIdIn(List.of(sweetId)).stream()
+                .findFirst()
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Sweet not found"));
+        List<SweetStockShard> shards = shardRepository.lockAllBySweetIdIn(List.of(sweetId));
+
+        int mainFree = sweet.getQuantity() - sweet.getReservedQuantity();
+        if (mainFree + total(shards) < quantity) {
+            return false;
+        }
+
+        int fromMain = Math.min(mainFree, quantity);
+        int fromShards = takeFrom(shards, quantity - fromMain, version);
+        if (intoReserve) {
+            sweet.setQuantity(sweet.getQuantity() + fromShards);
+            sweet.setReservedQuantity(sweet.getReservedQuantity() + quantity);
+            sweet.setChangeVersion(version);
+        } else if (fromMain > 0) {
+            sweet.setQuantity(sweet.getQuantity() - fromMain);
+            sweet.setChangeVersion(version);
+        }
+        sweetRepository.flush();
+        return true;
+    }
+
+    private void route(Long sweetId, int shards) {
+        Integer previous = shards > 1 ? shardCounts.put(sweetId, shards) : shardCounts.remove(sweetId);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    if (previous == null) {
+                        shardCounts.remove(sweetId);
+                    } else {
+                        shardCounts.put(sweetId, previous);
+                    }
+                }
+            }
+        });
+    }
+
+    // Even split; the remainder goes one unit each to the shards after start.
+    private static int[] spread(int total, int shards, int start) {
+        int[] amounts = new int[shards];
+        for (int i = 0; i < shards; i++) {
+            amounts[i] = total / shards;
+        }
+        for (int i = 0; i < total % shards; i++) {
+            amounts[(start + i) % shards]++;
+        }
+        return amounts;
+    }
+}
@@ -0,0 +1,322 @@
+package com.dev.Sweet_Shop_Management_System.service;
+
+import com.dev.Sweet_Shop_Management_System.cache.CatalogVersion;
+import com.dev.Sweet_Shop_Management_System.dto.request.PriceAdjustmentRequest;
+import com.dev.Sweet_Shop_Management_System.dto.request.SweetBulkUpdateItem;
+import com.dev.Sweet_Shop_Management_System.dto.request.SweetCreateRequest;
+import com.dev.Sweet_Shop_Management_System.dto.response.SweetBulkResponse;
+import com.dev.Sweet_Shop_Management_System.dto.response.SweetResponse;
+import com.dev.Sweet_Shop_Management_System.entity.Sweet;
+import com.dev.Sweet_Shop_Management_System.event.SweetChangeType;
+import com.dev.Sweet_Shop_Management_System.event.SweetChangedEvent;
+import com.dev.Sweet_Shop_Management_System.ledger.StockLedger;
+import com.dev.Sweet_Shop_Management_System.repository.SweetRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+// Many-row writes in one transaction: inserts go through Hibernate's JDBC batching (pooled sequence ids),
+// updates and deletes through single batched or set-based statements. Every row still gets its change event.
+@Slf4j
+@Service
+public class SweetBulkService {
+
+    // Rows are locked in id order, the same order every other multi-row writer uses.
+    private static final String LOCK_SQL =
+            "select id, reserved_quantity, stock_shards from sweets where id = any(?) order by id for update";
+
+    private static final String UPDATE_SQL =
+            "update sweets set name = coalesce(?, name), category = coalesce(?, category), price = coalesce(?, price), " +
+            "quantity = coalesce(?, quantity), change_version = ?, version = version + 1 " +
+            "where id = ? and (cast(? as bigint) is null or version = ?)";
+
+    // One statement for the whole category; the CTE hands back each row's price from before the update.
+    private static final String ADJUST_PRICE_SQL =
+            "with target as (select id, price from sweets where category = ? order by id for update) " +
+            "update sweets s set price = round(cast(s.price * ? as numeric), 2), change_version = ?, version = s.version + 1 " +
+            "from target where s.id = target.id returning s.id, target.price";
+
+    private static final String DELETE_SQL = "delete from sweets where id = any(?)";
+
+    private static final String TOMBSTONE_SQL =
+            "insert into sweet_tombstones (sweet_id, change_version, deleted_at) values (?, ?, ?) " +
+            "on conflict (sweet_id) do update set change_version = excluded.change_version, deleted_at = excluded.deleted_at";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final SweetRepository sweetRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final CatalogVersion catalogVersion;
+    private final ApplicationEventPublisher eventPublisher;
+    private final StockLedger stockLedger;
+    private final StockShardService stockShards;
+    private final int batchSize;
+    private final int maxItems;
+
+    public SweetBulkService(SweetRepository sweetRepository,
+                            JdbcTemplate jdbcTemplate,
+                            CatalogVersion catalogVersion,
+                            ApplicationEventPublisher eventPublisher,
+                            StockLedger stockLedger,
+                            StockShardService stockShards,
+                            @Value("${sweetshop.bulk.batch-size:100}") int batchSize,
+                            @Value("${sweetshop.bulk.max-items:10000}") int maxItems) {
+        this.sweetRepository = sweetRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.catalogVersion = catalogVersion;
+        this.eventPublisher = eventPublisher;
+        this.stockLedger = stockLedger;
+        this.stockShards = stockShards;
+        this.batchSize = batchSize;
+        this.maxItems = maxItems;
+    }
+
+    @Transactional
+    public SweetBulkResponse createAll(List<SweetCreateRequest> requests) {
+        checkSize(requests.size());
+        long version = catalogVersion.allocate();
+        List<SweetResponse> created = new ArrayList<>(requests.size());
+
+        Session session = entityManager.unwrap(Session.class);
+        Integer previousBatchSize = session.getJdbcBatchSize();
+        session.setJdbcBatchSize(batchSize);
+        try {
+            for (SweetCreateRequest request : requests) {
+                Sweet sweet = Sweet.builder()
+                        .name(request.getName())
+                        .category(request.getCategory())
+                        .price(request.getPrice())
+                        .quantity(request.getQuantity())
+                        .changeVersion(version)
+                        .build();
+                entityManager.persist(sweet);
+                created.add(toResponse(sweet));
+
+                // Flushed and detached per batch, so the persistence context never grows with the request.
+                if (created.size() % batchSize == 0) {
+                    entityManager.flush();
+                    entityManager.clear();
+                }
+            }
+            entityManager.flush();
+            entityManager.clear();
+        } finally {
+            session.setJdbcBatchSize(previousBatchSize);
+        }
+
+        created.forEach(sweet -> eventPublisher.publishEvent(new SweetChangedEvent(SweetChangeType.CREATED, null, sweet, version)));
+        return SweetBulkResponse.builder().count(created.size()).sweets(created).build();
+    }
+
+    @Transactional
+    public SweetBulkResponse updateAll(List<SweetBulkUpdateItem> updates, PriceAdjustmentRequest priceAdjustment) {
+        List<SweetBulkUpdateItem> items = updates == null ? List.of() : updates;
+        if (items.isEmpty() && priceAdjustment == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Send updates, a priceAdjustment, or both");
+        }
+        checkSize(items.size());
+        long version = catalogVersion.allocate();
+        Map<Long, SweetResponse> before = new HashMap<>();
+
+        if (!items.isEmpty()) {
+            applyItems(items, version, before);
+        }
+        Map<Long, Double> oldPrices = priceAdjustment == null ? Map.of() : adjustPrices(priceAdjustment, version);
+
+        TreeSet<Long> changed = new TreeSet<>(before.keySet());
+        changed.addAll(oldPrices.keySet());
+        List<SweetResponse> after = sortedResponses(changed);
+        for (SweetResponse sweet : after) {
+            SweetResponse previous = before.get(sweet.getId());
+            if (previous == null) {
+                previous = copy(sweet);
+                previous.setPrice(oldPrices.get(sweet.getId()));
+            }
+            eventPublisher.publishEvent(new SweetChangedEvent(SweetChangeType.UPDATED, previous, sweet, version));
+        }
+        return SweetBulkResponse.builder().count(after.size()).sweets(after).build();
+    }
+
+    @Transactional
+    public SweetBulkResponse deleteAll(List<Long> requestedIds) {
+        TreeSet<Long> ids = new TreeSet<>(requestedIds);
+        checkSize(ids.size());
+        stockLedger.fence(ids);
+        Map<Long, LockedRow> locked = lock(ids);
+        requireAll(ids, locked);
+
+        List<SweetResponse> deleted = sortedResponses(ids);
+        long version = catalogVersion.allocate();
+        locked.forEach((id, row) -> {
+            if (row.shards > 1) {
+                stockShards.delete(id);
+            }
+        });
+        jdbcTemplate.update(DELETE_SQL, statement ->
+                statement.setArray(1, statement.getConnection().createArrayOf("bigint", ids.toArray())));
+
+        Timestamp deletedAt = Timestamp.from(Instant.now());
+        jdbcTemplate.batchUpdate(TOMBSTONE_SQL, new ArrayList<>(ids), batchSize, (statement, id) -> {
+            statement.setLong(1, id);
+            statement.setLong(2, version);
+            statement.setTimestamp(3, deletedAt);
+        });
+
+        deleted.forEach(sweet -> eventPublisher.publishEvent(new SweetChangedEvent(SweetChangeType.DELETED, sweet, null, version)));
+        return SweetBulkResponse.builder().count(deleted.size()).sweets(deleted).build();
+    }
+
+    private void applyItems(List<SweetBulkUpdateItem> items, long version, Map<Long, SweetResponse> before) {
+        Map<Long, SweetBulkUpdateItem> byId = new TreeMap<>();
+        for (SweetBulkUpdateItem item : items) {
+            if (byId.put(item.getId(), item) != null) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Sweet " + item.getId() + " is listed more than once");
+            }
+            if (item.getName() != null && item.getName().isBlank()) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Name cannot be blank");
+            }
+            if (item.getCategory() != null && item.getCategory().isBlank()) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Category cannot be blank");
+            }
+        }
+
+        stockLedger.fence(byId.keySet());
+        Map<Long, LockedRow> locked = lock(byId.keySet());
+        requireAll(byId.keySet(), locked);
+        for (SweetBulkUpdateItem item : byId.values()) {
+            LockedRow row = locked.get(item.getId());
+            if (item.getQuantity() == null) {
+                continue;
+            }
+            if (row.shards > 1) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Sweet " + item.getId() + " has sharded stock; update its quantity on its own");
+            }
+            if (item.getQuantity() < row.reserved) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Quantity cannot be less than reserved stock for sweet " + item.getId());
+            }
+        }
+        sortedResponses(byId.keySet()).forEach(sweet -> before.put(sweet.getId(), sweet));
+
+        List<SweetBulkUpdateItem> ordered = new ArrayList<>(byId.values());
+        int[][] counts = jdbcTemplate.batchUpdate(UPDATE_SQL, ordered, batchSize, (statement, item) -> {
+            statement.setObject(1, item.getName(), Types.VARCHAR);
+            statement.setObject(2, item.getCategory(), Types.VARCHAR);
+            statement.setObject(3, item.getPrice(), Types.DOUBLE);
+            statement.setObject(4, item.getQuantity(), Types.INTEGER);
+            statement.setLong(5, version);
+            statement.setLong(6, item.getId());
+            statement.setObject(7, item.getVersion(), Types.BIGINT);
+            statement.setObject(8, item.getVersion(), Types.BIGINT);
+        });
+
+        // Every row is locked and present, so a zero count can only be a stale version; the whole request rolls back.
+        int index = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                SweetBulkUpdateItem item = ordered.get(index++);
+                if (count == 0) {
+                    throw new ResponseStatusException(HttpStatus.CONFLICT,
+                            "Sweet " + item.getId() + " has been modified since version " + item.getVersion());
+                }
+            }
+        }
+    }
+
+    private Map<Long, Double> adjustPrices(PriceAdjustmentRequest adjustment, long version) {
+        double factor = 1 + adjustment.getPercent() / 100.0;
+        Map<Long, Double> oldPrices = new LinkedHashMap<>();
+        jdbcTemplate.query(ADJUST_PRICE_SQL, row -> {
+            oldPrices.put(row.getLong(1), row.getDouble(2));
+        }, adjustment.getCategory(), factor, version);
+        log.info("Adjusted {} prices in category '{}' by {}%", oldPrices.size(), adjustment.getCategory(), adjustment.getPercent());
+        return oldPrices;
+    }
+
+    private Map<Long, LockedRow> lock(Collection<Long> ids) {
+        Map<Long, LockedRow> locked = new TreeMap<>();
+        jdbcTemplate.query(LOCK_SQL,
+                statement -> statement.setArray(1, statement.getConnection().createArrayOf("bigint", ids.toArray())),
+                row -> {
+                    locked.put(row.getLong(1), new LockedRow(row.getInt(2), row.getInt(3)));
+                });
+        return locked;
+    }
+
+    private static void requireAll(Collection<Long> ids, Map<Long, LockedRow> locked) {
+        List<Long> missing = ids.stream().filter(id -> !locked.containsKey(id)).toList();
+        if (!missing.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Sweets not found: " + missing);
+        }
+    }
+
+    private List<SweetResponse> sortedResponses(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        List<SweetResponse> responses = new ArrayList<>(sweetRepository.findResponsesByIdIn(ids));
+        responses.sort(Comparator.comparing(SweetResponse::getId));
+        return responses;
+    }
+
+    private void checkSize(int size) {
+        if (size > maxItems) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At most " + maxItems + " sweets per request");
+        }
+    }
+
+    private static SweetResponse copy(SweetResponse sweet) {
+        return SweetResponse.builder()
+                .id(sweet.getId())
+                .name(sweet.getName())
+                .category(sweet.getCategory())
+                .price(sweet.getPrice())
+                .quantity(sweet.getQuantity())
+                .version(sweet.getVersion())
+                .build();
+    }
+
+    private static SweetResponse toResponse(Sweet sweet) {
+        return SweetResponse.builder()
+                .id(sweet.getId())
+                .name(sweet.getName())
+                .category(sweet.getCategory())
+                .price(sweet.getPrice())
+                .quantity(sweet.getQuantity())
+                .version(sweet.getVersion())
+                .build();
+    }
+
+    private static final class LockedRow {
+        private final int reserved;
+        private final int shards;
+
+        private LockedRow(int reserved, int shards) {
+            this.reserved = reserved;
+            this.shards = shards;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.dev.Sweet_Shop_Management_System.service;
+
+import com.dev.Sweet_Shop_Management_System.cache.CatalogVersion;
+import com.dev.Sweet_Shop_Management_System.dto.response.SweetChangesResponse;
+import com.dev.Sweet_Shop_Management_System.dto.response.SweetResponse;
+import com.dev.Sweet_Shop_Management_System.repository.SweetRepository;
+import com.dev.Sweet_Shop_Management_System.repository.SweetTombstoneRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+@Slf4j
+@Service
+public class SweetChangeFeedService {
+
+    private final SweetRepository sweetRepository;
+    private final SweetTombstoneRepository tombstoneRepository;
+    private final SweetService sweetService;
+    private final CatalogVersion catalogVersion;
+    private final Duration tombstoneRetention;
+    private final int maxDelta;
+
+    // Clients asking for changes at or below this version may have missed a pruned tombstone.
+    private volatile long horizon;
+
+    public SweetChangeFeedService(SweetRepository sweetRepository,
+                                  SweetTombstoneRepository tombstoneRepository,
+                                  SweetService sweetService,
+                                  CatalogVersion catalogVersion,
+                                  @Value("${sweetshop.changes.tombstone-retention:7d}") Duration tombstoneRetention,
+                                  @Value("${sweetshop.changes.max-delta:1000}") int maxDelta) {
+        this.sweetRepository = sweetRepository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.sweetService = sweetService;
+        this.catalogVersion = catalogVersion;
+        this.tombstoneRetention = tombstoneRetention;
+        this.maxDelta = maxDelta;
+    }
+
+    @PostConstruct
+    void initHorizon() {
+        // Pruning history is not persisted, so assume everything older than the surviving tombstones is gone.
+        horizon = tombstoneRepository.count() > 0
+                ? tombstoneRepository.findMinChangeVersion() - 1
+                : catalogVersion.stable();
+    }
+
+    @Transactional(readOnly = true)
+    public SweetChangesResponse getChangesSince(Long since) {
+        long upTo = catalogVersion.stable();
+
+        if (since == null || since < horizon || since > upTo) {
+            return snapshot(upTo);
+        }
+
+        List<SweetResponse> upserted = sweetRepository.findChangedResponses(since, upTo, PageRequest.of(0, maxDelta + 1));
+        if (upserted.size() > maxDelta) {
+            return snapshot(upTo);
+        }
+
+        return SweetChangesResponse.builder()
+                .version(upTo)
+                .snapshot(false)
+                .upserted(upserted)
+                .deleted(tombstoneRepository.findDeletedIdsBetween(since, upTo))
+                .build();
+    }
+
+    @Scheduled(fixedDelayString = "${sweetshop.changes.prune-interval:PT1H}")
+    @Transactional
+    public void pruneTombstones() {
+        Instant cutoff = Instant.now().minus(tombstoneRetention);
+        long prunedUpTo = tombstoneRepository.findMaxChangeVersionDeletedBefore(cutoff);
+        int pruned = tombstoneRepository.deleteDeletedBefore(cutoff);
+
+        if (pruned > 0) {
+            horizon = Math.max(horizon, prunedUpTo);
+            log.info("Pruned {} sweet tombstones up to version {}", pruned, prunedUpTo);
+        }
+    }
+
+    private SweetChangesResponse snapshot(long version) {
+        return SweetChangesResponse.builder()
+                .version(version)
+                .snapshot(true)
+                .upserted(sweetService.getAllSweets())
+                .deleted(List.of())
+                .build();
+    }
+}
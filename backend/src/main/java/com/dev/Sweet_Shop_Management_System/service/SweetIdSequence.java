@@ -0,0 +1,58 @@
+package com.dev.Sweet_Shop_Management_System.service;
+
+import com.dev.Sweet_Shop_Management_System.entity.Sweet;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Keeps the id sequence ahead of every id already in the table: rows written before the switch from identity
+// columns did not come from it.
+@Slf4j
+@Component
+@DependsOn("entityManagerFactory")
+public class SweetIdSequence implements InitializingBean {
+
+    // A no-op unless some id is past the sequence, so it never moves back over ids other instances already hold.
+    private static final String ADVANCE_SQL =
+            "select setval('" + Sweet.SEQUENCE + "', max_id) from (select max(id) as max_id from sweets) ids " +
+            "where max_id > (select last_value from " + Sweet.SEQUENCE + ")";
+
+    private static final String RESERVE_SQL = "select nextval('" + Sweet.SEQUENCE + "') from generate_series(1, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SweetIdSequence(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        advancePastExistingIds();
+    }
+
+    public void advancePastExistingIds() {
+        List<Long> moved = jdbcTemplate.queryForList(ADVANCE_SQL, Long.class);
+        if (!moved.isEmpty()) {
+            log.info("Moved sweet id sequence to {}", moved.get(0));
+        }
+    }
+
+    // Same block layout as Hibernate's pooled optimizer: a sequence value v owns the ids just below and including it.
+    public List<Long> allocate(int count) {
+        List<Long> ids = new ArrayList<>(count + Sweet.ID_ALLOCATION_SIZE);
+        while (ids.size() < count) {
+            int blocks = (count - ids.size() + Sweet.ID_ALLOCATION_SIZE - 1) / Sweet.ID_ALLOCATION_SIZE;
+            for (Long high : jdbcTemplate.queryForList(RESERVE_SQL, Long.class, blocks)) {
+                for (long id = Math.max(1, high - Sweet.ID_ALLOCATION_SIZE + 1); id <= high; id++) {
+                    ids.add(id);
+                }
+            }
+        }
+        return ids.subList(0, count);
+    }
+}
@@ -0,0 +1,76 @@
+package com.dev.Sweet_Shop_Management_System.service;
+
+import com.dev.Sweet_Shop_Management_System.dto.response.SweetResponse;
+import com.dev.Sweet_Shop_Management_System.entity.Sweet;
+import jakarta.persistence.criteria.Path;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+@Getter
+@AllArgsConstructor
+public class SweetPageCursor {
+
+    private final SweetSortKey sortKey;
+    private final long lastId;
+    private final String lastValue;
+
+    public static SweetPageCursor after(SweetSortKey sortKey, SweetResponse last) {
+        String value = switch (sortKey) {
+            case ID -> null;
+            case NAME -> last.getName();
+            case PRICE -> String.valueOf(last.getPrice());
+        };
+        return new SweetPageCursor(sortKey, last.getId(), value);
+    }
+
+    public static SweetPageCursor decode(String token, SweetSortKey expectedSortKey) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\n", 3);
+            SweetSortKey sortKey = SweetSortKey.valueOf(parts[0]);
+            if (sortKey != expectedSortKey) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cursor does not match requested sort");
+            }
+            String value = parts.length > 2 ? parts[2] : null;
+            if (sortKey == SweetSortKey.PRICE) {
+                Double.parseDouble(value);
+            }
+            return new SweetPageCursor(sortKey, Long.parseLong(parts[1]), value);
+        } catch (ResponseStatusException ex) {
+            throw ex;
+        } catch (RuntimeException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+    }
+
+    public String encode() {
+        String raw = sortKey.name() + "\n" + lastId + (lastValue == null ? "" : "\n" + lastValue);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public Specification<Sweet> toSpecification() {
+        return (root, query, cb) -> {
+            Path<Long> id = root.get("id");
+            return switch (sortKey) {
+                case ID -> cb.greaterThan(id, lastId);
+                case NAME -> {
+                    Path<String> name = root.get("name");
+                    yield cb.or(cb.greaterThan(name, lastValue),
+                            cb.and(cb.equal(name, lastValue), cb.greaterThan(id, lastId)));
+                }
+                case PRICE -> {
+                    Path<Double> price = root.get("price");
+                    Double value = Double.valueOf(lastValue);
+                    yield cb.or(cb.greaterThan(price, value),
+                            cb.and(cb.equal(price, value), cb.greaterThan(id, lastId)));
+                }
+            };
+        };
+    }
+}
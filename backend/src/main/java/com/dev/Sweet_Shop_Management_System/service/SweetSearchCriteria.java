@@ -0,0 +1,71 @@
+package com.dev.Sweet_Shop_Management_System.service;
+
+import com.dev.Sweet_Shop_Management_System.dto.response.SweetResponse;
+import lombok.Value;
+
+import java.util.Locale;
+
+@Value
+public class SweetSearchCriteria {
+
+    public static final SweetSearchCriteria ALL = new SweetSearchCriteria(null, null, null, null);
+
+    String name;
+    String category;
+    Double minPrice;
+    Double maxPrice;
+
+    public static SweetSearchCriteria of(String name, String category, Double minPrice, Double maxPrice) {
+        return new SweetSearchCriteria(blankToNull(name), blankToNull(category), minPrice, maxPrice);
+    }
+
+    // Conservative: answers true whenever the Java check cannot reproduce the SQL LIKE exactly.
+    public boolean mayMatch(SweetResponse sweet) {
+        if (sweet == null) {
+            return false;
+        }
+        if (minPrice != null && (sweet.getPrice() == null || sweet.getPrice() < minPrice)) {
+            return false;
+        }
+        if (maxPrice != null && (sweet.getPrice() == null || sweet.getPrice() > maxPrice)) {
+            return false;
+        }
+        return mayContain(sweet.getName(), name) && mayContain(sweet.getCategory(), category);
+    }
+
+    public static boolean isPlainPattern(String pattern) {
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (c == '%' || c == '_' || c == '\\' || c > 0x7F) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean mayContain(String value, String pattern) {
+        if (pattern == null) {
+            return true;
+        }
+        if (value == null) {
+            return false;
+        }
+        if (!isPlainPattern(pattern) || !isAscii(value)) {
+            return true;
+        }
+        return value.toLowerCase(Locale.ROOT).contains(pattern.toLowerCase(Locale.ROOT));
+    }
+
+    private static boolean isAscii(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) > 0x7F) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String blankToNull(String value) {
+        return (value == null || value.isBlank()) ? null : value;
+    }
+}
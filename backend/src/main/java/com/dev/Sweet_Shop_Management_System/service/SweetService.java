@@ -1,59 +1,202 @@
 package com.dev.Sweet_Shop_Management_System.service;
 
+import com.dev.Sweet_Shop_Management_System.cache.CatalogQueryKey;
+import com.dev.Sweet_Shop_Management_System.cache.CatalogVersion;
+import com.dev.Sweet_Shop_Management_System.cache.SweetCatalogCache;
+import com.dev.Sweet_Shop_Management_System.concurrency.OptimisticRetryExecutor;
+import com.dev.Sweet_Shop_Management_System.concurrency.PurchaseCoalescer;
+import com.dev.Sweet_Shop_Management_System.dto.request.BatchPurchaseRequest;
+import com.dev.Sweet_Shop_Management_System.dto.request.PurchaseLineRequest;
 import com.dev.Sweet_Shop_Management_System.dto.request.PurchaseRequest;
 import com.dev.Sweet_Shop_Management_System.dto.request.SweetCreateRequest;
 import com.dev.Sweet_Shop_Management_System.dto.request.SweetUpdateRequest;
+import com.dev.Sweet_Shop_Management_System.dto.response.BatchPurchaseResponse;
+import com.dev.Sweet_Shop_Management_System.dto.response.PurchaseLineResult;
+import com.dev.Sweet_Shop_Management_System.dto.response.PurchaseLineStatus;
+import com.dev.Sweet_Shop_Management_System.dto.response.SweetBatchResponse;
+import com.dev.Sweet_Shop_Management_System.dto.response.SweetPageResponse;
 import com.dev.Sweet_Shop_Management_System.dto.response.SweetResponse;
 import com.dev.Sweet_Shop_Management_System.entity.Sweet;
+import com.dev.Sweet_Shop_Management_System.entity.SweetStockShard;
+import com.dev.Sweet_Shop_Management_System.entity.SweetTombstone;
+import com.dev.Sweet_Shop_Management_System.event.SweetChangeType;
+import com.dev.Sweet_Shop_Management_System.event.SweetChangedEvent;
+import com.dev.Sweet_Shop_Management_System.ledger.StockLedger;
 import com.dev.Sweet_Shop_Management_System.repository.SweetRepository;
+import com.dev.Sweet_Shop_Management_System.repository.SweetTombstoneRepository;
+import com.dev.Sweet_Shop_Management_System.sales.SalesRecorder;
+import com.dev.Sweet_Shop_Management_System.search.TrigramIndex;
 import lombok.AllArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @AllArgsConstructor
 public class SweetService {
 
+    private static final int MAX_PAGE_SIZE = 500;
+
     private final SweetRepository sweetRepository;
 
+    private final SweetTombstoneRepository tombstoneRepository;
+
+    private final SweetCatalogCache catalogCache;
+
+    private final CatalogVersion catalogVersion;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final TrigramIndex trigramIndex;
+
+    private final OptimisticRetryExecutor retryExecutor;
+
+    private final PurchaseCoalescer purchaseCoalescer;
+
+    private final StockLedger stockLedger;
+
+    private final StockShardService stockShards;
+
+    private final SalesRecorder salesRecorder;
+
+    @Transactional
     public SweetResponse addSweet(SweetCreateRequest request) {
         Sweet sweet = Sweet.builder()
                 .name(request.getName())
                 .category(request.getCategory())
                 .price(request.getPrice())
                 .quantity(request.getQuantity())
+                .changeVersion(catalogVersion.allocate())
                 .build();
 
         Sweet saved = sweetRepository.save(sweet);
+        SweetResponse response = toResponse(saved);
 
-        return SweetResponse.builder()
-                .id(saved.getId())
-                .name(saved.getName())
-                .category(saved.getCategory())
-                .price(saved.getPrice())
-                .quantity(saved.getQuantity())
+        eventPublisher.publishEvent(new SweetChangedEvent(SweetChangeType.CREATED, null, response, saved.getChangeVersion()));
+        return response;
+    }
+
+    public SweetResponse getSweet(Long id) {
+        SweetResponse response = catalogCache.getSweet(id, () -> sweetRepository.findResponseById(id).orElse(null));
+
+        if (response == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Sweet not found");
+        }
+        return response;
+    }
+
+    public SweetBatchResponse getSweets(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At least one id is required");
+        }
+
+        Set<Long> requested = new LinkedHashSet<>(ids);
+        requested.remove(null);
+        if (requested.size() > MAX_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "At most " + MAX_PAGE_SIZE + " ids can be requested at once");
+        }
+
+        Map<Long, SweetResponse> found = catalogCache.getSweets(requested, sweetRepository::findResponsesByIdIn);
+
+        List<SweetResponse> sweets = new ArrayList<>(found.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : requested) {
+            SweetResponse sweet = found.get(id);
+            if (sweet != null) {
+                sweets.add(sweet);
+            } else {
+                missingIds.add(id);
+            }
+        }
+
+        return SweetBatchResponse.builder()
+                .sweets(sweets)
+                .missingIds(missingIds)
                 .build();
     }
 
     public List<SweetResponse> getAllSweets() {
-        return sweetRepository.findAll()
-                .stream()
-                .map(sweet -> SweetResponse.builder()
-                        .id(sweet.getId())
-                        .name(sweet.getName())
-                        .category(sweet.getCategory())
-                        .price(sweet.getPrice())
-                        .quantity(sweet.getQuantity())
-                        .build())
-                .collect(Collectors.toList());
+        return catalogCache.getQuery(CatalogQueryKey.list(SweetSearchCriteria.ALL),
+                () -> List.copyOf(sweetRepository.findAllResponses()));
     }
 
     public List<SweetResponse> searchSweets(String name, String category, Double minPrice, Double maxPrice) {
+        SweetSearchCriteria criteria = SweetSearchCriteria.of(name, category, minPrice, maxPrice);
+
+        return catalogCache.getQuery(CatalogQueryKey.list(criteria), () -> {
+            Specification<Sweet> spec = restrictToCandidates(buildSearchSpec(name, category, minPrice, maxPrice), criteria);
+
+            return List.copyOf(spec == null ? sweetRepository.findAllResponses() : sweetRepository.findResponses(spec));
+        });
+    }
+
+    public SweetPageResponse getSweetsPage(String sort, String cursor, int limit) {
+        return catalogCache.getQuery(CatalogQueryKey.page(SweetSearchCriteria.ALL, sort, cursor, limit),
+                () -> findPage(null, sort, cursor, limit));
+    }
+
+    public SweetPageResponse searchSweetsPage(String name, String category, Double minPrice, Double maxPrice,
+                                              String sort, String cursor, int limit) {
+        SweetSearchCriteria criteria = SweetSearchCriteria.of(name, category, minPrice, maxPrice);
+
+        return catalogCache.getQuery(CatalogQueryKey.page(criteria, sort, cursor, limit),
+                () -> findPage(restrictToCandidates(buildSearchSpec(name, category, minPrice, maxPrice), criteria),
+                        sort, cursor, limit));
+    }
+
+    private SweetPageResponse findPage(Specification<Sweet> filter, String sort, String cursor, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        SweetSortKey sortKey = SweetSortKey.parse(sort);
+        Specification<Sweet> spec = filter;
+
+        if (cursor != null && !cursor.isBlank()) {
+            Specification<Sweet> afterSpec = SweetPageCursor.decode(cursor, sortKey).toSpecification();
+            spec = (spec == null) ? afterSpec : spec.and(afterSpec);
+        }
+
+        if (spec == null) {
+            spec = (root, query, cb) -> cb.conjunction();
+        }
+
+        Sort order = sortKey == SweetSortKey.ID
+                ? Sort.by("id")
+                : Sort.by(sortKey.getProperty()).and(Sort.by("id"));
+
+        List<SweetResponse> rows = sweetRepository.findResponses(spec, order, limit + 1);
+
+        String next = null;
+        if (rows.size() > limit) {
+            rows = rows.subList(0, limit);
+            next = SweetPageCursor.after(sortKey, rows.get(limit - 1)).encode();
+        }
+
+        return SweetPageResponse.builder()
+                .items(List.copyOf(rows))
+                .next(next)
+                .build();
+    }
+
+    private Specification<Sweet> buildSearchSpec(String name, String category, Double minPrice, Double maxPrice) {
         Specification<Sweet> spec = null;
 
         if (name != null && !name.isBlank()) {
@@ -80,22 +223,37 @@ public class SweetService {
             spec = (spec == null) ? maxPriceSpec : spec.and(maxPriceSpec);
         }
 
-        List<Sweet> sweets = (spec == null) ? sweetRepository.findAll() : sweetRepository.findAll(spec);
+        return spec;
+    }
+
+    // The trigram index narrows the rows to scan; the LIKE filters still run in the database on the candidates.
+    private Specification<Sweet> restrictToCandidates(Specification<Sweet> spec, SweetSearchCriteria criteria) {
+        long[] candidates = trigramIndex.candidates(criteria);
+        if (spec == null || candidates == null) {
+            return spec;
+        }
 
-        return sweets.stream()
-                .map(s -> SweetResponse.builder()
-                        .id(s.getId())
-                        .name(s.getName())
-                        .category(s.getCategory())
-                        .price(s.getPrice())
-                        .quantity(s.getQuantity())
-                        .build())
-                .collect(Collectors.toList());
+        Specification<Sweet> candidateSpec = candidates.length == 0
+                ? (root, query, cb) -> cb.disjunction()
+                : (root, query, cb) -> root.get("id").in(Arrays.stream(candidates).boxed().toList());
+        return spec.and(candidateSpec);
     }
 
     public SweetResponse updateSweet(Long id, SweetUpdateRequest request) {
+        return retryExecutor.execute(id, () -> applyUpdate(id, request));
+    }
+
+    private SweetResponse applyUpdate(Long id, SweetUpdateRequest request) {
+        stockLedger.fence(id);
         Sweet sweet = sweetRepository.findById(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Sweet not found"));
+        boolean sharded = sweet.getStockShards() > 1;
+        SweetResponse before = sharded ? currentResponse(id) : toResponse(sweet);
+
+        if (request.getVersion() != null && !request.getVersion().equals(sweet.getVersion())) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                    "Sweet has been modified since version " + request.getVersion());
+        }
 
         if (request.getName() != null) {
             if (request.getName().isBlank()) {
@@ -122,70 +280,288 @@ public class SweetService {
             if (request.getQuantity() < 0) {
                 throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Quantity cannot be negative");
             }
-            sweet.setQuantity(request.getQuantity());
+            if (request.getQuantity() < sweet.getReservedQuantity()) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Quantity cannot be less than reserved stock");
+            }
+            if (!sharded) {
+                sweet.setQuantity(request.getQuantity());
+            }
         }
 
-        Sweet updated = sweetRepository.save(sweet);
+        sweet.setChangeVersion(catalogVersion.allocate());
+        if (sharded && request.getQuantity() != null) {
+            stockShards.redistribute(sweet, request.getQuantity(), sweet.getChangeVersion());
+        }
+        // Flushing here runs the version check inside the retried block and returns the new version.
+        Sweet updated = sweetRepository.saveAndFlush(sweet);
+        SweetResponse response = sharded ? currentResponse(id) : toResponse(updated);
 
-        return SweetResponse.builder()
-                .id(updated.getId())
-                .name(updated.getName())
-                .category(updated.getCategory())
-                .price(updated.getPrice())
-                .quantity(updated.getQuantity())
-                .build();
+        eventPublisher.publishEvent(new SweetChangedEvent(SweetChangeType.UPDATED, before, response, updated.getChangeVersion()));
+        return response;
+    }
+
+    public SweetResponse reshardSweet(Long id, int shards) {
+        return retryExecutor.execute(id, () -> applyReshard(id, shards));
+    }
+
+    private SweetResponse applyReshard(Long id, int shards) {
+        stockLedger.fence(id);
+        Sweet sweet = sweetRepository.lockAllByIdIn(List.of(id)).stream()
+                .findFirst()
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Sweet not found"));
+        SweetResponse before = currentResponse(id);
+
+        long version = catalogVersion.allocate();
+        stockShards.reshard(sweet, shards, version);
+        sweet.setChangeVersion(version);
+        sweetRepository.flush();
+
+        SweetResponse response = currentResponse(id);
+        eventPublisher.publishEvent(new SweetChangedEvent(SweetChangeType.UPDATED, before, response, version));
+        return response;
     }
 
     public void deleteSweet(Long id) {
-        if (!sweetRepository.existsById(id)) {
-            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Sweet not found with id " + id);
-        }
-        sweetRepository.deleteById(id);
+        retryExecutor.run(id, () -> applyDelete(id));
     }
 
-    public SweetResponse purchaseSweet(Long id, PurchaseRequest request) {
+    private void applyDelete(Long id) {
+        stockLedger.fence(id);
         Sweet sweet = sweetRepository.findById(id)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Sweet not found"));
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Sweet not found with id " + id));
 
+        boolean sharded = sweet.getStockShards() > 1;
+        SweetResponse before = sharded ? currentResponse(id) : toResponse(sweet);
+
+        long version = catalogVersion.allocate();
+        sweetRepository.delete(sweet);
+        if (sharded) {
+            stockShards.delete(id);
+        }
+        tombstoneRepository.save(SweetTombstone.builder()
+                .sweetId(id)
+                .changeVersion(version)
+                .deletedAt(Instant.now())
+                .build());
+
+        eventPublisher.publishEvent(new SweetChangedEvent(SweetChangeType.DELETED, before, null, version));
+    }
+
+    public SweetResponse purchaseSweet(Long id, PurchaseRequest request) {
         int quantity = request.getQuantity();
 
         if (quantity <= 0) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Quantity must be greater than 0");
         }
 
-        if (sweet.getQuantity() < quantity) {
+        return purchase(id, quantity);
+    }
+
+    private SweetResponse purchase(Long id, int quantity) {
+        if (stockShards.isSharded(id)) {
+            return retryExecutor.execute(id, () -> applyShardedPurchase(id, quantity));
+        }
+        SweetResponse decided = stockLedger.accepts() ? stockLedger.purchase(id, quantity) : null;
+        if (decided != null) {
+            // The ledger commits the purchase in a later flush, so its sale line is written on its own.
+            salesRecorder.record(decided, quantity);
+            return decided;
+        }
+        if (purchaseCoalescer.accepts()) {
+            return purchaseCoalescer.purchase(id, quantity);
+        }
+        return retryExecutor.execute(id, () -> applyPurchase(id, quantity));
+    }
+
+    private SweetResponse applyPurchase(Long id, int quantity) {
+        stockLedger.fence(id);
+        long version = catalogVersion.allocate();
+        if (sweetRepository.decrementQuantity(id, quantity, version) == 0) {
+            if (!sweetRepository.existsById(id)) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Sweet not found");
+            }
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Insufficient stock available");
         }
 
-        sweet.setQuantity(sweet.getQuantity() - quantity);
-        Sweet updated = sweetRepository.save(sweet);
+        Sweet updated = sweetRepository.findById(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Sweet not found"));
+        SweetResponse response = toResponse(updated);
 
-        return SweetResponse.builder()
-                .id(updated.getId())
-                .name(updated.getName())
-                .category(updated.getCategory())
-                .price(updated.getPrice())
-                .quantity(updated.getQuantity())
+        salesRecorder.record(response, quantity);
+        publishStockChange(SweetChangeType.PURCHASED, response, quantity, version);
+        return response;
+    }
+
+    private SweetResponse applyShardedPurchase(Long id, int quantity) {
+        stockLedger.fence(id);
+        long version = catalogVersion.allocate();
+        if (!stockShards.take(id, quantity, version)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Insufficient stock available");
+        }
+
+        SweetResponse response = currentResponse(id);
+        salesRecorder.record(response, quantity);
+        publishStockChange(SweetChangeType.PURCHASED, response, quantity, version);
+        return response;
+    }
+
+    public BatchPurchaseResponse purchaseBatch(BatchPurchaseRequest request) {
+        return retryExecutor.execute(null, () -> applyBatchPurchase(request));
+    }
+
+    private BatchPurchaseResponse applyBatchPurchase(BatchPurchaseRequest request) {
+        // Merge repeated sweets so each row is locked and decremented once, in ascending id order.
+        Map<Long, Integer> wanted = new TreeMap<>();
+        for (PurchaseLineRequest line : request.getItems()) {
+            wanted.merge(line.getId(), line.getQuantity(), Math::addExact);
+        }
+        stockLedger.fence(wanted.keySet());
+
+        Map<Long, Sweet> locked = sweetRepository.lockAllByIdIn(wanted.keySet()).stream()
+                .collect(Collectors.toMap(Sweet::getId, Function.identity()));
+        Map<Long, List<SweetStockShard>> shards = stockShards.lockGrouped(locked.values().stream()
+                .filter(sweet -> sweet.getStockShards() > 1)
+                .map(Sweet::getId)
+                .toList());
+
+        boolean completed = wanted.entrySet().stream().allMatch(line -> {
+            Sweet sweet = locked.get(line.getKey());
+            return sweet != null && available(sweet, shards) >= line.getValue();
+        });
+
+        if (!completed) {
+            List<PurchaseLineResult> lines = new ArrayList<>(wanted.size());
+            wanted.forEach((id, quantity) -> {
+                Sweet sweet = locked.get(id);
+                PurchaseLineStatus status = sweet == null ? PurchaseLineStatus.NOT_FOUND
+                        : available(sweet, shards) < quantity ? PurchaseLineStatus.INSUFFICIENT_STOCK
+                        : PurchaseLineStatus.NOT_APPLIED;
+                lines.add(PurchaseLineResult.builder()
+                        .sweetId(id)
+                        .requested(quantity)
+                        .available(sweet == null ? null : available(sweet, shards))
+                        .status(status)
+                        .build());
+            });
+            return BatchPurchaseResponse.builder()
+                    .completed(false)
+                    .lines(lines)
+                    .build();
+        }
+
+        long version = catalogVersion.allocate();
+        Map<Long, SweetResponse> before = new TreeMap<>();
+        wanted.forEach((id, quantity) -> {
+            Sweet sweet = locked.get(id);
+            before.put(id, toResponse(sweet, shards));
+            // Free units on the main row go first; sharded sweets take the rest from their shards.
+            int fromMain = Math.min(sweet.getQuantity() - sweet.getReservedQuantity(), quantity);
+            sweet.setQuantity(sweet.getQuantity() - fromMain);
+            sweet.setChangeVersion(version);
+            stockShards.takeFrom(shards.getOrDefault(id, List.of()), quantity - fromMain, version);
+        });
+
+        // The dirty rows go out as one JDBC batch of updates.
+        sweetRepository.flush();
+
+        List<PurchaseLineResult> lines = new ArrayList<>(wanted.size());
+        wanted.forEach((id, quantity) -> {
+            Sweet sweet = locked.get(id);
+            SweetResponse after = toResponse(sweet, shards);
+            salesRecorder.record(after, quantity);
+            eventPublisher.publishEvent(new SweetChangedEvent(SweetChangeType.PURCHASED, before.get(id), after, version));
+            lines.add(PurchaseLineResult.builder()
+                    .sweetId(id)
+                    .requested(quantity)
+                    .available(available(sweet, shards))
+                    .status(PurchaseLineStatus.PURCHASED)
+                    .sweet(after)
+                    .build());
+        });
+
+        return BatchPurchaseResponse.builder()
+                .completed(true)
+                .lines(lines)
                 .build();
     }
 
     public SweetResponse restockSweet(Long id, int quantity) {
-        Sweet sweet = sweetRepository.findById(id)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Sweet not found"));
-
         if (quantity <= 0) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Restock quantity must be greater than 0");
         }
 
-        sweet.setQuantity(sweet.getQuantity() + quantity);
-        Sweet updated = sweetRepository.save(sweet);
+        if (stockShards.isSharded(id)) {
+            return retryExecutor.execute(id, () -> applyShardedRestock(id, quantity));
+        }
+        SweetResponse decided = stockLedger.accepts() ? stockLedger.restock(id, quantity) : null;
+        if (decided != null) {
+            return decided;
+        }
+        return retryExecutor.execute(id, () -> applyRestock(id, quantity));
+    }
+
+    private SweetResponse applyRestock(Long id, int quantity) {
+        stockLedger.fence(id);
+        long version = catalogVersion.allocate();
+        if (sweetRepository.incrementQuantity(id, quantity, version) == 0) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Sweet not found");
+        }
+
+        Sweet updated = sweetRepository.findById(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Sweet not found"));
+        SweetResponse response = toResponse(updated);
+
+        publishStockChange(SweetChangeType.RESTOCKED, response, -quantity, version);
+        return response;
+    }
+
+    private void publishStockChange(SweetChangeType type, SweetResponse after, int consumed, long version) {
+        SweetResponse before = SweetResponse.builder()
+                .id(after.getId())
+                .name(after.getName())
+                .category(after.getCategory())
+                .price(after.getPrice())
+                .quantity(after.getQuantity() + consumed)
+                .build();
+
+        eventPublisher.publishEvent(new SweetChangedEvent(type, before, after, version));
+    }
+
+    private SweetResponse applyShardedRestock(Long id, int quantity) {
+        stockLedger.fence(id);
+        long version = catalogVersion.allocate();
+        stockShards.add(id, quantity, version);
+
+        SweetResponse response = currentResponse(id);
+        publishStockChange(SweetChangeType.RESTOCKED, response, -quantity, version);
+        return response;
+    }
+
+    private static int available(Sweet sweet, Map<Long, List<SweetStockShard>> shards) {
+        return sweet.getQuantity() - sweet.getReservedQuantity()
+                + StockShardService.total(shards.getOrDefault(sweet.getId(), List.of()));
+    }
+
+    // Sharded stock is summed by the projection query.
+    private SweetResponse currentResponse(Long id) {
+        return sweetRepository.findResponseById(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Sweet not found"));
+    }
+
+    private SweetResponse toResponse(Sweet sweet, Map<Long, List<SweetStockShard>> shards) {
+        SweetResponse response = toResponse(sweet);
+        response.setQuantity(sweet.getQuantity() + StockShardService.total(shards.getOrDefault(sweet.getId(), List.of())));
+        return response;
+    }
 
+    private SweetResponse toResponse(Sweet sweet) {
         return SweetResponse.builder()
-                .id(updated.getId())
-                .name(updated.getName())
-                .category(updated.getCategory())
-                .price(updated.getPrice())
-                .quantity(updated.getQuantity())
+                .id(sweet.getId())
+                .name(sweet.getName())
+                .category(sweet.getCategory())
+                .price(sweet.getPrice())
+                .quantity(sweet.getQuantity())
+                .version(sweet.getVersion())
                 .build();
     }
 
@@ -0,0 +1,30 @@
+package com.dev.Sweet_Shop_Management_System.service;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+@Getter
+public enum SweetSortKey {
+    ID("id"),
+    NAME("name"),
+    PRICE("price");
+
+    private final String property;
+
+    SweetSortKey(String property) {
+        this.property = property;
+    }
+
+    public static SweetSortKey parse(String value) {
+        if (value == null || value.isBlank()) {
+            return ID;
+        }
+        for (SweetSortKey key : values()) {
+            if (key.property.equalsIgnoreCase(value)) {
+                return key;
+            }
+        }
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unsupported sort key: " + value);
+    }
+}
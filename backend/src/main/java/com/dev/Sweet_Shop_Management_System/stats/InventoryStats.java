@@ -0,0 +1,280 @@
+package com.dev.Sweet_Shop_Management_System.stats;
+
+import com.dev.Sweet_Shop_Management_System.dto.response.CategoryStatsResponse;
+import com.dev.Sweet_Shop_Management_System.dto.response.InventoryStatsResponse;
+import com.dev.Sweet_Shop_Management_System.dto.response.SweetResponse;
+import com.dev.Sweet_Shop_Management_System.event.CatalogImportedEvent;
+import com.dev.Sweet_Shop_Management_System.event.SweetChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+
+// Inventory valuation and dashboard counters kept up to date by applying each committed change's before/after
+// delta, so reading them never touches the sweets table. A periodic full recompute catches anything that
+// changed the table without an event (catalog imports, manual SQL) and corrects the difference.
+@Slf4j
+@Component
+public class InventoryStats {
+
+    private static final double VALUE_TOLERANCE = 0.005;
+
+    // Sharded sweets count the main row plus every shard, the same quantity their events carry.
+    private static final String RECOMPUTE_SQL =
+            "select category, count(*), sum(q), sum(price * q), "
+                    + "sum(case when q > 0 and q <= ? then 1 else 0 end), sum(case when q <= 0 then 1 else 0 end) "
+                    + "from (select coalesce(s.category, '') as category, coalesce(s.price, 0) as price, "
+                    + "s.quantity + case when s.stock_shards > 1 then coalesce((select sum(sh.quantity) "
+                    + "from sweet_stock_shards sh where sh.sweet_id = s.id), 0) else 0 end as q from sweets s) stock "
+                    + "group by category";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int lowStockThreshold;
+
+    private final Totals overall = new Totals();
+    private final Map<String, Totals> categories = new HashMap<>();
+    private final Object reconcileLock = new Object();
+    private volatile Instant lastReconciledAt;
+    private volatile String lastReconcileResult = "PENDING";
+    private volatile String lastMismatch;
+    private volatile long reconciles;
+    private volatile long mismatchesCorrected;
+
+    public InventoryStats(JdbcTemplate jdbcTemplate,
+                          @Value("${sweetshop.stats.low-stock-threshold:5}") int lowStockThreshold) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.lowStockThreshold = lowStockThreshold;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        Map<String, Totals> loaded = recompute();
+        synchronized (this) {
+            categories.clear();
+            overall.reset();
+            loaded.forEach((category, totals) -> {
+                categories.put(category, totals.copy());
+                overall.add(totals, 1);
+            });
+        }
+        lastReconciledAt = Instant.now();
+        lastReconcileResult = "LOADED";
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSweetChanged(SweetChangedEvent event) {
+        Totals before = contribution(event.getBefore());
+        Totals after = contribution(event.getAfter());
+        synchronized (this) {
+            if (before != null) {
+                apply(category(event.getBefore()), before, -1);
+            }
+            if (after != null) {
+                apply(category(event.getAfter()), after, 1);
+            }
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCatalogImported(CatalogImportedEvent event) {
+        event.getChanges().forEach(this::onSweetChanged);
+    }
+
+    public InventoryStatsResponse stats() {
+        Totals total;
+        List<CategoryStatsResponse> perCategory = new ArrayList<>();
+        synchronized (this) {
+            total = overall.copy();
+            new TreeMap<>(categories).forEach((category, totals) -> perCategory.add(totals.toResponse(category)));
+        }
+        return InventoryStatsResponse.builder()
+                .skuCount(total.skus)
+                .units(total.units)
+                .stockValue(total.value)
+                .lowStockThreshold(lowStockThreshold)
+                .lowStockCount(total.low)
+                .zeroStockCount(total.zero)
+                .categories(perCategory)
+                .lastReconciledAt(lastReconciledAt)
+                .lastReconcileResult(lastReconcileResult)
+                .reconciles(reconciles)
+                .mismatchesCorrected(mismatchesCorrected)
+                .lastMismatch(lastMismatch)
+                .build();
+    }
+
+    // A change that committed but whose event has not been applied yet looks like drift for a moment, so a
+    // difference is only corrected when a second recompute finds exactly the same one; otherwise it is left
+    // for the next run. Corrections are added, never assigned, so deltas applied meanwhile are kept.
+    @Scheduled(initialDelayString = "${sweetshop.stats.reconcile-interval:PT5M}",
+            fixedDelayString = "${sweetshop.stats.reconcile-interval:PT5M}")
+    public void reconcile() {
+        synchronized (reconcileLock) {
+            Map<String, Totals> drift = drift();
+            if (!drift.isEmpty()) {
+                Map<String, Totals> confirmed = drift();
+                if (sameDrift(drift, confirmed)) {
+                    synchronized (this) {
+                        confirmed.forEach((category, delta) -> apply(category, delta, 1));
+                    }
+                    lastMismatch = describe(confirmed);
+                    mismatchesCorrected++;
+                    lastReconcileResult = "CORRECTED";
+                    log.warn("Inventory stats drifted from the sweets table, corrected: {}", lastMismatch);
+                } else {
+                    lastReconcileResult = "UNSETTLED";
+                    log.info("Inventory stats differ from the sweets table while writes are in flight, retrying later");
+                }
+            } else {
+                lastReconcileResult = "CLEAN";
+            }
+            lastReconciledAt = Instant.now();
+            reconciles++;
+        }
+    }
+
+    private Map<String, Totals> drift() {
+        Map<String, Totals> actual = recompute();
+        Map<String, Totals> held;
+        synchronized (this) {
+            held = new HashMap<>();
+            categories.forEach((category, totals) -> held.put(category, totals.copy()));
+        }
+
+        Set<String> keys = new HashSet<>(actual.keySet());
+        keys.addAll(held.keySet());
+        Map<String, Totals> drift = new TreeMap<>();
+        for (String category : keys) {
+            Totals delta = actual.getOrDefault(category, new Totals()).copy();
+            delta.add(held.getOrDefault(category, new Totals()), -1);
+            if (!delta.isZero()) {
+                drift.put(category, delta);
+            }
+        }
+        return drift;
+    }
+
+    private Map<String, Totals> recompute() {
+        Map<String, Totals> totals = new HashMap<>();
+        jdbcTemplate.query(RECOMPUTE_SQL, rs -> {
+            Totals row = new Totals();
+            row.skus = rs.getLong(2);
+            row.units = rs.getLong(3);
+            row.value = rs.getDouble(4);
+            row.low = rs.getLong(5);
+            row.zero = rs.getLong(6);
+            totals.put(rs.getString(1), row);
+        }, lowStockThreshold);
+        return totals;
+    }
+
+    // Callers hold the monitor.
+    private void apply(String category, Totals delta, int sign) {
+        overall.add(delta, sign);
+        Totals totals = categories.computeIfAbsent(category, ignored -> new Totals());
+        totals.add(delta, sign);
+        if (totals.skus == 0 && totals.isZero()) {
+            categories.remove(category);
+        }
+    }
+
+    private Totals contribution(SweetResponse sweet) {
+        if (sweet == null) {
+            return null;
+        }
+        int quantity = Objects.requireNonNullElse(sweet.getQuantity(), 0);
+        Totals totals = new Totals();
+        totals.skus = 1;
+        totals.units = quantity;
+        totals.value = Objects.requireNonNullElse(sweet.getPrice(), 0.0) * quantity;
+        totals.low = quantity > 0 && quantity <= lowStockThreshold ? 1 : 0;
+        totals.zero = quantity <= 0 ? 1 : 0;
+        return totals;
+    }
+
+    private static String category(SweetResponse sweet) {
+        return Objects.requireNonNullElse(sweet.getCategory(), "");
+    }
+
+    private static boolean sameDrift(Map<String, Totals> first, Map<String, Totals> second) {
+        if (!first.keySet().equals(second.keySet())) {
+            return false;
+        }
+        return first.entrySet().stream().allMatch(entry -> {
+            Totals difference = entry.getValue().copy();
+            difference.add(second.get(entry.getKey()), -1);
+            return difference.isZero();
+        });
+    }
+
+    private static String describe(Map<String, Totals> drift) {
+        StringBuilder text = new StringBuilder();
+        drift.forEach((category, delta) -> text.append(text.length() == 0 ? "" : "; ")
+                .append('"').append(category).append("\": skus ").append(delta.skus)
+                .append(", units ").append(delta.units)
+                .append(", value ").append(String.format("%.2f", delta.value))
+                .append(", low ").append(delta.low)
+                .append(", zero ").append(delta.zero));
+        return text.toString();
+    }
+
+    private static final class Totals {
+        private long skus;
+        private long units;
+        private double value;
+        private long low;
+        private long zero;
+
+        private void add(Totals other, int sign) {
+            skus += sign * other.skus;
+            units += sign * other.units;
+            value += sign * other.value;
+            low += sign * other.low;
+            zero += sign * other.zero;
+        }
+
+        private void reset() {
+            skus = 0;
+            units = 0;
+            value = 0;
+            low = 0;
+            zero = 0;
+        }
+
+        private boolean isZero() {
+            return skus == 0 && units == 0 && Math.abs(value) < VALUE_TOLERANCE && low == 0 && zero == 0;
+        }
+
+        private Totals copy() {
+            Totals copy = new Totals();
+            copy.add(this, 1);
+            return copy;
+        }
+
+        private CategoryStatsResponse toResponse(String category) {
+            return CategoryStatsResponse.builder()
+                    .category(category)
+                    .skuCount(skus)
+                    .units(units)
+                    .stockValue(value)
+                    .lowStockCount(low)
+                    .zeroStockCount(zero)
+                    .build();
+        }
+    }
+}
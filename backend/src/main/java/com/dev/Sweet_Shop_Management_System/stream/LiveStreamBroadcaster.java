@@ -0,0 +1,154 @@
+package com.dev.Sweet_Shop_Management_System.stream;
+
+import com.dev.Sweet_Shop_Management_System.dto.response.ResyncMessage;
+import com.dev.Sweet_Shop_Management_System.dto.response.StockChangeMessage;
+import com.dev.Sweet_Shop_Management_System.dto.response.StreamStatsResponse;
+import com.dev.Sweet_Shop_Management_System.event.CatalogImportedEvent;
+import com.dev.Sweet_Shop_Management_System.event.SweetChangedEvent;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+public class LiveStreamBroadcaster {
+
+    public static final String STOCK_EVENT = "stock";
+    public static final String RESYNC_EVENT = "resync";
+
+    private final Set<StreamSubscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicLong published = new AtomicLong();
+    private final int bufferSize;
+    private final long emitterTimeoutMillis;
+    private final long writeTimeoutNanos;
+    private final ExecutorService dispatcher;
+    private final AtomicLong timedOut = new AtomicLong();
+
+    public LiveStreamBroadcaster(@Value("${sweetshop.stream.buffer-size:256}") int bufferSize,
+                                 @Value("${sweetshop.stream.dispatcher-threads:4}") int dispatcherThreads,
+                                 @Value("${sweetshop.stream.emitter-timeout:30m}") Duration emitterTimeout,
+                                 @Value("${sweetshop.stream.write-timeout:PT10S}") Duration writeTimeout) {
+        this.bufferSize = bufferSize;
+        this.emitterTimeoutMillis = emitterTimeout.toMillis();
+        this.writeTimeoutNanos = writeTimeout.toNanos();
+
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.dispatcher = Executors.newFixedThreadPool(dispatcherThreads, runnable -> {
+            Thread thread = new Thread(runnable, "sse-dispatch-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMillis);
+        StreamSubscriber subscriber = subscribe(new SseStreamSink(emitter));
+
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(ex -> subscriber.close());
+        return emitter;
+    }
+
+    public StreamSubscriber subscribe(StreamSink sink) {
+        StreamSubscriber subscriber = new StreamSubscriber(sink, bufferSize, dispatcher, subscribers::remove);
+        subscribers.add(subscriber);
+        return subscriber;
+    }
+
+    // Only enqueues; delivery happens on the dispatcher threads so a slow client never stalls the caller.
+    public void broadcast(StreamMessage message) {
+        published.incrementAndGet();
+        for (StreamSubscriber subscriber : subscribers) {
+            subscriber.offer(message);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSweetChanged(SweetChangedEvent event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+
+        Long sweetId = event.getSweetId();
+        StockChangeMessage payload = StockChangeMessage.builder()
+                .sweetId(sweetId)
+                .type(event.getType().name())
+                .quantity(event.getAfter() != null ? event.getAfter().getQuantity() : null)
+                .price(event.getAfter() != null ? event.getAfter().getPrice() : null)
+                .version(event.getVersion())
+                .build();
+
+        broadcast(new StreamMessage(STOCK_EVENT, STOCK_EVENT + ":" + sweetId, String.valueOf(event.getVersion()), payload));
+    }
+
+    // Imports change rows in bulk without per-row events; clients refetch the catalog instead of replaying them.
+    // One key for every chunk, so a subscriber that is behind keeps only the latest.
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCatalogImported(CatalogImportedEvent event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        ResyncMessage payload = ResyncMessage.builder()
+                .reason("import")
+                .changed(event.getChanges().size())
+                .version(event.getVersion())
+                .build();
+        broadcast(new StreamMessage(RESYNC_EVENT, RESYNC_EVENT, String.valueOf(event.getVersion()), payload));
+    }
+
+    @Scheduled(fixedRateString = "${sweetshop.stream.heartbeat-interval:PT15S}")
+    public void heartbeat() {
+        for (StreamSubscriber subscriber : subscribers) {
+            dispatcher.execute(subscriber::heartbeat);
+        }
+    }
+
+    // Sends block on the client's socket, so a client that stops reading would pin a dispatcher thread until the
+    // emitter times out; a few of them would stall the stream for everyone.
+    @Scheduled(fixedDelayString = "${sweetshop.stream.write-check-interval:PT1S}")
+    public void expireStalledWrites() {
+        long now = System.nanoTime();
+        for (StreamSubscriber subscriber : subscribers) {
+            if (subscriber.expireStalledWrite(now, writeTimeoutNanos)) {
+                timedOut.incrementAndGet();
+            }
+        }
+    }
+
+    public StreamStatsResponse stats() {
+        long pending = 0;
+        long dropped = 0;
+        long coalesced = 0;
+        for (StreamSubscriber subscriber : subscribers) {
+            pending += subscriber.pendingCount();
+            dropped += subscriber.droppedCount();
+            coalesced += subscriber.coalescedCount();
+        }
+        return StreamStatsResponse.builder()
+                .subscribers(subscribers.size())
+                .published(published.get())
+                .pending(pending)
+                .dropped(dropped)
+                .coalesced(coalesced)
+                .timedOut(timedOut.get())
+                .build();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.forEach(StreamSubscriber::close);
+        dispatcher.shutdownNow();
+    }
+}
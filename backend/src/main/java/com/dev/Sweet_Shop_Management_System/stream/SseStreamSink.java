@@ -0,0 +1,33 @@
+package com.dev.Sweet_Shop_Management_System.stream;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class SseStreamSink implements StreamSink {
+
+    private final SseEmitter emitter;
+
+    @Override
+    public void send(List<StreamMessage> messages) throws IOException {
+        for (StreamMessage message : messages) {
+            emitter.send(SseEmitter.event()
+                    .name(message.getEvent())
+                    .id(message.getId())
+                    .data(message.getPayload()));
+        }
+    }
+
+    @Override
+    public void heartbeat() throws IOException {
+        emitter.send(SseEmitter.event().comment("keep-alive"));
+    }
+
+    @Override
+    public void close() {
+        emitter.complete();
+    }
+}
@@ -0,0 +1,11 @@
+package com.dev.Sweet_Shop_Management_System.stream;
+
+import lombok.Value;
+
+@Value
+public class StreamMessage {
+    String event;
+    String key;
+    String id;
+    Object payload;
+}
@@ -0,0 +1,13 @@
+package com.dev.Sweet_Shop_Management_System.stream;
+
+import java.io.IOException;
+import java.util.List;
+
+public interface StreamSink {
+
+    void send(List<StreamMessage> messages) throws IOException;
+
+    void heartbeat() throws IOException;
+
+    void close();
+}
@@ -0,0 +1,174 @@
+package com.dev.Sweet_Shop_Management_System.stream;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+public class StreamSubscriber {
+
+    private final StreamSink sink;
+    private final int capacity;
+    private final Executor dispatcher;
+    private final Consumer<StreamSubscriber> onClose;
+
+    // Keyed by message key, so a newer change to the same sweet replaces the pending one in place.
+    private final LinkedHashMap<String, StreamMessage> pending = new LinkedHashMap<>();
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private volatile boolean closed;
+    // The dispatcher thread inside a sink write, so a stalled write can be interrupted.
+    private final Object writeLock = new Object();
+    private Thread writer;
+    private long writeStartedNanos;
+    private boolean timedOut;
+    private long dropped;
+    private long coalesced;
+
+    public StreamSubscriber(StreamSink sink, int capacity, Executor dispatcher, Consumer<StreamSubscriber> onClose) {
+        this.sink = sink;
+        this.capacity = capacity;
+        this.dispatcher = dispatcher;
+        this.onClose = onClose;
+    }
+
+    public void offer(StreamMessage message) {
+        if (closed) {
+            return;
+        }
+
+        synchronized (this) {
+            if (pending.put(message.getKey(), message) != null) {
+                coalesced++;
+            }
+            Iterator<StreamMessage> it = pending.values().iterator();
+            while (pending.size() > capacity && it.hasNext()) {
+                it.next();
+                it.remove();
+                dropped++;
+            }
+        }
+
+        if (draining.compareAndSet(false, true)) {
+            dispatcher.execute(this::drain);
+        }
+    }
+
+    // Skipped while a drain holds the sink; its writes keep the connection alive anyway.
+    public void heartbeat() {
+        if (closed || !draining.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            write(sink::heartbeat);
+        } catch (Exception ex) {
+            close();
+            return;
+        }
+        drain();
+    }
+
+    public void close() {
+        if (markClosed()) {
+            closeSink();
+        }
+    }
+
+    // Evicts the subscriber if one write has been blocked for longer than the timeout, e.g. a client that
+    // stopped reading. The sink is closed by the writing thread once the interrupt unblocks it, because
+    // closing an emitter waits for the write in progress.
+    public boolean expireStalledWrite(long nowNanos, long timeoutNanos) {
+        synchronized (writeLock) {
+            if (writer == null || timedOut || nowNanos - writeStartedNanos < timeoutNanos) {
+                return false;
+            }
+            timedOut = true;
+            writer.interrupt();
+        }
+        markClosed();
+        return true;
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    public synchronized int pendingCount() {
+        return pending.size();
+    }
+
+    public synchronized long droppedCount() {
+        return dropped;
+    }
+
+    public synchronized long coalescedCount() {
+        return coalesced;
+    }
+
+    private void drain() {
+        try {
+            while (!closed) {
+                List<StreamMessage> batch;
+                synchronized (this) {
+                    if (pending.isEmpty()) {
+                        draining.set(false);
+                        return;
+                    }
+                    batch = new ArrayList<>(pending.values());
+                    pending.clear();
+                }
+                write(() -> sink.send(batch));
+            }
+        } catch (Exception ex) {
+            close();
+        }
+    }
+
+    private void write(SinkWrite action) throws IOException {
+        synchronized (writeLock) {
+            writer = Thread.currentThread();
+            writeStartedNanos = System.nanoTime();
+        }
+        try {
+            action.run();
+        } finally {
+            boolean expired;
+            synchronized (writeLock) {
+                writer = null;
+                expired = timedOut;
+            }
+            if (expired) {
+                // The interrupt was meant for this write, not for the next task on the pool thread.
+                Thread.interrupted();
+                closeSink();
+            }
+        }
+    }
+
+    private boolean markClosed() {
+        synchronized (this) {
+            if (closed) {
+                return false;
+            }
+            closed = true;
+            pending.clear();
+        }
+        onClose.accept(this);
+        return true;
+    }
+
+    private void closeSink() {
+        try {
+            sink.close();
+        } catch (Exception ignored) {
+            // The connection is already gone.
+        }
+    }
+
+    private interface SinkWrite {
+        void run() throws IOException;
+    }
+}
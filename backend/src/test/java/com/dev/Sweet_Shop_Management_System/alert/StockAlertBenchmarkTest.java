@@ -0,0 +1,102 @@
+package com.dev.Sweet_Shop_Management_System.alert;
+
+import com.dev.Sweet_Shop_Management_System.dto.request.PurchaseRequest;
+import com.dev.Sweet_Shop_Management_System.dto.request.SweetCreateRequest;
+import com.dev.Sweet_Shop_Management_System.dto.response.SweetResponse;
+import com.dev.Sweet_Shop_Management_System.event.SweetChangeType;
+import com.dev.Sweet_Shop_Management_System.event.SweetChangedEvent;
+import com.dev.Sweet_Shop_Management_System.service.SweetService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "sweetshop.alerts.sinks=log"
+})
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class StockAlertBenchmarkTest {
+
+    private static final String CATEGORY = "Alert Benchmark";
+    private static final int PURCHASES = 5_000;
+    private static final int EVENTS = 5_000_000;
+
+    @Autowired
+    private SweetService sweetService;
+
+    @Autowired
+    private StockAlertEngine stockAlertEngine;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanup() {
+        jdbcTemplate.update("delete from sweets where category = ?", CATEGORY);
+    }
+
+    @Test
+    @DisplayName("✅ Benchmark the alert check against the purchase it runs after")
+    void benchmarkAlertCheck() {
+        SweetResponse sweet = sweetService.addSweet(SweetCreateRequest.builder()
+                .name("Bench Alert Ladoo")
+                .category(CATEGORY)
+                .price(5.0)
+                .quantity(PURCHASES * 2)
+                .build());
+
+        long[] purchaseNanos = new long[PURCHASES];
+        for (int i = 0; i < PURCHASES; i++) {
+            long began = System.nanoTime();
+            sweetService.purchaseSweet(sweet.getId(), PurchaseRequest.builder().quantity(1).build());
+            purchaseNanos[i] = System.nanoTime() - began;
+        }
+        Arrays.sort(purchaseNanos);
+        long purchaseMedian = purchaseNanos[PURCHASES / 2];
+
+        // Above threshold, the path nearly every purchase takes.
+        double aboveNanos = perEvent(sweet, 1_000);
+        // At threshold: re-indexed each time and suppressed as a duplicate after the first alert.
+        double belowNanos = perEvent(sweet, 1);
+
+        System.out.printf("[stock-alerts] purchase median %.1f us, p99 %.1f us; alert check %.1f ns above threshold, "
+                        + "%.1f ns below (%.4f%% / %.4f%% of a purchase)%n",
+                purchaseMedian / 1_000.0, purchaseNanos[PURCHASES * 99 / 100] / 1_000.0, aboveNanos, belowNanos,
+                100 * aboveNanos / purchaseMedian, 100 * belowNanos / purchaseMedian);
+        assertThat(aboveNanos).isLessThan(purchaseMedian / 100.0);
+        assertThat(belowNanos).isLessThan(purchaseMedian / 100.0);
+    }
+
+    private double perEvent(SweetResponse sweet, int quantity) {
+        SweetResponse before = copy(sweet, quantity + 1);
+        SweetResponse after = copy(sweet, quantity);
+        SweetChangedEvent event = new SweetChangedEvent(SweetChangeType.PURCHASED, before, after, 0);
+        for (int i = 0; i < EVENTS / 10; i++) {
+            stockAlertEngine.onSweetChanged(event);
+        }
+        long began = System.nanoTime();
+        for (int i = 0; i < EVENTS; i++) {
+            stockAlertEngine.onSweetChanged(event);
+        }
+        return (System.nanoTime() - began) / (double) EVENTS;
+    }
+
+    private static SweetResponse copy(SweetResponse sweet, int quantity) {
+        return SweetResponse.builder()
+                .id(sweet.getId())
+                .name(sweet.getName())
+                .category(sweet.getCategory())
+                .price(sweet.getPrice())
+                .quantity(quantity)
+                .version(sweet.getVersion())
+                .build();
+    }
+}
@@ -0,0 +1,242 @@
+package com.dev.Sweet_Shop_Management_System.alert;
+
+import com.dev.Sweet_Shop_Management_System.dto.request.PurchaseRequest;
+import com.dev.Sweet_Shop_Management_System.dto.request.SweetCreateRequest;
+import com.dev.Sweet_Shop_Management_System.dto.response.LowStockItemResponse;
+import com.dev.Sweet_Shop_Management_System.dto.response.StockAlertMessage;
+import com.dev.Sweet_Shop_Management_System.dto.response.SweetResponse;
+import com.dev.Sweet_Shop_Management_System.event.SweetChangeType;
+import com.dev.Sweet_Shop_Management_System.event.SweetChangedEvent;
+import com.dev.Sweet_Shop_Management_System.service.CatalogTransferService;
+import com.dev.Sweet_Shop_Management_System.service.FileFormat;
+import com.dev.Sweet_Shop_Management_System.service.SweetService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+        "sweetshop.alerts.default-threshold=5",
+        "sweetshop.alerts.sinks=log,capture"
+})
+@Import(StockAlertEngineTest.CaptureConfig.class)
+class StockAlertEngineTest {
+
+    private static final String CATEGORY = "Stock Alerts";
+
+    @Autowired
+    private SweetService sweetService;
+
+    @Autowired
+    private StockAlertEngine stockAlertEngine;
+
+    @Autowired
+    private CapturingAlertSink capturingAlertSink;
+
+    @Autowired
+    private CatalogTransferService catalogTransferService;
+
+    private final List<Long> sweetIds = new ArrayList<>();
+
+    @AfterEach
+    void cleanup() {
+        stockAlertEngine.setCategoryThreshold(CATEGORY, null);
+        sweetIds.forEach(sweetService::deleteSweet);
+        capturingAlertSink.alerts.clear();
+    }
+
+    @Test
+    @DisplayName("✅ Should alert once per crossing and re-arm after a restock")
+    void shouldAlertOnCrossingsOnly() {
+        SweetResponse sweet = add("Alert Ladoo", 10);
+
+        purchase(sweet, 4);
+        purchase(sweet, 2);
+        awaitAlerts(sweet, 1);
+        long suppressed = stockAlertEngine.stats().getDuplicatesSuppressed();
+
+        purchase(sweet, 1);
+        await(() -> stockAlertEngine.stats().getDuplicatesSuppressed() > suppressed);
+        purchase(sweet, 3);
+        awaitAlerts(sweet, 2);
+
+        sweetService.restockSweet(sweet.getId(), 20);
+        await(() -> lowStock().stream().noneMatch(item -> item.getSweetId().equals(sweet.getId())));
+        purchase(sweet, 17);
+        awaitAlerts(sweet, 3);
+
+        assertThat(alertsFor(sweet)).extracting(StockAlertMessage::getLevel).containsExactly("LOW", "OUT", "LOW");
+        assertThat(alertsFor(sweet)).extracting(StockAlertMessage::getQuantity).containsExactly(4, 0, 3);
+    }
+
+    @Test
+    @DisplayName("✅ Should apply category and per-sweet thresholds and list low sweets furthest below first")
+    void shouldRangeReadBelowThreshold() {
+        SweetResponse slightly = add("Alert Barfi", 9);
+        SweetResponse far = add("Alert Peda", 2);
+        SweetResponse healthy = add("Alert Jalebi", 20);
+
+        stockAlertEngine.setCategoryThreshold(CATEGORY, 10);
+
+        assertThat(lowStock()).extracting(LowStockItemResponse::getSweetId)
+                .containsExactly(far.getId(), slightly.getId());
+        awaitAlerts(slightly, 1);
+        awaitAlerts(far, 1);
+
+        assertThat(stockAlertEngine.setSweetThreshold(healthy.getId(), 25).getEffectiveThreshold()).isEqualTo(25);
+        assertThat(stockAlertEngine.setSweetThreshold(far.getId(), 1).getEffectiveThreshold()).isEqualTo(1);
+
+        assertThat(lowStock()).extracting(LowStockItemResponse::getSweetId)
+                .containsExactly(healthy.getId(), slightly.getId());
+        awaitAlerts(healthy, 1);
+        assertThat(alertsFor(far)).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("✅ Should ignore a change that arrives after a newer one for the same sweet")
+    void shouldIgnoreOutOfOrderChanges() {
+        SweetResponse sweet = add("Alert Rasgulla", 20);
+        long version = sweet.getVersion();
+        long stale = stockAlertEngine.stats().getStaleIgnored();
+
+        // A purchase to 3 commits before a restock to 50, but the restock's listener runs first.
+        SweetResponse purchased = withQuantity(sweet, 3, version + 1);
+        SweetResponse restocked = withQuantity(sweet, 50, version + 2);
+        stockAlertEngine.onSweetChanged(new SweetChangedEvent(SweetChangeType.RESTOCKED, purchased, restocked, 0));
+        stockAlertEngine.onSweetChanged(new SweetChangedEvent(SweetChangeType.PURCHASED, sweet, purchased, 0));
+
+        assertThat(lowStock()).extracting(LowStockItemResponse::getSweetId).doesNotContain(sweet.getId());
+        assertThat(alertsFor(sweet)).isEmpty();
+        assertThat(stockAlertEngine.stats().getStaleIgnored()).isEqualTo(stale + 1);
+    }
+
+    @Test
+    @DisplayName("✅ Should track a sweet created again under a deleted id")
+    void shouldTrackRecreatedSweet() {
+        SweetResponse sweet = add("Alert Cham Cham", 20);
+        SweetResponse recreated = withQuantity(sweet, 20, 0);
+
+        // Event replay only: the old row is deleted at version 5, then a new row with the same id starts at 0.
+        stockAlertEngine.onSweetChanged(new SweetChangedEvent(SweetChangeType.DELETED,
+                withQuantity(sweet, 20, 5), null, 0));
+        stockAlertEngine.onSweetChanged(new SweetChangedEvent(SweetChangeType.CREATED, null, recreated, 0));
+        stockAlertEngine.onSweetChanged(new SweetChangedEvent(SweetChangeType.PURCHASED, recreated,
+                withQuantity(sweet, 2, 1), 0));
+
+        assertThat(lowStock()).extracting(LowStockItemResponse::getSweetId).containsExactly(sweet.getId());
+        awaitAlerts(sweet, 1);
+    }
+
+    @Test
+    @DisplayName("✅ Should index and alert for stock lowered by a catalog import")
+    void shouldReloadAfterImport() throws Exception {
+        SweetResponse sweet = add("Alert Kaju Katli", 30);
+
+        catalogTransferService.importCatalog(new ByteArrayInputStream(
+                (sweet.getId() + "," + sweet.getName() + "," + CATEGORY + ",3,2").getBytes(StandardCharsets.UTF_8)),
+                FileFormat.CSV);
+
+        assertThat(lowStock()).extracting(LowStockItemResponse::getSweetId).containsExactly(sweet.getId());
+        awaitAlerts(sweet, 1);
+        assertThat(alertsFor(sweet)).extracting(StockAlertMessage::getQuantity).containsExactly(2);
+    }
+
+    @Test
+    @DisplayName("❌ Should reject a low-stock limit out of range")
+    void shouldRejectBadLimit() {
+        assertThatThrownBy(() -> stockAlertEngine.lowStock(0)).isInstanceOf(ResponseStatusException.class);
+    }
+
+    private SweetResponse add(String name, int quantity) {
+        SweetResponse sweet = sweetService.addSweet(SweetCreateRequest.builder()
+                .name(name)
+                .category(CATEGORY)
+                .price(3.0)
+                .quantity(quantity)
+                .build());
+        sweetIds.add(sweet.getId());
+        return sweet;
+    }
+
+    private static SweetResponse withQuantity(SweetResponse sweet, int quantity, long version) {
+        return SweetResponse.builder()
+                .id(sweet.getId())
+                .name(sweet.getName())
+                .category(sweet.getCategory())
+                .price(sweet.getPrice())
+                .quantity(quantity)
+                .version(version)
+                .build();
+    }
+
+    private void purchase(SweetResponse sweet, int quantity) {
+        sweetService.purchaseSweet(sweet.getId(), PurchaseRequest.builder().quantity(quantity).build());
+    }
+
+    private List<LowStockItemResponse> lowStock() {
+        return stockAlertEngine.lowStock(1000).stream()
+                .filter(item -> CATEGORY.equals(item.getCategory()))
+                .toList();
+    }
+
+    private List<StockAlertMessage> alertsFor(SweetResponse sweet) {
+        return capturingAlertSink.alerts.stream()
+                .filter(alert -> alert.getSweetId().equals(sweet.getId()))
+                .toList();
+    }
+
+    private void awaitAlerts(SweetResponse sweet, int count) {
+        await(() -> alertsFor(sweet).size() >= count);
+        assertThat(alertsFor(sweet)).hasSize(count);
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).as("condition within 5s").isLessThan(deadline);
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(ex);
+            }
+        }
+    }
+
+    static class CapturingAlertSink implements AlertSink {
+        private final List<StockAlertMessage> alerts = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String name() {
+            return "capture";
+        }
+
+        @Override
+        public void send(StockAlertMessage alert) {
+            alerts.add(alert);
+        }
+    }
+
+    @TestConfiguration
+    static class CaptureConfig {
+        @Bean
+        CapturingAlertSink capturingAlertSink() {
+            return new CapturingAlertSink();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.dev.Sweet_Shop_Management_System.cache;
+
+import com.dev.Sweet_Shop_Management_System.repository.SweetRepository;
+import com.dev.Sweet_Shop_Management_System.repository.SweetStockShardRepository;
+import com.dev.Sweet_Shop_Management_System.repository.SweetTombstoneRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CatalogVersionTest {
+
+    private CatalogVersion catalogVersion;
+
+    @BeforeEach
+    void setup() {
+        SweetRepository sweetRepository = mock(SweetRepository.class);
+        SweetTombstoneRepository tombstoneRepository = mock(SweetTombstoneRepository.class);
+        SweetStockShardRepository stockShardRepository = mock(SweetStockShardRepository.class);
+        when(sweetRepository.findMaxChangeVersion()).thenReturn(0L);
+        when(tombstoneRepository.findMaxChangeVersion()).thenReturn(0L);
+        when(stockShardRepository.findMaxChangeVersion()).thenReturn(0L);
+
+        catalogVersion = new CatalogVersion(sweetRepository, tombstoneRepository, stockShardRepository);
+        catalogVersion.seed();
+    }
+
+    @AfterEach
+    void cleanup() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("✅ Should hand out strictly increasing versions")
+    void shouldAllocateIncreasingVersions() {
+        long first = catalogVersion.allocate();
+        long second = catalogVersion.allocate();
+
+        assertThat(second).isGreaterThan(first);
+        assertThat(catalogVersion.stable()).isEqualTo(second);
+    }
+
+    @Test
+    @DisplayName("✅ Should hold the stable version back until in-flight changes complete")
+    void shouldHoldStableVersionForInFlightChanges() {
+        long committedBefore = catalogVersion.allocate();
+
+        TransactionSynchronizationManager.initSynchronization();
+        long inFlight = catalogVersion.allocate();
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+
+        long committedAfter = catalogVersion.allocate();
+
+        assertThat(catalogVersion.stable()).isEqualTo(inFlight - 1).isGreaterThanOrEqualTo(committedBefore);
+        String etagWhileInFlight = catalogVersion.etag();
+
+        synchronizations.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        assertThat(catalogVersion.stable()).isEqualTo(committedAfter);
+        assertThat(CatalogVersion.matches(etagWhileInFlight, catalogVersion.etag())).isFalse();
+    }
+}
@@ -0,0 +1,162 @@
+package com.dev.Sweet_Shop_Management_System.cache;
+
+import com.dev.Sweet_Shop_Management_System.dto.response.SweetResponse;
+import com.dev.Sweet_Shop_Management_System.event.SweetChangeType;
+import com.dev.Sweet_Shop_Management_System.event.SweetChangedEvent;
+import com.dev.Sweet_Shop_Management_System.service.SweetSearchCriteria;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SweetCatalogCacheTest {
+
+    private SweetCatalogCache cache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setup() {
+        cache = new SweetCatalogCache(100, Duration.ofMinutes(5));
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    @DisplayName("✅ Should serve repeated lookups from the cache")
+    void shouldServeHits() {
+        var key = CatalogQueryKey.list(SweetSearchCriteria.ALL);
+
+        cache.getQuery(key, this::load);
+        cache.getQuery(key, this::load);
+
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(cache.stats().getHits()).isEqualTo(1);
+        assertThat(cache.stats().getMisses()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("✅ Should only invalidate queries the changed sweet can affect")
+    void shouldInvalidatePrecisely() {
+        var chocolates = CatalogQueryKey.list(SweetSearchCriteria.of(null, "chocolate", null, null));
+        var cheap = CatalogQueryKey.list(SweetSearchCriteria.of(null, null, null, 10.0));
+        var all = CatalogQueryKey.list(SweetSearchCriteria.ALL);
+        cache.getQuery(chocolates, this::load);
+        cache.getQuery(cheap, this::load);
+        cache.getQuery(all, this::load);
+        cache.getSweet(7L, () -> sweet(7L, "Barfi", "Indian", 25.0, 5));
+
+        var before = sweet(7L, "Barfi", "Indian", 25.0, 5);
+        var after = sweet(7L, "Barfi", "Indian", 25.0, 4);
+        cache.invalidate(new SweetChangedEvent(SweetChangeType.PURCHASED, before, after, 1L));
+
+        loads.set(0);
+        cache.getQuery(chocolates, this::load);
+        cache.getQuery(cheap, this::load);
+        assertThat(loads.get()).isZero();
+
+        cache.getQuery(all, this::load);
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(cache.stats().getInvalidations()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("✅ Should invalidate a query the sweet moves into")
+    void shouldInvalidateWhenSweetMovesIntoQuery() {
+        var cheap = CatalogQueryKey.list(SweetSearchCriteria.of(null, null, null, 10.0));
+        cache.getQuery(cheap, this::load);
+
+        var before = sweet(3L, "Peda", "Indian", 20.0, 5);
+        var after = sweet(3L, "Peda", "Indian", 8.0, 5);
+        cache.invalidate(new SweetChangedEvent(SweetChangeType.UPDATED, before, after, 2L));
+
+        loads.set(0);
+        cache.getQuery(cheap, this::load);
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("✅ Should not store a value loaded across an invalidation")
+    void shouldNotStoreStaleLoad() {
+        var key = CatalogQueryKey.list(SweetSearchCriteria.ALL);
+        var change = new SweetChangedEvent(SweetChangeType.CREATED, null, sweet(1L, "Ladoo", "Indian", 5.0, 1), 3L);
+
+        cache.getQuery(key, () -> {
+            cache.invalidate(change);
+            return load();
+        });
+        cache.getQuery(key, this::load);
+
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("✅ Should load only uncached sweets for a multi-get, in one call")
+    void shouldLoadOnlyMissingSweetsInOneCall() {
+        cache.getSweet(1L, () -> sweet(1L, "Ladoo", "Indian", 5.0, 1));
+        List<Set<Long>> calls = new ArrayList<>();
+
+        Map<Long, SweetResponse> found = cache.getSweets(List.of(1L, 2L, 3L), ids -> {
+            calls.add(Set.copyOf(ids));
+            return List.of(sweet(2L, "Peda", "Indian", 8.0, 2));
+        });
+
+        assertThat(calls).containsExactly(Set.of(2L, 3L));
+        assertThat(found).containsOnlyKeys(1L, 2L);
+
+        cache.getSweets(List.of(1L, 2L), ids -> {
+            calls.add(Set.copyOf(ids));
+            return List.of();
+        });
+        assertThat(calls).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("✅ Should evict least recently used entries beyond the size limit")
+    void shouldEvictBeyondMaxEntries() {
+        var small = new SweetCatalogCache(2, Duration.ofMinutes(5));
+
+        small.getSweet(1L, () -> sweet(1L, "A", "X", 1.0, 1));
+        small.getSweet(2L, () -> sweet(2L, "B", "X", 1.0, 1));
+        small.getSweet(1L, () -> sweet(1L, "A", "X", 1.0, 1));
+        small.getSweet(3L, () -> sweet(3L, "C", "X", 1.0, 1));
+
+        assertThat(small.stats().getSize()).isEqualTo(2);
+        assertThat(small.stats().getEvictions()).isEqualTo(1);
+        small.getSweet(1L, () -> sweet(1L, "A", "X", 1.0, 1));
+        assertThat(small.stats().getHits()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("✅ Should expire entries after the TTL")
+    void shouldExpireAfterTtl() {
+        var shortLived = new SweetCatalogCache(10, Duration.ZERO);
+
+        shortLived.getSweet(1L, () -> sweet(1L, "A", "X", 1.0, 1));
+        shortLived.getSweet(1L, () -> sweet(1L, "A", "X", 1.0, 1));
+
+        assertThat(shortLived.stats().getExpirations()).isEqualTo(1);
+        assertThat(shortLived.stats().getHits()).isZero();
+    }
+
+    private List<SweetResponse> load() {
+        loads.incrementAndGet();
+        return List.of();
+    }
+
+    private static SweetResponse sweet(Long id, String name, String category, double price, int quantity) {
+        return SweetResponse.builder()
+                .id(id)
+                .name(name)
+                .category(category)
+                .price(price)
+                .quantity(quantity)
+                .build();
+    }
+}
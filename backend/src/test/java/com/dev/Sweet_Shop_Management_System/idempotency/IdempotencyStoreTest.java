@@ -0,0 +1,286 @@
+package com.dev.Sweet_Shop_Management_System.idempotency;
+
+import com.dev.Sweet_Shop_Management_System.dto.request.BatchPurchaseRequest;
+import com.dev.Sweet_Shop_Management_System.dto.request.PurchaseLineRequest;
+import com.dev.Sweet_Shop_Management_System.dto.response.SweetResponse;
+import com.dev.Sweet_Shop_Management_System.entity.IdempotencyRecord;
+import com.dev.Sweet_Shop_Management_System.repository.IdempotencyRecordRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.security.Principal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class IdempotencyStoreTest {
+
+    private static final Principal USER = () -> "handheld";
+
+    private IdempotencyRecordRepository recordRepository;
+    private IdempotencyStore store;
+
+    @BeforeEach
+    void setup() {
+        recordRepository = mock(IdempotencyRecordRepository.class);
+        store = newStore(100);
+    }
+
+    @Test
+    @DisplayName("✅ Should run concurrent duplicates once and hand every caller the same response")
+    void shouldRunConcurrentDuplicatesOnce() throws Exception {
+        AtomicInteger runs = new AtomicInteger();
+        int callers = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<ResponseEntity<SweetResponse>>> futures = new ArrayList<>();
+
+        for (int i = 0; i < callers; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                return store.execute("retry-1", USER, "purchase:1", 2, SweetResponse.class, () -> {
+                    runs.incrementAndGet();
+                    sleep(50);
+                    return ResponseEntity.ok(sweet(8));
+                });
+            }));
+        }
+        start.countDown();
+
+        int replayed = 0;
+        for (Future<ResponseEntity<SweetResponse>> future : futures) {
+            ResponseEntity<SweetResponse> response = future.get(10, TimeUnit.SECONDS);
+            assertThat(response.getBody().getQuantity()).isEqualTo(8);
+            if (response.getHeaders().containsKey(IdempotencyStore.REPLAYED_HEADER)) {
+                replayed++;
+            }
+        }
+        executor.shutdown();
+
+        assertThat(runs.get()).isEqualTo(1);
+        assertThat(replayed).isEqualTo(callers - 1);
+        assertThat(store.stats().getExecutions()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("✅ Should not read the table for new keys when nothing has been evicted")
+    void shouldSkipTableOnCommonPath() {
+        for (int i = 0; i < 50; i++) {
+            store.execute("key-" + i, USER, "purchase:1", 1, SweetResponse.class, () -> ResponseEntity.ok(sweet(1)));
+        }
+
+        verify(recordRepository, never()).findById(anyString());
+        assertThat(store.stats().getFallbackLookups()).isZero();
+    }
+
+    @Test
+    @DisplayName("✅ Should answer an evicted key from the table")
+    void shouldFallBackToTableAfterEviction() throws Exception {
+        IdempotencyStore small = newStore(1);
+        small.execute("first", USER, "purchase:1", 1, SweetResponse.class, () -> ResponseEntity.ok(sweet(4)));
+        small.execute("second", USER, "purchase:1", 1, SweetResponse.class, () -> ResponseEntity.ok(sweet(3)));
+        small.writePending();
+
+        String first = "handheld:first";
+        when(recordRepository.findById(first)).thenReturn(Optional.of(IdempotencyRecord.builder()
+                .key(first)
+                .fingerprint(small.fingerprint("purchase:1", 1))
+                .status(200)
+                .body(new ObjectMapper().writeValueAsString(sweet(4)))
+                .expiresAt(Instant.now().plusSeconds(60))
+                .build()));
+
+        ResponseEntity<SweetResponse> replayed = small.execute("first", USER, "purchase:1", 1, SweetResponse.class, () -> {
+            throw new AssertionError("Should not run again");
+        });
+
+        assertThat(replayed.getBody().getQuantity()).isEqualTo(4);
+        assertThat(replayed.getHeaders().getFirst(IdempotencyStore.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(small.stats().getEvictions()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("✅ Should only read the table for keys that were evicted while live")
+    void shouldSkipTableForKeysNeverEvicted() {
+        IdempotencyStore small = newStore(1);
+        for (int i = 0; i < 50; i++) {
+            small.execute("key-" + i, USER, "purchase:1", 1, SweetResponse.class, () -> ResponseEntity.ok(sweet(1)));
+            small.writePending();
+        }
+        assertThat(small.stats().getEvictions()).isEqualTo(49);
+        verify(recordRepository, never()).findById(anyString());
+
+        small.execute("key-0", USER, "purchase:1", 1, SweetResponse.class, () -> ResponseEntity.ok(sweet(1)));
+
+        verify(recordRepository).findById("handheld:key-0");
+        assertThat(small.stats().getFallbackLookups()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("✅ Should replay a client error instead of running again")
+    void shouldReplayClientErrors() {
+        AtomicInteger runs = new AtomicInteger();
+        for (int attempt = 0; attempt < 2; attempt++) {
+            assertThatThrownBy(() -> store.execute("short", USER, "purchase:1", 9, SweetResponse.class, () -> {
+                runs.incrementAndGet();
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Insufficient stock available");
+            }))
+                    .isInstanceOfSatisfying(ResponseStatusException.class,
+                            ex -> assertThat(ex.getReason()).isEqualTo("Insufficient stock available"));
+        }
+
+        assertThat(runs.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("✅ Should run again after a failure that produced no answer")
+    void shouldRetryAfterServerFailure() {
+        AtomicInteger runs = new AtomicInteger();
+        assertThatThrownBy(() -> store.execute("flaky", USER, "restock:1", 5, SweetResponse.class, () -> {
+            runs.incrementAndGet();
+            throw new IllegalStateException("connection reset");
+        })).isInstanceOf(IllegalStateException.class);
+
+        ResponseEntity<SweetResponse> response = store.execute("flaky", USER, "restock:1", 5, SweetResponse.class, () -> {
+            runs.incrementAndGet();
+            return ResponseEntity.ok(sweet(15));
+        });
+
+        assertThat(response.getBody().getQuantity()).isEqualTo(15);
+        assertThat(runs.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("❌ Should reject a key reused for a different request")
+    void shouldRejectDifferentRequest() {
+        store.execute("reused", USER, "purchase:1", 1, SweetResponse.class, () -> ResponseEntity.ok(sweet(1)));
+
+        assertThatThrownBy(() -> store.execute("reused", USER, "purchase:1", 2, SweetResponse.class,
+                () -> ResponseEntity.ok(sweet(0))))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        ex -> assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY));
+    }
+
+    @Test
+    @DisplayName("❌ Should reject a key reused for a different cart whose hash codes collide")
+    void shouldRejectDifferentCartWithSameHashCode() {
+        BatchPurchaseRequest first = new BatchPurchaseRequest(List.of(new PurchaseLineRequest(1L, 60)));
+        BatchPurchaseRequest second = new BatchPurchaseRequest(List.of(new PurchaseLineRequest(2L, 1)));
+        assertThat(first.hashCode()).isEqualTo(second.hashCode());
+
+        store.execute("cart", USER, "purchase-batch", first, SweetResponse.class, () -> ResponseEntity.ok(sweet(1)));
+
+        assertThatThrownBy(() -> store.execute("cart", USER, "purchase-batch", second, SweetResponse.class,
+                () -> ResponseEntity.ok(sweet(0))))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        ex -> assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY));
+    }
+
+    @Test
+    @DisplayName("✅ Should write completed responses to the table in the background")
+    void shouldWritePendingRecords() {
+        store.execute("persisted", USER, "purchase:1", 1, SweetResponse.class, () -> ResponseEntity.ok(sweet(1)));
+        assertThat(store.stats().getPendingWrites()).isEqualTo(1);
+
+        store.writePending();
+
+        verify(recordRepository).saveAll(any());
+        assertThat(store.stats().getPendingWrites()).isZero();
+    }
+
+    @Test
+    @DisplayName("✅ Should drain every queued record in one run, not just one batch")
+    void shouldDrainAllPendingRecords() {
+        IdempotencyStore batched = newStore(100, 2, 100);
+        for (int i = 0; i < 5; i++) {
+            batched.execute("drain-" + i, USER, "purchase:1", 1, SweetResponse.class, () -> ResponseEntity.ok(sweet(1)));
+        }
+
+        batched.writePending();
+
+        verify(recordRepository, times(3)).saveAll(any());
+        assertThat(batched.stats().getPendingWrites()).isZero();
+    }
+
+    @Test
+    @DisplayName("✅ Should keep an entry over capacity until its record is written")
+    void shouldNotEvictUnwrittenEntries() {
+        IdempotencyStore small = newStore(1);
+        small.execute("first", USER, "purchase:1", 1, SweetResponse.class, () -> ResponseEntity.ok(sweet(4)));
+        small.execute("second", USER, "purchase:1", 1, SweetResponse.class, () -> ResponseEntity.ok(sweet(3)));
+        assertThat(small.stats().getEvictions()).isZero();
+
+        ResponseEntity<SweetResponse> replayed = small.execute("first", USER, "purchase:1", 1, SweetResponse.class, () -> {
+            throw new AssertionError("Should not run again");
+        });
+        assertThat(replayed.getBody().getQuantity()).isEqualTo(4);
+        verify(recordRepository, never()).findById(anyString());
+
+        small.writePending();
+
+        assertThat(small.stats().getEvictions()).isEqualTo(1);
+        assertThat(small.stats().getSize()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("✅ Should write the record on the request when the write queue is full")
+    void shouldWriteDirectlyWhenQueueFull() {
+        IdempotencyStore bounded = newStore(100, 500, 2);
+        for (int i = 0; i < 3; i++) {
+            bounded.execute("full-" + i, USER, "purchase:1", 1, SweetResponse.class, () -> ResponseEntity.ok(sweet(1)));
+        }
+
+        verify(recordRepository).saveAll(any());
+        assertThat(bounded.stats().getPendingWrites()).isEqualTo(2);
+    }
+
+    private IdempotencyStore newStore(int maxEntries) {
+        return newStore(maxEntries, 500, 10000);
+    }
+
+    private IdempotencyStore newStore(int maxEntries, int writeBatchSize, int writeQueueCapacity) {
+        return new IdempotencyStore(recordRepository, new ObjectMapper(), true, Duration.ofMinutes(5), maxEntries,
+                writeBatchSize, writeQueueCapacity);
+    }
+
+    private static SweetResponse sweet(int quantity) {
+        return SweetResponse.builder()
+                .id(1L)
+                .name("Kaju Katli")
+                .category("Barfi")
+                .price(12.0)
+                .quantity(quantity)
+                .build();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
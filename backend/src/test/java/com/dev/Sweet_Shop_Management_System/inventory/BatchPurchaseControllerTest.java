@@ -0,0 +1,154 @@
+package com.dev.Sweet_Shop_Management_System.inventory;
+
+import com.dev.Sweet_Shop_Management_System.dto.request.BatchPurchaseRequest;
+import com.dev.Sweet_Shop_Management_System.dto.request.LoginRequest;
+import com.dev.Sweet_Shop_Management_System.dto.request.PurchaseLineRequest;
+import com.dev.Sweet_Shop_Management_System.dto.request.RegisterRequest;
+import com.dev.Sweet_Shop_Management_System.dto.request.SweetCreateRequest;
+import com.dev.Sweet_Shop_Management_System.entity.Role;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class BatchPurchaseControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private String userToken;
+    private long rasgullaId;
+    private long jalebiId;
+
+    @BeforeEach
+    void setup() throws Exception {
+        var register = RegisterRequest.builder()
+                .username("cartUser")
+                .email("cart@example.com")
+                .password("password123")
+                .role(Role.USER)
+                .build();
+        mockMvc.perform(post("/api/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(register)))
+                .andExpect(status().isCreated());
+
+        var login = LoginRequest.builder()
+                .usernameOrEmail("cartUser")
+                .password("password123")
+                .build();
+        var loginResponse = mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(login)))
+                .andReturn();
+        userToken = objectMapper.readTree(loginResponse.getResponse().getContentAsString()).get("token").asText();
+
+        rasgullaId = createSweet("Rasgulla", 5);
+        jalebiId = createSweet("Jalebi", 3);
+    }
+
+    @Test
+    @DisplayName("✅ Should purchase every line of the cart in one call")
+    void shouldPurchaseWholeCart() throws Exception {
+        var cart = cart(line(jalebiId, 1), line(rasgullaId, 2), line(jalebiId, 1));
+
+        mockMvc.perform(post("/api/sweets/purchase/batch")
+                        .header("Authorization", "Bearer " + userToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(cart)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.completed").value(true))
+                .andExpect(jsonPath("$.lines[0].sweetId").value(rasgullaId))
+                .andExpect(jsonPath("$.lines[0].status").value("PURCHASED"))
+                .andExpect(jsonPath("$.lines[0].sweet.quantity").value(3))
+                .andExpect(jsonPath("$.lines[1].sweetId").value(jalebiId))
+                .andExpect(jsonPath("$.lines[1].requested").value(2))
+                .andExpect(jsonPath("$.lines[1].sweet.quantity").value(1));
+    }
+
+    @Test
+    @DisplayName("❌ Should purchase nothing when one line lacks stock")
+    void shouldRejectWholeCartOnInsufficientStock() throws Exception {
+        var cart = cart(line(rasgullaId, 2), line(jalebiId, 4));
+
+        mockMvc.perform(post("/api/sweets/purchase/batch")
+                        .header("Authorization", "Bearer " + userToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(cart)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.completed").value(false))
+                .andExpect(jsonPath("$.lines[0].status").value("NOT_APPLIED"))
+                .andExpect(jsonPath("$.lines[1].status").value("INSUFFICIENT_STOCK"))
+                .andExpect(jsonPath("$.lines[1].available").value(3));
+
+        mockMvc.perform(get("/api/sweets/" + rasgullaId)
+                        .header("Authorization", "Bearer " + userToken))
+                .andExpect(jsonPath("$.quantity").value(5));
+    }
+
+    @Test
+    @DisplayName("❌ Should report sweets that do not exist")
+    void shouldReportMissingSweets() throws Exception {
+        var cart = cart(line(rasgullaId, 1), line(jalebiId + 1000, 1));
+
+        mockMvc.perform(post("/api/sweets/purchase/batch")
+                        .header("Authorization", "Bearer " + userToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(cart)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.completed").value(false))
+                .andExpect(jsonPath("$.lines[1].status").value("NOT_FOUND"));
+    }
+
+    @Test
+    @DisplayName("❌ Should reject an empty cart")
+    void shouldRejectEmptyCart() throws Exception {
+        mockMvc.perform(post("/api/sweets/purchase/batch")
+                        .header("Authorization", "Bearer " + userToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(cart())))
+                .andExpect(status().isBadRequest());
+    }
+
+    private long createSweet(String name, int quantity) throws Exception {
+        var sweet = SweetCreateRequest.builder()
+                .name(name)
+                .category("Cart")
+                .price(10.0)
+                .quantity(quantity)
+                .build();
+        var response = mockMvc.perform(post("/api/sweets")
+                        .header("Authorization", "Bearer " + userToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(sweet)))
+                .andExpect(status().isCreated())
+                .andReturn();
+        return objectMapper.readTree(response.getResponse().getContentAsString()).get("id").asLong();
+    }
+
+    private static BatchPurchaseRequest cart(PurchaseLineRequest... lines) {
+        return BatchPurchaseRequest.builder().items(List.of(lines)).build();
+    }
+
+    private static PurchaseLineRequest line(long id, int quantity) {
+        return PurchaseLineRequest.builder().id(id).quantity(quantity).build();
+    }
+}
@@ -17,6 +17,9 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -113,6 +116,48 @@ class SweetPurchaseControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    @DisplayName("✅ Should replay a retried purchase with the same Idempotency-Key without buying twice")
+    void shouldReplayRetriedPurchase() throws Exception {
+        var purchase = PurchaseRequest.builder().quantity(2).build();
+        String key = UUID.randomUUID().toString();
+
+        for (int attempt = 0; attempt < 2; attempt++) {
+            mockMvc.perform(post("/api/sweets/" + sweetId + "/purchase")
+                            .header("Authorization", "Bearer " + userToken)
+                            .header("Idempotency-Key", key)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(purchase)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.quantity").value(3));
+        }
+
+        mockMvc.perform(get("/api/sweets/" + sweetId)
+                        .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.quantity").value(3));
+    }
+
+    @Test
+    @DisplayName("❌ Should reject an Idempotency-Key reused for a different purchase")
+    void shouldRejectReusedIdempotencyKey() throws Exception {
+        String key = UUID.randomUUID().toString();
+
+        mockMvc.perform(post("/api/sweets/" + sweetId + "/purchase")
+                        .header("Authorization", "Bearer " + userToken)
+                        .header("Idempotency-Key", key)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(PurchaseRequest.builder().quantity(1).build())))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(post("/api/sweets/" + sweetId + "/purchase")
+                        .header("Authorization", "Bearer " + userToken)
+                        .header("Idempotency-Key", key)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(PurchaseRequest.builder().quantity(2).build())))
+                .andExpect(status().isUnprocessableEntity());
+    }
+
     @Test
     @DisplayName("❌ Should fail when not authenticated")
     void shouldFailWithoutAuth() throws Exception {
@@ -0,0 +1,209 @@
+package com.dev.Sweet_Shop_Management_System.inventory;
+
+import com.dev.Sweet_Shop_Management_System.concurrency.PurchaseCoalescer;
+import com.dev.Sweet_Shop_Management_System.dto.request.PurchaseRequest;
+import com.dev.Sweet_Shop_Management_System.dto.response.PurchaseCoalescingStatsResponse;
+import com.dev.Sweet_Shop_Management_System.dto.response.SweetResponse;
+import com.dev.Sweet_Shop_Management_System.entity.Sweet;
+import com.dev.Sweet_Shop_Management_System.repository.SweetRepository;
+import com.dev.Sweet_Shop_Management_System.service.SweetService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = "sweetshop.coalescing.enabled=true")
+class PurchaseCoalescingTest {
+
+    private static final int THREADS = 32;
+    private static final int PURCHASES = 2000;
+    private static final int INITIAL_STOCK = 1500;
+
+    @Autowired
+    private SweetService sweetService;
+
+    @Autowired
+    private SweetRepository sweetRepository;
+
+    @Autowired
+    private PurchaseCoalescer purchaseCoalescer;
+
+    private final List<Long> createdIds = new ArrayList<>();
+
+    @AfterEach
+    void cleanup() {
+        createdIds.forEach(sweetRepository::deleteById);
+        createdIds.clear();
+    }
+
+    @Test
+    @DisplayName("✅ Should hand out hot-SKU stock first come first served with fewer row updates than purchases")
+    void shouldCoalesceHotSkuPurchases() throws Exception {
+        Sweet sweet = createSweet(sweetRepository, createdIds, INITIAL_STOCK);
+        PurchaseCoalescingStatsResponse statsBefore = purchaseCoalescer.stats();
+        Set<Integer> quantitiesSeen = ConcurrentHashMap.newKeySet();
+        AtomicInteger rejected = new AtomicInteger();
+
+        runConcurrently(PURCHASES, () -> {
+            try {
+                SweetResponse response = sweetService.purchaseSweet(sweet.getId(),
+                        PurchaseRequest.builder().quantity(1).build());
+                quantitiesSeen.add(response.getQuantity());
+            } catch (ResponseStatusException ex) {
+                assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+                rejected.incrementAndGet();
+            }
+        });
+
+        Sweet after = sweetRepository.findById(sweet.getId()).orElseThrow();
+        PurchaseCoalescingStatsResponse stats = purchaseCoalescer.stats();
+
+        // Every buyer saw a distinct stock level, so no unit was handed out twice.
+        assertThat(quantitiesSeen).isEqualTo(IntStream.range(0, INITIAL_STOCK).boxed().collect(Collectors.toSet()));
+        assertThat(rejected.get()).isEqualTo(PURCHASES - INITIAL_STOCK);
+        assertThat(after.getQuantity()).isZero();
+        assertThat(after.getVersion() - sweet.getVersion()).isLessThan(INITIAL_STOCK);
+        assertThat(stats.getRequests() - statsBefore.getRequests()).isEqualTo(PURCHASES);
+        assertThat(stats.getBatches() - statsBefore.getBatches()).isLessThan(PURCHASES);
+    }
+
+    @Test
+    @DisplayName("❌ Should report a missing sweet to every coalesced caller")
+    void shouldRejectMissingSweet() {
+        assertThatThrownBy(() -> sweetService.purchaseSweet(Long.MAX_VALUE,
+                PurchaseRequest.builder().quantity(1).build()))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        ex -> assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND));
+    }
+
+    @Test
+    @DisplayName("❌ Should reject non-positive quantities before joining a batch")
+    void shouldRejectInvalidQuantity() {
+        Sweet sweet = createSweet(sweetRepository, createdIds, 10);
+
+        assertThatThrownBy(() -> sweetService.purchaseSweet(sweet.getId(),
+                PurchaseRequest.builder().quantity(0).build()))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        ex -> assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+    }
+
+    @Nested
+    @EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+    @TestPropertySource(properties = "sweetshop.coalescing.enabled=false")
+    class DirectBenchmark {
+
+        @Autowired
+        private SweetService sweetService;
+
+        @Autowired
+        private SweetRepository sweetRepository;
+
+        @Test
+        @DisplayName("✅ Benchmark hot-SKU purchases with one row update per request")
+        void benchmarkDirect() throws Exception {
+            benchmarkHotSku("direct", sweetService, sweetRepository, createdIds);
+        }
+    }
+
+    @Nested
+    @EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+    class CoalescedBenchmark {
+
+        @Autowired
+        private SweetService sweetService;
+
+        @Autowired
+        private SweetRepository sweetRepository;
+
+        @Test
+        @DisplayName("✅ Benchmark hot-SKU purchases with group commit")
+        void benchmarkCoalesced() throws Exception {
+            benchmarkHotSku("coalesced", sweetService, sweetRepository, createdIds);
+        }
+    }
+
+    private static void benchmarkHotSku(String label, SweetService sweetService, SweetRepository sweetRepository,
+                                        List<Long> createdIds) throws Exception {
+        int purchases = 5000;
+        Sweet sweet = createSweet(sweetRepository, createdIds, purchases);
+        long[] latencies = new long[purchases];
+        AtomicInteger next = new AtomicInteger();
+
+        long elapsed = runConcurrently(purchases, () -> {
+            long began = System.nanoTime();
+            sweetService.purchaseSweet(sweet.getId(), PurchaseRequest.builder().quantity(1).build());
+            latencies[next.getAndIncrement()] = System.nanoTime() - began;
+        });
+
+        Arrays.sort(latencies);
+        long rowUpdates = sweetRepository.findById(sweet.getId()).orElseThrow().getVersion() - sweet.getVersion();
+        System.out.printf("[coalescing:%s] %d purchases on %d threads in %d ms, %d row updates, p50 %.2f ms, p99 %.2f ms%n",
+                label, purchases, THREADS, TimeUnit.NANOSECONDS.toMillis(elapsed), rowUpdates,
+                latencies[purchases / 2] / 1_000_000.0, latencies[purchases * 99 / 100] / 1_000_000.0);
+
+        assertThat(sweetRepository.findById(sweet.getId()).orElseThrow().getQuantity()).isZero();
+    }
+
+    private static Sweet createSweet(SweetRepository sweetRepository, List<Long> createdIds, int quantity) {
+        Sweet sweet = sweetRepository.save(Sweet.builder()
+                .name("Promo Jalebi")
+                .category("Stress Test")
+                .price(4.0)
+                .quantity(quantity)
+                .build());
+        createdIds.add(sweet.getId());
+        return sweet;
+    }
+
+    private static long runConcurrently(int operations, Operation operation) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>(operations);
+
+        for (int i = 0; i < operations; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                operation.run();
+                return null;
+            }));
+        }
+
+        long began = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        long elapsed = System.nanoTime() - began;
+
+        executor.shutdown();
+        return elapsed;
+    }
+
+    @FunctionalInterface
+    private interface Operation {
+        void run() throws Exception;
+    }
+}
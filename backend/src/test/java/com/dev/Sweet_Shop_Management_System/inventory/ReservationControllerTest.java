@@ -0,0 +1,194 @@
+package com.dev.Sweet_Shop_Management_System.inventory;
+
+import com.dev.Sweet_Shop_Management_System.dto.request.LoginRequest;
+import com.dev.Sweet_Shop_Management_System.dto.request.PurchaseRequest;
+import com.dev.Sweet_Shop_Management_System.dto.request.RegisterRequest;
+import com.dev.Sweet_Shop_Management_System.dto.request.ReservationRequest;
+import com.dev.Sweet_Shop_Management_System.dto.request.SweetCreateRequest;
+import com.dev.Sweet_Shop_Management_System.entity.Role;
+import com.dev.Sweet_Shop_Management_System.service.ReservationService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class ReservationControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    private String userToken;
+    private String otherToken;
+    private Long sweetId;
+
+    @BeforeEach
+    void setup() throws Exception {
+        userToken = registerAndLogin("holdUser", "hold@example.com");
+        otherToken = registerAndLogin("otherHoldUser", "otherhold@example.com");
+
+        var sweetRequest = SweetCreateRequest.builder()
+                .name("Kaju Katli")
+                .category("Indian Sweet")
+                .price(20.0)
+                .quantity(5)
+                .build();
+        var sweetResponse = mockMvc.perform(post("/api/sweets")
+                        .header("Authorization", "Bearer " + userToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(sweetRequest)))
+                .andExpect(status().isCreated())
+                .andReturn();
+        sweetId = objectMapper.readTree(sweetResponse.getResponse().getContentAsString()).get("id").asLong();
+    }
+
+    @Test
+    @DisplayName("✅ Should hold stock so it cannot be bought by others")
+    void shouldHoldStock() throws Exception {
+        reserve(userToken, 3, 60);
+
+        mockMvc.perform(get("/api/sweets/" + sweetId + "/availability")
+                        .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.quantity").value(5))
+                .andExpect(jsonPath("$.reserved").value(3))
+                .andExpect(jsonPath("$.available").value(2));
+
+        mockMvc.perform(post("/api/sweets/" + sweetId + "/purchase")
+                        .header("Authorization", "Bearer " + otherToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(PurchaseRequest.builder().quantity(3).build())))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("❌ Should not hold more than is available")
+    void shouldRejectOverReservation() throws Exception {
+        reserve(userToken, 4, 60);
+
+        mockMvc.perform(post("/api/sweets/" + sweetId + "/reservations")
+                        .header("Authorization", "Bearer " + otherToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(ReservationRequest.builder().quantity(2).build())))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Insufficient stock available"));
+    }
+
+    @Test
+    @DisplayName("✅ Should turn a confirmed hold into a purchase")
+    void shouldConfirmReservation() throws Exception {
+        long reservationId = reserve(userToken, 2, 60);
+
+        mockMvc.perform(post("/api/sweets/reservations/" + reservationId + "/confirm")
+                        .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("CONFIRMED"))
+                .andExpect(jsonPath("$.sweet.quantity").value(3));
+
+        mockMvc.perform(get("/api/sweets/" + sweetId + "/availability")
+                        .header("Authorization", "Bearer " + userToken))
+                .andExpect(jsonPath("$.reserved").value(0))
+                .andExpect(jsonPath("$.available").value(3));
+
+        mockMvc.perform(post("/api/sweets/reservations/" + reservationId + "/confirm")
+                        .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    @DisplayName("✅ Should give stock back when a hold is released")
+    void shouldReleaseReservation() throws Exception {
+        long reservationId = reserve(userToken, 2, 60);
+
+        mockMvc.perform(post("/api/sweets/reservations/" + reservationId + "/release")
+                        .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("RELEASED"));
+
+        mockMvc.perform(get("/api/sweets/" + sweetId + "/availability")
+                        .header("Authorization", "Bearer " + userToken))
+                .andExpect(jsonPath("$.available").value(5));
+    }
+
+    @Test
+    @DisplayName("❌ Should not let another user confirm a hold")
+    void shouldHideOtherUsersReservations() throws Exception {
+        long reservationId = reserve(userToken, 1, 60);
+
+        mockMvc.perform(post("/api/sweets/reservations/" + reservationId + "/confirm")
+                        .header("Authorization", "Bearer " + otherToken))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("❌ Should not confirm an expired hold, and expiry returns the stock")
+    void shouldExpireReservation() throws Exception {
+        long reservationId = reserve(userToken, 2, 1);
+        Thread.sleep(1100);
+
+        mockMvc.perform(post("/api/sweets/reservations/" + reservationId + "/confirm")
+                        .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isConflict());
+
+        assertThat(reservationService.expire(reservationId)).isTrue();
+        assertThat(reservationService.expire(reservationId)).isFalse();
+
+        mockMvc.perform(get("/api/sweets/" + sweetId + "/availability")
+                        .header("Authorization", "Bearer " + userToken))
+                .andExpect(jsonPath("$.available").value(5));
+    }
+
+    private long reserve(String token, int quantity, int ttlSeconds) throws Exception {
+        var request = ReservationRequest.builder().quantity(quantity).ttlSeconds(ttlSeconds).build();
+        var response = mockMvc.perform(post("/api/sweets/" + sweetId + "/reservations")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.status").value("ACTIVE"))
+                .andReturn();
+        return objectMapper.readTree(response.getResponse().getContentAsString()).get("id").asLong();
+    }
+
+    private String registerAndLogin(String username, String email) throws Exception {
+        var register = RegisterRequest.builder()
+                .username(username)
+                .email(email)
+                .password("password123")
+                .role(Role.USER)
+                .build();
+        mockMvc.perform(post("/api/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(register)))
+                .andExpect(status().isCreated());
+
+        var login = LoginRequest.builder()
+                .usernameOrEmail(username)
+                .password("password123")
+                .build();
+        var loginResponse = mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(login)))
+                .andReturn();
+        return objectMapper.readTree(loginResponse.getResponse().getContentAsString()).get("token").asText();
+    }
+}
@@ -0,0 +1,173 @@
+package com.dev.Sweet_Shop_Management_System.inventory;
+
+import com.dev.Sweet_Shop_Management_System.dto.response.ImportLineError;
+import com.dev.Sweet_Shop_Management_System.dto.response.ImportSummaryResponse;
+import com.dev.Sweet_Shop_Management_System.entity.Sweet;
+import com.dev.Sweet_Shop_Management_System.repository.SweetRepository;
+import com.dev.Sweet_Shop_Management_System.service.FileFormat;
+import com.dev.Sweet_Shop_Management_System.service.RestockImportService;
+import com.dev.Sweet_Shop_Management_System.service.SweetService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "sweetshop.imports.batch-size=2",
+        "sweetshop.imports.chunk-size=3"
+})
+class RestockImportTest {
+
+    @Autowired
+    private RestockImportService restockImportService;
+
+    @Autowired
+    private SweetService sweetService;
+
+    @Autowired
+    private SweetRepository sweetRepository;
+
+    private final List<Long> createdIds = new ArrayList<>();
+
+    @AfterEach
+    void cleanup() {
+        createdIds.forEach(sweetRepository::deleteById);
+        createdIds.clear();
+    }
+
+    @Test
+    @DisplayName("✅ Should apply valid CSV lines across chunks and report the rest per line")
+    void shouldImportCsvWithPerLineErrors() throws Exception {
+        Sweet first = createSweet(sweetRepository, createdIds, 10);
+        Sweet second = createSweet(sweetRepository, createdIds, 0);
+        String file = String.join("\n",
+                "sweetId,quantity",
+                first.getId() + ",5",
+                second.getId() + ",4",
+                "not-a-number,3",
+                "",
+                first.getId() + ",-2",
+                Long.MAX_VALUE + ",1",
+                second.getId() + ",6",
+                first.getId() + ", 1");
+
+        ImportSummaryResponse response = restockImportService.importRestocks(stream(file), FileFormat.CSV);
+
+        assertThat(response.getLines()).isEqualTo(7);
+        assertThat(response.getApplied()).isEqualTo(4);
+        assertThat(response.getFailed()).isEqualTo(3);
+        assertThat(response.getChunks()).isEqualTo(2);
+        assertThat(response.getErrors()).extracting(ImportLineError::getLine).containsExactly(4L, 6L, 7L);
+        assertThat(sweetRepository.findById(first.getId()).orElseThrow().getQuantity()).isEqualTo(16);
+        assertThat(sweetRepository.findById(second.getId()).orElseThrow().getQuantity()).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("✅ Should apply NDJSON lines")
+    void shouldImportNdjson() throws Exception {
+        Sweet sweet = createSweet(sweetRepository, createdIds, 1);
+        String file = "{\"id\": " + sweet.getId() + ", \"quantity\": 9}\n"
+                + "{\"sweetId\": " + sweet.getId() + ", \"quantity\": 2}\n"
+                + "{\"quantity\": 2}\n"
+                + "{broken\n";
+
+        ImportSummaryResponse response = restockImportService.importRestocks(stream(file), FileFormat.NDJSON);
+
+        assertThat(response.getApplied()).isEqualTo(2);
+        assertThat(response.getErrors()).extracting(ImportLineError::getLine).containsExactly(3L, 4L);
+        assertThat(sweetService.getSweet(sweet.getId()).getQuantity()).isEqualTo(12);
+    }
+
+    @Nested
+    @EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+    @TestPropertySource(properties = {
+            "sweetshop.imports.batch-size=500",
+            "sweetshop.imports.chunk-size=5000"
+    })
+    class ImportBenchmark {
+
+        @Autowired
+        private RestockImportService restockImportService;
+
+        @Autowired
+        private SweetService sweetService;
+
+        @Autowired
+        private SweetRepository sweetRepository;
+
+        @Test
+        @DisplayName("✅ Benchmark a streamed restock file against one request per line")
+        void benchmarkImport() throws Exception {
+            int sweets = 100;
+            int lines = 50_000;
+            List<Sweet> created = new ArrayList<>();
+            for (int i = 0; i < sweets; i++) {
+                created.add(createSweet(sweetRepository, createdIds, 0));
+            }
+
+            long began = System.nanoTime();
+            for (int i = 0; i < 2_000; i++) {
+                sweetService.restockSweet(created.get(i % sweets).getId(), 1);
+            }
+            double perLineSeconds = (System.nanoTime() - began) / 1_000_000_000.0;
+
+            Runtime runtime = Runtime.getRuntime();
+            long heapBefore = runtime.totalMemory() - runtime.freeMemory();
+            ImportSummaryResponse response = restockImportService.importRestocks(
+                    generated(created, lines), FileFormat.CSV);
+            long heapAfter = runtime.totalMemory() - runtime.freeMemory();
+
+            System.out.printf("[restock-import] per request: %.0f rows/s; streamed: %d rows in %d ms, %.0f rows/s, heap delta %d KB%n",
+                    2_000 / perLineSeconds, response.getApplied(), response.getElapsedMillis(), response.getRowsPerSecond(),
+                    (heapAfter - heapBefore) / 1024);
+            assertThat(response.getApplied()).isEqualTo(lines);
+        }
+    }
+
+    private static Sweet createSweet(SweetRepository sweetRepository, List<Long> createdIds, int quantity) {
+        Sweet sweet = sweetRepository.save(Sweet.builder()
+                .name("Import Barfi")
+                .category("Stress Test")
+                .price(7.0)
+                .quantity(quantity)
+                .build());
+        createdIds.add(sweet.getId());
+        return sweet;
+    }
+
+    private static InputStream stream(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Produces the file one line at a time, the way a request body arrives.
+    private static InputStream generated(List<Sweet> sweets, int lines) {
+        return new SequenceInputStream(new Enumeration<>() {
+            private int next;
+
+            @Override
+            public boolean hasMoreElements() {
+                return next < lines;
+            }
+
+            @Override
+            public InputStream nextElement() {
+                Long id = sweets.get(next++ % sweets.size()).getId();
+                return stream(id + ",1\n");
+            }
+        });
+    }
+}
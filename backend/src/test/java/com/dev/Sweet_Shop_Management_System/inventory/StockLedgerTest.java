@@ -0,0 +1,341 @@
+package com.dev.Sweet_Shop_Management_System.inventory;
+
+import com.dev.Sweet_Shop_Management_System.dto.request.PurchaseRequest;
+import com.dev.Sweet_Shop_Management_System.dto.request.ReservationRequest;
+import com.dev.Sweet_Shop_Management_System.dto.request.SweetUpdateRequest;
+import com.dev.Sweet_Shop_Management_System.dto.response.ReservationResponse;
+import com.dev.Sweet_Shop_Management_System.dto.response.SweetResponse;
+import com.dev.Sweet_Shop_Management_System.entity.Sweet;
+import com.dev.Sweet_Shop_Management_System.ledger.StockLedger;
+import com.dev.Sweet_Shop_Management_System.repository.ReservationRepository;
+import com.dev.Sweet_Shop_Management_System.repository.SweetRepository;
+import com.dev.Sweet_Shop_Management_System.service.ReservationService;
+import com.dev.Sweet_Shop_Management_System.service.SweetService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+        "sweetshop.ledger.enabled=true",
+        "sweetshop.ledger.durability=async",
+        "sweetshop.ledger.flush-interval=PT1H"
+})
+class StockLedgerTest {
+
+    private static final int THREADS = 32;
+
+    @Autowired
+    private SweetService sweetService;
+
+    @Autowired
+    private SweetRepository sweetRepository;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private StockLedger stockLedger;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final List<Long> createdIds = new ArrayList<>();
+    private final List<Long> reservationIds = new ArrayList<>();
+
+    @AfterEach
+    void cleanup() {
+        reservationIds.forEach(reservationRepository::deleteById);
+        reservationIds.clear();
+        createdIds.forEach(sweetRepository::deleteById);
+        createdIds.clear();
+    }
+
+    @Test
+    @DisplayName("✅ Should decide parallel purchases and restocks in memory and persist the net change")
+    void shouldPersistNetDeltaOfParallelChanges() throws Exception {
+        Sweet sweet = createSweet(sweetRepository, createdIds, 1000);
+        AtomicInteger purchased = new AtomicInteger();
+        AtomicInteger restocked = new AtomicInteger();
+
+        // The first purchase loads the sweet; racing callers would otherwise take the database path meanwhile.
+        sweetService.purchaseSweet(sweet.getId(), PurchaseRequest.builder().quantity(1).build());
+        purchased.incrementAndGet();
+
+        runConcurrently(THREADS, 2000, i -> {
+            if (i % 5 == 0) {
+                sweetService.restockSweet(sweet.getId(), 2);
+                restocked.addAndGet(2);
+                return;
+            }
+            try {
+                sweetService.purchaseSweet(sweet.getId(), PurchaseRequest.builder().quantity(1).build());
+                purchased.incrementAndGet();
+            } catch (ResponseStatusException ex) {
+                assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+            }
+        });
+
+        // Nothing has been written yet; the flush interval is far longer than the test.
+        assertThat(sweetRepository.findById(sweet.getId()).orElseThrow().getQuantity()).isEqualTo(1000);
+
+        stockLedger.flush();
+
+        Sweet after = sweetRepository.findById(sweet.getId()).orElseThrow();
+        assertThat(after.getQuantity()).isEqualTo(1000 + restocked.get() - purchased.get());
+        assertThat(after.getVersion() - sweet.getVersion()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("✅ Should flush pending purchases before a direct update and pick up the new quantity after it")
+    void shouldStayConsistentAroundDirectUpdate() {
+        Sweet sweet = createSweet(sweetRepository, createdIds, 10);
+
+        sweetService.purchaseSweet(sweet.getId(), PurchaseRequest.builder().quantity(3).build());
+        assertThat(sweetRepository.findById(sweet.getId()).orElseThrow().getQuantity()).isEqualTo(10);
+
+        SweetResponse updated = sweetService.updateSweet(sweet.getId(),
+                SweetUpdateRequest.builder().quantity(50).build());
+        assertThat(updated.getQuantity()).isEqualTo(50);
+
+        SweetResponse purchased = sweetService.purchaseSweet(sweet.getId(),
+                PurchaseRequest.builder().quantity(2).build());
+        assertThat(purchased.getQuantity()).isEqualTo(48);
+
+        stockLedger.flush();
+        assertThat(sweetRepository.findById(sweet.getId()).orElseThrow().getQuantity()).isEqualTo(48);
+    }
+
+    @Test
+    @DisplayName("✅ Should keep pending purchases when the fencing transaction rolls back")
+    void shouldKeepPendingDeltasAfterRollback() {
+        Sweet sweet = createSweet(sweetRepository, createdIds, 10);
+        sweetService.purchaseSweet(sweet.getId(), PurchaseRequest.builder().quantity(3).build());
+
+        assertThatThrownBy(() -> new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            stockLedger.fence(sweet.getId());
+            throw new IllegalStateException("rolled back");
+        })).isInstanceOf(IllegalStateException.class);
+        assertThat(sweetRepository.findById(sweet.getId()).orElseThrow().getQuantity()).isEqualTo(10);
+
+        SweetResponse purchased = sweetService.purchaseSweet(sweet.getId(),
+                PurchaseRequest.builder().quantity(2).build());
+        assertThat(purchased.getQuantity()).isEqualTo(5);
+
+        stockLedger.flush();
+        assertThat(sweetRepository.findById(sweet.getId()).orElseThrow().getQuantity()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("❌ Should not sell units held by a reservation")
+    void shouldRespectReservations() {
+        Sweet sweet = createSweet(sweetRepository, createdIds, 10);
+        sweetService.purchaseSweet(sweet.getId(), PurchaseRequest.builder().quantity(1).build());
+
+        ReservationResponse reservation = reservationService.reserve(sweet.getId(),
+                ReservationRequest.builder().quantity(6).build(), "ledgerUser");
+        reservationIds.add(reservation.getId());
+
+        assertThatThrownBy(() -> sweetService.purchaseSweet(sweet.getId(),
+                PurchaseRequest.builder().quantity(4).build()))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        ex -> assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+
+        SweetResponse purchased = sweetService.purchaseSweet(sweet.getId(),
+                PurchaseRequest.builder().quantity(3).build());
+        assertThat(purchased.getQuantity()).isEqualTo(6);
+
+        stockLedger.flush();
+        Sweet after = sweetRepository.findById(sweet.getId()).orElseThrow();
+        assertThat(after.getQuantity()).isEqualTo(6);
+        assertThat(after.getReservedQuantity()).isEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("❌ Should fall back to the database for sweets that do not exist")
+    void shouldRejectMissingSweet() {
+        assertThatThrownBy(() -> sweetService.purchaseSweet(Long.MAX_VALUE,
+                PurchaseRequest.builder().quantity(1).build()))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        ex -> assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND));
+    }
+
+    @Nested
+    @TestPropertySource(properties = {
+            "sweetshop.ledger.durability=sync",
+            "sweetshop.ledger.flush-interval=PT0.01S"
+    })
+    class SyncDurability {
+
+        @Autowired
+        private SweetService sweetService;
+
+        @Autowired
+        private SweetRepository sweetRepository;
+
+        @Test
+        @DisplayName("✅ Should return only once the purchase has been written")
+        void shouldPersistBeforeReturning() {
+            Sweet sweet = createSweet(sweetRepository, createdIds, 10);
+
+            sweetService.purchaseSweet(sweet.getId(), PurchaseRequest.builder().quantity(4).build());
+
+            assertThat(sweetRepository.findById(sweet.getId()).orElseThrow().getQuantity()).isEqualTo(6);
+        }
+    }
+
+    @Nested
+    @TestPropertySource(properties = {
+            "spring.datasource.hikari.maximum-pool-size=2",
+            "spring.datasource.hikari.connection-timeout=2000"
+    })
+    class SmallPool {
+
+        @Autowired
+        private SweetService sweetService;
+
+        @Autowired
+        private SweetRepository sweetRepository;
+
+        @Autowired
+        private StockLedger stockLedger;
+
+        @Test
+        @DisplayName("✅ Should fence pending purchases while every connection is held by a fencing caller")
+        void shouldFenceWithoutSecondConnection() throws Exception {
+            List<Sweet> sweets = List.of(createSweet(sweetRepository, createdIds, 100),
+                    createSweet(sweetRepository, createdIds, 100));
+            int rounds = 20;
+
+            for (int round = 0; round < rounds; round++) {
+                for (Sweet sweet : sweets) {
+                    sweetService.purchaseSweet(sweet.getId(), PurchaseRequest.builder().quantity(1).build());
+                }
+                double price = 7.0 + round;
+                runConcurrently(sweets.size(), sweets.size(), i -> sweetService.updateSweet(sweets.get(i).getId(),
+                        SweetUpdateRequest.builder().price(price).build()));
+            }
+
+            stockLedger.flush();
+            for (Sweet sweet : sweets) {
+                assertThat(sweetRepository.findById(sweet.getId()).orElseThrow().getQuantity())
+                        .isEqualTo(100 - rounds);
+            }
+        }
+    }
+
+    @Nested
+    @EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+    @TestPropertySource(properties = {
+            "sweetshop.ledger.enabled=false",
+            "sweetshop.coalescing.enabled=false"
+    })
+    class DatabaseBenchmark {
+
+        @Autowired
+        private SweetService sweetService;
+
+        @Autowired
+        private SweetRepository sweetRepository;
+
+        @Test
+        @DisplayName("✅ Benchmark purchases through the database path")
+        void benchmarkDatabase() throws Exception {
+            benchmarkPurchases("database", sweetService, sweetRepository, createdIds);
+        }
+    }
+
+    @Nested
+    @EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+    @TestPropertySource(properties = "sweetshop.ledger.flush-interval=PT0.05S")
+    class LedgerBenchmark {
+
+        @Autowired
+        private SweetService sweetService;
+
+        @Autowired
+        private SweetRepository sweetRepository;
+
+        @Test
+        @DisplayName("✅ Benchmark purchases decided by the ledger")
+        void benchmarkLedger() throws Exception {
+            benchmarkPurchases("ledger", sweetService, sweetRepository, createdIds);
+        }
+    }
+
+    private static void benchmarkPurchases(String label, SweetService sweetService, SweetRepository sweetRepository,
+                                           List<Long> createdIds) throws Exception {
+        int purchases = 5000;
+        for (int threads = 1; threads <= 64; threads *= 2) {
+            Sweet sweet = createSweet(sweetRepository, createdIds, purchases);
+            long elapsed = runConcurrently(threads, purchases, i ->
+                    sweetService.purchaseSweet(sweet.getId(), PurchaseRequest.builder().quantity(1).build()));
+            double seconds = elapsed / 1_000_000_000.0;
+            System.out.printf("[ledger:%s] %2d threads: %.0f purchases/s%n", label, threads, purchases / seconds);
+        }
+    }
+
+    private static Sweet createSweet(SweetRepository sweetRepository, List<Long> createdIds, int quantity) {
+        Sweet sweet = sweetRepository.save(Sweet.builder()
+                .name("Ledger Peda")
+                .category("Stress Test")
+                .price(6.0)
+                .quantity(quantity)
+                .build());
+        createdIds.add(sweet.getId());
+        return sweet;
+    }
+
+    private static long runConcurrently(int threads, int operations, Operation operation) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>(operations);
+
+        for (int i = 0; i < operations; i++) {
+            int index = i;
+            futures.add(executor.submit(() -> {
+                start.await();
+                operation.run(index);
+                return null;
+            }));
+        }
+
+        long began = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        long elapsed = System.nanoTime() - began;
+
+        executor.shutdown();
+        return elapsed;
+    }
+
+    @FunctionalInterface
+    private interface Operation {
+        void run(int index) throws Exception;
+    }
+}
@@ -0,0 +1,264 @@
+package com.dev.Sweet_Shop_Management_System.inventory;
+
+import com.dev.Sweet_Shop_Management_System.dto.request.PurchaseRequest;
+import com.dev.Sweet_Shop_Management_System.dto.request.ReservationRequest;
+import com.dev.Sweet_Shop_Management_System.dto.request.SweetUpdateRequest;
+import com.dev.Sweet_Shop_Management_System.dto.response.ReservationResponse;
+import com.dev.Sweet_Shop_Management_System.dto.response.SweetResponse;
+import com.dev.Sweet_Shop_Management_System.entity.Sweet;
+import com.dev.Sweet_Shop_Management_System.entity.SweetStockShard;
+import com.dev.Sweet_Shop_Management_System.repository.ReservationRepository;
+import com.dev.Sweet_Shop_Management_System.repository.SweetRepository;
+import com.dev.Sweet_Shop_Management_System.repository.SweetStockShardRepository;
+import com.dev.Sweet_Shop_Management_System.service.ReservationService;
+import com.dev.Sweet_Shop_Management_System.service.SweetService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = "sweetshop.coalescing.enabled=false")
+class StockShardTest {
+
+    private static final int THREADS = 32;
+
+    @Autowired
+    private SweetService sweetService;
+
+    @Autowired
+    private SweetRepository sweetRepository;
+
+    @Autowired
+    private SweetStockShardRepository shardRepository;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    private final List<Long> createdIds = new ArrayList<>();
+    private final List<Long> reservationIds = new ArrayList<>();
+
+    @AfterEach
+    void cleanup() {
+        reservationIds.forEach(reservationRepository::deleteById);
+        reservationIds.clear();
+        createdIds.forEach(sweetService::deleteSweet);
+        createdIds.clear();
+    }
+
+    @Test
+    @DisplayName("✅ Should keep the total stock when a sweet is sharded and unsharded")
+    void shouldKeepTotalAcrossReshard() {
+        Sweet sweet = createSweet(sweetRepository, createdIds, 103);
+
+        SweetResponse sharded = sweetService.reshardSweet(sweet.getId(), 8);
+        assertThat(sharded.getQuantity()).isEqualTo(103);
+        assertThat(shards(sweet.getId())).hasSize(8)
+                .allSatisfy(shard -> assertThat(shard.getQuantity()).isBetween(12, 13));
+        assertThat(sweetRepository.findById(sweet.getId()).orElseThrow().getQuantity()).isZero();
+
+        SweetResponse unsharded = sweetService.reshardSweet(sweet.getId(), 1);
+        assertThat(unsharded.getQuantity()).isEqualTo(103);
+        assertThat(shards(sweet.getId())).isEmpty();
+        assertThat(sweetRepository.findById(sweet.getId()).orElseThrow().getQuantity()).isEqualTo(103);
+    }
+
+    @Test
+    @DisplayName("✅ Should never oversell a sharded sweet under concurrent purchases")
+    void shouldNotOversellUnderContention() throws Exception {
+        Sweet sweet = createSweet(sweetRepository, createdIds, 500);
+        sweetService.reshardSweet(sweet.getId(), 8);
+        AtomicInteger purchased = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        runConcurrently(700, () -> {
+            try {
+                sweetService.purchaseSweet(sweet.getId(), PurchaseRequest.builder().quantity(1).build());
+                purchased.incrementAndGet();
+            } catch (ResponseStatusException ex) {
+                assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+                rejected.incrementAndGet();
+            }
+        });
+
+        assertThat(purchased.get()).isEqualTo(500);
+        assertThat(rejected.get()).isEqualTo(200);
+        assertThat(sweetRepository.findResponseById(sweet.getId()).orElseThrow().getQuantity()).isZero();
+        assertThat(shards(sweet.getId())).allSatisfy(shard -> assertThat(shard.getQuantity()).isZero());
+    }
+
+    @Test
+    @DisplayName("✅ Should fill a purchase larger than any one shard from several shards")
+    void shouldPurchaseAcrossShards() {
+        Sweet sweet = createSweet(sweetRepository, createdIds, 40);
+        sweetService.reshardSweet(sweet.getId(), 4);
+
+        SweetResponse response = sweetService.purchaseSweet(sweet.getId(),
+                PurchaseRequest.builder().quantity(25).build());
+
+        assertThat(response.getQuantity()).isEqualTo(15);
+        assertThatThrownBy(() -> sweetService.purchaseSweet(sweet.getId(),
+                PurchaseRequest.builder().quantity(16).build()))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        ex -> assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+    }
+
+    @Test
+    @DisplayName("✅ Should spread a restock over the shards")
+    void shouldSpreadRestock() {
+        Sweet sweet = createSweet(sweetRepository, createdIds, 0);
+        sweetService.reshardSweet(sweet.getId(), 4);
+
+        SweetResponse response = sweetService.restockSweet(sweet.getId(), 42);
+
+        assertThat(response.getQuantity()).isEqualTo(42);
+        assertThat(shards(sweet.getId())).allSatisfy(shard -> assertThat(shard.getQuantity()).isBetween(10, 11));
+    }
+
+    @Test
+    @DisplayName("✅ Should redistribute a direct quantity update over the shards")
+    void shouldRedistributeOnUpdate() {
+        Sweet sweet = createSweet(sweetRepository, createdIds, 10);
+        sweetService.reshardSweet(sweet.getId(), 4);
+
+        SweetResponse response = sweetService.updateSweet(sweet.getId(),
+                SweetUpdateRequest.builder().quantity(80).build());
+
+        assertThat(response.getQuantity()).isEqualTo(80);
+        assertThat(shards(sweet.getId())).allSatisfy(shard -> assertThat(shard.getQuantity()).isEqualTo(20));
+    }
+
+    @Test
+    @DisplayName("✅ Should hold sharded stock for a reservation and keep it from buyers")
+    void shouldReserveShardedStock() {
+        Sweet sweet = createSweet(sweetRepository, createdIds, 20);
+        sweetService.reshardSweet(sweet.getId(), 4);
+
+        ReservationResponse reservation = reservationService.reserve(sweet.getId(),
+                ReservationRequest.builder().quantity(12).build(), "shardUser");
+        reservationIds.add(reservation.getId());
+
+        Sweet after = sweetRepository.findById(sweet.getId()).orElseThrow();
+        assertThat(after.getReservedQuantity()).isEqualTo(12);
+        assertThat(sweetRepository.findResponseById(sweet.getId()).orElseThrow().getQuantity()).isEqualTo(20);
+        assertThatThrownBy(() -> sweetService.purchaseSweet(sweet.getId(),
+                PurchaseRequest.builder().quantity(9).build()))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        ex -> assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+    }
+
+    @Test
+    @DisplayName("❌ Should reject a shard count above the configured maximum")
+    void shouldRejectTooManyShards() {
+        Sweet sweet = createSweet(sweetRepository, createdIds, 10);
+
+        assertThatThrownBy(() -> sweetService.reshardSweet(sweet.getId(), 1000))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        ex -> assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+    }
+
+    @Test
+    @DisplayName("❌ Should return 404 when resharding a missing sweet")
+    void shouldRejectMissingSweet() {
+        assertThatThrownBy(() -> sweetService.reshardSweet(Long.MAX_VALUE, 4))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        ex -> assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND));
+    }
+
+    @Nested
+    @EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+    class ContentionBenchmark {
+
+        @Test
+        @DisplayName("✅ Benchmark hot-SKU purchases on one row versus eight shards")
+        void benchmarkShards() throws Exception {
+            for (int shards : new int[]{1, 8}) {
+                int purchases = 5000;
+                Sweet sweet = createSweet(sweetRepository, createdIds, purchases);
+                sweetService.reshardSweet(sweet.getId(), shards);
+                long[] latencies = new long[purchases];
+                AtomicInteger next = new AtomicInteger();
+
+                long elapsed = runConcurrently(purchases, () -> {
+                    long began = System.nanoTime();
+                    sweetService.purchaseSweet(sweet.getId(), PurchaseRequest.builder().quantity(1).build());
+                    latencies[next.getAndIncrement()] = System.nanoTime() - began;
+                });
+
+                Arrays.sort(latencies);
+                double seconds = elapsed / 1_000_000_000.0;
+                System.out.printf("[sharding] %d shard(s), %d threads: %.0f purchases/s, p50 %.2f ms, p99 %.2f ms%n",
+                        shards, THREADS, purchases / seconds,
+                        latencies[purchases / 2] / 1_000_000.0, latencies[purchases * 99 / 100] / 1_000_000.0);
+
+                assertThat(sweetRepository.findResponseById(sweet.getId()).orElseThrow().getQuantity()).isZero();
+            }
+        }
+    }
+
+    private List<SweetStockShard> shards(Long sweetId) {
+        return shardRepository.findAll().stream()
+                .filter(shard -> shard.getSweetId().equals(sweetId))
+                .toList();
+    }
+
+    private static Sweet createSweet(SweetRepository sweetRepository, List<Long> createdIds, int quantity) {
+        Sweet sweet = sweetRepository.save(Sweet.builder()
+                .name("Festival Laddoo")
+                .category("Stress Test")
+                .price(5.0)
+                .quantity(quantity)
+                .build());
+        createdIds.add(sweet.getId());
+        return sweet;
+    }
+
+    private static long runConcurrently(int operations, Operation operation) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>(operations);
+
+        for (int i = 0; i < operations; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                operation.run();
+                return null;
+            }));
+        }
+
+        long began = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        long elapsed = System.nanoTime() - began;
+
+        executor.shutdown();
+        return elapsed;
+    }
+
+    @FunctionalInterface
+    private interface Operation {
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,110 @@
+package com.dev.Sweet_Shop_Management_System.inventory;
+
+import com.dev.Sweet_Shop_Management_System.dto.request.BatchPurchaseRequest;
+import com.dev.Sweet_Shop_Management_System.dto.request.PurchaseLineRequest;
+import com.dev.Sweet_Shop_Management_System.dto.response.BatchPurchaseResponse;
+import com.dev.Sweet_Shop_Management_System.entity.Sweet;
+import com.dev.Sweet_Shop_Management_System.repository.SweetRepository;
+import com.dev.Sweet_Shop_Management_System.service.SweetService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class SweetBatchPurchaseConcurrencyTest {
+
+    private static final int THREADS = 16;
+    private static final int CARTS = 1000;
+    private static final int SWEETS = 5;
+    private static final int INITIAL_STOCK = 400;
+
+    @Autowired
+    private SweetService sweetService;
+
+    @Autowired
+    private SweetRepository sweetRepository;
+
+    private final List<Long> sweetIds = new ArrayList<>();
+
+    @BeforeEach
+    void setup() {
+        for (int i = 0; i < SWEETS; i++) {
+            sweetIds.add(sweetRepository.save(Sweet.builder()
+                    .name("Cart Ladoo " + i)
+                    .category("Stress Test")
+                    .price(5.0)
+                    .quantity(INITIAL_STOCK)
+                    .build()).getId());
+        }
+    }
+
+    @AfterEach
+    void cleanup() {
+        sweetRepository.deleteAllById(sweetIds);
+    }
+
+    @Test
+    @DisplayName("✅ Should neither deadlock nor oversell with overlapping carts")
+    void shouldHandleOverlappingCarts() throws Exception {
+        AtomicIntegerArray sold = new AtomicIntegerArray(SWEETS);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>(CARTS);
+
+        for (int c = 0; c < CARTS; c++) {
+            Random random = new Random(c);
+            futures.add(executor.submit(() -> {
+                // Each cart lists overlapping sweets in a random order to provoke lock-order inversions.
+                List<Integer> picks = new ArrayList<>(List.of(0, 1, 2, 3, 4));
+                Collections.shuffle(picks, random);
+                List<Integer> chosen = picks.subList(0, 2 + random.nextInt(SWEETS - 1));
+                List<PurchaseLineRequest> lines = new ArrayList<>();
+                for (int index : chosen) {
+                    lines.add(PurchaseLineRequest.builder().id(sweetIds.get(index)).quantity(1 + random.nextInt(2)).build());
+                }
+
+                start.await();
+                BatchPurchaseResponse response = sweetService.purchaseBatch(
+                        BatchPurchaseRequest.builder().items(lines).build());
+                if (response.isCompleted()) {
+                    for (PurchaseLineRequest line : lines) {
+                        sold.addAndGet(sweetIds.indexOf(line.getId()), line.getQuantity());
+                    }
+                }
+                return null;
+            }));
+        }
+
+        long began = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        double seconds = (System.nanoTime() - began) / 1_000_000_000.0;
+        executor.shutdown();
+        System.out.printf("[cart] %d carts on %d threads in %.2fs (%.0f carts/s)%n",
+                CARTS, THREADS, seconds, CARTS / seconds);
+
+        for (int i = 0; i < SWEETS; i++) {
+            int remaining = sweetRepository.findById(sweetIds.get(i)).orElseThrow().getQuantity();
+            assertThat(remaining).isGreaterThanOrEqualTo(0);
+            assertThat(remaining).isEqualTo(INITIAL_STOCK - sold.get(i));
+        }
+    }
+}
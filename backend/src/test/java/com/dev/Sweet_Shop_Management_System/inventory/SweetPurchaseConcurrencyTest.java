@@ -0,0 +1,143 @@
+package com.dev.Sweet_Shop_Management_System.inventory;
+
+import com.dev.Sweet_Shop_Management_System.dto.request.PurchaseRequest;
+import com.dev.Sweet_Shop_Management_System.entity.Sweet;
+import com.dev.Sweet_Shop_Management_System.repository.SweetRepository;
+import com.dev.Sweet_Shop_Management_System.service.SweetService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class SweetPurchaseConcurrencyTest {
+
+    private static final int THREADS = 32;
+    private static final int PURCHASES = 4000;
+    private static final int INITIAL_STOCK = 2500;
+
+    @Autowired
+    private SweetService sweetService;
+
+    @Autowired
+    private SweetRepository sweetRepository;
+
+    private Long sweetId;
+
+    @BeforeEach
+    void setup() {
+        Sweet sweet = sweetRepository.save(Sweet.builder()
+                .name("Concurrency Ladoo")
+                .category("Stress Test")
+                .price(5.0)
+                .quantity(INITIAL_STOCK)
+                .build());
+        sweetId = sweet.getId();
+    }
+
+    @AfterEach
+    void cleanup() {
+        sweetRepository.deleteById(sweetId);
+    }
+
+    @Test
+    @DisplayName("✅ Should never oversell or lose stock under parallel purchases")
+    void shouldNotOversellUnderParallelPurchases() throws Exception {
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        long elapsedNanos = runConcurrently(PURCHASES, i -> {
+            try {
+                sweetService.purchaseSweet(sweetId, PurchaseRequest.builder().quantity(1).build());
+                succeeded.incrementAndGet();
+            } catch (ResponseStatusException ex) {
+                assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+                rejected.incrementAndGet();
+            }
+        });
+
+        report("purchase", PURCHASES, elapsedNanos);
+
+        assertThat(succeeded.get()).isEqualTo(INITIAL_STOCK);
+        assertThat(rejected.get()).isEqualTo(PURCHASES - INITIAL_STOCK);
+        assertThat(sweetRepository.findById(sweetId).orElseThrow().getQuantity()).isZero();
+    }
+
+    @Test
+    @DisplayName("✅ Should keep stock consistent when purchases and restocks interleave")
+    void shouldKeepStockConsistentWithInterleavedRestocks() throws Exception {
+        AtomicInteger purchased = new AtomicInteger();
+        AtomicInteger restocked = new AtomicInteger();
+
+        long elapsedNanos = runConcurrently(PURCHASES, i -> {
+            if (i % 4 == 0) {
+                sweetService.restockSweet(sweetId, 3);
+                restocked.addAndGet(3);
+                return;
+            }
+            try {
+                sweetService.purchaseSweet(sweetId, PurchaseRequest.builder().quantity(2).build());
+                purchased.addAndGet(2);
+            } catch (ResponseStatusException ex) {
+                assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+            }
+        });
+
+        report("purchase/restock", PURCHASES, elapsedNanos);
+
+        int expected = INITIAL_STOCK + restocked.get() - purchased.get();
+        assertThat(expected).isGreaterThanOrEqualTo(0);
+        assertThat(sweetRepository.findById(sweetId).orElseThrow().getQuantity()).isEqualTo(expected);
+    }
+
+    private long runConcurrently(int operations, Operation operation) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>(operations);
+
+        for (int i = 0; i < operations; i++) {
+            int index = i;
+            futures.add(executor.submit(() -> {
+                start.await();
+                operation.run(index);
+                return null;
+            }));
+        }
+
+        long began = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        long elapsed = System.nanoTime() - began;
+
+        executor.shutdown();
+        return elapsed;
+    }
+
+    private void report(String label, int operations, long elapsedNanos) {
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        System.out.printf("[%s] %d ops on %d threads in %.2fs (%.0f ops/s)%n",
+                label, operations, THREADS, seconds, operations / seconds);
+    }
+
+    @FunctionalInterface
+    private interface Operation {
+        void run(int index) throws Exception;
+    }
+}
@@ -16,6 +16,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -111,6 +112,37 @@ class SweetRestockControllerTest {
                 .andExpect(jsonPath("$.name").value("Gulab Jamun"));
     }
 
+    @Test
+    @DisplayName("✅ Should import a CSV restock file as admin")
+    void shouldImportCsvRestockFileAsAdmin() throws Exception {
+        String file = "sweetId,quantity\n" + sweetId + ",5\n" + sweetId + ",7\n99999,3\n";
+
+        mockMvc.perform(post("/api/sweets/restock/import")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType("text/csv")
+                        .content(file))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.lines").value(3))
+                .andExpect(jsonPath("$.applied").value(2))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.errors[0].line").value(4));
+
+        mockMvc.perform(get("/api/sweets/" + sweetId)
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.quantity").value(22)); // 10 + 5 + 7 = 22
+    }
+
+    @Test
+    @DisplayName("❌ Should fail when regular user tries to import restocks")
+    void shouldFailWhenRegularUserTriesToImportRestocks() throws Exception {
+        mockMvc.perform(post("/api/sweets/restock/import")
+                        .header("Authorization", "Bearer " + userToken)
+                        .contentType("text/csv")
+                        .content(sweetId + ",5\n"))
+                .andExpect(status().isForbidden());
+    }
+
     @Test
     @DisplayName("❌ Should fail when regular user tries to restock")
     void shouldFailWhenRegularUserTriesToRestock() throws Exception {
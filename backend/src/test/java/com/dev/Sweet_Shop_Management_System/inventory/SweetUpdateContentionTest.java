@@ -0,0 +1,102 @@
+package com.dev.Sweet_Shop_Management_System.inventory;
+
+import com.dev.Sweet_Shop_Management_System.concurrency.ContentionMetrics;
+import com.dev.Sweet_Shop_Management_System.dto.request.SweetUpdateRequest;
+import com.dev.Sweet_Shop_Management_System.dto.response.ContentionStatsResponse;
+import com.dev.Sweet_Shop_Management_System.entity.Sweet;
+import com.dev.Sweet_Shop_Management_System.repository.SweetRepository;
+import com.dev.Sweet_Shop_Management_System.service.SweetService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class SweetUpdateContentionTest {
+
+    private static final int THREADS = 16;
+    private static final int UPDATES = 400;
+
+    @Autowired
+    private SweetService sweetService;
+
+    @Autowired
+    private SweetRepository sweetRepository;
+
+    @Autowired
+    private ContentionMetrics contentionMetrics;
+
+    private Long sweetId;
+
+    @BeforeEach
+    void setup() {
+        sweetId = sweetRepository.save(Sweet.builder()
+                .name("Contended Barfi")
+                .category("Stress Test")
+                .price(10.0)
+                .quantity(100)
+                .build()).getId();
+    }
+
+    @AfterEach
+    void cleanup() {
+        sweetRepository.deleteById(sweetId);
+    }
+
+    @Test
+    @DisplayName("✅ Should never lose an update when many writers race on one sweet")
+    void shouldNotLoseConcurrentUpdates() throws Exception {
+        long versionBefore = sweetRepository.findById(sweetId).orElseThrow().getVersion();
+        ContentionStatsResponse statsBefore = contentionMetrics.stats();
+        AtomicInteger applied = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>(UPDATES);
+        for (int i = 0; i < UPDATES; i++) {
+            double price = 10.0 + i;
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    sweetService.updateSweet(sweetId, SweetUpdateRequest.builder().price(price).build());
+                    applied.incrementAndGet();
+                } catch (ResponseStatusException ex) {
+                    assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+                    rejected.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        ContentionStatsResponse stats = contentionMetrics.stats();
+        System.out.printf("[contention] %d applied, %d rejected, %d retries, %d ms retrying%n",
+                applied.get(), rejected.get(), stats.getRetries() - statsBefore.getRetries(),
+                stats.getRetryMillis() - statsBefore.getRetryMillis());
+
+        long versionAfter = sweetRepository.findById(sweetId).orElseThrow().getVersion();
+        assertThat(versionAfter - versionBefore).isEqualTo(applied.get());
+        assertThat(applied.get() + rejected.get()).isEqualTo(UPDATES);
+        assertThat(stats.getOperations() - statsBefore.getOperations()).isEqualTo(UPDATES);
+    }
+}
@@ -0,0 +1,171 @@
+package com.dev.Sweet_Shop_Management_System.journal;
+
+import com.dev.Sweet_Shop_Management_System.dto.response.JournalReplayResponse;
+import com.dev.Sweet_Shop_Management_System.dto.response.SweetResponse;
+import com.dev.Sweet_Shop_Management_System.event.SweetChangeType;
+import com.dev.Sweet_Shop_Management_System.event.SweetChangedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InventoryJournalTest {
+
+    @TempDir
+    Path directory;
+
+    private final List<InventoryJournal> opened = new ArrayList<>();
+
+    @AfterEach
+    void closeJournals() {
+        opened.forEach(InventoryJournal::close);
+    }
+
+    @Test
+    @DisplayName("✅ Should roll segments and replay the latest quantity per sweet")
+    void shouldRollSegmentsAndReplay() throws Exception {
+        InventoryJournal journal = open("async", 10);
+
+        journal.onSweetChanged(created(1L, 10));
+        journal.onSweetChanged(changed(SweetChangeType.PURCHASED, 1L, 10, 7, 1));
+        journal.onSweetChanged(created(2L, 5));
+        for (int i = 0; i < 30; i++) {
+            journal.onSweetChanged(changed(SweetChangeType.RESTOCKED, 2L, 5 + i, 6 + i, i + 1));
+        }
+        journal.onSweetChanged(changed(SweetChangeType.UPDATED, 1L, 7, 7, 2));
+        journal.sync();
+
+        JournalReplayResponse replay = JournalReader.replay(directory, Instant.now());
+
+        assertThat(JournalReader.segments(directory)).hasSize(4);
+        assertThat(replay.getRecordsRead()).isEqualTo(34);
+        assertThat(replay.getQuantities()).containsEntry(1L, 7).containsEntry(2L, 35);
+        assertThat(journal.stats().getAppended()).isEqualTo(34);
+    }
+
+    @Test
+    @DisplayName("✅ Should rebuild quantities as of an earlier instant")
+    void shouldReplayAsOfInstant() throws Exception {
+        InventoryJournal journal = open("sync", 1000);
+
+        journal.onSweetChanged(created(1L, 10));
+        journal.onSweetChanged(changed(SweetChangeType.PURCHASED, 1L, 10, 8, 1));
+        Thread.sleep(20);
+        Instant checkpoint = Instant.now();
+        Thread.sleep(20);
+        journal.onSweetChanged(changed(SweetChangeType.PURCHASED, 1L, 8, 3, 2));
+        journal.onSweetChanged(new SweetChangedEvent(SweetChangeType.DELETED, sweet(1L, 3, 2), null, 99));
+
+        assertThat(JournalReader.replay(directory, checkpoint).getQuantities()).containsExactlyEntriesOf(Map.of(1L, 8));
+        assertThat(JournalReader.replay(directory, Instant.now()).getQuantities()).isEmpty();
+        assertThat(journal.stats().getSyncs()).isPositive();
+    }
+
+    @Test
+    @DisplayName("✅ Should let the row version, not arrival order, decide the newest record")
+    void shouldOrderByRowVersion() throws Exception {
+        InventoryJournal journal = open("async", 1000);
+
+        journal.onSweetChanged(changed(SweetChangeType.PURCHASED, 1L, 9, 8, 3));
+        journal.onSweetChanged(changed(SweetChangeType.PURCHASED, 1L, 10, 9, 2));
+        journal.sync();
+
+        assertThat(JournalReader.replay(directory, Instant.now()).getQuantities()).containsEntry(1L, 8);
+    }
+
+    @Test
+    @DisplayName("✅ Should replay a sweet created again under a deleted id")
+    void shouldReplayRecreatedSweet() throws Exception {
+        InventoryJournal journal = open("async", 1000);
+
+        journal.onSweetChanged(created(1L, 10));
+        journal.onSweetChanged(changed(SweetChangeType.PURCHASED, 1L, 10, 8, 5));
+        journal.onSweetChanged(new SweetChangedEvent(SweetChangeType.DELETED, sweet(1L, 8, 5), null, 20));
+        journal.onSweetChanged(new SweetChangedEvent(SweetChangeType.CREATED, null, sweet(1L, 4, 0), 21));
+        journal.onSweetChanged(new SweetChangedEvent(SweetChangeType.PURCHASED, sweet(1L, 4, 0), sweet(1L, 3, 1), 22));
+        // A change from before the delete whose listener ran late.
+        journal.onSweetChanged(changed(SweetChangeType.PURCHASED, 1L, 12, 10, 4));
+        journal.sync();
+
+        assertThat(JournalReader.replay(directory, Instant.now()).getQuantities()).containsEntry(1L, 3);
+    }
+
+    @Test
+    @DisplayName("✅ Should truncate a torn tail on reopen and keep appending after the last good record")
+    void shouldRecoverTornTail() throws Exception {
+        InventoryJournal journal = open("async", 1000);
+        journal.onSweetChanged(created(1L, 10));
+        journal.onSweetChanged(changed(SweetChangeType.RESTOCKED, 1L, 10, 12, 1));
+        journal.sync();
+        journal.close();
+        opened.clear();
+
+        // A record cut off halfway: valid length, garbage payload.
+        Path segment = JournalReader.segments(directory).get(0);
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            file.seek(2L * JournalRecord.SIZE);
+            file.writeInt(JournalRecord.PAYLOAD_SIZE);
+            file.writeInt(12345);
+            file.writeLong(77);
+        }
+
+        InventoryJournal reopened = open("async", 1000);
+        assertThat(reopened.stats().getNextSequence()).isEqualTo(3);
+        reopened.onSweetChanged(changed(SweetChangeType.PURCHASED, 1L, 12, 11, 2));
+        reopened.sync();
+
+        JournalReplayResponse replay = JournalReader.replay(directory, Instant.now());
+        assertThat(replay.getRecordsRead()).isEqualTo(3);
+        assertThat(replay.getQuantities()).containsEntry(1L, 11);
+    }
+
+    @Test
+    @DisplayName("❌ Should leave journaling off when another instance holds the directory")
+    void shouldRefuseSecondWriter() throws Exception {
+        open("async", 1000);
+        InventoryJournal second = open("async", 1000);
+
+        second.onSweetChanged(created(5L, 1));
+
+        assertThat(second.stats().getAppended()).isZero();
+    }
+
+    private InventoryJournal open(String durability, int recordsPerSegment) throws Exception {
+        InventoryJournal journal = new InventoryJournal(true, directory.toString(),
+                DataSize.ofBytes((long) JournalRecord.SIZE * recordsPerSegment), durability,
+                Duration.ofMillis(5), Duration.ofSeconds(5), 1024);
+        journal.open();
+        opened.add(journal);
+        return journal;
+    }
+
+    private static SweetChangedEvent created(Long id, int quantity) {
+        return new SweetChangedEvent(SweetChangeType.CREATED, null, sweet(id, quantity, 0), 1);
+    }
+
+    private static SweetChangedEvent changed(SweetChangeType type, Long id, int before, int after, long rowVersion) {
+        return new SweetChangedEvent(type, sweet(id, before, rowVersion - 1), sweet(id, after, rowVersion), rowVersion + 1);
+    }
+
+    private static SweetResponse sweet(Long id, int quantity, long version) {
+        return SweetResponse.builder()
+                .id(id)
+                .name("Journal Ladoo")
+                .category("Journal")
+                .price(5.0)
+                .quantity(quantity)
+                .version(version)
+                .build();
+    }
+}
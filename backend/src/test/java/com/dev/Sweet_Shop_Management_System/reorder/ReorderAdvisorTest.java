@@ -0,0 +1,166 @@
+package com.dev.Sweet_Shop_Management_System.reorder;
+
+import com.dev.Sweet_Shop_Management_System.dto.request.PurchaseRequest;
+import com.dev.Sweet_Shop_Management_System.dto.request.SweetCreateRequest;
+import com.dev.Sweet_Shop_Management_System.dto.response.ReorderSuggestionResponse;
+import com.dev.Sweet_Shop_Management_System.dto.response.ReorderSuggestionsResponse;
+import com.dev.Sweet_Shop_Management_System.dto.response.SweetResponse;
+import com.dev.Sweet_Shop_Management_System.service.SweetService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// A tiny range size makes even a handful of sweets split across many fork-join tasks.
+@SpringBootTest(properties = "sweetshop.reorder.range-size=2")
+class ReorderAdvisorTest {
+
+    private static final String CATEGORY = "Reorder Advisor";
+
+    @Autowired
+    private SweetService sweetService;
+
+    @Autowired
+    private ReorderAdvisor reorderAdvisor;
+
+    @Autowired
+    private SalesVelocity salesVelocity;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanup() {
+        jdbcTemplate.update("delete from sweets where category like ?", CATEGORY + "%");
+    }
+
+    @Test
+    @DisplayName("✅ Should suggest restocking fast sellers that run out within the horizon")
+    void shouldSuggestFastSellers() {
+        SweetResponse fast = add("Fast Ladoo", 40);
+        SweetResponse slow = add("Slow Barfi", 100);
+        purchase(fast, 30);
+        purchase(slow, 1);
+
+        ReorderSuggestionsResponse response = reorderAdvisor.suggestions(null, 1000, true);
+
+        assertThat(response.getHorizonDays()).isEqualTo(14.0);
+        assertThat(suggestion(response, slow)).isEmpty();
+        assertThat(suggestion(response, fast)).hasValueSatisfying(suggestion -> {
+            assertThat(suggestion.getAvailable()).isEqualTo(10);
+            assertThat(suggestion.getUnitsPerDay()).isGreaterThanOrEqualTo(30.0);
+            assertThat(suggestion.getDaysUntilStockout()).isLessThan(1.0);
+            assertThat(suggestion.getSuggestedQuantity())
+                    .isEqualTo((int) Math.ceil(suggestion.getUnitsPerDay() * 14) - 10);
+        });
+        assertThat(response.getSuggestions()).isSortedAccordingTo(
+                (a, b) -> Double.compare(a.getDaysUntilStockout(), b.getDaysUntilStockout()));
+    }
+
+    @Test
+    @DisplayName("✅ Should widen the suggestions with a longer horizon")
+    void shouldHonourHorizon() {
+        SweetResponse slow = add("Slow Peda", 100);
+        purchase(slow, 1);
+
+        ReorderSuggestionsResponse response = reorderAdvisor.suggestions(Duration.ofDays(365), 1000, false);
+
+        assertThat(response.getHorizonDays()).isEqualTo(365.0);
+        assertThat(suggestion(response, slow)).hasValueSatisfying(suggestion ->
+                assertThat(suggestion.getSuggestedQuantity()).isPositive());
+    }
+
+    @Test
+    @DisplayName("❌ Should reject a non-positive horizon or a bad limit")
+    void shouldRejectBadRequests() {
+        assertThatThrownBy(() -> reorderAdvisor.suggestions(Duration.ZERO, 10, false))
+                .isInstanceOf(ResponseStatusException.class);
+        assertThatThrownBy(() -> reorderAdvisor.suggestions(null, 0, false))
+                .isInstanceOf(ResponseStatusException.class);
+    }
+
+    private static Optional<ReorderSuggestionResponse> suggestion(ReorderSuggestionsResponse response,
+                                                                  SweetResponse sweet) {
+        return response.getSuggestions().stream()
+                .filter(suggestion -> suggestion.getSweetId().equals(sweet.getId()))
+                .findFirst();
+    }
+
+    private SweetResponse add(String name, int quantity) {
+        return sweetService.addSweet(SweetCreateRequest.builder()
+                .name(name)
+                .category(CATEGORY)
+                .price(2.0)
+                .quantity(quantity)
+                .build());
+    }
+
+    private void purchase(SweetResponse sweet, int quantity) {
+        sweetService.purchaseSweet(sweet.getId(), PurchaseRequest.builder().quantity(quantity).build());
+    }
+
+    @Nested
+    @EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+    @TestPropertySource(properties = {
+            "spring.jpa.show-sql=false",
+            "sweetshop.reorder.range-size=20000"
+    })
+    class ReorderBenchmark {
+
+        private static final int SKUS = 1_000_000;
+
+        @Autowired
+        private ReorderAdvisor reorderAdvisor;
+
+        @Autowired
+        private SalesVelocity salesVelocity;
+
+        @Autowired
+        private JdbcTemplate jdbcTemplate;
+
+        @Test
+        @DisplayName("✅ Benchmark scoring 1M sweets sequentially and as a fork-join over id ranges")
+        void benchmarkRecompute() {
+            jdbcTemplate.update("insert into sweets (id, name, category, price, quantity, reserved_quantity, version, "
+                    + "stock_shards) select nextval('sweets_seq'), 'Bench Sweet ' || n, ?, 1, n % 500, 0, 0, 1 "
+                    + "from generate_series(1, ?) n", CATEGORY + " Benchmark", SKUS);
+            // One in ten sweets has sold something over the last month.
+            Instant now = Instant.now();
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            jdbcTemplate.query("select id from sweets where category = ?", rs -> {
+                if (rs.getRow() % 10 == 0) {
+                    salesVelocity.record(rs.getLong(1), 1 + random.nextInt(20),
+                            now.minus(Duration.ofHours(random.nextInt(720))));
+                }
+            }, CATEGORY + " Benchmark");
+
+            ForkJoinPool parallel = new ForkJoinPool(Math.min(Runtime.getRuntime().availableProcessors(), 8));
+            ReorderSuggestionsResponse sequential = reorderAdvisor.compute(now, Duration.ofDays(14), 1000, new ForkJoinPool(1));
+            ReorderSuggestionsResponse forked = reorderAdvisor.compute(now, Duration.ofDays(14), 1000, parallel);
+
+            System.out.printf("[reorder] %d sweets, %d at risk: sequential %d ms, fork-join x%d %d ms (%.1fx)%n",
+                    forked.getScanned(), forked.getAtRisk(), sequential.getElapsedMillis(), parallel.getParallelism(),
+                    forked.getElapsedMillis(), sequential.getElapsedMillis() / (double) Math.max(1, forked.getElapsedMillis()));
+            assertThat(forked.getScanned()).isGreaterThanOrEqualTo(SKUS);
+            assertThat(forked.getAtRisk()).isEqualTo(sequential.getAtRisk());
+            assertThat(forked.getSuggestions()).extracting(ReorderSuggestionResponse::getSweetId)
+                    .containsExactlyElementsOf(sequential.getSuggestions().stream()
+                            .map(ReorderSuggestionResponse::getSweetId).toList());
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.dev.Sweet_Shop_Management_System.reorder;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class SalesVelocityTest {
+
+    private static final Instant START = Instant.parse("2025-01-01T00:00:00Z");
+
+    private final SalesVelocity velocity = new SalesVelocity(null, "UTC", Duration.ofDays(7), Duration.ofDays(1));
+
+    @Test
+    @DisplayName("✅ Should converge on a steady daily sales rate")
+    void shouldTrackSteadyRate() {
+        for (int day = 0; day < 60; day++) {
+            velocity.record(1L, 10, START.plus(Duration.ofDays(day)));
+        }
+
+        assertThat(velocity.perDay(1L, START.plus(Duration.ofDays(60)))).isCloseTo(10.0, within(0.5));
+    }
+
+    @Test
+    @DisplayName("✅ Should halve the rate after one half-life without sales")
+    void shouldDecayByHalfLife() {
+        velocity.record(1L, 0, START.minus(Duration.ofDays(365)));
+        velocity.record(1L, 70, START);
+
+        double now = velocity.perDay(1L, START);
+        double later = velocity.perDay(1L, START.plus(Duration.ofDays(7)));
+
+        assertThat(later / now).isCloseTo(0.5, within(1e-6));
+    }
+
+    @Test
+    @DisplayName("✅ Should not inflate the rate of a sweet with little history")
+    void shouldFloorTheObservedWindow() {
+        velocity.record(1L, 5, START);
+
+        assertThat(velocity.perDay(1L, START.plusSeconds(1))).isBetween(5.0, 6.0);
+        assertThat(velocity.perDay(2L, START)).isZero();
+    }
+
+    @Test
+    @DisplayName("✅ Should give the same rate whatever order sales are recorded in")
+    void shouldAcceptLateSales() {
+        SalesVelocity ordered = new SalesVelocity(null, "UTC", Duration.ofDays(7), Duration.ofDays(1));
+        ordered.record(1L, 3, START);
+        ordered.record(1L, 4, START.plus(Duration.ofDays(2)));
+        velocity.record(1L, 4, START.plus(Duration.ofDays(2)));
+        velocity.record(1L, 3, START);
+
+        Instant now = START.plus(Duration.ofDays(3));
+        assertThat(velocity.perDay(1L, now)).isCloseTo(ordered.perDay(1L, now), within(1e-9));
+    }
+}
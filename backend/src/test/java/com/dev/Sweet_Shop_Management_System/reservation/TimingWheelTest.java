@@ -0,0 +1,76 @@
+package com.dev.Sweet_Shop_Management_System.reservation;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimingWheelTest {
+
+    private static final long START = 1_000_000L;
+
+    @Test
+    @DisplayName("✅ Should fire timers on their deadline tick, never before")
+    void shouldFireOnDeadline() {
+        TimingWheel<String> wheel = new TimingWheel<>(10, 8, 3, START);
+        wheel.schedule("soon", START + 25);
+        wheel.schedule("later", START + 700);
+
+        assertThat(wheel.advanceTo(START + 29)).isEmpty();
+        assertThat(wheel.advanceTo(START + 30)).containsExactly("soon");
+        assertThat(wheel.advanceTo(START + 699)).isEmpty();
+        assertThat(wheel.advanceTo(START + 700)).containsExactly("later");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("✅ Should cascade timers from outer wheels and beyond the wheel span")
+    void shouldCascadeAcrossLevels() {
+        // 10 ms ticks, 8 slots, 3 levels: the wheel spans 5.12 s.
+        TimingWheel<Long> wheel = new TimingWheel<>(10, 8, 3, START);
+        Random random = new Random(3);
+        List<Long> deadlines = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            long deadline = START + 1 + random.nextInt(20_000);
+            deadlines.add(deadline);
+            wheel.schedule(deadline, deadline);
+        }
+
+        List<Long> fired = new ArrayList<>();
+        for (long now = START; now <= START + 20_100; now += 1 + random.nextInt(37)) {
+            for (Long deadline : wheel.advanceTo(now)) {
+                assertThat(deadline).isLessThanOrEqualTo(now);
+                assertThat(deadline).isGreaterThan(now - 50);
+                fired.add(deadline);
+            }
+        }
+
+        assertThat(fired).containsExactlyInAnyOrderElementsOf(deadlines);
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("✅ Should not fire cancelled timers")
+    void shouldCancelTimers() {
+        TimingWheel<String> wheel = new TimingWheel<>(10, 8, 3, START);
+        TimingWheel.Timer<String> cancelled = wheel.schedule("cancelled", START + 100);
+        wheel.schedule("kept", START + 100);
+
+        assertThat(wheel.cancel(cancelled)).isTrue();
+        assertThat(wheel.cancel(cancelled)).isFalse();
+        assertThat(wheel.advanceTo(START + 1000)).containsExactly("kept");
+    }
+
+    @Test
+    @DisplayName("✅ Should fire overdue timers on the next tick")
+    void shouldFireOverdueTimersImmediately() {
+        TimingWheel<String> wheel = new TimingWheel<>(10, 8, 3, START);
+        wheel.schedule("overdue", START - 500);
+
+        assertThat(wheel.advanceTo(START + 10)).containsExactly("overdue");
+    }
+}
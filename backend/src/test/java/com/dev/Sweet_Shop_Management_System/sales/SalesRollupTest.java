@@ -0,0 +1,206 @@
+package com.dev.Sweet_Shop_Management_System.sales;
+
+import com.dev.Sweet_Shop_Management_System.dto.request.BatchPurchaseRequest;
+import com.dev.Sweet_Shop_Management_System.dto.request.PurchaseLineRequest;
+import com.dev.Sweet_Shop_Management_System.dto.request.PurchaseRequest;
+import com.dev.Sweet_Shop_Management_System.dto.response.SalesReportResponse;
+import com.dev.Sweet_Shop_Management_System.dto.response.SalesReportRow;
+import com.dev.Sweet_Shop_Management_System.entity.Sweet;
+import com.dev.Sweet_Shop_Management_System.repository.SweetRepository;
+import com.dev.Sweet_Shop_Management_System.service.SweetService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+@SpringBootTest
+class SalesRollupTest {
+
+    private static final String CATEGORY = "Sales Rollup";
+
+    @Autowired
+    private SweetService sweetService;
+
+    @Autowired
+    private SweetRepository sweetRepository;
+
+    @Autowired
+    private SalesRecorder salesRecorder;
+
+    @Autowired
+    private SalesReportService salesReportService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Sweet ladoo;
+    private Sweet barfi;
+    private LocalDate today;
+
+    @BeforeEach
+    void setup() {
+        ladoo = save("Rollup Ladoo", 2.5);
+        barfi = save("Rollup Barfi", 10.0);
+        today = LocalDate.now(salesRecorder.zone());
+    }
+
+    @AfterEach
+    void cleanup() {
+        salesRecorder.flush();
+        jdbcTemplate.update("delete from sale_lines where sweet_id in (?, ?)", ladoo.getId(), barfi.getId());
+        sweetRepository.deleteAllById(List.of(ladoo.getId(), barfi.getId()));
+        salesRecorder.rebuild();
+    }
+
+    @Test
+    @DisplayName("✅ Should roll single and batch purchases up per sweet, category and day")
+    void shouldRollUpPurchases() {
+        SalesReportResponse dayBefore = report("day");
+
+        purchase(ladoo, 3);
+        purchase(ladoo, 2);
+        purchase(barfi, 4);
+        sweetService.purchaseBatch(BatchPurchaseRequest.builder()
+                .items(List.of(
+                        PurchaseLineRequest.builder().id(ladoo.getId()).quantity(1).build(),
+                        PurchaseLineRequest.builder().id(barfi.getId()).quantity(1).build()))
+                .build());
+        salesRecorder.flush();
+
+        SalesReportResponse bySweet = report("sweet");
+        assertThat(row(bySweet, String.valueOf(ladoo.getId()))).hasValueSatisfying(row -> {
+            assertThat(row.getUnits()).isEqualTo(6);
+            assertThat(row.getRevenue()).isCloseTo(15.0, within(1e-9));
+        });
+        assertThat(row(bySweet, String.valueOf(barfi.getId()))).hasValueSatisfying(row -> {
+            assertThat(row.getUnits()).isEqualTo(5);
+            assertThat(row.getRevenue()).isCloseTo(50.0, within(1e-9));
+        });
+
+        assertThat(row(report("category"), CATEGORY)).hasValueSatisfying(row -> {
+            assertThat(row.getUnits()).isEqualTo(11);
+            assertThat(row.getRevenue()).isCloseTo(65.0, within(1e-9));
+        });
+
+        SalesReportResponse byDay = report("day");
+        assertThat(byDay.getTotalUnits() - dayBefore.getTotalUnits()).isEqualTo(11);
+        assertThat(row(byDay, today.toString())).isPresent();
+    }
+
+    @Test
+    @DisplayName("✅ Should rebuild the same rollups from the raw sale lines")
+    void shouldRebuildFromSaleLines() {
+        purchase(ladoo, 7);
+        purchase(barfi, 2);
+        salesRecorder.flush();
+        SalesReportResponse bySweet = report("sweet");
+        SalesReportResponse byCategory = report("category");
+        SalesReportResponse byDay = report("day");
+
+        jdbcTemplate.update("delete from sales_rollups");
+        assertThat(report("sweet").getRows()).isEmpty();
+        salesRecorder.rebuild();
+
+        assertSameTotals(report("sweet"), bySweet, String.valueOf(ladoo.getId()));
+        assertSameTotals(report("sweet"), bySweet, String.valueOf(barfi.getId()));
+        assertSameTotals(report("category"), byCategory, CATEGORY);
+        assertSameTotals(report("day"), byDay, today.toString());
+    }
+
+    @Test
+    @DisplayName("✅ Should not record a sale for a purchase that fails")
+    void shouldSkipFailedPurchases() {
+        assertThatThrownBy(() -> purchase(ladoo, 1000)).isInstanceOf(ResponseStatusException.class);
+        salesRecorder.flush();
+
+        assertThat(row(report("sweet"), String.valueOf(ladoo.getId()))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("✅ Should write the sale line with the purchase, before any flush")
+    void shouldWriteLineWithPurchase() {
+        purchase(ladoo, 3);
+
+        assertThat(jdbcTemplate.queryForObject("select sum(quantity) from sale_lines where sweet_id = ?",
+                Long.class, ladoo.getId())).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("✅ Should park a line that cannot be folded and fold the rest")
+    void shouldParkLinesThatCannotBeFolded() {
+        jdbcTemplate.execute("alter table sales_rollups add constraint sales_rollups_test_cap check (units < 1000000)");
+        try {
+            purchase(ladoo, 2);
+            jdbcTemplate.update("insert into sale_lines (sweet_id, category, quantity, unit_price, revenue, sold_at, "
+                            + "sale_day, status) values (?, ?, ?, 1, ?, now(), ?, 'PENDING')",
+                    barfi.getId(), CATEGORY, 5_000_000, 5_000_000.0, today);
+
+            // The batch fails until the retries run out, then the lines are folded one by one.
+            for (int attempt = 0; attempt < 3; attempt++) {
+                salesRecorder.flush();
+            }
+
+            assertThat(row(report("sweet"), String.valueOf(ladoo.getId())))
+                    .hasValueSatisfying(row -> assertThat(row.getUnits()).isEqualTo(2));
+            assertThat(row(report("sweet"), String.valueOf(barfi.getId()))).isEmpty();
+            assertThat(jdbcTemplate.queryForObject("select status from sale_lines where sweet_id = ?",
+                    String.class, barfi.getId())).isEqualTo("PARKED");
+            assertThat(salesRecorder.stats().getParkedLines()).isPositive();
+        } finally {
+            jdbcTemplate.execute("alter table sales_rollups drop constraint sales_rollups_test_cap");
+        }
+    }
+
+    @Test
+    @DisplayName("❌ Should reject unknown groupings and inverted or oversized ranges")
+    void shouldRejectBadReportRequests() {
+        assertThatThrownBy(() -> salesReportService.report(today, today, "month"))
+                .isInstanceOf(ResponseStatusException.class)
+                .hasMessageContaining("groupBy");
+        assertThatThrownBy(() -> salesReportService.report(today, today.minusDays(1), "day"))
+                .isInstanceOf(ResponseStatusException.class);
+        assertThatThrownBy(() -> salesReportService.report(today.minusYears(2), today, "day"))
+                .isInstanceOf(ResponseStatusException.class);
+    }
+
+    private void assertSameTotals(SalesReportResponse actual, SalesReportResponse expected, String key) {
+        SalesReportRow expectedRow = row(expected, key).orElseThrow();
+        assertThat(row(actual, key)).hasValueSatisfying(row -> {
+            assertThat(row.getUnits()).isEqualTo(expectedRow.getUnits());
+            assertThat(row.getRevenue()).isCloseTo(expectedRow.getRevenue(), within(1e-6));
+        });
+    }
+
+    private SalesReportResponse report(String groupBy) {
+        return salesReportService.report(today, today, groupBy);
+    }
+
+    private static Optional<SalesReportRow> row(SalesReportResponse report, String key) {
+        return report.getRows().stream().filter(row -> row.getKey().equals(key)).findFirst();
+    }
+
+    private void purchase(Sweet sweet, int quantity) {
+        sweetService.purchaseSweet(sweet.getId(), PurchaseRequest.builder().quantity(quantity).build());
+    }
+
+    private Sweet save(String name, double price) {
+        return sweetRepository.save(Sweet.builder()
+                .name(name)
+                .category(CATEGORY)
+                .price(price)
+                .quantity(100)
+                .build());
+    }
+}
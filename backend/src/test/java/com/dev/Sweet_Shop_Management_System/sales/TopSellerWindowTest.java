@@ -0,0 +1,132 @@
+package com.dev.Sweet_Shop_Management_System.sales;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TopSellerWindowTest {
+
+    private static final long MINUTE = 60_000;
+    private static final long START = 1_700_000_000_000L / MINUTE * MINUTE;
+    private static final int CAPACITY = 100;
+
+    @Test
+    @DisplayName("✅ Should bound every estimate by the exact units sold in the window")
+    void shouldBoundEstimatesByExactCounts() {
+        TopSellerWindow window = new TopSellerWindow(Duration.ofMinutes(1), 60, CAPACITY);
+        Random random = new Random(42);
+        double[] cumulative = zipf(5_000, 1.1);
+        long now = START + 120 * MINUTE - 1;
+        long windowStart = now / MINUTE * MINUTE - 59 * MINUTE;
+        int sales = 200_000;
+
+        Map<Long, Long> exact = new HashMap<>();
+        for (int i = 0; i < sales; i++) {
+            long at = START + 120 * MINUTE * i / sales;
+            long sweetId = sample(cumulative, random);
+            int units = 1 + random.nextInt(3);
+            window.record(sweetId, "Sweet " + sweetId, units, at);
+            if (at >= windowStart) {
+                exact.merge(sweetId, (long) units, Long::sum);
+            }
+        }
+
+        TopSellerWindow.Result result = window.top(Integer.MAX_VALUE, now);
+        long total = exact.values().stream().mapToLong(Long::longValue).sum();
+
+        assertThat(result.fromMillis()).isEqualTo(windowStart);
+        assertThat(result.totalUnits()).isEqualTo(total);
+        assertThat(result.maxError()).isLessThanOrEqualTo(2 * total / CAPACITY);
+        for (TopSellerWindow.Estimate estimate : result.top()) {
+            long sold = exact.getOrDefault(estimate.sweetId(), 0L);
+            assertThat(estimate.minUnits()).isLessThanOrEqualTo(sold);
+            assertThat(estimate.units()).isGreaterThanOrEqualTo(sold);
+            assertThat(estimate.units() - estimate.minUnits()).isLessThanOrEqualTo(result.maxError());
+        }
+        Set<Long> listed = result.top().stream().map(TopSellerWindow.Estimate::sweetId).collect(Collectors.toSet());
+        exact.forEach((sweetId, sold) -> {
+            if (sold > result.maxError()) {
+                assertThat(listed).contains(sweetId);
+            }
+        });
+        List<Long> exactTop = exact.entrySet().stream()
+                .sorted(Map.Entry.<Long, Long>comparingByValue().reversed())
+                .limit(5)
+                .map(Map.Entry::getKey)
+                .toList();
+        assertThat(window.top(5, now).top()).extracting(TopSellerWindow.Estimate::sweetId)
+                .containsExactlyElementsOf(exactTop);
+    }
+
+    @Test
+    @DisplayName("✅ Should forget sales once their bucket slides out of the window")
+    void shouldExpireOldBuckets() {
+        TopSellerWindow window = new TopSellerWindow(Duration.ofMinutes(1), 60, CAPACITY);
+        window.record(1, "Kaju Katli", 100, START);
+        window.record(2, "Rasgulla", 5, START + 61 * MINUTE);
+
+        TopSellerWindow.Result result = window.top(10, START + 61 * MINUTE);
+
+        assertThat(result.totalUnits()).isEqualTo(5);
+        assertThat(result.top()).extracting(TopSellerWindow.Estimate::sweetId).containsExactly(2L);
+    }
+
+    @Test
+    @DisplayName("✅ Should count a late sale for a bucket that was already merged")
+    void shouldCountLateSales() {
+        TopSellerWindow window = new TopSellerWindow(Duration.ofMinutes(1), 60, CAPACITY);
+        long now = START + 10 * MINUTE;
+        window.record(1, "Kaju Katli", 10, START + 5 * MINUTE);
+        assertThat(window.top(10, now).top()).extracting(TopSellerWindow.Estimate::sweetId).containsExactly(1L);
+
+        window.record(2, "Rasgulla", 20, START + 3 * MINUTE);
+        window.record(3, "Peda", 50, START - 60 * MINUTE);
+
+        TopSellerWindow.Result result = window.top(10, now);
+        assertThat(result.totalUnits()).isEqualTo(30);
+        assertThat(result.top()).extracting(TopSellerWindow.Estimate::sweetId).containsExactly(2L, 1L);
+        assertThat(result.maxError()).isZero();
+    }
+
+    @Test
+    @DisplayName("✅ Should keep a single sketch's error under N / capacity")
+    void shouldBoundSketchError() {
+        SpaceSavingSketch sketch = new SpaceSavingSketch(10);
+        Random random = new Random(7);
+        for (int i = 0; i < 10_000; i++) {
+            sketch.add(random.nextInt(1_000), "Sweet", 1 + random.nextInt(5));
+        }
+
+        assertThat(sketch.floor()).isLessThanOrEqualTo(sketch.total() / 10);
+        sketch.forEach(counter -> assertThat(counter.error()).isLessThanOrEqualTo(sketch.floor()));
+    }
+
+    // Cumulative Zipf weights over ids 1..size, so a few sweets dominate the way real sales do.
+    private static double[] zipf(int size, double exponent) {
+        double[] cumulative = new double[size];
+        double sum = 0;
+        for (int i = 0; i < size; i++) {
+            sum += 1 / Math.pow(i + 1, exponent);
+            cumulative[i] = sum;
+        }
+        for (int i = 0; i < size; i++) {
+            cumulative[i] /= sum;
+        }
+        return cumulative;
+    }
+
+    private static long sample(double[] cumulative, Random random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        return (index < 0 ? -index - 1 : index) + 1L;
+    }
+}
@@ -0,0 +1,185 @@
+package com.dev.Sweet_Shop_Management_System.search;
+
+import com.dev.Sweet_Shop_Management_System.dto.response.SweetResponse;
+import com.dev.Sweet_Shop_Management_System.event.SweetChangeType;
+import com.dev.Sweet_Shop_Management_System.event.SweetChangedEvent;
+import com.dev.Sweet_Shop_Management_System.repository.SweetRepository;
+import com.dev.Sweet_Shop_Management_System.service.SweetSearchCriteria;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TrigramIndexTest {
+
+    private static final String[] WORDS = {
+            "kaju", "katli", "barfi", "ladoo", "peda", "halwa", "jalebi", "rasgulla", "chocolate", "fudge",
+            "toffee", "caramel", "mysore", "pak", "gulab", "jamun", "soan", "papdi", "coconut", "almond"
+    };
+
+    @Test
+    @DisplayName("✅ Should return exactly the sweets a brute-force substring scan finds")
+    void shouldMatchBruteForce() {
+        Random random = new Random(42);
+        List<Object[]> rows = randomRows(random, 2000);
+        TrigramIndex index = indexOf(rows, Integer.MAX_VALUE);
+
+        for (int i = 0; i < 500; i++) {
+            String name = random.nextInt(3) == 0 ? null : randomFragment(random);
+            String category = name != null && random.nextInt(2) == 0 ? null : randomFragment(random);
+            SweetSearchCriteria criteria = SweetSearchCriteria.of(name, category, null, null);
+
+            assertThat(sorted(index.candidates(criteria)))
+                    .as("name=%s category=%s", name, category)
+                    .containsExactly(bruteForce(rows, name, category));
+        }
+    }
+
+    @Test
+    @DisplayName("✅ Should decline patterns it cannot answer exactly")
+    void shouldDeclineUnsupportedPatterns() {
+        TrigramIndex index = indexOf(randomRows(new Random(1), 100), Integer.MAX_VALUE);
+
+        assertThat(index.candidates(SweetSearchCriteria.of("ka", null, null, null))).isNull();
+        assertThat(index.candidates(SweetSearchCriteria.of("ka%ju", null, null, null))).isNull();
+        assertThat(index.candidates(SweetSearchCriteria.of("ka_ju", null, null, null))).isNull();
+        assertThat(index.candidates(SweetSearchCriteria.of("kaju", "mithäi", null, null))).isNull();
+        assertThat(index.candidates(SweetSearchCriteria.of(null, null, 1.0, 5.0))).isNull();
+    }
+
+    @Test
+    @DisplayName("✅ Should decline when too many sweets match to help the database")
+    void shouldDeclineWhenTooManyCandidates() {
+        List<Object[]> rows = new ArrayList<>();
+        for (long id = 1; id <= 50; id++) {
+            rows.add(new Object[]{id, "Kaju Katli " + id, "Indian"});
+        }
+        TrigramIndex index = indexOf(rows, 10);
+
+        assertThat(index.candidates(SweetSearchCriteria.of("kaju", null, null, null))).isNull();
+        assertThat(index.candidates(SweetSearchCriteria.of("katli 7", null, null, null))).containsExactly(7L);
+    }
+
+    @Test
+    @DisplayName("✅ Should always hand non-ASCII sweets to the database")
+    void shouldKeepNonAsciiSweetsAsCandidates() {
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{1L, "Kaju Katli", "Indian"});
+        rows.add(new Object[]{2L, "Crème Brûlée", "French"});
+        TrigramIndex index = indexOf(rows, Integer.MAX_VALUE);
+
+        assertThat(sorted(index.candidates(SweetSearchCriteria.of("katli", null, null, null))))
+                .containsExactly(1L, 2L);
+        assertThat(index.candidates(SweetSearchCriteria.of("fudge", null, null, null))).containsExactly(2L);
+    }
+
+    @Test
+    @DisplayName("✅ Should follow created, renamed and deleted sweets")
+    void shouldFollowChanges() {
+        TrigramIndex index = indexOf(List.of(), Integer.MAX_VALUE);
+        SweetResponse created = sweet(5L, "Gulab Jamun", "Indian");
+        SweetResponse renamed = sweet(5L, "Rasgulla", "Indian");
+
+        publish(index, new SweetChangedEvent(SweetChangeType.CREATED, null, created, 1L));
+        assertThat(index.candidates(SweetSearchCriteria.of("jamun", null, null, null))).containsExactly(5L);
+
+        publish(index, new SweetChangedEvent(SweetChangeType.UPDATED, created, renamed, 2L));
+        assertThat(index.candidates(SweetSearchCriteria.of("jamun", null, null, null))).isEmpty();
+        assertThat(index.candidates(SweetSearchCriteria.of("gulla", null, null, null))).containsExactly(5L);
+
+        publish(index, new SweetChangedEvent(SweetChangeType.DELETED, renamed, null, 3L));
+        assertThat(index.candidates(SweetSearchCriteria.of("gulla", null, null, null))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("✅ Should match both old and new names while a rename is uncommitted")
+    void shouldKeepBothVersionsUntilCommit() {
+        SweetResponse before = sweet(9L, "Soan Papdi", "Indian");
+        SweetResponse after = sweet(9L, "Coconut Barfi", "Indian");
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{9L, "Soan Papdi", "Indian"});
+        TrigramIndex index = indexOf(rows, Integer.MAX_VALUE);
+        SweetChangedEvent event = new SweetChangedEvent(SweetChangeType.UPDATED, before, after, 1L);
+
+        index.onSweetChanged(event);
+        assertThat(index.candidates(SweetSearchCriteria.of("papdi", null, null, null))).containsExactly(9L);
+        assertThat(index.candidates(SweetSearchCriteria.of("coconut", null, null, null))).containsExactly(9L);
+
+        index.afterSweetChangeRolledBack(event);
+        assertThat(index.candidates(SweetSearchCriteria.of("papdi", null, null, null))).containsExactly(9L);
+        assertThat(index.candidates(SweetSearchCriteria.of("coconut", null, null, null))).isEmpty();
+    }
+
+    private static TrigramIndex indexOf(List<Object[]> rows, int maxCandidates) {
+        SweetRepository repository = mock(SweetRepository.class);
+        when(repository.streamSearchFields()).thenAnswer(invocation -> rows.stream());
+        TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+
+        TrigramIndex index = new TrigramIndex(repository, transactionTemplate, maxCandidates);
+        index.rebuild();
+        return index;
+    }
+
+    private static void publish(TrigramIndex index, SweetChangedEvent event) {
+        index.onSweetChanged(event);
+        index.afterSweetChangeCommitted(event);
+    }
+
+    private static List<Object[]> randomRows(Random random, int count) {
+        List<Object[]> rows = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            String name = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)];
+            String category = random.nextBoolean() ? "Indian Sweet" : "Western Confection";
+            rows.add(new Object[]{id, capitalize(name), category});
+        }
+        return rows;
+    }
+
+    private static String randomFragment(Random random) {
+        String word = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)];
+        int start = random.nextInt(word.length() - 3);
+        int end = start + 3 + random.nextInt(word.length() - start - 2);
+        return word.substring(start, end).toUpperCase(Locale.ROOT);
+    }
+
+    private static long[] bruteForce(List<Object[]> rows, String name, String category) {
+        return rows.stream()
+                .filter(row -> contains((String) row[1], name) && contains((String) row[2], category))
+                .mapToLong(row -> (Long) row[0])
+                .toArray();
+    }
+
+    private static boolean contains(String value, String pattern) {
+        return pattern == null || value.toLowerCase(Locale.ROOT).contains(pattern.toLowerCase(Locale.ROOT));
+    }
+
+    private static long[] sorted(long[] ids) {
+        long[] copy = ids.clone();
+        Arrays.sort(copy);
+        return copy;
+    }
+
+    private static String capitalize(String value) {
+        return Character.toUpperCase(value.charAt(0)) + value.substring(1);
+    }
+
+    private static SweetResponse sweet(Long id, String name, String category) {
+        return SweetResponse.builder()
+                .id(id)
+                .name(name)
+                .category(category)
+                .price(10.0)
+                .quantity(5)
+                .build();
+    }
+}
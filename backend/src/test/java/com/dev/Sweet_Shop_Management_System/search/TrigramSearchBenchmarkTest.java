@@ -0,0 +1,152 @@
+package com.dev.Sweet_Shop_Management_System.search;
+
+import com.dev.Sweet_Shop_Management_System.cache.SweetCatalogCache;
+import com.dev.Sweet_Shop_Management_System.service.CatalogTransferService;
+import com.dev.Sweet_Shop_Management_System.service.FileFormat;
+import com.dev.Sweet_Shop_Management_System.service.SweetService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Times the paged name search end to end, once narrowed by the trigram index and once with the index declining,
+// which leaves the plain Specification/LIKE query. Each context seeds its own rows and removes them afterwards.
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "sweetshop.imports.chunk-size=10000"
+})
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class TrigramSearchBenchmarkTest {
+
+    private static final String CATEGORY = "Trigram Benchmark";
+    private static final int[] SIZES = {100_000, 1_000_000};
+    private static final int QUERIES = 200;
+    private static final int PAGE_SIZE = 20;
+
+    private static final String[] WORDS = {
+            "kaju", "katli", "barfi", "ladoo", "peda", "halwa", "jalebi", "rasgulla", "chocolate", "fudge",
+            "toffee", "caramel", "mysore", "pak", "gulab", "jamun", "soan", "papdi", "coconut", "almond"
+    };
+
+    @Nested
+    class Indexed {
+
+        @Autowired
+        private CatalogTransferService catalogTransferService;
+
+        @Autowired
+        private SweetService sweetService;
+
+        @Autowired
+        private SweetCatalogCache catalogCache;
+
+        @Autowired
+        private JdbcTemplate jdbcTemplate;
+
+        @Test
+        @DisplayName("✅ Benchmark paged name search narrowed by the trigram index")
+        void benchmarkIndexed() throws Exception {
+            benchmarkSearch("indexed", catalogTransferService, sweetService, catalogCache, jdbcTemplate);
+        }
+    }
+
+    @Nested
+    @TestPropertySource(properties = "sweetshop.search.max-candidates=0")
+    class Declined {
+
+        @Autowired
+        private CatalogTransferService catalogTransferService;
+
+        @Autowired
+        private SweetService sweetService;
+
+        @Autowired
+        private SweetCatalogCache catalogCache;
+
+        @Autowired
+        private JdbcTemplate jdbcTemplate;
+
+        @Test
+        @DisplayName("✅ Benchmark paged name search through the Specification/LIKE query alone")
+        void benchmarkDeclined() throws Exception {
+            benchmarkSearch("like", catalogTransferService, sweetService, catalogCache, jdbcTemplate);
+        }
+    }
+
+    private static void benchmarkSearch(String label, CatalogTransferService catalogTransferService,
+                                        SweetService sweetService, SweetCatalogCache catalogCache,
+                                        JdbcTemplate jdbcTemplate) throws Exception {
+        try {
+            int seeded = 0;
+            for (int size : SIZES) {
+                assertThat(catalogTransferService.importCatalog(generated(seeded, size), FileFormat.CSV).getApplied())
+                        .isEqualTo(size - seeded);
+                seeded = size;
+
+                Random random = new Random(7);
+                String[] patterns = new String[QUERIES];
+                for (int i = 0; i < patterns.length; i++) {
+                    patterns[i] = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)];
+                }
+                for (int i = 0; i < 20; i++) {
+                    search(sweetService, catalogCache, patterns[i]);
+                }
+
+                long[] nanos = new long[QUERIES];
+                long found = 0;
+                for (int i = 0; i < QUERIES; i++) {
+                    long began = System.nanoTime();
+                    found += search(sweetService, catalogCache, patterns[i]);
+                    nanos[i] = System.nanoTime() - began;
+                }
+                Arrays.sort(nanos);
+
+                assertThat(found).isPositive();
+                System.out.printf("[trigram-search:%s] %d sweets: p50 %.2f ms, p99 %.2f ms per page of %d, %d rows returned%n",
+                        label, size, nanos[QUERIES / 2] / 1e6, nanos[QUERIES * 99 / 100] / 1e6, PAGE_SIZE, found);
+            }
+        } finally {
+            jdbcTemplate.update("delete from sweets where category = ?", CATEGORY);
+        }
+    }
+
+    // Cleared first, so every query reaches the database.
+    private static int search(SweetService sweetService, SweetCatalogCache catalogCache, String pattern) {
+        catalogCache.clear();
+        return sweetService.searchSweetsPage(pattern, null, null, null, "name", null, PAGE_SIZE).getItems().size();
+    }
+
+    private static InputStream generated(int from, int to) {
+        return new SequenceInputStream(new Enumeration<>() {
+            private final Random random = new Random(from);
+            private int next = from;
+
+            @Override
+            public boolean hasMoreElements() {
+                return next < to;
+            }
+
+            @Override
+            public InputStream nextElement() {
+                next++;
+                String name = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)];
+                String line = "," + name + "," + CATEGORY + "," + random.nextInt(100) + ".5," + random.nextInt(500) + "\n";
+                return new ByteArrayInputStream(line.getBytes(StandardCharsets.UTF_8));
+            }
+        });
+    }
+}
@@ -0,0 +1,112 @@
+package com.dev.Sweet_Shop_Management_System.stats;
+
+import com.dev.Sweet_Shop_Management_System.dto.request.PurchaseRequest;
+import com.dev.Sweet_Shop_Management_System.dto.request.SweetCreateRequest;
+import com.dev.Sweet_Shop_Management_System.dto.request.SweetUpdateRequest;
+import com.dev.Sweet_Shop_Management_System.dto.response.CategoryStatsResponse;
+import com.dev.Sweet_Shop_Management_System.dto.response.InventoryStatsResponse;
+import com.dev.Sweet_Shop_Management_System.dto.response.SweetResponse;
+import com.dev.Sweet_Shop_Management_System.service.SweetService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+@SpringBootTest(properties = "sweetshop.stats.low-stock-threshold=5")
+class InventoryStatsTest {
+
+    private static final String CATEGORY = "Inventory Stats";
+
+    @Autowired
+    private SweetService sweetService;
+
+    @Autowired
+    private InventoryStats inventoryStats;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanup() {
+        jdbcTemplate.update("delete from sweets where category like ?", CATEGORY + "%");
+        inventoryStats.reconcile();
+    }
+
+    @Test
+    @DisplayName("✅ Should keep category stats current through add, purchase, update and delete")
+    void shouldApplyDeltas() {
+        SweetResponse ladoo = sweetService.addSweet(create("Stats Ladoo", 4.0, 10));
+        SweetResponse barfi = sweetService.addSweet(create("Stats Barfi", 2.5, 3));
+
+        assertThat(category(CATEGORY)).hasValueSatisfying(stats -> {
+            assertThat(stats.getSkuCount()).isEqualTo(2);
+            assertThat(stats.getUnits()).isEqualTo(13);
+            assertThat(stats.getStockValue()).isCloseTo(47.5, within(1e-9));
+            assertThat(stats.getLowStockCount()).isEqualTo(1);
+            assertThat(stats.getZeroStockCount()).isZero();
+        });
+
+        sweetService.purchaseSweet(barfi.getId(), PurchaseRequest.builder().quantity(3).build());
+        sweetService.updateSweet(ladoo.getId(), SweetUpdateRequest.builder().price(5.0).build());
+
+        assertThat(category(CATEGORY)).hasValueSatisfying(stats -> {
+            assertThat(stats.getUnits()).isEqualTo(10);
+            assertThat(stats.getStockValue()).isCloseTo(50.0, within(1e-9));
+            assertThat(stats.getLowStockCount()).isZero();
+            assertThat(stats.getZeroStockCount()).isEqualTo(1);
+        });
+
+        sweetService.updateSweet(ladoo.getId(), SweetUpdateRequest.builder().category(CATEGORY + " Moved").build());
+        sweetService.deleteSweet(barfi.getId());
+
+        assertThat(category(CATEGORY)).isEmpty();
+        assertThat(category(CATEGORY + " Moved")).hasValueSatisfying(stats -> {
+            assertThat(stats.getSkuCount()).isEqualTo(1);
+            assertThat(stats.getStockValue()).isCloseTo(50.0, within(1e-9));
+        });
+    }
+
+    @Test
+    @DisplayName("✅ Should find and correct drift from writes that bypass change events")
+    void shouldReconcileDrift() {
+        sweetService.addSweet(create("Tracked Peda", 3.0, 4));
+        inventoryStats.reconcile();
+        long corrected = inventoryStats.stats().getMismatchesCorrected();
+
+        jdbcTemplate.update("update sweets set quantity = 20 where category = ?", CATEGORY);
+
+        inventoryStats.reconcile();
+        InventoryStatsResponse stats = inventoryStats.stats();
+
+        assertThat(stats.getLastReconcileResult()).isEqualTo("CORRECTED");
+        assertThat(stats.getMismatchesCorrected()).isEqualTo(corrected + 1);
+        assertThat(stats.getLastMismatch()).contains(CATEGORY).contains("units 16");
+        assertThat(category(CATEGORY)).hasValueSatisfying(category -> {
+            assertThat(category.getUnits()).isEqualTo(20);
+            assertThat(category.getStockValue()).isCloseTo(60.0, within(1e-9));
+            assertThat(category.getLowStockCount()).isZero();
+        });
+    }
+
+    private Optional<CategoryStatsResponse> category(String name) {
+        return inventoryStats.stats().getCategories().stream()
+                .filter(category -> category.getCategory().equals(name))
+                .findFirst();
+    }
+
+    private static SweetCreateRequest create(String name, double price, int quantity) {
+        return SweetCreateRequest.builder()
+                .name(name)
+                .category(CATEGORY)
+                .price(price)
+                .quantity(quantity)
+                .build();
+    }
+}
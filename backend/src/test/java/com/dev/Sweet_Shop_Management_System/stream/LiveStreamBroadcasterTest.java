@@ -0,0 +1,212 @@
+package com.dev.Sweet_Shop_Management_System.stream;
+
+import com.dev.Sweet_Shop_Management_System.dto.response.StockChangeMessage;
+import com.dev.Sweet_Shop_Management_System.dto.response.SweetResponse;
+import com.dev.Sweet_Shop_Management_System.event.SweetChangeType;
+import com.dev.Sweet_Shop_Management_System.event.SweetChangedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LiveStreamBroadcasterTest {
+
+    private static final int BUFFER_SIZE = 16;
+    private static final int DISPATCHER_THREADS = 4;
+
+    private LiveStreamBroadcaster broadcaster;
+
+    @BeforeEach
+    void setup() {
+        broadcaster = new LiveStreamBroadcaster(BUFFER_SIZE, DISPATCHER_THREADS, Duration.ofMinutes(1),
+                Duration.ofMillis(100));
+    }
+
+    @AfterEach
+    void cleanup() {
+        broadcaster.shutdown();
+    }
+
+    @Test
+    @DisplayName("✅ Should fan out to thousands of idle subscribers without blocking the publisher")
+    void shouldFanOutToManySubscribers() throws Exception {
+        int subscriberCount = 5000;
+        int sweets = 10;
+        int changesPerSweet = 50;
+
+        List<RecordingSink> sinks = new ArrayList<>();
+        for (int i = 0; i < subscriberCount; i++) {
+            RecordingSink sink = new RecordingSink();
+            sinks.add(sink);
+            broadcaster.subscribe(sink);
+        }
+
+        BlockingSink stuck = new BlockingSink();
+        StreamSubscriber stuckSubscriber = broadcaster.subscribe(stuck);
+
+        long began = System.nanoTime();
+        for (int change = 1; change <= changesPerSweet; change++) {
+            for (long sweetId = 1; sweetId <= sweets; sweetId++) {
+                broadcaster.onSweetChanged(event(sweetId, change));
+            }
+        }
+        long publishMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - began);
+        System.out.printf("[sse] published %d changes to %d subscribers in %d ms%n",
+                sweets * changesPerSweet, subscriberCount + 1, publishMillis);
+
+        for (RecordingSink sink : sinks) {
+            assertThat(sink.awaitQuantity(sweets, changesPerSweet)).isTrue();
+        }
+
+        assertThat(stuckSubscriber.pendingCount()).isLessThanOrEqualTo(BUFFER_SIZE);
+        assertThat(broadcaster.stats().getSubscribers()).isEqualTo(subscriberCount + 1);
+        assertThat(broadcaster.stats().getCoalesced()).isPositive();
+        stuck.release.countDown();
+    }
+
+    @Test
+    @DisplayName("✅ Should drop the oldest pending changes once a slow subscriber's buffer is full")
+    void shouldDropOldestForSlowSubscriber() {
+        BlockingSink stuck = new BlockingSink();
+        StreamSubscriber subscriber = broadcaster.subscribe(stuck);
+
+        for (long sweetId = 1; sweetId <= BUFFER_SIZE * 4; sweetId++) {
+            broadcaster.onSweetChanged(event(sweetId, 1));
+        }
+
+        assertThat(subscriber.pendingCount()).isLessThanOrEqualTo(BUFFER_SIZE);
+        assertThat(subscriber.droppedCount()).isPositive();
+        stuck.release.countDown();
+    }
+
+    @Test
+    @DisplayName("✅ Should unsubscribe clients whose connection fails")
+    void shouldRemoveBrokenSubscribers() throws Exception {
+        StreamSubscriber subscriber = broadcaster.subscribe(new FailingSink());
+
+        broadcaster.onSweetChanged(event(1L, 1));
+
+        for (int i = 0; i < 100 && !subscriber.isClosed(); i++) {
+            Thread.sleep(10);
+        }
+        assertThat(subscriber.isClosed()).isTrue();
+        assertThat(broadcaster.stats().getSubscribers()).isZero();
+    }
+
+    @Test
+    @DisplayName("✅ Should evict clients that stop reading so they cannot pin every dispatcher thread")
+    void shouldEvictStalledSubscribers() throws Exception {
+        List<StreamSubscriber> stalled = new ArrayList<>();
+        for (int i = 0; i < DISPATCHER_THREADS * 2; i++) {
+            stalled.add(broadcaster.subscribe(new BlockingSink()));
+        }
+        RecordingSink healthy = new RecordingSink();
+        broadcaster.subscribe(healthy);
+
+        broadcaster.onSweetChanged(event(1L, 1));
+        // Each pass evicts the writes that have outlived the timeout and frees their threads for the rest.
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (stalled.stream().anyMatch(subscriber -> !subscriber.isClosed()) && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+            broadcaster.expireStalledWrites();
+        }
+
+        assertThat(stalled).allMatch(StreamSubscriber::isClosed);
+        assertThat(broadcaster.stats().getTimedOut()).isEqualTo(stalled.size());
+        assertThat(broadcaster.stats().getSubscribers()).isEqualTo(1);
+
+        broadcaster.onSweetChanged(event(1L, 2));
+        assertThat(healthy.awaitQuantity(1, 2)).isTrue();
+    }
+
+    private static SweetChangedEvent event(long sweetId, int quantity) {
+        SweetResponse after = SweetResponse.builder()
+                .id(sweetId)
+                .name("Sweet " + sweetId)
+                .category("Stream")
+                .price(1.0)
+                .quantity(quantity)
+                .build();
+        return new SweetChangedEvent(SweetChangeType.RESTOCKED, after, after, quantity);
+    }
+
+    private static class RecordingSink implements StreamSink {
+        private final Map<Long, Integer> latest = new ConcurrentHashMap<>();
+
+        @Override
+        public void send(List<StreamMessage> messages) {
+            for (StreamMessage message : messages) {
+                StockChangeMessage payload = (StockChangeMessage) message.getPayload();
+                latest.put(payload.getSweetId(), payload.getQuantity());
+            }
+        }
+
+        @Override
+        public void heartbeat() {
+        }
+
+        @Override
+        public void close() {
+        }
+
+        boolean awaitQuantity(int sweets, int quantity) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (System.nanoTime() < deadline) {
+                if (latest.size() == sweets && latest.values().stream().allMatch(q -> q == quantity)) {
+                    return true;
+                }
+                Thread.sleep(5);
+            }
+            return false;
+        }
+    }
+
+    private static class BlockingSink implements StreamSink {
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        public void send(List<StreamMessage> messages) throws IOException {
+            try {
+                release.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IOException(ex);
+            }
+        }
+
+        @Override
+        public void heartbeat() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private static class FailingSink implements StreamSink {
+        @Override
+        public void send(List<StreamMessage> messages) throws IOException {
+            throw new IOException("Broken pipe");
+        }
+
+        @Override
+        public void heartbeat() throws IOException {
+            throw new IOException("Broken pipe");
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,337 @@
+package com.dev.Sweet_Shop_Management_System.sweet;
+
+import com.dev.Sweet_Shop_Management_System.dto.response.ImportLineError;
+import com.dev.Sweet_Shop_Management_System.dto.response.ImportSummaryResponse;
+import com.dev.Sweet_Shop_Management_System.dto.response.ResyncMessage;
+import com.dev.Sweet_Shop_Management_System.entity.Sweet;
+import com.dev.Sweet_Shop_Management_System.journal.InventoryJournal;
+import com.dev.Sweet_Shop_Management_System.repository.SweetRepository;
+import com.dev.Sweet_Shop_Management_System.service.CatalogTransferService;
+import com.dev.Sweet_Shop_Management_System.service.FileFormat;
+import com.dev.Sweet_Shop_Management_System.service.SweetService;
+import com.dev.Sweet_Shop_Management_System.stats.InventoryStats;
+import com.dev.Sweet_Shop_Management_System.stream.LiveStreamBroadcaster;
+import com.dev.Sweet_Shop_Management_System.stream.StreamMessage;
+import com.dev.Sweet_Shop_Management_System.stream.StreamSink;
+import com.dev.Sweet_Shop_Management_System.stream.StreamSubscriber;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+        "sweetshop.imports.batch-size=2",
+        "sweetshop.imports.chunk-size=3",
+        "sweetshop.journal.directory=target/catalog-transfer-journal"
+})
+class CatalogTransferTest {
+
+    private static final String CATEGORY = "Catalog Transfer";
+
+    @Autowired
+    private CatalogTransferService catalogTransferService;
+
+    @Autowired
+    private SweetService sweetService;
+
+    @Autowired
+    private SweetRepository sweetRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private InventoryJournal inventoryJournal;
+
+    @Autowired
+    private LiveStreamBroadcaster liveStreamBroadcaster;
+
+    @Autowired
+    private InventoryStats inventoryStats;
+
+    @AfterEach
+    void cleanup() {
+        jdbcTemplate.update("delete from sweets where category like ?", CATEGORY + "%");
+    }
+
+    @Test
+    @DisplayName("✅ Should export the catalog as CSV with quoted fields")
+    void shouldExportCsv() throws Exception {
+        Sweet sweet = save("Kaju \"Royal\", Katli", 12.5, 7);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long exported = catalogTransferService.export(out, FileFormat.CSV);
+
+        List<String> lines = Arrays.asList(out.toString(StandardCharsets.UTF_8).split("\n"));
+        assertThat(lines.get(0)).isEqualTo("id,name,category,price,quantity");
+        assertThat(exported).isEqualTo(lines.size() - 1);
+        assertThat(lines).contains(sweet.getId() + ",\"Kaju \"\"Royal\"\", Katli\"," + CATEGORY + ",12.5,7");
+    }
+
+    @Test
+    @DisplayName("✅ Should round-trip an NDJSON export back into the catalog")
+    void shouldRoundTripNdjson() throws Exception {
+        Sweet sweet = save("Rasgulla", 4.0, 20);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        catalogTransferService.export(out, FileFormat.NDJSON);
+        String exported = Arrays.stream(out.toString(StandardCharsets.UTF_8).split("\n"))
+                .filter(line -> line.contains(CATEGORY))
+                .findFirst()
+                .orElseThrow();
+
+        ImportSummaryResponse response = catalogTransferService.importCatalog(
+                stream(exported.replace("\"quantity\":20", "\"quantity\":25")), FileFormat.NDJSON);
+
+        assertThat(response.getApplied()).isEqualTo(1);
+        assertThat(sweetService.getSweet(sweet.getId()).getQuantity()).isEqualTo(25);
+    }
+
+    @Test
+    @DisplayName("✅ Should upsert and create rows across chunks and report the rest per line")
+    void shouldImportCsvWithPerLineErrors() throws Exception {
+        Sweet existing = save("Peda", 3.0, 5);
+        Sweet reserved = save("Jalebi", 2.0, 10);
+        jdbcTemplate.update("update sweets set reserved_quantity = 4 where id = ?", reserved.getId());
+
+        String file = String.join("\n",
+                "id,name,category,price,quantity",
+                existing.getId() + ",Peda Deluxe," + CATEGORY + ",3.5,9",
+                ",\"Soan, Papdi\"," + CATEGORY + ",6,30",
+                ",Ladoo,,2,1",
+                "",
+                ",Barfi," + CATEGORY + ",-1,1",
+                reserved.getId() + ",Jalebi," + CATEGORY + ",2,3",
+                ",Halwa," + CATEGORY + ",8,abc",
+                ",Gulab Jamun," + CATEGORY + ",5,12");
+
+        ImportSummaryResponse response = catalogTransferService.importCatalog(stream(file), FileFormat.CSV);
+
+        assertThat(response.getLines()).isEqualTo(7);
+        assertThat(response.getApplied()).isEqualTo(3);
+        assertThat(response.getFailed()).isEqualTo(4);
+        assertThat(response.getErrors()).extracting(ImportLineError::getLine).containsExactly(4L, 6L, 7L, 8L);
+
+        Sweet updated = sweetRepository.findById(existing.getId()).orElseThrow();
+        assertThat(updated.getName()).isEqualTo("Peda Deluxe");
+        assertThat(updated.getQuantity()).isEqualTo(9);
+        assertThat(sweetRepository.findById(reserved.getId()).orElseThrow().getQuantity()).isEqualTo(10);
+        assertThat(sweetService.searchSweets("Soan", null, null, null))
+                .extracting("name")
+                .containsExactly("Soan, Papdi");
+    }
+
+    @Test
+    @DisplayName("✅ Should update search and stock stats as each chunk commits, even if the upload then fails")
+    void shouldApplyChunksAsTheyCommit() throws Exception {
+        Sweet existing = save("Mysore Pak", 5.0, 5);
+        long units = inventoryStats.stats().getUnits();
+        // Six lines fill two chunks; the upload breaks off before the reader reaches the end.
+        InputStream failing = new SequenceInputStream(stream(String.join("\n",
+                existing.getId() + ",Mysore Pak Royal," + CATEGORY + ",5,9",
+                ",Chikki One," + CATEGORY + ",1,1",
+                ",Chikki Two," + CATEGORY + ",1,1",
+                ",Chikki Three," + CATEGORY + ",1,1",
+                ",Chikki Four," + CATEGORY + ",1,1",
+                ",Chikki Five," + CATEGORY + ",1,1\n")), new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("connection reset");
+            }
+        });
+
+        assertThatThrownBy(() -> catalogTransferService.importCatalog(failing, FileFormat.CSV))
+                .isInstanceOf(IOException.class);
+
+        assertThat(sweetService.searchSweets("Royal", CATEGORY, null, null))
+                .extracting("id")
+                .containsExactly(existing.getId());
+        assertThat(sweetService.searchSweets("Chikki", CATEGORY, null, null)).hasSize(5);
+        assertThat(inventoryStats.stats().getUnits() - units).isEqualTo(4 + 5);
+    }
+
+    @Test
+    @DisplayName("❌ Should report explicit ids that do not exist, were deleted or are not positive")
+    void shouldRejectUnknownIds() throws Exception {
+        Sweet deleted = save("Deleted Kheer", 1.0, 1);
+        sweetService.deleteSweet(deleted.getId());
+        // The first id of the next block the sequence hands out; inserting it would collide with a later create.
+        long unknown = lastSequenceValue() + 1;
+
+        ImportSummaryResponse response = catalogTransferService.importCatalog(stream(String.join("\n",
+                deleted.getId() + ",Kheer," + CATEGORY + ",1,1",
+                unknown + ",Imported," + CATEGORY + ",1,1",
+                "0,Zero," + CATEGORY + ",1,1",
+                ",Generated," + CATEGORY + ",1,1")), FileFormat.CSV);
+
+        assertThat(response.getApplied()).isEqualTo(1);
+        assertThat(response.getErrors()).extracting(ImportLineError::getLine).containsExactly(1L, 2L, 3L);
+        assertThat(sweetRepository.existsById(deleted.getId())).isFalse();
+        assertThat(sweetRepository.existsById(unknown)).isFalse();
+        assertThat(sweetService.searchSweets("Generated", CATEGORY, null, null)).hasSize(1);
+        assertThat(save("Created After Import", 1.0, 1).getId()).isPositive();
+    }
+
+    @Test
+    @DisplayName("✅ Should journal imported quantities and tell stream subscribers to resync")
+    void shouldJournalAndAnnounceImport() throws Exception {
+        Sweet existing = save("Kalakand", 4.0, 5);
+        List<StreamMessage> received = new CopyOnWriteArrayList<>();
+        StreamSubscriber subscriber = liveStreamBroadcaster.subscribe(new StreamSink() {
+            @Override
+            public void send(List<StreamMessage> messages) {
+                received.addAll(messages);
+            }
+
+            @Override
+            public void heartbeat() {
+            }
+
+            @Override
+            public void close() {
+            }
+        });
+
+        try {
+            ImportSummaryResponse response = catalogTransferService.importCatalog(
+                    stream(existing.getId() + ",Kalakand," + CATEGORY + ",4,9\n,Cham Cham," + CATEGORY + ",3,6"),
+                    FileFormat.CSV);
+            assertThat(response.getApplied()).isEqualTo(2);
+
+            Long created = sweetService.searchSweets("Cham Cham", CATEGORY, null, null).get(0).getId();
+            assertThat(inventoryJournal.replay(Instant.now()).getQuantities())
+                    .containsEntry(existing.getId(), 9)
+                    .containsEntry(created, 6);
+
+            long deadline = System.currentTimeMillis() + 5000;
+            while (received.isEmpty() && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertThat(received).filteredOn(message -> message.getEvent().equals(LiveStreamBroadcaster.RESYNC_EVENT))
+                    .singleElement()
+                    .satisfies(message -> assertThat(((ResyncMessage) message.getPayload()).getChanged()).isEqualTo(2));
+        } finally {
+            subscriber.close();
+        }
+    }
+
+    private long lastSequenceValue() {
+        return jdbcTemplate.queryForObject("select last_value from " + Sweet.SEQUENCE, Long.class);
+    }
+
+    private Sweet save(String name, double price, int quantity) {
+        return sweetRepository.save(Sweet.builder()
+                .name(name)
+                .category(CATEGORY)
+                .price(price)
+                .quantity(quantity)
+                .build());
+    }
+
+    private static InputStream stream(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Nested
+    @EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+    @TestPropertySource(properties = {
+            "sweetshop.imports.batch-size=500",
+            "sweetshop.imports.chunk-size=5000"
+    })
+    class TransferBenchmark {
+
+        private static final int ROWS = 1_000_000;
+
+        @Autowired
+        private CatalogTransferService catalogTransferService;
+
+        @Autowired
+        private JdbcTemplate jdbcTemplate;
+
+        @Test
+        @DisplayName("✅ Benchmark a 1M row export and re-import")
+        void benchmarkTransfer() throws Exception {
+            ImportSummaryResponse seeded = catalogTransferService.importCatalog(generated(ROWS), FileFormat.CSV);
+            assertThat(seeded.getApplied()).isEqualTo(ROWS);
+
+            Path file = Files.createTempFile("sweets", ".ndjson");
+            try {
+                long began = System.nanoTime();
+                try (OutputStream out = Files.newOutputStream(file)) {
+                    catalogTransferService.export(out, FileFormat.NDJSON);
+                }
+                long exportMillis = (System.nanoTime() - began) / 1_000_000;
+                long exportPeak = peakRssKb();
+
+                ImportSummaryResponse reimported;
+                try (InputStream in = Files.newInputStream(file)) {
+                    reimported = catalogTransferService.importCatalog(in, FileFormat.NDJSON);
+                }
+
+                System.out.printf("[catalog-transfer] seed: %d rows in %d ms; export: %d MB in %d ms (peak RSS %d MB); "
+                                + "re-import: %d rows in %d ms, %.0f rows/s (peak RSS %d MB)%n",
+                        seeded.getApplied(), seeded.getElapsedMillis(), Files.size(file) >> 20, exportMillis,
+                        exportPeak >> 10, reimported.getApplied(), reimported.getElapsedMillis(),
+                        reimported.getRowsPerSecond(), peakRssKb() >> 10);
+                assertThat(reimported.getFailed()).isZero();
+            } finally {
+                Files.deleteIfExists(file);
+                jdbcTemplate.update("delete from sweets where category like ?", CATEGORY + "%");
+            }
+        }
+
+        // VmHWM is the resident set high-water mark; the heap alone would hide cursor and driver buffers.
+        private static long peakRssKb() throws Exception {
+            Path status = Path.of("/proc/self/status");
+            if (!Files.exists(status)) {
+                return -1;
+            }
+            return Files.readAllLines(status).stream()
+                    .filter(line -> line.startsWith("VmHWM:"))
+                    .mapToLong(line -> Long.parseLong(line.replaceAll("\\D", "")))
+                    .findFirst()
+                    .orElse(-1);
+        }
+
+        // Produces the seed file one line at a time, the way a request body arrives.
+        private static InputStream generated(int rows) {
+            return new SequenceInputStream(new Enumeration<>() {
+                private int next;
+
+                @Override
+                public boolean hasMoreElements() {
+                    return next < rows;
+                }
+
+                @Override
+                public InputStream nextElement() {
+                    int row = next++;
+                    return stream(",Bench Sweet " + row + "," + CATEGORY + " " + (row % 50) + "," + (row % 97) + ".5," + (row % 500) + "\n");
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.dev.Sweet_Shop_Management_System.sweet;
+
+import com.dev.Sweet_Shop_Management_System.dto.request.PriceAdjustmentRequest;
+import com.dev.Sweet_Shop_Management_System.dto.request.SweetCreateRequest;
+import com.dev.Sweet_Shop_Management_System.dto.request.SweetUpdateRequest;
+import com.dev.Sweet_Shop_Management_System.dto.response.SweetBulkResponse;
+import com.dev.Sweet_Shop_Management_System.dto.response.SweetResponse;
+import com.dev.Sweet_Shop_Management_System.service.SweetBulkService;
+import com.dev.Sweet_Shop_Management_System.service.SweetService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class SweetBulkBenchmarkTest {
+
+    private static final String CATEGORY = "Bulk Benchmark";
+    private static final int ROWS = 5_000;
+
+    @Autowired
+    private SweetService sweetService;
+
+    @Autowired
+    private SweetBulkService sweetBulkService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanup() {
+        jdbcTemplate.update("delete from sweets where category = ?", CATEGORY);
+    }
+
+    @Test
+    @DisplayName("✅ Benchmark bulk create, update and delete against one request per row")
+    void benchmarkBulkWrites() {
+        List<SweetCreateRequest> requests = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            requests.add(SweetCreateRequest.builder()
+                    .name("Bench Sweet " + i)
+                    .category(CATEGORY)
+                    .price(10.0 + i % 50)
+                    .quantity(100)
+                    .build());
+        }
+
+        long began = System.nanoTime();
+        List<SweetResponse> single = new ArrayList<>();
+        for (SweetCreateRequest request : requests) {
+            single.add(sweetService.addSweet(request));
+        }
+        double singleCreate = rate(ROWS, began);
+
+        began = System.nanoTime();
+        for (SweetResponse sweet : single) {
+            sweetService.updateSweet(sweet.getId(), SweetUpdateRequest.builder().price(sweet.getPrice() * 1.1).build());
+        }
+        double singleUpdate = rate(ROWS, began);
+
+        began = System.nanoTime();
+        single.forEach(sweet -> sweetService.deleteSweet(sweet.getId()));
+        double singleDelete = rate(ROWS, began);
+
+        began = System.nanoTime();
+        SweetBulkResponse created = sweetBulkService.createAll(requests);
+        double bulkCreate = rate(ROWS, began);
+
+        began = System.nanoTime();
+        SweetBulkResponse adjusted = sweetBulkService.updateAll(null, PriceAdjustmentRequest.builder()
+                .category(CATEGORY)
+                .percent(10.0)
+                .build());
+        double bulkUpdate = rate(ROWS, began);
+
+        began = System.nanoTime();
+        sweetBulkService.deleteAll(created.getSweets().stream().map(SweetResponse::getId).toList());
+        double bulkDelete = rate(ROWS, began);
+
+        System.out.printf("[bulk-writes] %d rows, rows/s one-by-one vs bulk: create %.0f vs %.0f, "
+                        + "update %.0f vs %.0f, delete %.0f vs %.0f%n",
+                ROWS, singleCreate, bulkCreate, singleUpdate, bulkUpdate, singleDelete, bulkDelete);
+        assertThat(created.getCount()).isEqualTo(ROWS);
+        assertThat(adjusted.getCount()).isEqualTo(ROWS);
+    }
+
+    private static double rate(int rows, long began) {
+        return rows / ((System.nanoTime() - began) / 1_000_000_000.0);
+    }
+}
@@ -0,0 +1,220 @@
+package com.dev.Sweet_Shop_Management_System.sweet;
+
+import com.dev.Sweet_Shop_Management_System.entity.Role;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.transaction.Transactional;
+import lombok.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class SweetBulkControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private String adminToken;
+    private String userToken;
+
+    @BeforeEach
+    void setup() throws Exception {
+        adminToken = registerAndLogin("bulkAdmin", "bulkadmin@example.com", Role.ADMIN);
+        userToken = registerAndLogin("bulkUser", "bulkuser@example.com", Role.USER);
+    }
+
+    @Test
+    @DisplayName("✅ Should create many sweets in one request")
+    void shouldCreateSweets() throws Exception {
+        List<Long> ids = create(
+                new SweetRequest("Bulk Ladoo", "Bulk Test", 10.0, 5),
+                new SweetRequest("Bulk Peda", "Bulk Test", 12.0, 6),
+                new SweetRequest("Bulk Barfi", "Bulk Test", 14.0, 7));
+
+        assertThat(ids).hasSize(3).doesNotHaveDuplicates();
+        mockMvc.perform(get("/api/sweets/" + ids.get(1))
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Bulk Peda"))
+                .andExpect(jsonPath("$.quantity").value(6));
+    }
+
+    @Test
+    @DisplayName("✅ Should apply item updates and a category price adjustment together")
+    void shouldUpdateSweets() throws Exception {
+        List<Long> ids = create(
+                new SweetRequest("Bulk Jalebi", "Bulk Adjust", 10.0, 5),
+                new SweetRequest("Bulk Halwa", "Bulk Adjust", 20.0, 5),
+                new SweetRequest("Bulk Kulfi", "Bulk Other", 30.0, 5));
+
+        var body = Map.of(
+                "updates", List.of(Map.of("id", ids.get(2), "name", "Bulk Kulfi Malai", "quantity", 9)),
+                "priceAdjustment", Map.of("category", "Bulk Adjust", "percent", -10));
+
+        mockMvc.perform(patch("/api/sweets/bulk")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(body)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.count").value(3))
+                .andExpect(jsonPath("$.sweets[0].price").value(9.0))
+                .andExpect(jsonPath("$.sweets[1].price").value(18.0))
+                .andExpect(jsonPath("$.sweets[2].name").value("Bulk Kulfi Malai"))
+                .andExpect(jsonPath("$.sweets[2].price").value(30.0))
+                .andExpect(jsonPath("$.sweets[2].quantity").value(9));
+    }
+
+    @Test
+    @DisplayName("❌ Should reject a bulk update carrying a stale version")
+    void shouldRejectStaleVersion() throws Exception {
+        List<Long> ids = create(new SweetRequest("Bulk Soan Papdi", "Bulk Test", 10.0, 5));
+
+        var body = Map.of("updates", List.of(Map.of("id", ids.get(0), "price", 11.0, "version", 42)));
+
+        mockMvc.perform(patch("/api/sweets/bulk")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(body)))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    @DisplayName("❌ Should reject a bulk update with nothing to do")
+    void shouldRejectEmptyUpdate() throws Exception {
+        mockMvc.perform(patch("/api/sweets/bulk")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("✅ Should delete many sweets as admin")
+    void shouldDeleteSweets() throws Exception {
+        List<Long> ids = create(
+                new SweetRequest("Bulk Rasgulla", "Bulk Test", 10.0, 5),
+                new SweetRequest("Bulk Sandesh", "Bulk Test", 10.0, 5));
+
+        mockMvc.perform(delete("/api/sweets/bulk")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("ids", ids))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.count").value(2));
+
+        mockMvc.perform(get("/api/sweets/" + ids.get(0))
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("❌ Should fail the whole bulk delete when an id does not exist")
+    void shouldFailDeleteWithMissingId() throws Exception {
+        List<Long> ids = create(new SweetRequest("Bulk Chikki", "Bulk Test", 10.0, 5));
+
+        mockMvc.perform(delete("/api/sweets/bulk")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("ids", List.of(ids.get(0), 999999999L)))))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("❌ Should fail when a regular user sends bulk writes")
+    void shouldFailForNonAdminUser() throws Exception {
+        mockMvc.perform(post("/api/sweets/bulk")
+                        .header("Authorization", "Bearer " + userToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                Map.of("sweets", List.of(new SweetRequest("Bulk Modak", "Bulk Test", 10.0, 5))))))
+                .andExpect(status().isForbidden());
+
+        mockMvc.perform(delete("/api/sweets/bulk")
+                        .header("Authorization", "Bearer " + userToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("ids", List.of(1L)))))
+                .andExpect(status().isForbidden());
+    }
+
+    private List<Long> create(SweetRequest... sweets) throws Exception {
+        var response = mockMvc.perform(post("/api/sweets/bulk")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("sweets", List.of(sweets)))))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.count").value(sweets.length))
+                .andReturn();
+
+        List<Long> ids = new ArrayList<>();
+        for (JsonNode sweet : objectMapper.readTree(response.getResponse().getContentAsString()).get("sweets")) {
+            ids.add(sweet.get("id").asLong());
+        }
+        return ids;
+    }
+
+    private String registerAndLogin(String username, String email, Role role) throws Exception {
+        mockMvc.perform(post("/api/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new RegisterRequest(username, email, "password123", role))))
+                .andExpect(status().isCreated());
+
+        var login = mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new LoginRequest(username, "password123"))))
+                .andReturn();
+        return objectMapper.readTree(login.getResponse().getContentAsString()).get("token").asText();
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    static class SweetRequest {
+        private String name;
+        private String category;
+        private Double price;
+        private Integer quantity;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    static class RegisterRequest {
+        private String username;
+        private String email;
+        private String password;
+        private Role role;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    static class LoginRequest {
+        private String usernameOrEmail;
+        private String password;
+    }
+}
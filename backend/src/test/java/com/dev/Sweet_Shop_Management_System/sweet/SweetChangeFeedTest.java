@@ -0,0 +1,125 @@
+package com.dev.Sweet_Shop_Management_System.sweet;
+
+import com.dev.Sweet_Shop_Management_System.dto.request.PurchaseRequest;
+import com.dev.Sweet_Shop_Management_System.dto.request.SweetCreateRequest;
+import com.dev.Sweet_Shop_Management_System.dto.response.SweetChangesResponse;
+import com.dev.Sweet_Shop_Management_System.dto.response.SweetResponse;
+import com.dev.Sweet_Shop_Management_System.repository.SweetTombstoneRepository;
+import com.dev.Sweet_Shop_Management_System.service.SweetChangeFeedService;
+import com.dev.Sweet_Shop_Management_System.service.SweetService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class SweetChangeFeedTest {
+
+    @Autowired
+    private SweetService sweetService;
+
+    @Autowired
+    private SweetChangeFeedService changeFeedService;
+
+    @Autowired
+    private SweetTombstoneRepository tombstoneRepository;
+
+    private final List<Long> createdIds = new ArrayList<>();
+
+    @AfterEach
+    void cleanup() {
+        for (Long id : createdIds) {
+            if (tombstoneRepository.existsById(id)) {
+                tombstoneRepository.deleteById(id);
+            } else {
+                sweetService.deleteSweet(id);
+                tombstoneRepository.deleteById(id);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("✅ Should return a full snapshot when no version is given")
+    void shouldReturnSnapshotWithoutVersion() {
+        SweetResponse sweet = addSweet("Snapshot Halwa");
+
+        SweetChangesResponse changes = changeFeedService.getChangesSince(null);
+
+        assertThat(changes.isSnapshot()).isTrue();
+        assertThat(changes.getUpserted()).extracting(SweetResponse::getId).contains(sweet.getId());
+    }
+
+    @Test
+    @DisplayName("✅ Should return only sweets changed since the given version")
+    void shouldReturnOnlyChanges() {
+        SweetResponse untouched = addSweet("Untouched Halwa");
+        long since = changeFeedService.getChangesSince(null).getVersion();
+
+        SweetResponse purchased = addSweet("Purchased Halwa");
+        sweetService.purchaseSweet(purchased.getId(), PurchaseRequest.builder().quantity(2).build());
+
+        SweetChangesResponse changes = changeFeedService.getChangesSince(since);
+
+        assertThat(changes.isSnapshot()).isFalse();
+        assertThat(changes.getVersion()).isGreaterThan(since);
+        assertThat(changes.getUpserted()).extracting(SweetResponse::getId)
+                .containsExactly(purchased.getId())
+                .doesNotContain(untouched.getId());
+        assertThat(changes.getUpserted().get(0).getQuantity()).isEqualTo(8);
+        assertThat(changes.getDeleted()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("✅ Should report deleted sweets through tombstones")
+    void shouldReportDeletedIds() {
+        SweetResponse sweet = addSweet("Deleted Halwa");
+        long since = changeFeedService.getChangesSince(null).getVersion();
+
+        sweetService.deleteSweet(sweet.getId());
+
+        SweetChangesResponse changes = changeFeedService.getChangesSince(since);
+
+        assertThat(changes.isSnapshot()).isFalse();
+        assertThat(changes.getDeleted()).containsExactly(sweet.getId());
+        assertThat(changes.getUpserted()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("✅ Should return an empty delta when nothing changed")
+    void shouldReturnEmptyDelta() {
+        addSweet("Quiet Halwa");
+        long since = changeFeedService.getChangesSince(null).getVersion();
+
+        SweetChangesResponse changes = changeFeedService.getChangesSince(since);
+
+        assertThat(changes.isSnapshot()).isFalse();
+        assertThat(changes.getVersion()).isEqualTo(since);
+        assertThat(changes.getUpserted()).isEmpty();
+        assertThat(changes.getDeleted()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("✅ Should fall back to a snapshot for versions from the future")
+    void shouldFallBackToSnapshotForUnknownVersion() {
+        SweetChangesResponse changes = changeFeedService.getChangesSince(Long.MAX_VALUE);
+
+        assertThat(changes.isSnapshot()).isTrue();
+    }
+
+    private SweetResponse addSweet(String name) {
+        SweetResponse sweet = sweetService.addSweet(SweetCreateRequest.builder()
+                .name(name)
+                .category("Change Feed")
+                .price(9.0)
+                .quantity(10)
+                .build());
+        createdIds.add(sweet.getId());
+        return sweet;
+    }
+}
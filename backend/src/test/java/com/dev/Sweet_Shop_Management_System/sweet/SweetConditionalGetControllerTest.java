@@ -0,0 +1,111 @@
+package com.dev.Sweet_Shop_Management_System.sweet;
+
+import com.dev.Sweet_Shop_Management_System.cache.CatalogVersion;
+import com.dev.Sweet_Shop_Management_System.dto.request.LoginRequest;
+import com.dev.Sweet_Shop_Management_System.dto.request.RegisterRequest;
+import com.dev.Sweet_Shop_Management_System.dto.request.SweetCreateRequest;
+import com.dev.Sweet_Shop_Management_System.entity.Role;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class SweetConditionalGetControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CatalogVersion catalogVersion;
+
+    private String jwtToken;
+
+    @BeforeEach
+    void setup() throws Exception {
+        var register = RegisterRequest.builder()
+                .username("etagUser")
+                .email("etag@example.com")
+                .password("password123")
+                .role(Role.USER)
+                .build();
+        mockMvc.perform(post("/api/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(register)))
+                .andExpect(status().isCreated());
+
+        var login = LoginRequest.builder()
+                .usernameOrEmail("etagUser")
+                .password("password123")
+                .build();
+        var loginResponse = mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(login)))
+                .andReturn();
+        jwtToken = objectMapper.readTree(loginResponse.getResponse().getContentAsString()).get("token").asText();
+
+        var sweet = SweetCreateRequest.builder()
+                .name("Mysore Pak")
+                .category("Indian Sweet")
+                .price(12.0)
+                .quantity(8)
+                .build();
+        mockMvc.perform(post("/api/sweets")
+                        .header("Authorization", "Bearer " + jwtToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(sweet)))
+                .andExpect(status().isCreated());
+    }
+
+    @Test
+    @DisplayName("✅ Should return the catalog version as a strong ETag")
+    void shouldReturnEtag() throws Exception {
+        mockMvc.perform(get("/api/sweets")
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, catalogVersion.etag()));
+    }
+
+    @Test
+    @DisplayName("✅ Should answer 304 when the catalog has not changed")
+    void shouldReturnNotModified() throws Exception {
+        String etag = catalogVersion.etag();
+
+        mockMvc.perform(get("/api/sweets")
+                        .header("Authorization", "Bearer " + jwtToken)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        mockMvc.perform(get("/api/sweets/search?name=Mysore")
+                        .header("Authorization", "Bearer " + jwtToken)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @DisplayName("✅ Should return fresh data when the client's ETag is outdated")
+    void shouldReturnFreshDataForStaleEtag() throws Exception {
+        mockMvc.perform(get("/api/sweets")
+                        .header("Authorization", "Bearer " + jwtToken)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"0\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, catalogVersion.etag()));
+    }
+}
@@ -0,0 +1,132 @@
+package com.dev.Sweet_Shop_Management_System.sweet;
+
+import com.dev.Sweet_Shop_Management_System.dto.request.LoginRequest;
+import com.dev.Sweet_Shop_Management_System.dto.request.RegisterRequest;
+import com.dev.Sweet_Shop_Management_System.dto.request.SweetCreateRequest;
+import com.dev.Sweet_Shop_Management_System.entity.Role;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class SweetLookupControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private String jwtToken;
+    private long kajuId;
+    private long barfiId;
+
+    @BeforeEach
+    void setup() throws Exception {
+        var register = RegisterRequest.builder()
+                .username("lookupUser")
+                .email("lookup@example.com")
+                .password("password123")
+                .role(Role.USER)
+                .build();
+        mockMvc.perform(post("/api/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(register)))
+                .andExpect(status().isCreated());
+
+        var login = LoginRequest.builder()
+                .usernameOrEmail("lookupUser")
+                .password("password123")
+                .build();
+        var loginResponse = mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(login)))
+                .andReturn();
+        jwtToken = objectMapper.readTree(loginResponse.getResponse().getContentAsString()).get("token").asText();
+
+        kajuId = createSweet("Kaju Katli", 25.0, 10);
+        barfiId = createSweet("Barfi", 15.0, 4);
+    }
+
+    @Test
+    @DisplayName("✅ Should return a single sweet by id")
+    void shouldGetSweetById() throws Exception {
+        mockMvc.perform(get("/api/sweets/" + kajuId)
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(jsonPath("$.id").value(kajuId))
+                .andExpect(jsonPath("$.name").value("Kaju Katli"))
+                .andExpect(jsonPath("$.quantity").value(10));
+    }
+
+    @Test
+    @DisplayName("❌ Should return 404 for an unknown sweet id")
+    void shouldReturnNotFoundForUnknownId() throws Exception {
+        mockMvc.perform(get("/api/sweets/" + (barfiId + 1000))
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("✅ Should return requested sweets in order and list missing ids")
+    void shouldGetSweetsByIds() throws Exception {
+        long unknownId = barfiId + 1000;
+
+        mockMvc.perform(get("/api/sweets")
+                        .param("ids", barfiId + "," + unknownId + "," + kajuId + "," + barfiId)
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.sweets", hasSize(2)))
+                .andExpect(jsonPath("$.sweets[0].name").value("Barfi"))
+                .andExpect(jsonPath("$.sweets[1].name").value("Kaju Katli"))
+                .andExpect(jsonPath("$.missingIds", hasSize(1)))
+                .andExpect(jsonPath("$.missingIds[0]").value(unknownId));
+    }
+
+    @Test
+    @DisplayName("❌ Should reject too many ids in one request")
+    void shouldRejectTooManyIds() throws Exception {
+        String ids = LongStream.rangeClosed(1, 501)
+                .mapToObj(Long::toString)
+                .collect(Collectors.joining(","));
+
+        mockMvc.perform(get("/api/sweets")
+                        .param("ids", ids)
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isBadRequest());
+    }
+
+    private long createSweet(String name, double price, int quantity) throws Exception {
+        var sweet = SweetCreateRequest.builder()
+                .name(name)
+                .category("Lookup")
+                .price(price)
+                .quantity(quantity)
+                .build();
+        var response = mockMvc.perform(post("/api/sweets")
+                        .header("Authorization", "Bearer " + jwtToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(sweet)))
+                .andExpect(status().isCreated())
+                .andReturn();
+        return objectMapper.readTree(response.getResponse().getContentAsString()).get("id").asLong();
+    }
+}
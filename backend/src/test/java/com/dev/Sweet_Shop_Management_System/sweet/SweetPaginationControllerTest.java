@@ -0,0 +1,158 @@
+package com.dev.Sweet_Shop_Management_System.sweet;
+
+import com.dev.Sweet_Shop_Management_System.dto.request.LoginRequest;
+import com.dev.Sweet_Shop_Management_System.dto.request.RegisterRequest;
+import com.dev.Sweet_Shop_Management_System.dto.request.SweetCreateRequest;
+import com.dev.Sweet_Shop_Management_System.entity.Role;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class SweetPaginationControllerTest {
+
+    private static final String CATEGORY = "Paging Test";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private String jwtToken;
+
+    @BeforeEach
+    void setup() throws Exception {
+        var register = RegisterRequest.builder()
+                .username("pagingUser")
+                .email("paging@example.com")
+                .password("password123")
+                .role(Role.USER)
+                .build();
+        mockMvc.perform(post("/api/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(register)))
+                .andExpect(status().isCreated());
+
+        var login = LoginRequest.builder()
+                .usernameOrEmail("pagingUser")
+                .password("password123")
+                .build();
+        var loginResponse = mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(login)))
+                .andReturn();
+        jwtToken = objectMapper.readTree(loginResponse.getResponse().getContentAsString()).get("token").asText();
+
+        addSweet("Kaju Katli", 30.0);
+        addSweet("Jalebi", 10.0);
+        addSweet("Peda", 20.0);
+        addSweet("Barfi", 20.0);
+        addSweet("Soan Papdi", 5.0);
+    }
+
+    @Test
+    @DisplayName("✅ Should walk every page with the next cursor")
+    void shouldWalkAllPagesWithCursor() throws Exception {
+        List<String> names = collectNames("id");
+
+        assertThat(names).containsExactly("Kaju Katli", "Jalebi", "Peda", "Barfi", "Soan Papdi");
+    }
+
+    @Test
+    @DisplayName("✅ Should page by price with id as tie breaker")
+    void shouldPageByPrice() throws Exception {
+        List<String> names = collectNames("price");
+
+        assertThat(names).containsExactly("Soan Papdi", "Jalebi", "Peda", "Barfi", "Kaju Katli");
+    }
+
+    @Test
+    @DisplayName("✅ Should page by name")
+    void shouldPageByName() throws Exception {
+        List<String> names = collectNames("name");
+
+        assertThat(names).containsExactly("Barfi", "Jalebi", "Kaju Katli", "Peda", "Soan Papdi");
+    }
+
+    @Test
+    @DisplayName("❌ Should reject a tampered cursor")
+    void shouldRejectInvalidCursor() throws Exception {
+        mockMvc.perform(get("/api/sweets")
+                        .param("limit", "2")
+                        .param("cursor", "not-a-cursor")
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Invalid cursor"));
+    }
+
+    @Test
+    @DisplayName("❌ Should reject a limit outside the allowed range")
+    void shouldRejectInvalidLimit() throws Exception {
+        mockMvc.perform(get("/api/sweets")
+                        .param("limit", "0")
+                        .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isBadRequest());
+    }
+
+    private List<String> collectNames(String sort) throws Exception {
+        List<String> names = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+
+        do {
+            var request = get("/api/sweets/search")
+                    .param("category", CATEGORY)
+                    .param("limit", "2")
+                    .param("sort", sort)
+                    .header("Authorization", "Bearer " + jwtToken);
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+
+            var result = mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andReturn();
+            JsonNode body = objectMapper.readTree(result.getResponse().getContentAsString());
+
+            body.get("items").forEach(item -> names.add(item.get("name").asText()));
+            cursor = body.get("next").isNull() ? null : body.get("next").asText();
+            pages++;
+        } while (cursor != null);
+
+        assertThat(pages).isEqualTo(3);
+        return names;
+    }
+
+    private void addSweet(String name, double price) throws Exception {
+        var sweet = SweetCreateRequest.builder()
+                .name(name)
+                .category(CATEGORY)
+                .price(price)
+                .quantity(10)
+                .build();
+        mockMvc.perform(post("/api/sweets")
+                        .header("Authorization", "Bearer " + jwtToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(sweet)))
+                .andExpect(status().isCreated());
+    }
+}
@@ -0,0 +1,157 @@
+package com.dev.Sweet_Shop_Management_System.sweet;
+
+import com.dev.Sweet_Shop_Management_System.dto.response.SweetResponse;
+import com.dev.Sweet_Shop_Management_System.entity.Sweet;
+import com.dev.Sweet_Shop_Management_System.repository.SweetRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class SweetProjectionQueryTest {
+
+    private static final Specification<Sweet> PROJECTION_CATEGORY =
+            (root, query, cb) -> cb.equal(root.get("category"), "Projection");
+
+    @Autowired
+    private SweetRepository sweetRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void setup() {
+        sweetRepository.save(sweet("Kaju Katli", 30.0, 10));
+        sweetRepository.save(sweet("Barfi", 20.0, 5));
+        sweetRepository.save(sweet("Ladoo", 10.0, 0));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("✅ Should project the same rows the entity query returns")
+    void shouldMatchEntityQuery() {
+        List<SweetResponse> fromEntities = sweetRepository.findAll(PROJECTION_CATEGORY, Sort.by("id")).stream()
+                .map(SweetProjectionQueryTest::toResponse)
+                .toList();
+
+        List<SweetResponse> projected = sweetRepository.findResponses(PROJECTION_CATEGORY, Sort.by("id"), 100);
+
+        assertThat(projected).hasSize(3).isEqualTo(fromEntities);
+        assertThat(entityManager.unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("✅ Should apply sort and limit to projected rows")
+    void shouldSortAndLimit() {
+        List<SweetResponse> cheapest = sweetRepository.findResponses(PROJECTION_CATEGORY, Sort.by("price"), 2);
+
+        assertThat(cheapest).extracting(SweetResponse::getName).containsExactly("Ladoo", "Barfi");
+    }
+
+    @Test
+    @DisplayName("✅ Should project a single sweet by id")
+    void shouldProjectById() {
+        Long id = sweetRepository.findResponses(PROJECTION_CATEGORY, Sort.by("id"), 1).get(0).getId();
+
+        assertThat(sweetRepository.findResponseById(id))
+                .hasValueSatisfying(sweet -> assertThat(sweet.getName()).isEqualTo("Kaju Katli"));
+        assertThat(sweetRepository.findResponseById(-1L)).isEmpty();
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+    @DisplayName("✅ Benchmark projected reads against entity hydration")
+    void benchmarkProjection() {
+        int rows = 20_000;
+        List<Sweet> batch = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            batch.add(sweet("Bench Sweet " + i, i % 100, i % 50));
+        }
+        sweetRepository.saveAll(batch);
+        entityManager.flush();
+        entityManager.clear();
+
+        for (int warmup = 0; warmup < 5; warmup++) {
+            readEntities();
+            readProjections();
+        }
+
+        Measurement entities = measure(this::readEntities);
+        Measurement projections = measure(this::readProjections);
+
+        System.out.printf("[projection] %d rows: entities %.2f ms, %d B/row; projections %.2f ms, %d B/row%n",
+                entities.rows, entities.millis, entities.bytesPerRow, projections.millis, projections.bytesPerRow);
+        assertThat(projections.rows).isEqualTo(entities.rows);
+    }
+
+    private List<SweetResponse> readEntities() {
+        List<SweetResponse> result = sweetRepository.findAll(PROJECTION_CATEGORY).stream()
+                .map(SweetProjectionQueryTest::toResponse)
+                .toList();
+        entityManager.clear();
+        return result;
+    }
+
+    private List<SweetResponse> readProjections() {
+        List<SweetResponse> result = sweetRepository.findResponses(PROJECTION_CATEGORY);
+        entityManager.clear();
+        return result;
+    }
+
+    private static Measurement measure(Supplier<List<SweetResponse>> read) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        int iterations = 10;
+        int rows = 0;
+
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        long began = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            rows = read.get().size();
+        }
+        long elapsed = System.nanoTime() - began;
+        long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+        return new Measurement(rows, elapsed / 1_000_000.0 / iterations, allocated / iterations / Math.max(rows, 1));
+    }
+
+    private static Sweet sweet(String name, double price, int quantity) {
+        return Sweet.builder()
+                .name(name)
+                .category("Projection")
+                .price(price)
+                .quantity(quantity)
+                .build();
+    }
+
+    private static SweetResponse toResponse(Sweet sweet) {
+        return SweetResponse.builder()
+                .id(sweet.getId())
+                .name(sweet.getName())
+                .category(sweet.getCategory())
+                .price(sweet.getPrice())
+                .quantity(sweet.getQuantity())
+                .version(sweet.getVersion())
+                .build();
+    }
+
+    private record Measurement(int rows, double millis, long bytesPerRow) {
+    }
+}
@@ -215,6 +215,39 @@ public class SweetUpdateControllerTest {
                 .andExpect(jsonPath("$.quantity").value(10));
     }
 
+    @Test
+    @DisplayName("✅ Should apply an update made against the current version")
+    void shouldUpdateWithCurrentVersion() throws Exception {
+        var updateRequest = SweetRequest.builder()
+                .price(32.0)
+                .version(0L)
+                .build();
+
+        mockMvc.perform(put("/api/sweets/" + sweetId)
+                        .header("Authorization", "Bearer " + jwtToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updateRequest)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.price").value(32.0))
+                .andExpect(jsonPath("$.version").value(1));
+    }
+
+    @Test
+    @DisplayName("❌ Should return 409 when the update is based on a stale version")
+    void shouldRejectStaleVersion() throws Exception {
+        mockMvc.perform(put("/api/sweets/" + sweetId)
+                        .header("Authorization", "Bearer " + jwtToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(SweetRequest.builder().price(31.0).version(0L).build())))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(put("/api/sweets/" + sweetId)
+                        .header("Authorization", "Bearer " + jwtToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(SweetRequest.builder().price(33.0).version(0L).build())))
+                .andExpect(status().isConflict());
+    }
+
     @Data
     @Builder
     @NoArgsConstructor
@@ -224,6 +257,7 @@ public class SweetUpdateControllerTest {
         private String category;
         private Double price;
         private Integer quantity;
+        private Long version;
     }
 
     @Data